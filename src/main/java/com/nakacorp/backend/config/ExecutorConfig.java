@@ -0,0 +1,86 @@
+package com.nakacorp.backend.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuração de executores usados para processamento concorrente.
+ * <p>
+ * - dashboardExecutor: virtual threads para compor as seções do dashboard em paralelo<br>
+ * - backgroundExecutor: virtual threads para os jobs longos disparados fora das requisições
+ *   (recarga do autocomplete, varredura de duplicados, pontuação e ranking de leads,
+ *   arquivamento e manutenção de partições)
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    private final long timeoutEncerramentoMs;
+
+    private ExecutorService backgroundExecutor;
+
+    @Autowired
+    public ExecutorConfig(@Value("${app.background.timeout-encerramento-ms:30000}") long timeoutEncerramentoMs) {
+        this.timeoutEncerramentoMs = timeoutEncerramentoMs;
+    }
+
+    /**
+     * Executor com uma virtual thread por tarefa para as seções do dashboard.
+     * As tarefas são majoritariamente I/O (queries), então não há pool a dimensionar.
+     *
+     * @return executor de virtual threads
+     */
+    @Bean(name = "dashboardExecutor", destroyMethod = "close")
+    public ExecutorService dashboardExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Executor com uma virtual thread por tarefa para os jobs em segundo plano.
+     * O encerramento é limitado ({@link #encerrarBackgroundExecutor()}).
+     *
+     * @return executor de virtual threads
+     */
+    @Bean(name = "backgroundExecutor", destroyMethod = "")
+    public ExecutorService backgroundExecutor() {
+        backgroundExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        return backgroundExecutor;
+    }
+
+    /**
+     * Aguarda os jobs em andamento por até {@code app.background.timeout-encerramento-ms}
+     * e interrompe os que restarem. Roda depois dos beans que usam o executor, que
+     * dependem desta configuração por meio dele.
+     */
+    @PreDestroy
+    public void encerrarBackgroundExecutor() {
+        if (backgroundExecutor == null) {
+            return;
+        }
+        backgroundExecutor.shutdown();
+        try {
+            if (!backgroundExecutor.awaitTermination(timeoutEncerramentoMs, TimeUnit.MILLISECONDS)) {
+                logger.warn("Jobs em segundo plano não concluídos em {} ms; interrompendo", timeoutEncerramentoMs);
+                backgroundExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            backgroundExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.nakacorp.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita a execução de tarefas agendadas (@Scheduled).
+ * <p>
+ * Usado por rotinas de manutenção como a reconciliação dos contadores
+ * de interações com o banco de dados.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
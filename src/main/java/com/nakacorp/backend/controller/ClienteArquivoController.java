@@ -0,0 +1,82 @@
+package com.nakacorp.backend.controller;
+
+import com.nakacorp.backend.dto.req.RestauracaoArquivoRequestDto;
+import com.nakacorp.backend.dto.res.ApiResponseDto;
+import com.nakacorp.backend.dto.res.ClienteResponseDto;
+import com.nakacorp.backend.service.ArquivamentoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST para arquivamento e restauração de leads perdidos
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/clientes/arquivados")
+@Tag(name = "Arquivo de Clientes", description = "Arquivamento de leads perdidos antigos e restauração")
+@SecurityRequirement(name = "bearer-jwt")
+public class ClienteArquivoController {
+
+    private final ArquivamentoService arquivamentoService;
+
+    @Autowired
+    public ClienteArquivoController(ArquivamentoService arquivamentoService) {
+        this.arquivamentoService = arquivamentoService;
+    }
+
+    @PostMapping("/{id}/restaurar")
+    @Operation(summary = "Restaurar cliente arquivado",
+               description = "Devolve o lead arquivado, com interações, interesses e origem, aos clientes ativos")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<ClienteResponseDto>> restaurar(
+            @Parameter(description = "ID do cliente arquivado") @PathVariable Long id) {
+
+        try {
+            ClienteResponseDto cliente = arquivamentoService.restaurar(id);
+            return ResponseEntity.ok(ApiResponseDto.success("Cliente restaurado com sucesso", cliente));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDto.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponseDto.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/restaurar")
+    @Operation(summary = "Restaurar clientes arquivados em lote",
+               description = "Restaura os leads informados; IDs não arquivados e emails já usados por leads ativos são ignorados")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<List<Long>>> restaurarEmLote(
+            @Parameter(description = "IDs dos clientes arquivados") @RequestBody @Valid RestauracaoArquivoRequestDto request) {
+
+        List<Long> restaurados = arquivamentoService.restaurar(request.ids());
+        return ResponseEntity.ok(ApiResponseDto.success(restaurados.size() + " clientes restaurados", restaurados));
+    }
+
+    @PostMapping("/arquivar")
+    @Operation(summary = "Iniciar arquivamento",
+               description = "Inicia em segundo plano o arquivamento de leads perdidos executado diariamente")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<Void>> iniciarArquivamento() {
+        if (!arquivamentoService.iniciarArquivamento()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponseDto.error("Arquivamento já em andamento"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponseDto.success("Arquivamento iniciado", null));
+    }
+}
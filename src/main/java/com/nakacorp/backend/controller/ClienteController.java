@@ -2,12 +2,21 @@ package com.nakacorp.backend.controller;
 
 import com.nakacorp.backend.dto.req.ClienteRequestDto;
 import com.nakacorp.backend.dto.req.ClienteUpdateDto;
+import com.nakacorp.backend.dto.req.StatusLoteRequestDto;
 import com.nakacorp.backend.dto.res.ApiResponseDto;
+import com.nakacorp.backend.dto.res.AutocompleteStatsDto;
+import com.nakacorp.backend.dto.res.AutocompleteSugestaoDto;
+import com.nakacorp.backend.dto.res.ClienteBuscaDto;
 import com.nakacorp.backend.dto.res.ClienteResponseDto;
 import com.nakacorp.backend.dto.res.ClienteSummaryDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
+import com.nakacorp.backend.dto.res.FilterRequestDto;
+import com.nakacorp.backend.dto.res.LeadScoreDto;
 import com.nakacorp.backend.dto.res.PageResponseDto;
+import com.nakacorp.backend.dto.res.StatusLoteResultadoDto;
 import com.nakacorp.backend.model.enums.StatusLead;
 import com.nakacorp.backend.service.ClienteService;
+import com.nakacorp.backend.service.LeadScoreService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -39,10 +48,12 @@ import java.util.List;
 public class ClienteController {
 
     private final ClienteService clienteService;
+    private final LeadScoreService leadScoreService;
 
     @Autowired
-    public ClienteController(ClienteService clienteService) {
+    public ClienteController(ClienteService clienteService, LeadScoreService leadScoreService) {
         this.clienteService = clienteService;
+        this.leadScoreService = leadScoreService;
     }
 
     @GetMapping
@@ -63,6 +74,76 @@ public class ClienteController {
         return ResponseEntity.ok(ApiResponseDto.success(response));
     }
 
+    @PostMapping("/filtrar")
+    @Operation(summary = "Filtrar clientes",
+               description = "Lista clientes paginados aplicando busca textual, status, origens, categorias de interesse e período de cadastro")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<PageResponseDto<ClienteResponseDto>>> findWithFilters(
+            @RequestBody FilterRequestDto filter) {
+
+        Page<ClienteResponseDto> result = clienteService.findWithFilters(filter);
+        PageResponseDto<ClienteResponseDto> response = PageResponseDto.fromPage(result);
+
+        return ResponseEntity.ok(ApiResponseDto.success(response));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar clientes por texto",
+               description = "Busca ranqueada em nome, empresa, email e telefone; ignora acentos e tolera erros de digitação")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<List<ClienteBuscaDto>>> search(
+            @Parameter(description = "Termo de busca (mínimo 2 caracteres)") @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de resultados (máx. 50)") @RequestParam(defaultValue = "20") int limite,
+            @Parameter(description = "Inclui leads arquivados (marcados com arquivado = true)") @RequestParam(defaultValue = "false") boolean incluirArquivados) {
+
+        List<ClienteBuscaDto> resultados = clienteService.search(q, limite, incluirArquivados);
+        return ResponseEntity.ok(ApiResponseDto.success(resultados));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete de clientes",
+               description = "Sugestões pelo início de qualquer palavra do nome ou da empresa, servidas por índice em memória")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<List<AutocompleteSugestaoDto>>> autocomplete(
+            @Parameter(description = "Texto digitado") @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de sugestões (máx. 20)") @RequestParam(defaultValue = "10") int limite) {
+
+        List<AutocompleteSugestaoDto> sugestoes = clienteService.autocomplete(q, limite);
+        return ResponseEntity.ok(ApiResponseDto.success(sugestoes));
+    }
+
+    @GetMapping("/autocomplete/stats")
+    @Operation(summary = "Estatísticas do autocomplete", description = "Tamanho e memória estimada do índice de autocomplete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<AutocompleteStatsDto>> autocompleteStats() {
+        return ResponseEntity.ok(ApiResponseDto.success(clienteService.getAutocompleteStats()));
+    }
+
+    @GetMapping("/ranking")
+    @Operation(summary = "Ranking de leads",
+               description = "Leads em aberto de maior pontuação (engajamento, interesse e status), geral ou do responsável, servidos por índice em memória")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<List<LeadScoreDto>>> ranking(
+            @Parameter(description = "ID do responsável (último usuário que interagiu); vazio para todos") @RequestParam(required = false) Long usuarioId,
+            @Parameter(description = "Quantidade de leads (máx. app.lead-score.ranking-tamanho)") @RequestParam(defaultValue = "20") int limite) {
+
+        List<LeadScoreDto> leads = leadScoreService.ranking(usuarioId, limite);
+        return ResponseEntity.ok(ApiResponseDto.success(leads));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Listar clientes por cursor",
+               description = "Paginação por cursor (createdAt, id), do mais recente ao mais antigo; o custo não cresce com a profundidade")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<ClienteResponseDto>>> scroll(
+            @Parameter(description = "Cursor retornado em nextCursor; vazio na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máx. 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Calcula o total de registros (executa COUNT)") @RequestParam(defaultValue = "false") boolean incluirTotal) {
+
+        CursorPageDto<ClienteResponseDto> result = clienteService.scroll(cursor, size, incluirTotal);
+        return ResponseEntity.ok(ApiResponseDto.success(result));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar cliente por ID", description = "Retorna os dados completos de um cliente específico")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
@@ -78,10 +159,13 @@ public class ClienteController {
     @GetMapping("/status/{status}")
     @Operation(summary = "Buscar por status", description = "Lista clientes filtrados por status do lead")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
-    public ResponseEntity<ApiResponseDto<List<ClienteSummaryDto>>> findByStatus(
-            @Parameter(description = "Status do lead") @PathVariable StatusLead status) {
+    public ResponseEntity<ApiResponseDto<CursorPageDto<ClienteSummaryDto>>> findByStatus(
+            @Parameter(description = "Status do lead") @PathVariable StatusLead status,
+            @Parameter(description = "Cursor retornado em nextCursor; vazio na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máx. 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Calcula o total de registros (executa COUNT)") @RequestParam(defaultValue = "false") boolean incluirTotal) {
 
-        List<ClienteSummaryDto> clientes = clienteService.findByStatus(status);
+        CursorPageDto<ClienteSummaryDto> clientes = clienteService.findByStatus(status, cursor, size, incluirTotal);
         return ResponseEntity.ok(ApiResponseDto.success(clientes));
     }
 
@@ -133,6 +217,17 @@ public class ClienteController {
         }
     }
 
+    @PatchMapping("/status/lote")
+    @Operation(summary = "Atualizar status em lote",
+               description = "Altera o status de vários clientes, informados por IDs ou por filtro, com atualizações em lote no banco")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<StatusLoteResultadoDto>> updateStatusEmLote(
+            @Parameter(description = "IDs ou filtro dos clientes e novo status") @RequestBody @Valid StatusLoteRequestDto request) {
+
+        StatusLoteResultadoDto resultado = clienteService.updateStatusEmLote(request);
+        return ResponseEntity.ok(ApiResponseDto.success("Status atualizado", resultado));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Excluir cliente", description = "Remove um cliente do sistema")
     @PreAuthorize("hasRole('ADMIN')")
@@ -0,0 +1,96 @@
+package com.nakacorp.backend.controller;
+
+import com.nakacorp.backend.dto.req.MesclagemDuplicatasRequestDto;
+import com.nakacorp.backend.dto.res.ApiResponseDto;
+import com.nakacorp.backend.dto.res.ClienteResponseDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
+import com.nakacorp.backend.dto.res.GrupoDuplicidadeDto;
+import com.nakacorp.backend.service.DeduplicacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para revisão e mesclagem de leads duplicados
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/clientes/duplicatas")
+@Tag(name = "Duplicatas de Clientes", description = "Detecção e mesclagem de leads duplicados")
+@SecurityRequirement(name = "bearer-jwt")
+public class ClienteDuplicataController {
+
+    private final DeduplicacaoService deduplicacaoService;
+
+    @Autowired
+    public ClienteDuplicataController(DeduplicacaoService deduplicacaoService) {
+        this.deduplicacaoService = deduplicacaoService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar grupos de duplicados",
+               description = "Lista por cursor os grupos de leads candidatos a duplicados, com os clientes e o score de cada par")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<GrupoDuplicidadeDto>>> listarGrupos(
+            @Parameter(description = "Cursor retornado em nextCursor; vazio na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de grupos (máx. 100)") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageDto<GrupoDuplicidadeDto> grupos = deduplicacaoService.listarGrupos(cursor, size);
+        return ResponseEntity.ok(ApiResponseDto.success(grupos));
+    }
+
+    @PostMapping("/mesclar")
+    @Operation(summary = "Mesclar duplicados",
+               description = "Mescla os leads informados no cliente principal, transferindo interações, interesses e origem")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<ClienteResponseDto>> mesclar(
+            @Parameter(description = "Cliente principal e clientes a mesclar") @RequestBody @Valid MesclagemDuplicatasRequestDto request) {
+
+        try {
+            ClienteResponseDto cliente = deduplicacaoService.mesclar(request);
+            return ResponseEntity.ok(ApiResponseDto.success("Clientes mesclados com sucesso", cliente));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponseDto.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{grupo}/descartar")
+    @Operation(summary = "Descartar grupo",
+               description = "Marca os pares do grupo como não duplicados; eles não voltam a ser sugeridos")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<Void>> descartar(
+            @Parameter(description = "ID do grupo") @PathVariable Long grupo) {
+
+        try {
+            deduplicacaoService.descartarGrupo(grupo);
+            return ResponseEntity.ok(ApiResponseDto.success("Grupo descartado", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDto.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/varredura")
+    @Operation(summary = "Iniciar varredura",
+               description = "Inicia em segundo plano a varredura completa de duplicados executada diariamente")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<Void>> iniciarVarredura() {
+        if (!deduplicacaoService.iniciarVarredura()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponseDto.error("Varredura já em andamento"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponseDto.success("Varredura iniciada", null));
+    }
+}
@@ -4,6 +4,7 @@ import com.nakacorp.backend.dto.req.ClienteInteresseRequestDto;
 import com.nakacorp.backend.dto.req.ClienteInteresseUpdateDto;
 import com.nakacorp.backend.dto.res.ApiResponseDto;
 import com.nakacorp.backend.dto.res.ClienteInteresseResponseDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
 import com.nakacorp.backend.dto.res.InteresseProdutoStatsDto;
 import com.nakacorp.backend.dto.res.PageResponseDto;
 import com.nakacorp.backend.model.enums.NivelInteresse;
@@ -73,6 +74,19 @@ public class ClienteInteresseController {
         return ResponseEntity.ok(ApiResponseDto.success(response));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Listar interesses por cursor",
+               description = "Paginação por cursor (createdAt, id), do mais recente ao mais antigo; o custo não cresce com a profundidade")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<ClienteInteresseResponseDto>>> scroll(
+            @Parameter(description = "Cursor retornado em nextCursor; vazio na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máx. 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Calcula o total de registros (executa COUNT)") @RequestParam(defaultValue = "false") boolean incluirTotal) {
+
+        CursorPageDto<ClienteInteresseResponseDto> result = interesseService.scroll(cursor, size, incluirTotal);
+        return ResponseEntity.ok(ApiResponseDto.success(result));
+    }
+
     @GetMapping("/cliente/{clienteId}")
     @Operation(summary = "Interesses por cliente", description = "Lista todos os interesses de um cliente específico")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
@@ -56,14 +56,16 @@ public class CsvController {
     /**
      * Exporta todos os clientes para CSV.
      *
+     * @param incluirArquivados se deve incluir os leads arquivados
      * @return arquivo CSV com todos os clientes
      */
     @GetMapping("/export/clientes")
     @Operation(summary = "Exportar clientes", description = "Exporta todos os clientes para arquivo CSV")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
-    public ResponseEntity<byte[]> exportarClientes() {
+    public ResponseEntity<byte[]> exportarClientes(
+            @Parameter(description = "Inclui leads arquivados (coluna Arquivado Em)") @RequestParam(defaultValue = "false") boolean incluirArquivados) {
         try {
-            byte[] csvBytes = exportService.exportarClientes();
+            byte[] csvBytes = exportService.exportarClientes(incluirArquivados);
             String filename = String.format("clientes_%s.csv",
                 LocalDateTime.now().format(FILENAME_FORMATTER));
 
@@ -1,18 +1,28 @@
 package com.nakacorp.backend.controller;
 
 import com.nakacorp.backend.dto.res.*;
-import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.model.enums.Granularidade;
+import com.nakacorp.backend.model.enums.OrigemLead;
 import com.nakacorp.backend.service.DashboardService;
+import com.nakacorp.backend.service.DashboardSnapshot;
+import com.nakacorp.backend.service.DashboardStreamService;
+import com.nakacorp.backend.service.LeadAcompanhamentoService;
+import com.nakacorp.backend.service.RollupDiarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -35,24 +45,37 @@ import java.util.List;
 @SecurityRequirement(name = "bearer-jwt")
 public class DashboardController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final DashboardService dashboardService;
+    private final RollupDiarioService rollupService;
+    private final DashboardStreamService streamService;
+    private final LeadAcompanhamentoService acompanhamentoService;
 
     /**
-     * Construtor com injeção de dependência do serviço de dashboard.
+     * Construtor com injeção de dependência dos serviços de dashboard.
      *
      * @param dashboardService serviço de estatísticas e métricas
+     * @param rollupService    serviço do rollup diário e séries temporais
+     * @param streamService    serviço do stream SSE do dashboard
+     * @param acompanhamentoService serviço das filas de acompanhamento de leads
      */
     @Autowired
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService,
+                               RollupDiarioService rollupService,
+                               DashboardStreamService streamService,
+                               LeadAcompanhamentoService acompanhamentoService) {
         this.dashboardService = dashboardService;
+        this.rollupService = rollupService;
+        this.streamService = streamService;
+        this.acompanhamentoService = acompanhamentoService;
     }
 
     @GetMapping("/stats")
     @Operation(summary = "Estatísticas gerais", description = "Obtém estatísticas gerais do CRM")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
     public ResponseEntity<ApiResponseDto<DashboardStatsDto>> getStats() {
-        DashboardStatsDto stats = dashboardService.getGeneralStats();
-        return ResponseEntity.ok(ApiResponseDto.success(stats));
+        return okComIdade(dashboardService.getGeneralStats());
     }
 
     @GetMapping("/stats/periodo")
@@ -68,12 +91,43 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponseDto.success(stats));
     }
 
+    @GetMapping("/timeseries")
+    @Operation(summary = "Série temporal",
+               description = "Leads criados, conversões, perdas e interações por dia, semana ou mês, lidos do rollup diário")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<List<TimeSeriesPontoDto>>> getTimeSeries(
+            @Parameter(description = "Data de início")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @Parameter(description = "Data de fim")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @Parameter(description = "Granularidade: DIA, SEMANA ou MES")
+            @RequestParam(defaultValue = "DIA") Granularidade granularidade,
+            @Parameter(description = "Origem do lead (opcional)")
+            @RequestParam(required = false) OrigemLead origem) {
+
+        List<TimeSeriesPontoDto> pontos = rollupService.getTimeSeries(inicio, fim, granularidade, origem);
+        return ResponseEntity.ok(ApiResponseDto.success(pontos));
+    }
+
+    @PostMapping("/timeseries/rebuild")
+    @Operation(summary = "Reconstruir rollup diário",
+               description = "Recalcula o rollup diário do período a partir de clientes e interações")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<Void>> rebuildTimeSeries(
+            @Parameter(description = "Data de início")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @Parameter(description = "Data de fim")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+
+        rollupService.reconstruir(inicio, fim);
+        return ResponseEntity.ok(ApiResponseDto.success("Rollup diário reconstruído", null));
+    }
+
     @GetMapping("/conversion-rate")
     @Operation(summary = "Taxa de conversão geral", description = "Calcula a taxa de conversão geral de leads")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
     public ResponseEntity<ApiResponseDto<Double>> getConversionRate() {
-        double rate = dashboardService.calculateConversionRate();
-        return ResponseEntity.ok(ApiResponseDto.success(rate));
+        return okComIdade(dashboardService.calculateConversionRate());
     }
 
     @GetMapping("/conversion-rate/last-month")
@@ -88,26 +142,57 @@ public class DashboardController {
     @Operation(summary = "Conversão por origem", description = "Taxa de conversão segmentada por origem do lead")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
     public ResponseEntity<ApiResponseDto<List<LeadConversionDto>>> getConversionByOrigem() {
-        List<LeadConversionDto> conversion = dashboardService.getConversionRateByOrigem();
-        return ResponseEntity.ok(ApiResponseDto.success(conversion));
+        return okComIdade(dashboardService.getConversionRateByOrigem());
     }
 
     @GetMapping("/leads/follow-up")
-    @Operation(summary = "Leads para follow-up", description = "Lista leads que precisam de acompanhamento")
+    @Operation(summary = "Leads para follow-up",
+               description = "Leads em aberto sem interação há 7 dias ou mais, paginados por cursor e agrupados por status")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
-    public ResponseEntity<ApiResponseDto<List<Cliente>>> getLeadsToFollow() {
-        List<Cliente> leads = dashboardService.getLeadsToFollow();
+    public ResponseEntity<ApiResponseDto<CursorPageDto<LeadAcompanhamentoDto>>> getLeadsToFollow(
+            @Parameter(description = "Cursor retornado pela página anterior (vazio na primeira)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 100)")
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageDto<LeadAcompanhamentoDto> leads = acompanhamentoService.getLeadsToFollow(cursor, size);
         return ResponseEntity.ok(ApiResponseDto.success(leads));
     }
 
+    @GetMapping(value = "/leads/follow-up/export", produces = NDJSON)
+    @Operation(summary = "Exportar leads para follow-up",
+               description = "Fila de follow-up completa em NDJSON (um lead por linha), escrita em lotes")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<StreamingResponseBody> exportLeadsToFollow() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(acompanhamentoService::exportarLeadsToFollow);
+    }
+
     @GetMapping("/leads/hot-today")
-    @Operation(summary = "Leads quentes hoje", description = "Leads qualificados com atividade recente")
+    @Operation(summary = "Leads quentes hoje",
+               description = "Leads qualificados ou em oportunidade com interação hoje, paginados por cursor")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
-    public ResponseEntity<ApiResponseDto<List<Cliente>>> getLeadsHotToday() {
-        List<Cliente> leads = dashboardService.getLeadsHotToday();
+    public ResponseEntity<ApiResponseDto<CursorPageDto<LeadAcompanhamentoDto>>> getLeadsHotToday(
+            @Parameter(description = "Cursor retornado pela página anterior (vazio na primeira)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 100)")
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageDto<LeadAcompanhamentoDto> leads = acompanhamentoService.getLeadsHotToday(cursor, size);
         return ResponseEntity.ok(ApiResponseDto.success(leads));
     }
 
+    @GetMapping(value = "/leads/hot-today/export", produces = NDJSON)
+    @Operation(summary = "Exportar leads quentes hoje",
+               description = "Leads quentes do dia completos em NDJSON (um lead por linha), escritos em lotes")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<StreamingResponseBody> exportLeadsHotToday() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(acompanhamentoService::exportarLeadsHotToday);
+    }
+
     /**
      * Endpoint principal para a tela home do dashboard.
      * Retorna todos os dados consolidados necessários para a página inicial.
@@ -127,6 +212,22 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponseDto.success("Dashboard carregado com sucesso", dashboardHome));
     }
 
+    /**
+     * Stream SSE com atualizações incrementais do dashboard.
+     * O primeiro evento ({@code home}) traz o estado completo; os seguintes trazem
+     * o novo snapshot de cada seção alterada ({@code estatisticas}, {@code pipeline}, ...)
+     * e os movimentos de leads ({@code pipeline-movimento}, {@code lead-quente}).
+     *
+     * @return emissor SSE da conexão
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream do dashboard",
+               description = "Server-Sent Events com o estado inicial da home e os deltas após cada alteração, substituindo o polling de /dashboard/home")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public SseEmitter stream() {
+        return streamService.inscrever();
+    }
+
     /**
      * Retorna métricas detalhadas de receita do CRM.
      *
@@ -140,8 +241,7 @@ public class DashboardController {
     )
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
     public ResponseEntity<ApiResponseDto<ReceitaTotalDto>> getReceitaTotal() {
-        ReceitaTotalDto receita = dashboardService.getReceitaTotal();
-        return ResponseEntity.ok(ApiResponseDto.success(receita));
+        return okComIdade(dashboardService.getReceitaTotal());
     }
 
     /**
@@ -158,8 +258,7 @@ public class DashboardController {
     )
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
     public ResponseEntity<ApiResponseDto<List<PipelineStatusDto>>> getPipelineVendas() {
-        List<PipelineStatusDto> pipeline = dashboardService.getPipelineVendas();
-        return ResponseEntity.ok(ApiResponseDto.success(pipeline));
+        return okComIdade(dashboardService.getPipelineVendas());
     }
 
     /**
@@ -175,8 +274,7 @@ public class DashboardController {
     )
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
     public ResponseEntity<ApiResponseDto<List<ProximaInteracaoDto>>> getProximasInteracoes() {
-        List<ProximaInteracaoDto> proximasInteracoes = dashboardService.getProximasInteracoes();
-        return ResponseEntity.ok(ApiResponseDto.success(proximasInteracoes));
+        return okComIdade(dashboardService.getProximasInteracoes());
     }
 
     /**
@@ -193,7 +291,16 @@ public class DashboardController {
     )
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
     public ResponseEntity<ApiResponseDto<Long>> getLeadsAtivos() {
-        long leadsAtivos = dashboardService.getDashboardHome().leadsAtivos();
-        return ResponseEntity.ok(ApiResponseDto.success(leadsAtivos));
+        return okComIdade(dashboardService.countLeadsAtivos());
+    }
+
+    /**
+     * Responde com os dados de um snapshot do dashboard, informando no header
+     * {@code Age} há quantos segundos ele foi calculado.
+     */
+    private <T> ResponseEntity<ApiResponseDto<T>> okComIdade(DashboardSnapshot<T> snapshot) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, String.valueOf(snapshot.idadeSegundos()))
+                .body(ApiResponseDto.success(snapshot.valor()));
     }
-}
\ No newline at end of file
+}
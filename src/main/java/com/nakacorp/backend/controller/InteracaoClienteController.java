@@ -3,12 +3,16 @@ package com.nakacorp.backend.controller;
 import com.nakacorp.backend.dto.req.InteracaoClienteRequestDto;
 import com.nakacorp.backend.dto.req.InteracaoClienteUpdateDto;
 import com.nakacorp.backend.dto.res.ApiResponseDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
 import com.nakacorp.backend.dto.res.InteracaoClienteResponseDto;
 import com.nakacorp.backend.dto.res.InteracaoStatsDto;
 import com.nakacorp.backend.dto.res.PageResponseDto;
+import com.nakacorp.backend.dto.res.ParticoesInteracaoDto;
+import com.nakacorp.backend.dto.res.ProximaInteracaoDto;
 import com.nakacorp.backend.dto.res.TimelineClienteDto;
 import com.nakacorp.backend.model.enums.TipoInteracao;
 import com.nakacorp.backend.service.InteracaoClienteService;
+import com.nakacorp.backend.service.ParticionamentoInteracaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -48,15 +52,19 @@ import java.util.List;
 public class InteracaoClienteController {
 
     private final InteracaoClienteService interacaoService;
+    private final ParticionamentoInteracaoService particionamentoService;
 
     /**
-     * Construtor com injeção de dependência do serviço de interações.
+     * Construtor com injeção de dependência dos serviços de interações.
      *
-     * @param interacaoService serviço de gerenciamento de interações com clientes
+     * @param interacaoService      serviço de gerenciamento de interações com clientes
+     * @param particionamentoService serviço de manutenção das partições de interações
      */
     @Autowired
-    public InteracaoClienteController(InteracaoClienteService interacaoService) {
+    public InteracaoClienteController(InteracaoClienteService interacaoService,
+                                      ParticionamentoInteracaoService particionamentoService) {
         this.interacaoService = interacaoService;
+        this.particionamentoService = particionamentoService;
     }
 
     @GetMapping
@@ -77,6 +85,19 @@ public class InteracaoClienteController {
         return ResponseEntity.ok(ApiResponseDto.success(response));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Listar interações por cursor",
+               description = "Paginação por cursor (createdAt, id), do mais recente ao mais antigo; o custo não cresce com a profundidade")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<InteracaoClienteResponseDto>>> scroll(
+            @Parameter(description = "Cursor retornado em nextCursor; vazio na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máx. 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Calcula o total de registros (executa COUNT)") @RequestParam(defaultValue = "false") boolean incluirTotal) {
+
+        CursorPageDto<InteracaoClienteResponseDto> result = interacaoService.scroll(cursor, size, incluirTotal);
+        return ResponseEntity.ok(ApiResponseDto.success(result));
+    }
+
     @GetMapping("/cliente/{clienteId}/timeline")
     @Operation(summary = "Timeline do cliente", description = "Retorna o histórico completo de interações de um cliente")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
@@ -90,33 +111,54 @@ public class InteracaoClienteController {
     @GetMapping("/usuario/{usuarioId}")
     @Operation(summary = "Interações por usuário", description = "Lista interações realizadas por um usuário específico")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
-    public ResponseEntity<ApiResponseDto<List<InteracaoClienteResponseDto>>> findByUsuario(
-            @Parameter(description = "ID do usuário") @PathVariable Long usuarioId) {
+    public ResponseEntity<ApiResponseDto<CursorPageDto<InteracaoClienteResponseDto>>> findByUsuario(
+            @Parameter(description = "ID do usuário") @PathVariable Long usuarioId,
+            @Parameter(description = "Cursor retornado em nextCursor; vazio na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máx. 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Calcula o total de registros (executa COUNT)") @RequestParam(defaultValue = "false") boolean incluirTotal) {
 
-        List<InteracaoClienteResponseDto> interacoes = interacaoService.findByUsuario(usuarioId);
+        CursorPageDto<InteracaoClienteResponseDto> interacoes = interacaoService.findByUsuario(usuarioId, cursor, size, incluirTotal);
         return ResponseEntity.ok(ApiResponseDto.success(interacoes));
     }
 
+    @GetMapping("/usuario/{usuarioId}/agenda")
+    @Operation(summary = "Agenda do usuário", description = "Próximas interações agendadas atribuídas a um usuário")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<List<ProximaInteracaoDto>>> getAgendaUsuario(
+            @Parameter(description = "ID do usuário") @PathVariable Long usuarioId,
+            @Parameter(description = "Quantidade máxima de interações") @RequestParam(defaultValue = "20") int limite) {
+
+        List<ProximaInteracaoDto> agenda = interacaoService.getAgendaUsuario(usuarioId, limite);
+        return ResponseEntity.ok(ApiResponseDto.success(agenda));
+    }
+
     @GetMapping("/tipo/{tipo}")
     @Operation(summary = "Interações por tipo", description = "Lista interações de um tipo específico")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
-    public ResponseEntity<ApiResponseDto<List<InteracaoClienteResponseDto>>> findByTipo(
-            @Parameter(description = "Tipo da interação") @PathVariable TipoInteracao tipo) {
+    public ResponseEntity<ApiResponseDto<CursorPageDto<InteracaoClienteResponseDto>>> findByTipo(
+            @Parameter(description = "Tipo da interação") @PathVariable TipoInteracao tipo,
+            @Parameter(description = "Cursor retornado em nextCursor; vazio na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máx. 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Calcula o total de registros (executa COUNT)") @RequestParam(defaultValue = "false") boolean incluirTotal) {
 
-        List<InteracaoClienteResponseDto> interacoes = interacaoService.findByTipo(tipo);
+        CursorPageDto<InteracaoClienteResponseDto> interacoes = interacaoService.findByTipo(tipo, cursor, size, incluirTotal);
         return ResponseEntity.ok(ApiResponseDto.success(interacoes));
     }
 
     @GetMapping("/periodo")
     @Operation(summary = "Interações por período", description = "Lista interações dentro de um período específico")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
-    public ResponseEntity<ApiResponseDto<List<InteracaoClienteResponseDto>>> findByPeriodo(
+    public ResponseEntity<ApiResponseDto<CursorPageDto<InteracaoClienteResponseDto>>> findByPeriodo(
             @Parameter(description = "Data de início")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
             @Parameter(description = "Data de fim")
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @Parameter(description = "Cursor retornado em nextCursor; vazio na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máx. 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Calcula o total de registros (executa COUNT)") @RequestParam(defaultValue = "false") boolean incluirTotal) {
 
-        List<InteracaoClienteResponseDto> interacoes = interacaoService.findByPeriodo(inicio, fim);
+        CursorPageDto<InteracaoClienteResponseDto> interacoes =
+                interacaoService.findByPeriodo(inicio, fim, cursor, size, incluirTotal);
         return ResponseEntity.ok(ApiResponseDto.success(interacoes));
     }
 
@@ -128,6 +170,15 @@ public class InteracaoClienteController {
         return ResponseEntity.ok(ApiResponseDto.success(stats));
     }
 
+    @GetMapping("/particoes")
+    @Operation(summary = "Partições de interações",
+               description = "Lista as partições mensais, a política de retenção e confere a poda das consultas por período")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<ParticoesInteracaoDto>> getParticoes() {
+        ParticoesInteracaoDto particoes = particionamentoService.consultar();
+        return ResponseEntity.ok(ApiResponseDto.success(particoes));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar interação por ID", description = "Retorna os dados de uma interação específica")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
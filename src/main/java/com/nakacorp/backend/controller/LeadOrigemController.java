@@ -3,6 +3,7 @@ package com.nakacorp.backend.controller;
 import com.nakacorp.backend.dto.req.LeadOrigemRequestDto;
 import com.nakacorp.backend.dto.req.LeadOrigemUpdateDto;
 import com.nakacorp.backend.dto.res.ApiResponseDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
 import com.nakacorp.backend.dto.res.LeadOrigemResponseDto;
 import com.nakacorp.backend.dto.res.PageResponseDto;
 import com.nakacorp.backend.dto.res.UtmAnalyticsDto;
@@ -73,6 +74,19 @@ public class LeadOrigemController {
         return ResponseEntity.ok(ApiResponseDto.success(response));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Listar origens de leads por cursor",
+               description = "Paginação por cursor (createdAt, id), do mais recente ao mais antigo; o custo não cresce com a profundidade")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<LeadOrigemResponseDto>>> scroll(
+            @Parameter(description = "Cursor retornado em nextCursor; vazio na primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máx. 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Calcula o total de registros (executa COUNT)") @RequestParam(defaultValue = "false") boolean incluirTotal) {
+
+        CursorPageDto<LeadOrigemResponseDto> result = leadOrigemService.scroll(cursor, size, incluirTotal);
+        return ResponseEntity.ok(ApiResponseDto.success(result));
+    }
+
     @GetMapping("/cliente/{clienteId}")
     @Operation(summary = "Origem por cliente", description = "Busca a origem de um cliente específico")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
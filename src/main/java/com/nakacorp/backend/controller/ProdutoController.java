@@ -96,6 +96,17 @@ public class ProdutoController {
         return ResponseEntity.ok(ApiResponseDto.success(produtos));
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Buscar produtos por nome", description = "Busca por nome ignorando acentos e tolerando erros de digitação")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
+    public ResponseEntity<ApiResponseDto<List<ProdutoSummaryDto>>> search(
+            @Parameter(description = "Termo de busca (mínimo 2 caracteres)") @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de resultados (máx. 50)") @RequestParam(defaultValue = "20") int limite) {
+
+        List<ProdutoSummaryDto> produtos = produtoService.search(q, limite);
+        return ResponseEntity.ok(ApiResponseDto.success(produtos));
+    }
+
     @GetMapping("/preco")
     @Operation(summary = "Buscar por faixa de preço", description = "Lista produtos dentro de uma faixa de preço")
     @PreAuthorize("hasRole('ADMIN') or hasRole('VENDEDOR')")
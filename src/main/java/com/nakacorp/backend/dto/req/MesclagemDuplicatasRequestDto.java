@@ -0,0 +1,16 @@
+package com.nakacorp.backend.dto.req;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MesclagemDuplicatasRequestDto(
+        @NotNull(message = "Cliente principal é obrigatório")
+        Long principalId,
+
+        @NotEmpty(message = "Informe os clientes a mesclar")
+        @Size(max = 50, message = "Informe no máximo 50 clientes por mesclagem")
+        List<Long> duplicadosIds
+) {}
@@ -0,0 +1,12 @@
+package com.nakacorp.backend.dto.req;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record RestauracaoArquivoRequestDto(
+        @NotEmpty(message = "Informe ao menos um ID")
+        @Size(max = 1000, message = "Informe no máximo 1000 IDs por requisição")
+        List<Long> ids
+) {}
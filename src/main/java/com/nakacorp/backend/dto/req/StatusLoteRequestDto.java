@@ -0,0 +1,18 @@
+package com.nakacorp.backend.dto.req;
+
+import com.nakacorp.backend.dto.res.FilterRequestDto;
+import com.nakacorp.backend.model.enums.StatusLead;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record StatusLoteRequestDto(
+        @Size(max = 100000, message = "Informe no máximo 100000 IDs por requisição")
+        List<Long> ids,
+
+        FilterRequestDto filtro,
+
+        @NotNull(message = "Novo status é obrigatório")
+        StatusLead novoStatus
+) {}
@@ -0,0 +1,14 @@
+package com.nakacorp.backend.dto.res;
+
+import java.time.LocalDateTime;
+
+public record AutocompleteStatsDto(
+        boolean pronto,
+        int clientes,
+        int entradas,
+        int alteracoesPendentes,
+        long bytesEstimados,
+        boolean limiteAtingido,
+        LocalDateTime construidoEm
+) {
+}
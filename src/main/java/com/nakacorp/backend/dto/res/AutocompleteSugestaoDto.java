@@ -0,0 +1,8 @@
+package com.nakacorp.backend.dto.res;
+
+public record AutocompleteSugestaoDto(
+        Long id,
+        String nome,
+        String empresa
+) {
+}
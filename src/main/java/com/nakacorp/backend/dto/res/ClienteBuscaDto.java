@@ -0,0 +1,31 @@
+package com.nakacorp.backend.dto.res;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.repository.projection.ClienteBuscaResultado;
+
+public record ClienteBuscaDto(
+        Long id,
+        String nome,
+        String email,
+        String empresa,
+        String telefone,
+        StatusLead statusLead,
+        OrigemLead origemLead,
+        double relevancia,
+        boolean arquivado
+) {
+    public static ClienteBuscaDto fromProjection(ClienteBuscaResultado resultado) {
+        return new ClienteBuscaDto(
+                resultado.getId(),
+                resultado.getNome(),
+                resultado.getEmail(),
+                resultado.getEmpresa(),
+                resultado.getTelefone(),
+                resultado.getStatus(),
+                resultado.getOrigem(),
+                resultado.getRelevancia() != null ? resultado.getRelevancia() : 0.0,
+                Boolean.TRUE.equals(resultado.getArquivado())
+        );
+    }
+}
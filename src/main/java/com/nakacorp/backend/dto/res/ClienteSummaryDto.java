@@ -3,6 +3,7 @@ package com.nakacorp.backend.dto.res;
 import com.nakacorp.backend.model.Cliente;
 import com.nakacorp.backend.model.enums.OrigemLead;
 import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.repository.projection.ClienteResumo;
 
 public record ClienteSummaryDto(
         Long id,
@@ -22,4 +23,16 @@ public record ClienteSummaryDto(
                 cliente.getOrigemLead()
         );
     }
+
+
+    public static ClienteSummaryDto fromProjection(ClienteResumo resumo) {
+        return new ClienteSummaryDto(
+                resumo.getId(),
+                resumo.getNome(),
+                resumo.getEmail(),
+                resumo.getEmpresa(),
+                resumo.getStatusLead(),
+                resumo.getOrigemLead()
+        );
+    }
 }
@@ -0,0 +1,26 @@
+package com.nakacorp.backend.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * DTO de uma página obtida por cursor (keyset pagination).
+ * <p>
+ * {@code nextCursor} é opaco e deve ser enviado como {@code cursor} na próxima
+ * requisição. {@code totalElements} só é calculado quando solicitado.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record CursorPageDto<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long totalElements
+) {}
@@ -0,0 +1,24 @@
+package com.nakacorp.backend.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de um evento incremental enviado pelo stream SSE do dashboard.
+ * <p>
+ * {@code tipo} identifica o conteúdo de {@code dados}: o nome de uma seção
+ * do dashboard (novo snapshot da seção) ou um movimento de lead no pipeline.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record DashboardDeltaDto(
+        String tipo,
+        Object dados,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime geradoEm
+) {}
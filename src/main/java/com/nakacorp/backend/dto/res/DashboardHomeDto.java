@@ -1,11 +1,17 @@
 package com.nakacorp.backend.dto.res;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * DTO principal para a tela Home do Dashboard.
  * <p>
  * Consolida todas as informações necessárias para a página inicial do CRM.
+ * Seções que falharem ou excederem o tempo limite vêm nulas e são listadas
+ * em {@code secoesIndisponiveis}. {@code geradoEm} e {@code idadeSegundos}
+ * indicam quando foi calculada a seção mais antiga do snapshot.
  * </p>
  *
  * @author Klleriston Andrade
@@ -17,6 +23,12 @@ public record DashboardHomeDto(
         DashboardStatsDto estatisticas,
         List<PipelineStatusDto> pipeline,
         List<ProximaInteracaoDto> proximasInteracoes,
-        double taxaConversao,
-        long leadsAtivos
+        Double taxaConversao,
+        Long leadsAtivos,
+        List<String> secoesIndisponiveis,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime geradoEm,
+
+        long idadeSegundos
 ) {}
\ No newline at end of file
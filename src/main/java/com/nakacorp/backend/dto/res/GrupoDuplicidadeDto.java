@@ -0,0 +1,11 @@
+package com.nakacorp.backend.dto.res;
+
+import java.util.List;
+
+public record GrupoDuplicidadeDto(
+        Long grupo,
+        double scoreMaximo,
+        List<ClienteSummaryDto> clientes,
+        List<ParDuplicidadeDto> pares
+) {
+}
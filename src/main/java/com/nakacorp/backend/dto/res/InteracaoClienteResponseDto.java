@@ -19,9 +19,13 @@ public record InteracaoClienteResponseDto(
         LocalDateTime createdAt
 ) {
     public static InteracaoClienteResponseDto fromEntity(InteracaoCliente interacao) {
+        return fromEntity(interacao, ClienteSummaryDto.fromEntity(interacao.getCliente()));
+    }
+
+    public static InteracaoClienteResponseDto fromEntity(InteracaoCliente interacao, ClienteSummaryDto cliente) {
         return new InteracaoClienteResponseDto(
                 interacao.getId(),
-                ClienteSummaryDto.fromEntity(interacao.getCliente()),
+                cliente,
                 interacao.getUsuario() != null ? UsuarioResponseDto.fromEntity(interacao.getUsuario()) : null,
                 interacao.getTipoInteracao(),
                 interacao.getDescricao(),
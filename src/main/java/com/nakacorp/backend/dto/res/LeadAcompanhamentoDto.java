@@ -0,0 +1,24 @@
+package com.nakacorp.backend.dto.res;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de um lead nas filas de acompanhamento (follow-up e leads quentes do dia).
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record LeadAcompanhamentoDto(
+        Long id,
+        String nome,
+        String email,
+        String telefone,
+        String empresa,
+        StatusLead statusLead,
+        OrigemLead origemLead,
+        LocalDateTime dataUltimaInteracao
+) {}
@@ -0,0 +1,18 @@
+package com.nakacorp.backend.dto.res;
+
+import com.nakacorp.backend.repository.projection.ClienteContato;
+
+public record LeadScoreDto(
+        Long id,
+        String nome,
+        String email,
+        String telefone,
+        String empresa,
+        double score,
+        Long usuarioResponsavelId
+) {
+    public static LeadScoreDto fromProjection(ClienteContato contato, double score, Long usuarioResponsavelId) {
+        return new LeadScoreDto(contato.getId(), contato.getNome(), contato.getEmail(), contato.getTelefone(),
+                contato.getEmpresa(), score, usuarioResponsavelId);
+    }
+}
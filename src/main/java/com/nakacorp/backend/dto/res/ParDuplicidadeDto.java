@@ -0,0 +1,20 @@
+package com.nakacorp.backend.dto.res;
+
+import com.nakacorp.backend.model.ClienteDuplicata;
+import com.nakacorp.backend.model.enums.ChaveDuplicidade;
+
+public record ParDuplicidadeDto(
+        Long idClienteA,
+        Long idClienteB,
+        double score,
+        ChaveDuplicidade motivo
+) {
+    public static ParDuplicidadeDto fromEntity(ClienteDuplicata par) {
+        return new ParDuplicidadeDto(
+                par.getIdClienteA(),
+                par.getIdClienteB(),
+                par.getScore(),
+                par.getMotivo()
+        );
+    }
+}
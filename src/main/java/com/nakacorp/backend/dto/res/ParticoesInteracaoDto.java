@@ -0,0 +1,12 @@
+package com.nakacorp.backend.dto.res;
+
+import java.util.List;
+
+public record ParticoesInteracaoDto(
+        List<String> particoes,
+        int mesesFuturos,
+        int retencaoMeses,
+        String retencaoModo,
+        List<PodaParticaoDto> poda
+) {
+}
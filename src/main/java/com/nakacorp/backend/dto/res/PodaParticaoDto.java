@@ -0,0 +1,11 @@
+package com.nakacorp.backend.dto.res;
+
+import java.util.List;
+
+public record PodaParticaoDto(
+        String consulta,
+        List<String> particoesEsperadas,
+        List<String> particoesLidas,
+        boolean podada
+) {
+}
@@ -1,9 +1,11 @@
 package com.nakacorp.backend.dto.res;
 
+import com.nakacorp.backend.model.InteracaoCliente;
 import com.nakacorp.backend.model.enums.TipoInteracao;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * DTO para próximas tarefas e reuniões agendadas.
@@ -27,4 +29,26 @@ public record ProximaInteracaoDto(
 
         String responsavel,
         boolean urgente
-) {}
+) {
+
+    /**
+     * Converte uma interação agendada. É urgente quando agendada para as próximas 24h.
+     */
+    public static ProximaInteracaoDto fromEntity(InteracaoCliente interacao) {
+        LocalDateTime dataReferencia = interacao.getDataAgendada() != null
+                ? interacao.getDataAgendada()
+                : interacao.getCreatedAt();
+        long horasAte = ChronoUnit.HOURS.between(LocalDateTime.now(), dataReferencia);
+
+        return new ProximaInteracaoDto(
+                interacao.getId(),
+                interacao.getCliente() != null ? interacao.getCliente().getNome() : "N/A",
+                interacao.getCliente() != null ? interacao.getCliente().getId() : null,
+                interacao.getTipoInteracao(),
+                interacao.getDescricao(),
+                dataReferencia,
+                interacao.getUsuario() != null ? interacao.getUsuario().getNome() : "Não atribuído",
+                horasAte >= 0 && horasAte <= 24
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.nakacorp.backend.dto.res;
+
+import com.nakacorp.backend.model.enums.StatusLead;
+
+public record StatusLoteResultadoDto(
+        long selecionados,
+        long alterados,
+        StatusLead novoStatus
+) {}
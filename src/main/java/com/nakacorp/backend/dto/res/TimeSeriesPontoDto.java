@@ -0,0 +1,23 @@
+package com.nakacorp.backend.dto.res;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de um ponto da série temporal do dashboard.
+ * <p>
+ * {@code periodo} é o primeiro dia do período (dia, semana ou mês).
+ * Conversões e perdidos contam leads que entraram nos status
+ * {@code CLIENTE} e {@code PERDIDO} dentro do período.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record TimeSeriesPontoDto(
+        LocalDate periodo,
+        long leadsCriados,
+        long conversoes,
+        long perdidos,
+        long interacoes
+) {}
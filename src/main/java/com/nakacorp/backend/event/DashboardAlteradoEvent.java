@@ -0,0 +1,28 @@
+package com.nakacorp.backend.event;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Evento publicado pelos serviços de escrita quando dados que alimentam
+ * o dashboard são alterados.
+ * <p>
+ * É consumido após o commit da transação para invalidar os snapshots
+ * das seções afetadas.
+ * </p>
+ *
+ * @param secoes seções do dashboard afetadas pela alteração
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record DashboardAlteradoEvent(Set<DashboardSecao> secoes) {
+
+    public static DashboardAlteradoEvent of(DashboardSecao primeira, DashboardSecao... demais) {
+        return new DashboardAlteradoEvent(EnumSet.of(primeira, demais));
+    }
+
+    public static DashboardAlteradoEvent todas() {
+        return new DashboardAlteradoEvent(EnumSet.allOf(DashboardSecao.class));
+    }
+}
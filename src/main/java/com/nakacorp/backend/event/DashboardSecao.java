@@ -0,0 +1,18 @@
+package com.nakacorp.backend.event;
+
+/**
+ * Seções do dashboard que possuem snapshot em cache.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public enum DashboardSecao {
+    RECEITA,
+    ESTATISTICAS,
+    PIPELINE,
+    PROXIMAS_INTERACOES,
+    TAXA_CONVERSAO,
+    CONVERSAO_POR_ORIGEM,
+    LEADS_ATIVOS
+}
@@ -0,0 +1,33 @@
+package com.nakacorp.backend.event;
+
+import com.nakacorp.backend.model.enums.StatusLead;
+
+/**
+ * Evento publicado quando um lead muda de estágio no pipeline.
+ * <p>
+ * É consumido após o commit da transação para notificar os dashboards
+ * conectados via SSE.
+ * </p>
+ *
+ * @param clienteId      ID do cliente
+ * @param clienteNome    nome do cliente
+ * @param statusAnterior status antes da alteração
+ * @param novoStatus     status após a alteração
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record LeadStatusAlteradoEvent(
+        Long clienteId,
+        String clienteNome,
+        StatusLead statusAnterior,
+        StatusLead novoStatus
+) {
+
+    /**
+     * Leads quentes: qualificados ou em oportunidade, os mesmos critérios de "leads quentes hoje".
+     */
+    public boolean leadQuente() {
+        return novoStatus == StatusLead.QUALIFICADO || novoStatus == StatusLead.OPORTUNIDADE;
+    }
+}
@@ -0,0 +1,28 @@
+package com.nakacorp.backend.event;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+
+import java.util.Map;
+
+/**
+ * Nota interna automática da timeline de um cliente (mudança de status, interesse em
+ * produto, mesclagem, primeiro contato).
+ * <p>
+ * É consumido após o commit da transação e gravado em lote, fora da requisição,
+ * pelo {@link com.nakacorp.backend.service.NotaAutomaticaWriter}.
+ * </p>
+ *
+ * @param clienteId   ID do cliente
+ * @param origem      origem do lead, para o rollup diário
+ * @param descricao   descrição da nota
+ * @param dadosExtras dados estruturados da nota
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record NotaAutomaticaEvent(
+        Long clienteId,
+        OrigemLead origem,
+        String descricao,
+        Map<String, Object> dadosExtras
+) {}
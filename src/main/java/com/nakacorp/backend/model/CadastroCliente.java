@@ -0,0 +1,51 @@
+package com.nakacorp.backend.model;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colunas de cadastro comuns a leads ativos ({@link Cliente}) e arquivados
+ * ({@link ClienteArquivado}), usadas por quem trata os dois da mesma forma.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface CadastroCliente {
+
+    Long getId();
+
+    String getNome();
+
+    String getEmail();
+
+    String getTelefone();
+
+    String getEndereco();
+
+    String getCidade();
+
+    String getEstado();
+
+    String getCep();
+
+    String getEmpresa();
+
+    String getCargo();
+
+    OrigemLead getOrigemLead();
+
+    StatusLead getStatusLead();
+
+    LocalDateTime getDataPrimeiroContato();
+
+    LocalDateTime getDataUltimaInteracao();
+
+    String getObservacoes();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,191 @@
+package com.nakacorp.backend.model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Chaves de blocagem usadas na detecção de leads duplicados.
+ * <p>
+ * Leads com a mesma chave formam um bloco e só são comparados dentro dele,
+ * evitando comparar todos os pares da base. As chaves são gravadas em colunas
+ * indexadas de {@code tb_cliente} (migração V7) por {@link Cliente}.
+ * </p>
+ * <ul>
+ *   <li>telefone: últimos 8 dígitos, ignorando DDI, DDD e máscara</li>
+ *   <li>email: parte local, sem pontos, hífens, sublinhados e sufixo {@code +tag}</li>
+ *   <li>nome e empresa: código fonético do primeiro e do último nome e da primeira palavra da empresa</li>
+ * </ul>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ChavesDeduplicacao {
+
+    /**
+     * Versão das regras de geração; incrementar ao alterá-las faz a varredura
+     * noturna recalcular as chaves de toda a base.
+     */
+    public static final short VERSAO = 1;
+
+    private static final int DIGITOS_TELEFONE = 8;
+    private static final int TAMANHO_MINIMO_EMAIL = 3;
+    private static final int TAMANHO_CODIGO = 4;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAO_ALFANUMERICOS = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D");
+    private static final Pattern SEPARADORES_EMAIL = Pattern.compile("[._-]");
+
+    private static final Set<String> PARTICULAS = Set.of("de", "da", "do", "das", "dos", "e", "di", "du");
+    private static final Set<String> SUFIXOS_EMPRESA = Set.of(
+            "ltda", "me", "mei", "epp", "eireli", "sa", "s", "a", "cia", "grupo", "empresa");
+    private static final Set<String> EMAILS_GENERICOS = Set.of(
+            "contato", "comercial", "vendas", "info", "admin", "adm", "financeiro", "suporte",
+            "atendimento", "sac", "rh", "noreply", "naoresponda", "email", "teste", "test");
+
+    private ChavesDeduplicacao() {}
+
+    /**
+     * Chave do telefone: os últimos {@value #DIGITOS_TELEFONE} dígitos.
+     *
+     * @param telefone telefone em qualquer formato
+     * @return chave, ou {@code null} se houver poucos dígitos ou todos iguais
+     */
+    public static String telefone(String telefone) {
+        if (telefone == null) {
+            return null;
+        }
+        String digitos = NAO_DIGITOS.matcher(telefone).replaceAll("");
+        if (digitos.length() < DIGITOS_TELEFONE) {
+            return null;
+        }
+        String chave = digitos.substring(digitos.length() - DIGITOS_TELEFONE);
+        return chave.chars().distinct().count() == 1 ? null : chave;
+    }
+
+    /**
+     * Chave do email: a parte local normalizada.
+     *
+     * @param email email do lead
+     * @return chave, ou {@code null} se for curta ou genérica (contato@, vendas@...)
+     */
+    public static String email(String email) {
+        if (email == null) {
+            return null;
+        }
+        int arroba = email.indexOf('@');
+        String local = (arroba >= 0 ? email.substring(0, arroba) : email).toLowerCase(Locale.ROOT).trim();
+        int tag = local.indexOf('+');
+        if (tag >= 0) {
+            local = local.substring(0, tag);
+        }
+        local = SEPARADORES_EMAIL.matcher(local).replaceAll("");
+        if (local.length() < TAMANHO_MINIMO_EMAIL || EMAILS_GENERICOS.contains(local)) {
+            return null;
+        }
+        return local;
+    }
+
+    /**
+     * Chave fonética de nome e empresa, tolerante a acentos e erros comuns de grafia.
+     * Ex.: "Luiz Souza" / "Acme Ltda" e "Luis Sousa" / "ACME" geram a mesma chave.
+     *
+     * @param nome    nome do lead
+     * @param empresa empresa do lead (opcional)
+     * @return chave, ou {@code null} se o nome não tiver letras
+     */
+    public static String nomeEmpresa(String nome, String empresa) {
+        List<String> nomes = palavras(nome, PARTICULAS);
+        if (nomes.isEmpty()) {
+            return null;
+        }
+        StringBuilder chave = new StringBuilder(fonetico(nomes.get(0)));
+        if (nomes.size() > 1) {
+            chave.append(fonetico(nomes.get(nomes.size() - 1)));
+        }
+        chave.append('|');
+        List<String> empresas = palavras(empresa, SUFIXOS_EMPRESA);
+        if (!empresas.isEmpty()) {
+            chave.append(fonetico(empresas.get(0)));
+        }
+        return chave.toString();
+    }
+
+    /**
+     * Remove acentos, converte para minúsculas e mantém apenas letras, dígitos e espaços simples.
+     *
+     * @param texto texto original
+     * @return texto normalizado, ou string vazia se nulo
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return NAO_ALFANUMERICOS.matcher(semAcento.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static List<String> palavras(String texto, Set<String> ignoradas) {
+        List<String> palavras = new ArrayList<>();
+        for (String palavra : normalizar(texto).split(" ")) {
+            if (!palavra.isEmpty() && !ignoradas.contains(palavra)) {
+                palavras.add(palavra);
+            }
+        }
+        return palavras;
+    }
+
+    /**
+     * Código fonético no formato do Soundex (letra inicial + 3 dígitos),
+     * com ajustes para a grafia do português (ph, ch, lh, nh, h mudo, k, w, y, z).
+     */
+    private static String fonetico(String palavra) {
+        String p = palavra
+                .replace("ph", "f")
+                .replace("ch", "x")
+                .replace("sh", "x")
+                .replace("lh", "l")
+                .replace("nh", "n")
+                .replace("th", "t")
+                .replace('k', 'c')
+                .replace('w', 'v')
+                .replace('y', 'i')
+                .replace('z', 's');
+        if (p.length() > 1 && p.charAt(0) == 'h') {
+            p = p.substring(1);
+        }
+
+        StringBuilder codigo = new StringBuilder(TAMANHO_CODIGO).append(p.charAt(0));
+        char anterior = classe(p.charAt(0));
+        for (int i = 1; i < p.length() && codigo.length() < TAMANHO_CODIGO; i++) {
+            char atual = classe(p.charAt(i));
+            if (atual != '0' && atual != anterior) {
+                codigo.append(atual);
+            }
+            if (p.charAt(i) != 'h') {
+                anterior = atual;
+            }
+        }
+        while (codigo.length() < TAMANHO_CODIGO) {
+            codigo.append('0');
+        }
+        return codigo.toString();
+    }
+
+    private static char classe(char letra) {
+        return switch (letra) {
+            case 'b', 'f', 'p', 'v' -> '1';
+            case 'c', 'g', 'j', 'q', 's', 'x' -> '2';
+            case 'd', 't' -> '3';
+            case 'l' -> '4';
+            case 'm', 'n' -> '5';
+            case 'r' -> '6';
+            default -> Character.isDigit(letra) ? letra : '0';
+        };
+    }
+}
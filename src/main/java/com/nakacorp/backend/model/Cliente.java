@@ -9,6 +9,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -20,6 +21,10 @@ import java.util.List;
  * Um cliente pode ter diferentes status ao longo do funil de vendas:
  * NOVO → CONTATADO → QUALIFICADO → OPORTUNIDADE → CLIENTE/PERDIDO
  * </p>
+ * <p>
+ * Os UPDATEs gravam só as colunas alteradas: colunas mantidas por UPDATEs dirigidos,
+ * como {@code data_ultima_interacao}, não são sobrescritas por uma entidade carregada antes.
+ * </p>
  *
  * @author Klleriston Andrade
  * @version 1.0
@@ -27,15 +32,17 @@ import java.util.List;
  */
 @Entity
 @Table(name = "tb_cliente")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Cliente {
+public class Cliente implements CadastroCliente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_cliente_id_cliente_seq")
+    @SequenceGenerator(name = "tb_cliente_id_cliente_seq", sequenceName = "tb_cliente_id_cliente_seq", allocationSize = 50)
     @Column(name = "id_cliente")
     private Long id;
 
@@ -95,20 +102,42 @@ public class Cliente {
     @Column(name = "observacoes", columnDefinition = "TEXT")
     private String observacoes;
 
+    @Column(name = "dedup_telefone", length = 20)
+    private String dedupTelefone;
+
+    @Column(name = "dedup_email", length = 255)
+    private String dedupEmail;
+
+    @Column(name = "dedup_nome", length = 30)
+    private String dedupNome;
+
+    @Column(name = "dedup_versao")
+    private Short dedupVersao;
+
     @CreationTimestamp
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @OneToOne(mappedBy = "cliente", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private LeadOrigem leadOrigem;
-
     @OneToMany(mappedBy = "cliente", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ClienteInteresse> interesses;
 
     @OneToMany(mappedBy = "cliente", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<InteracaoCliente> interacoes;
-}
\ No newline at end of file
+
+    /**
+     * Mantém as chaves de blocagem da detecção de duplicados sincronizadas
+     * com nome, email, telefone e empresa.
+     */
+    @PrePersist
+    @PreUpdate
+    void atualizarChavesDeduplicacao() {
+        this.dedupTelefone = ChavesDeduplicacao.telefone(telefone);
+        this.dedupEmail = ChavesDeduplicacao.email(email);
+        this.dedupNome = ChavesDeduplicacao.nomeEmpresa(nome, empresa);
+        this.dedupVersao = ChavesDeduplicacao.VERSAO;
+    }
+}
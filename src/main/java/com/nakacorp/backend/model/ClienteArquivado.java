@@ -0,0 +1,86 @@
+package com.nakacorp.backend.model;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cadastro de um lead arquivado, somente leitura.
+ * <p>
+ * Gravado e removido apenas pelas consultas nativas do arquivamento e da restauração
+ * ({@link com.nakacorp.backend.service.ArquivamentoService}).
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Immutable
+@Table(name = "tb_cliente_arquivo")
+@Getter
+@NoArgsConstructor
+public class ClienteArquivado implements CadastroCliente {
+
+    @Id
+    @Column(name = "id_cliente")
+    private Long id;
+
+    @Column(name = "nome", nullable = false, length = 255)
+    private String nome;
+
+    @Column(name = "email", nullable = false, length = 255)
+    private String email;
+
+    @Column(name = "telefone", length = 20)
+    private String telefone;
+
+    @Column(name = "endereco", columnDefinition = "TEXT")
+    private String endereco;
+
+    @Column(name = "cidade", length = 100)
+    private String cidade;
+
+    @Column(name = "estado", length = 2)
+    private String estado;
+
+    @Column(name = "cep", length = 10)
+    private String cep;
+
+    @Column(name = "empresa", length = 255)
+    private String empresa;
+
+    @Column(name = "cargo", length = 100)
+    private String cargo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "origem_lead", nullable = false, length = 30)
+    private OrigemLead origemLead;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_lead", length = 30)
+    private StatusLead statusLead;
+
+    @Column(name = "data_primeiro_contato")
+    private LocalDateTime dataPrimeiroContato;
+
+    @Column(name = "data_ultima_interacao")
+    private LocalDateTime dataUltimaInteracao;
+
+    @Column(name = "observacoes", columnDefinition = "TEXT")
+    private String observacoes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "arquivado_em", nullable = false)
+    private LocalDateTime arquivadoEm;
+}
@@ -0,0 +1,71 @@
+package com.nakacorp.backend.model;
+
+import com.nakacorp.backend.model.enums.ChaveDuplicidade;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Par de leads candidatos a duplicados, identificado pelos IDs em ordem crescente.
+ * <p>
+ * Gravado pelo {@link com.nakacorp.backend.service.DeduplicacaoService} ao cadastrar
+ * leads e na varredura noturna. {@code grupo} é o menor ID do conjunto de leads
+ * ligados por pares pendentes; pares descartados não voltam a ser sugeridos.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Table(name = "tb_cliente_duplicata")
+@IdClass(ClienteDuplicataId.class)
+public class ClienteDuplicata {
+
+    @Id
+    @Column(name = "id_cliente_a", nullable = false)
+    private Long idClienteA;
+
+    @Id
+    @Column(name = "id_cliente_b", nullable = false)
+    private Long idClienteB;
+
+    @Column(name = "score", nullable = false)
+    private Double score;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "motivo", nullable = false, length = 20)
+    private ChaveDuplicidade motivo;
+
+    @Column(name = "grupo", nullable = false)
+    private Long grupo;
+
+    @Column(name = "descartada", nullable = false)
+    private Boolean descartada = false;
+
+    @Column(name = "detectado_em", nullable = false)
+    private LocalDateTime detectadoEm;
+
+    public ClienteDuplicata() {}
+
+    public Long getIdClienteA() { return idClienteA; }
+    public void setIdClienteA(Long idClienteA) { this.idClienteA = idClienteA; }
+
+    public Long getIdClienteB() { return idClienteB; }
+    public void setIdClienteB(Long idClienteB) { this.idClienteB = idClienteB; }
+
+    public Double getScore() { return score; }
+    public void setScore(Double score) { this.score = score; }
+
+    public ChaveDuplicidade getMotivo() { return motivo; }
+    public void setMotivo(ChaveDuplicidade motivo) { this.motivo = motivo; }
+
+    public Long getGrupo() { return grupo; }
+    public void setGrupo(Long grupo) { this.grupo = grupo; }
+
+    public Boolean getDescartada() { return descartada; }
+    public void setDescartada(Boolean descartada) { this.descartada = descartada; }
+
+    public LocalDateTime getDetectadoEm() { return detectadoEm; }
+    public void setDetectadoEm(LocalDateTime detectadoEm) { this.detectadoEm = detectadoEm; }
+}
@@ -0,0 +1,37 @@
+package com.nakacorp.backend.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Chave composta de {@link ClienteDuplicata}.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public class ClienteDuplicataId implements Serializable {
+
+    private Long idClienteA;
+    private Long idClienteB;
+
+    public ClienteDuplicataId() {}
+
+    public ClienteDuplicataId(Long idClienteA, Long idClienteB) {
+        this.idClienteA = idClienteA;
+        this.idClienteB = idClienteB;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ClienteDuplicataId that)) return false;
+        return Objects.equals(idClienteA, that.idClienteA)
+                && Objects.equals(idClienteB, that.idClienteB);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idClienteA, idClienteB);
+    }
+}
@@ -9,21 +9,31 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tb_cliente_interesse")
+@NamedEntityGraph(name = ClienteInteresse.GRAFO_DETALHE, attributeNodes = {
+        @NamedAttributeNode("cliente"),
+        @NamedAttributeNode("produto")
+})
 public class ClienteInteresse {
 
+    /**
+     * Grafo com cliente e produto, para as respostas que mapeiam o interesse completo.
+     */
+    public static final String GRAFO_DETALHE = "ClienteInteresse.detalhe";
+
     public static Object NivelInteresse;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_cliente_interesse_id_interesse_seq")
+    @SequenceGenerator(name = "tb_cliente_interesse_id_interesse_seq", sequenceName = "tb_cliente_interesse_id_interesse_seq", allocationSize = 50)
     @Column(name = "id_interesse")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cliente", nullable = false)
     @NotNull
     private Cliente cliente;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_produto", nullable = false)
     @NotNull
     private Produto produto;
@@ -36,7 +46,7 @@ public class ClienteInteresse {
     private String observacoes;
 
     @CreationTimestamp
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     public ClienteInteresse() {}
@@ -6,26 +6,44 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 
 @Entity
 @Table(name = "tb_interacao_cliente")
+@NamedEntityGraph(name = InteracaoCliente.GRAFO_DETALHE, attributeNodes = {
+        @NamedAttributeNode("cliente"),
+        @NamedAttributeNode("usuario")
+})
 public class InteracaoCliente {
 
+    /**
+     * Grafo com cliente e usuário, para as respostas que mapeiam a interação completa.
+     */
+    public static final String GRAFO_DETALHE = "InteracaoCliente.detalhe";
+
+    /**
+     * IDs reservados por chamada à sequência (INCREMENT BY da V11). Cada nextval que
+     * retorna {@code v} reserva os IDs de {@code v - BLOCO_IDS + 1} a {@code v}.
+     */
+    public static final int BLOCO_IDS = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_interacao_cliente_id_interacao_seq")
+    @SequenceGenerator(name = "tb_interacao_cliente_id_interacao_seq", sequenceName = "tb_interacao_cliente_id_interacao_seq", allocationSize = BLOCO_IDS)
     @Column(name = "id_interacao")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cliente", nullable = false)
     @NotNull
     private Cliente cliente;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_usuario")
     private Usuario usuario;
 
@@ -42,8 +60,20 @@ public class InteracaoCliente {
     @Column(name = "dados_extras", columnDefinition = "jsonb")
     private Map<String, Object> dadosExtras;
 
+    /**
+     * Data agendada do follow-up, copiada de {@code dadosExtras.dataAgendada} ao salvar.
+     */
+    @Column(name = "data_agendada")
+    private LocalDateTime dataAgendada;
+
+    /**
+     * Chave de partição (V12), parte da chave primária (id_interacao, created_at). O Hibernate
+     * a inclui no WHERE dos UPDATE e DELETE da entidade, que leem só a partição da linha;
+     * as buscas apenas pelo ID consultam o índice da chave primária de cada partição.
+     */
+    @PartitionKey
     @CreationTimestamp
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     public InteracaoCliente() {}
@@ -72,6 +102,25 @@ public class InteracaoCliente {
     public Map<String, Object> getDadosExtras() { return dadosExtras; }
     public void setDadosExtras(Map<String, Object> dadosExtras) { this.dadosExtras = dadosExtras; }
 
+    public LocalDateTime getDataAgendada() { return dataAgendada; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    /**
+     * Mantém a coluna indexada {@code data_agendada} sincronizada com o JSONB.
+     * Valores ausentes ou inválidos resultam em interação sem agendamento.
+     */
+    @PrePersist
+    @PreUpdate
+    void sincronizarDataAgendada() {
+        this.dataAgendada = null;
+        if (dadosExtras != null && dadosExtras.get("dataAgendada") != null) {
+            try {
+                this.dataAgendada = LocalDateTime.parse(dadosExtras.get("dataAgendada").toString());
+            } catch (DateTimeParseException e) {
+                // Mantém sem agendamento
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -12,11 +12,12 @@ import java.time.LocalDateTime;
 public class LeadOrigem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_lead_origem_id_lead_origem_seq")
+    @SequenceGenerator(name = "tb_lead_origem_id_lead_origem_seq", sequenceName = "tb_lead_origem_id_lead_origem_seq", allocationSize = 50)
     @Column(name = "id_lead_origem")
     private Long id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cliente", nullable = false, unique = true)
     @NotNull
     private Cliente cliente;
@@ -41,7 +42,7 @@ public class LeadOrigem {
     private String userAgent;
 
     @CreationTimestamp
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     public LeadOrigem() {}
@@ -35,7 +35,8 @@ import java.util.List;
 public class Produto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_produto_id_produto_seq")
+    @SequenceGenerator(name = "tb_produto_id_produto_seq", sequenceName = "tb_produto_id_produto_seq", allocationSize = 50)
     @Column(name = "id_produto")
     private Long id;
 
@@ -0,0 +1,68 @@
+package com.nakacorp.backend.model;
+
+import com.nakacorp.backend.model.enums.MetricaRollup;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Contagem diária agregada por métrica, status, origem e tipo de interação.
+ * <p>
+ * Mantida incrementalmente pelo {@link com.nakacorp.backend.service.RollupDiarioService}
+ * e usada pelas séries temporais do dashboard. Dimensões que não se aplicam
+ * à métrica são gravadas como string vazia.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Table(name = "tb_rollup_diario")
+@IdClass(RollupDiarioId.class)
+public class RollupDiario {
+
+    @Id
+    @Column(name = "data", nullable = false)
+    private LocalDate data;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metrica", nullable = false, length = 30)
+    private MetricaRollup metrica;
+
+    @Id
+    @Column(name = "status_lead", nullable = false, length = 30)
+    private String statusLead;
+
+    @Id
+    @Column(name = "origem_lead", nullable = false, length = 30)
+    private String origemLead;
+
+    @Id
+    @Column(name = "tipo_interacao", nullable = false, length = 30)
+    private String tipoInteracao;
+
+    @Column(name = "total", nullable = false)
+    private Long total;
+
+    public RollupDiario() {}
+
+    public LocalDate getData() { return data; }
+    public void setData(LocalDate data) { this.data = data; }
+
+    public MetricaRollup getMetrica() { return metrica; }
+    public void setMetrica(MetricaRollup metrica) { this.metrica = metrica; }
+
+    public String getStatusLead() { return statusLead; }
+    public void setStatusLead(String statusLead) { this.statusLead = statusLead; }
+
+    public String getOrigemLead() { return origemLead; }
+    public void setOrigemLead(String origemLead) { this.origemLead = origemLead; }
+
+    public String getTipoInteracao() { return tipoInteracao; }
+    public void setTipoInteracao(String tipoInteracao) { this.tipoInteracao = tipoInteracao; }
+
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+}
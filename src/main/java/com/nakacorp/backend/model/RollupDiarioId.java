@@ -0,0 +1,50 @@
+package com.nakacorp.backend.model;
+
+import com.nakacorp.backend.model.enums.MetricaRollup;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Chave composta de {@link RollupDiario}.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public class RollupDiarioId implements Serializable {
+
+    private LocalDate data;
+    private MetricaRollup metrica;
+    private String statusLead;
+    private String origemLead;
+    private String tipoInteracao;
+
+    public RollupDiarioId() {}
+
+    public RollupDiarioId(LocalDate data, MetricaRollup metrica, String statusLead,
+                          String origemLead, String tipoInteracao) {
+        this.data = data;
+        this.metrica = metrica;
+        this.statusLead = statusLead;
+        this.origemLead = origemLead;
+        this.tipoInteracao = tipoInteracao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RollupDiarioId that)) return false;
+        return Objects.equals(data, that.data)
+                && metrica == that.metrica
+                && Objects.equals(statusLead, that.statusLead)
+                && Objects.equals(origemLead, that.origemLead)
+                && Objects.equals(tipoInteracao, that.tipoInteracao);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(data, metrica, statusLead, origemLead, tipoInteracao);
+    }
+}
@@ -34,7 +34,8 @@ import java.util.List;
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_usuario_id_usuario_seq")
+    @SequenceGenerator(name = "tb_usuario_id_usuario_seq", sequenceName = "tb_usuario_id_usuario_seq", allocationSize = 50)
     @Column(name = "id_usuario")
     private Long id;
 
@@ -0,0 +1,5 @@
+package com.nakacorp.backend.model.enums;
+
+public enum ChaveDuplicidade {
+    TELEFONE, EMAIL, NOME_EMPRESA
+}
@@ -0,0 +1,45 @@
+package com.nakacorp.backend.model.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularidade das séries temporais do dashboard.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public enum Granularidade {
+    DIA, SEMANA, MES;
+
+    /**
+     * Retorna o primeiro dia do período que contém a data informada.
+     * Semanas começam na segunda-feira.
+     *
+     * @param data data de referência
+     * @return início do período
+     */
+    public LocalDate inicioDoPeriodo(LocalDate data) {
+        return switch (this) {
+            case DIA -> data;
+            case SEMANA -> data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> data.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Retorna o início do período seguinte.
+     *
+     * @param inicioPeriodo início de um período
+     * @return início do próximo período
+     */
+    public LocalDate proximoPeriodo(LocalDate inicioPeriodo) {
+        return switch (this) {
+            case DIA -> inicioPeriodo.plusDays(1);
+            case SEMANA -> inicioPeriodo.plusWeeks(1);
+            case MES -> inicioPeriodo.plusMonths(1);
+        };
+    }
+}
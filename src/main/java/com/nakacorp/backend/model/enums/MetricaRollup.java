@@ -0,0 +1,5 @@
+package com.nakacorp.backend.model.enums;
+
+public enum MetricaRollup {
+    LEAD_CRIADO, ENTRADA_STATUS, INTERACAO
+}
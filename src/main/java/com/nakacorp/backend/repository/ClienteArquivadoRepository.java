@@ -0,0 +1,149 @@
+package com.nakacorp.backend.repository;
+
+import com.nakacorp.backend.model.ClienteArquivado;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Arquivamento e restauração de leads entre as tabelas quentes e as de arquivo (V10).
+ * <p>
+ * Cada operação copia um lote de clientes e das suas filhas com INSERT ... SELECT e
+ * remove os originais; as filhas são removidas pelo ON DELETE CASCADE. As listas de
+ * colunas devem acompanhar as colunas de cadastro das tabelas.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public interface ClienteArquivadoRepository extends JpaRepository<ClienteArquivado, Long> {
+
+    String COLUNAS_CLIENTE = "id_cliente, nome, email, telefone, endereco, cidade, estado, cep, empresa, cargo, " +
+            "origem_lead, status_lead, data_primeiro_contato, data_ultima_interacao, observacoes, created_at, updated_at";
+
+    /**
+     * {@link #COLUNAS_CLIENTE} lidas do arquivo na restauração. A restauração conta como
+     * atividade do lead ({@code updated_at}); com a data arquivada o lead restaurado ainda
+     * estaria antes do corte e voltaria ao arquivo no próximo arquivamento.
+     */
+    String COLUNAS_CLIENTE_RESTAURADO = "id_cliente, nome, email, telefone, endereco, cidade, estado, cep, empresa, " +
+            "cargo, origem_lead, status_lead, data_primeiro_contato, data_ultima_interacao, observacoes, created_at, " +
+            "CURRENT_TIMESTAMP";
+
+    String COLUNAS_INTERACAO = "id_interacao, id_cliente, id_usuario, tipo_interacao, descricao, dados_extras, " +
+            "data_agendada, created_at";
+
+    String COLUNAS_INTERESSE = "id_interesse, id_cliente, id_produto, nivel_interesse, observacoes, created_at";
+
+    String COLUNAS_ORIGEM = "id_lead_origem, id_cliente, fonte_detalhada, utm_source, utm_medium, utm_campaign, " +
+            "user_agent, created_at";
+
+    /**
+     * Lê os clientes arquivados em lotes ordenados por ID (keyset).
+     *
+     * @param aposId Último ID lido no lote anterior
+     * @param limite Tamanho do lote
+     * @return Clientes arquivados com ID maior que {@code aposId}
+     */
+    @Query("SELECT c FROM ClienteArquivado c WHERE c.id > :aposId ORDER BY c.id")
+    List<ClienteArquivado> findAposId(@Param("aposId") Long aposId, Limit limite);
+
+    // ===================== ARQUIVAMENTO =====================
+
+    /**
+     * Trava um lote de leads perdidos sem atividade (cadastro ou interação) desde o corte,
+     * dos mais antigos para os mais recentes. Leads travados por outra transação são pulados.
+     *
+     * @param corte  instante limite da última atividade
+     * @param limite tamanho do lote
+     * @return IDs travados até o fim da transação
+     */
+    @Query(value = "SELECT c.id_cliente FROM tb_cliente c " +
+                   "WHERE c.status_lead = 'PERDIDO' AND GREATEST(c.updated_at, c.data_ultima_interacao) < :corte " +
+                   "ORDER BY GREATEST(c.updated_at, c.data_ultima_interacao), c.id_cliente " +
+                   "LIMIT :limite " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> travarPerdidosParaArquivar(@Param("corte") LocalDateTime corte, @Param("limite") int limite);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_cliente_arquivo (" + COLUNAS_CLIENTE + ", arquivado_em) " +
+                   "SELECT " + COLUNAS_CLIENTE + ", :agora FROM tb_cliente WHERE id_cliente IN (:ids)",
+           nativeQuery = true)
+    int arquivarClientes(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_interacao_cliente_arquivo (" + COLUNAS_INTERACAO + ") " +
+                   "SELECT " + COLUNAS_INTERACAO + " FROM tb_interacao_cliente WHERE id_cliente IN (:ids)",
+           nativeQuery = true)
+    int arquivarInteracoes(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_cliente_interesse_arquivo (" + COLUNAS_INTERESSE + ") " +
+                   "SELECT " + COLUNAS_INTERESSE + " FROM tb_cliente_interesse WHERE id_cliente IN (:ids)",
+           nativeQuery = true)
+    int arquivarInteresses(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_lead_origem_arquivo (" + COLUNAS_ORIGEM + ") " +
+                   "SELECT " + COLUNAS_ORIGEM + " FROM tb_lead_origem WHERE id_cliente IN (:ids)",
+           nativeQuery = true)
+    int arquivarOrigens(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Remove os clientes arquivados das tabelas quentes (filhas e pares de duplicidade em cascata).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tb_cliente WHERE id_cliente IN (:ids)", nativeQuery = true)
+    int removerAtivos(@Param("ids") Collection<Long> ids);
+
+    // ===================== RESTAURAÇÃO =====================
+
+    /**
+     * Copia os clientes arquivados de volta para {@code tb_cliente}, com {@code updated_at}
+     * no instante da restauração. Clientes cujo email já pertence a um lead ativo não são restaurados.
+     *
+     * @param ids IDs dos clientes arquivados
+     * @return IDs restaurados
+     */
+    @Query(value = "INSERT INTO tb_cliente (" + COLUNAS_CLIENTE + ") " +
+                   "SELECT " + COLUNAS_CLIENTE_RESTAURADO + " FROM tb_cliente_arquivo WHERE id_cliente IN (:ids) " +
+                   "ON CONFLICT DO NOTHING " +
+                   "RETURNING id_cliente",
+           nativeQuery = true)
+    List<Long> restaurarClientes(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_interacao_cliente (" + COLUNAS_INTERACAO + ") " +
+                   "SELECT " + COLUNAS_INTERACAO + " FROM tb_interacao_cliente_arquivo WHERE id_cliente IN (:ids)",
+           nativeQuery = true)
+    int restaurarInteracoes(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_cliente_interesse (" + COLUNAS_INTERESSE + ") " +
+                   "SELECT " + COLUNAS_INTERESSE + " FROM tb_cliente_interesse_arquivo WHERE id_cliente IN (:ids)",
+           nativeQuery = true)
+    int restaurarInteresses(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_lead_origem (" + COLUNAS_ORIGEM + ") " +
+                   "SELECT " + COLUNAS_ORIGEM + " FROM tb_lead_origem_arquivo WHERE id_cliente IN (:ids)",
+           nativeQuery = true)
+    int restaurarOrigens(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Remove os clientes restaurados do arquivo (filhas em cascata).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tb_cliente_arquivo WHERE id_cliente IN (:ids)", nativeQuery = true)
+    int removerArquivados(@Param("ids") Collection<Long> ids);
+}
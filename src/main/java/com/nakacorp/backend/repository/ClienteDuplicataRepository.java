@@ -0,0 +1,170 @@
+package com.nakacorp.backend.repository;
+
+import com.nakacorp.backend.model.ClienteDuplicata;
+import com.nakacorp.backend.model.ClienteDuplicataId;
+import com.nakacorp.backend.repository.projection.ClienteDuplicidadeDados;
+import com.nakacorp.backend.repository.projection.GrupoDuplicidadeResumo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ClienteDuplicataRepository extends JpaRepository<ClienteDuplicata, ClienteDuplicataId> {
+
+    String COLUNAS_DADOS = "c.id_cliente AS id, c.nome AS nome, c.empresa AS empresa, " +
+            "c.dedup_telefone AS dedupTelefone, c.dedup_email AS dedupEmail, c.dedup_nome AS dedupNome ";
+
+    /**
+     * Registra um par candidato ou atualiza seu score, preservando grupo e descarte.
+     * Um par novo entra no grupo de um dos dois leads, se houver, ou inicia o próprio grupo.
+     *
+     * @param idClienteA Menor ID do par
+     * @param idClienteB Maior ID do par
+     * @param score      Similaridade entre 0 e 1
+     * @param motivo     Chave que aproximou o par
+     * @param agora      Instante da detecção
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tb_cliente_duplicata (id_cliente_a, id_cliente_b, score, motivo, grupo, descartada, detectado_em) " +
+                   "VALUES (:a, :b, :score, :motivo, COALESCE((" +
+                   "  SELECT MIN(d.grupo) FROM tb_cliente_duplicata d WHERE NOT d.descartada " +
+                   "  AND (d.id_cliente_a IN (:a, :b) OR d.id_cliente_b IN (:a, :b))), :a), false, :agora) " +
+                   "ON CONFLICT (id_cliente_a, id_cliente_b) " +
+                   "DO UPDATE SET score = EXCLUDED.score, motivo = EXCLUDED.motivo, detectado_em = EXCLUDED.detectado_em",
+           nativeQuery = true)
+    void registrar(@Param("a") Long idClienteA,
+                   @Param("b") Long idClienteB,
+                   @Param("score") double score,
+                   @Param("motivo") String motivo,
+                   @Param("agora") LocalDateTime agora);
+
+    /**
+     * Leads que compartilham alguma chave com o lead informado. Como na varredura,
+     * chaves cujo bloco tem mais de {@code maxBloco} leads (contando o próprio lead)
+     * são ignoradas; cada bloco é contado uma vez, até {@code maxBloco + 1} linhas.
+     *
+     * @param id       ID do lead avaliado
+     * @param telefone Chave de telefone do lead
+     * @param email    Chave de email do lead
+     * @param nome     Chave de nome e empresa do lead
+     * @param maxBloco Tamanho máximo de um bloco
+     * @param limite   Quantidade máxima de candidatos
+     * @return Candidatos, dos mais recentes aos mais antigos
+     */
+    @Query(value = "SELECT '' AS chave, " + COLUNAS_DADOS +
+                   "FROM tb_cliente c WHERE c.id_cliente <> :id AND (" +
+                   "(c.dedup_telefone = :telefone AND (SELECT COUNT(*) FROM (SELECT 1 FROM tb_cliente t " +
+                   "  WHERE t.dedup_telefone = :telefone LIMIT :maxBloco + 1) bloco) <= :maxBloco) " +
+                   "OR (c.dedup_email = :email AND (SELECT COUNT(*) FROM (SELECT 1 FROM tb_cliente t " +
+                   "  WHERE t.dedup_email = :email LIMIT :maxBloco + 1) bloco) <= :maxBloco) " +
+                   "OR (c.dedup_nome = :nome AND (SELECT COUNT(*) FROM (SELECT 1 FROM tb_cliente t " +
+                   "  WHERE t.dedup_nome = :nome LIMIT :maxBloco + 1) bloco) <= :maxBloco)) " +
+                   "ORDER BY c.id_cliente DESC LIMIT :limite",
+           nativeQuery = true)
+    List<ClienteDuplicidadeDados> findCandidatos(@Param("id") Long id,
+                                                 @Param("telefone") String telefone,
+                                                 @Param("email") String email,
+                                                 @Param("nome") String nome,
+                                                 @Param("maxBloco") int maxBloco,
+                                                 @Param("limite") int limite);
+
+    /**
+     * Membros dos próximos blocos de telefone com 2 a {@code maxBloco} leads.
+     * Blocos maiores (números genéricos) são ignorados.
+     *
+     * @param aposChave    Última chave lida na página anterior
+     * @param maxBloco     Tamanho máximo de um bloco
+     * @param limiteBlocos Quantidade de blocos da página
+     * @return Membros ordenados por chave e ID
+     */
+    @Query(value = "SELECT c.dedup_telefone AS chave, " + COLUNAS_DADOS +
+                   "FROM tb_cliente c WHERE c.dedup_telefone IN (" +
+                   "  SELECT b.dedup_telefone FROM tb_cliente b WHERE b.dedup_telefone > :aposChave " +
+                   "  GROUP BY b.dedup_telefone HAVING COUNT(*) BETWEEN 2 AND :maxBloco " +
+                   "  ORDER BY b.dedup_telefone LIMIT :limiteBlocos) " +
+                   "ORDER BY c.dedup_telefone, c.id_cliente",
+           nativeQuery = true)
+    List<ClienteDuplicidadeDados> findBlocosTelefone(@Param("aposChave") String aposChave,
+                                                     @Param("maxBloco") int maxBloco,
+                                                     @Param("limiteBlocos") int limiteBlocos);
+
+    /**
+     * Membros dos próximos blocos de email com 2 a {@code maxBloco} leads.
+     *
+     * @see #findBlocosTelefone(String, int, int)
+     */
+    @Query(value = "SELECT c.dedup_email AS chave, " + COLUNAS_DADOS +
+                   "FROM tb_cliente c WHERE c.dedup_email IN (" +
+                   "  SELECT b.dedup_email FROM tb_cliente b WHERE b.dedup_email > :aposChave " +
+                   "  GROUP BY b.dedup_email HAVING COUNT(*) BETWEEN 2 AND :maxBloco " +
+                   "  ORDER BY b.dedup_email LIMIT :limiteBlocos) " +
+                   "ORDER BY c.dedup_email, c.id_cliente",
+           nativeQuery = true)
+    List<ClienteDuplicidadeDados> findBlocosEmail(@Param("aposChave") String aposChave,
+                                                  @Param("maxBloco") int maxBloco,
+                                                  @Param("limiteBlocos") int limiteBlocos);
+
+    /**
+     * Membros dos próximos blocos de nome e empresa com 2 a {@code maxBloco} leads.
+     *
+     * @see #findBlocosTelefone(String, int, int)
+     */
+    @Query(value = "SELECT c.dedup_nome AS chave, " + COLUNAS_DADOS +
+                   "FROM tb_cliente c WHERE c.dedup_nome IN (" +
+                   "  SELECT b.dedup_nome FROM tb_cliente b WHERE b.dedup_nome > :aposChave " +
+                   "  GROUP BY b.dedup_nome HAVING COUNT(*) BETWEEN 2 AND :maxBloco " +
+                   "  ORDER BY b.dedup_nome LIMIT :limiteBlocos) " +
+                   "ORDER BY c.dedup_nome, c.id_cliente",
+           nativeQuery = true)
+    List<ClienteDuplicidadeDados> findBlocosNome(@Param("aposChave") String aposChave,
+                                                 @Param("maxBloco") int maxBloco,
+                                                 @Param("limiteBlocos") int limiteBlocos);
+
+    /**
+     * Grupos com pares pendentes, em ordem de grupo (keyset).
+     *
+     * @param aposGrupo Último grupo lido na página anterior
+     * @param limite    Quantidade de grupos
+     * @return Linhas (grupo, scoreMaximo)
+     */
+    @Query("SELECT d.grupo AS grupo, MAX(d.score) AS scoreMaximo FROM ClienteDuplicata d " +
+           "WHERE d.descartada = false AND d.grupo > :aposGrupo " +
+           "GROUP BY d.grupo ORDER BY d.grupo")
+    List<GrupoDuplicidadeResumo> findGruposPendentes(@Param("aposGrupo") Long aposGrupo, Limit limite);
+
+    @Query("SELECT d FROM ClienteDuplicata d WHERE d.descartada = false AND d.grupo IN :grupos " +
+           "ORDER BY d.grupo, d.score DESC")
+    List<ClienteDuplicata> findPendentesByGrupoIn(@Param("grupos") Collection<Long> grupos);
+
+    /**
+     * Pares pendentes em ordem de chave (keyset), para recalcular os grupos.
+     */
+    @Query("SELECT d FROM ClienteDuplicata d WHERE d.descartada = false " +
+           "AND (d.idClienteA > :a OR (d.idClienteA = :a AND d.idClienteB > :b)) " +
+           "ORDER BY d.idClienteA, d.idClienteB")
+    List<ClienteDuplicata> findPendentesApos(@Param("a") Long idClienteA, @Param("b") Long idClienteB, Limit limite);
+
+    @Modifying
+    @Query("UPDATE ClienteDuplicata d SET d.grupo = :grupo " +
+           "WHERE d.descartada = false AND d.idClienteA IN :ids AND d.grupo <> :grupo")
+    int atualizarGrupo(@Param("grupo") Long grupo, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE ClienteDuplicata d SET d.descartada = true WHERE d.descartada = false AND d.grupo = :grupo")
+    int descartarGrupo(@Param("grupo") Long grupo);
+
+    /**
+     * Remove pares pendentes que não foram confirmados pela varredura iniciada em {@code inicio}
+     * (os leads foram alterados e deixaram de ser parecidos).
+     */
+    @Modifying
+    @Query("DELETE FROM ClienteDuplicata d WHERE d.descartada = false AND d.detectadoEm < :inicio")
+    int deletePendentesAntesDe(@Param("inicio") LocalDateTime inicio);
+}
@@ -2,24 +2,37 @@ package com.nakacorp.backend.repository;
 
 import com.nakacorp.backend.model.ClienteInteresse;
 import com.nakacorp.backend.model.enums.NivelInteresse;
+import com.nakacorp.backend.repository.projection.InteressePreco;
+import com.nakacorp.backend.repository.projection.ReceitaStatusCobranca;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ClienteInteresseRepository extends JpaRepository<ClienteInteresse, Long> {
-
-    List<ClienteInteresse> findByClienteId(Long clienteId);
-
-    List<ClienteInteresse> findByProdutoId(Long produtoId);
+public interface ClienteInteresseRepository extends JpaRepository<ClienteInteresse, Long>, JpaSpecificationExecutor<ClienteInteresse> {
 
+    @EntityGraph(ClienteInteresse.GRAFO_DETALHE)
     Optional<ClienteInteresse> findByClienteIdAndProdutoId(Long clienteId, Long produtoId);
 
-    List<ClienteInteresse> findByNivelInteresse(NivelInteresse nivelInteresse);
+    boolean existsByClienteIdAndProdutoId(Long clienteId, Long produtoId);
+
+    /**
+     * Busca um interesse com cliente e produto em uma única consulta.
+     *
+     * @param id ID do interesse
+     * @return Interesse com as associações carregadas
+     */
+    @EntityGraph(ClienteInteresse.GRAFO_DETALHE)
+    @Query("SELECT ci FROM ClienteInteresse ci WHERE ci.id = :id")
+    Optional<ClienteInteresse> findDetalheById(@Param("id") Long id);
 
     @Query("SELECT ci FROM ClienteInteresse ci WHERE ci.cliente.id = :clienteId AND ci.nivelInteresse = :nivel")
     List<ClienteInteresse> findByClienteIdAndNivelInteresse(@Param("clienteId") Long clienteId, @Param("nivel") NivelInteresse nivel);
@@ -29,4 +42,47 @@ public interface ClienteInteresseRepository extends JpaRepository<ClienteInteres
 
     @Query("SELECT COUNT(ci) FROM ClienteInteresse ci WHERE ci.produto.id = :produtoId AND ci.nivelInteresse = :nivel")
     long countByProdutoIdAndNivelInteresse(@Param("produtoId") Long produtoId, @Param("nivel") NivelInteresse nivel);
+
+    /**
+     * Soma o preço dos produtos de interesse agrupado por status do cliente
+     * e tipo de cobrança do produto. Base para as métricas de receita do dashboard.
+     *
+     * @return Linhas (status, tipoCobranca, quantidade, valor)
+     */
+    @Query("SELECT c.statusLead AS status, p.tipoCobranca AS tipoCobranca, " +
+           "COUNT(ci) AS quantidade, COALESCE(SUM(p.preco), 0) AS valor " +
+           "FROM ClienteInteresse ci JOIN ci.cliente c JOIN ci.produto p " +
+           "GROUP BY c.statusLead, p.tipoCobranca")
+    List<ReceitaStatusCobranca> sumReceitaGroupByStatusAndTipoCobranca();
+
+    /**
+     * Transfere para o cliente principal os interesses dos clientes mesclados.
+     * Para cada produto que o principal ainda não tem, mantém o interesse de maior nível;
+     * os demais são removidos junto com os clientes mesclados.
+     *
+     * @param principalId ID do cliente que permanece
+     * @param ids         IDs dos clientes mesclados
+     * @return Quantidade de interesses transferidos
+     */
+    @Modifying
+    @Query(value = "UPDATE tb_cliente_interesse SET id_cliente = :principalId " +
+                   "WHERE id_interesse IN (" +
+                   "  SELECT DISTINCT ON (ci.id_produto) ci.id_interesse FROM tb_cliente_interesse ci " +
+                   "  WHERE ci.id_cliente IN (:ids) " +
+                   "  AND NOT EXISTS (SELECT 1 FROM tb_cliente_interesse p " +
+                   "    WHERE p.id_cliente = :principalId AND p.id_produto = ci.id_produto) " +
+                   "  ORDER BY ci.id_produto, " +
+                   "    CASE ci.nivel_interesse WHEN 'ALTO' THEN 0 WHEN 'MEDIO' THEN 1 ELSE 2 END, ci.created_at)",
+           nativeQuery = true)
+    int transferirParaCliente(@Param("principalId") Long principalId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Nível de cada interesse dos leads e o preço do produto, para a pontuação de leads.
+     *
+     * @param ids IDs dos leads
+     * @return Linhas (clienteId, nivel, preco)
+     */
+    @Query("SELECT i.cliente.id AS clienteId, i.nivelInteresse AS nivel, p.preco AS preco " +
+           "FROM ClienteInteresse i JOIN i.produto p WHERE i.cliente.id IN :ids")
+    List<InteressePreco> findNiveisComPreco(@Param("ids") Collection<Long> ids);
 }
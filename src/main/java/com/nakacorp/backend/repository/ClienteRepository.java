@@ -1,104 +1,407 @@
 package com.nakacorp.backend.repository;
 
 import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.model.InteracaoCliente;
 import com.nakacorp.backend.model.enums.OrigemLead;
 import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.repository.projection.ClienteBuscaResultado;
+import com.nakacorp.backend.repository.projection.ClienteContato;
+import com.nakacorp.backend.repository.projection.ClienteNomeEmpresa;
+import com.nakacorp.backend.repository.projection.ClienteResumo;
+import com.nakacorp.backend.repository.projection.ConversaoOrigemAgregado;
+import com.nakacorp.backend.repository.projection.LeadRankingEntrada;
+import com.nakacorp.backend.repository.projection.LeadScoreEstado;
+import com.nakacorp.backend.repository.projection.OrigemCount;
+import com.nakacorp.backend.repository.projection.PipelineStatusAgregado;
+import com.nakacorp.backend.repository.projection.StatusOrigemCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, JpaSpecificationExecutor<Cliente> {
 
     /**
-     * Busca cliente por ID com fetch join otimizado para evitar N+1 queries.
-     *
-     * @param id ID do cliente
-     * @return Optional com cliente e seus relacionamentos carregados
+     * Status em aberto; o mesmo predicado dos índices parciais de pontuação (V8).
+     */
+    String STATUS_ATIVOS_SQL = "c.status_lead IN ('NOVO', 'CONTATADO', 'QUALIFICADO', 'OPORTUNIDADE')";
+
+    String COLUNAS_SCORE_ESTADO = "c.id_cliente AS id, c.status_lead AS status, " +
+            "c.score_engajamento AS engajamento, c.score_interesse AS interesse, " +
+            "CAST(EXTRACT(EPOCH FROM (:agora - c.score_calculado_em)) AS DOUBLE PRECISION) AS segundosDesdeCalculo, ";
+
+    /**
+     * Colunas e condição da busca textual; valem para {@code tb_cliente} e {@code tb_cliente_arquivo}
+     * (alias {@code c}), que têm os mesmos índices de busca.
      */
-    @Query("SELECT c FROM Cliente c " +
-           "LEFT JOIN FETCH c.leadOrigem " +
-           "LEFT JOIN FETCH c.interesses " +
-           "WHERE c.id = :id")
-    Optional<Cliente> findByIdWithRelations(@Param("id") Long id);
+    String COLUNAS_BUSCA = "c.id_cliente AS id, c.nome AS nome, c.email AS email, c.empresa AS empresa, " +
+            "c.telefone AS telefone, c.status_lead AS status, c.origem_lead AS origem, " +
+            "CAST(GREATEST(" +
+            "  ts_rank(c.documento_busca, plainto_tsquery('simple', :termo)), " +
+            "  similarity(f_unaccent(lower(c.nome)), :termo), " +
+            "  similarity(f_unaccent(lower(coalesce(c.empresa, ''))), :termo), " +
+            "  CASE WHEN lower(c.email) = :termo THEN 1 ELSE 0 END" +
+            ") AS DOUBLE PRECISION) AS relevancia ";
+
+    String CONDICAO_BUSCA = "WHERE c.documento_busca @@ plainto_tsquery('simple', :termo) " +
+            "OR f_unaccent(lower(c.nome)) % :termo " +
+            "OR f_unaccent(lower(c.empresa)) % :termo " +
+            "OR f_unaccent(lower(c.nome)) LIKE :padrao " +
+            "OR f_unaccent(lower(c.empresa)) LIKE :padrao " +
+            "OR lower(c.email) LIKE :padrao " +
+            "OR (:buscarTelefone AND regexp_replace(c.telefone, '\\D', '', 'g') LIKE :padraoTelefone) ";
 
     Optional<Cliente> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
-    List<Cliente> findByStatusLead(StatusLead statusLead);
+    /**
+     * Busca os dados de resumo de um cliente sem materializar a entidade.
+     *
+     * @param id ID do cliente
+     * @return Resumo do cliente
+     */
+    @Query("SELECT c.id AS id, c.nome AS nome, c.email AS email, c.empresa AS empresa, " +
+           "c.statusLead AS statusLead, c.origemLead AS origemLead FROM Cliente c WHERE c.id = :id")
+    Optional<ClienteResumo> findResumoById(@Param("id") Long id);
+
+    /**
+     * Busca a origem de um cliente; vazio se o cliente não existe.
+     *
+     * @param id ID do cliente
+     * @return Origem do lead
+     */
+    @Query("SELECT c.origemLead FROM Cliente c WHERE c.id = :id")
+    Optional<OrigemLead> findOrigemLeadById(@Param("id") Long id);
+
+    /**
+     * Avança a data da última interação do cliente, sem recuar se já houver uma mais recente.
+     * Atualiza só essa coluna, sem carregar a entidade; {@code updated_at} não muda, pois a
+     * coluna é derivada para o gatilho de {@code tb_cliente} (V16).
+     *
+     * @param id   ID do cliente
+     * @param data Data da interação
+     * @return Quantidade de clientes atualizados (0 se o cliente não existe)
+     */
+    @Modifying
+    @Query(value = "UPDATE tb_cliente SET data_ultima_interacao = GREATEST(data_ultima_interacao, :data) " +
+                   "WHERE id_cliente = :id",
+           nativeQuery = true)
+    int avancarUltimaInteracao(@Param("id") Long id, @Param("data") LocalDateTime data);
+
+    /**
+     * Filtra os emails que já pertencem a algum cliente, para validar importações em lote.
+     *
+     * @param emails Emails a verificar
+     * @return Emails já cadastrados
+     */
+    @Query("SELECT c.email FROM Cliente c WHERE c.email IN :emails")
+    Set<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
 
-    List<Cliente> findByOrigemLead(OrigemLead origemLead);
+    /**
+     * Busca textual ranqueada em nome, empresa, email e telefone.
+     * <p>
+     * Combina busca por palavras ({@code documento_busca}), similaridade de trigramas
+     * (tolera erros de digitação) e substring; cada condição usa um índice GIN da
+     * migração V6, combinados por BitmapOr. O termo deve chegar normalizado
+     * (minúsculas e sem acentos).
+     * </p>
+     *
+     * @param termo          Termo normalizado
+     * @param padrao         Padrão LIKE de substring do termo
+     * @param buscarTelefone Se o termo tem dígitos suficientes para comparar telefones
+     * @param padraoTelefone Padrão LIKE com os dígitos do termo
+     * @param limite         Quantidade máxima de resultados
+     * @return Clientes encontrados, do mais relevante ao menos relevante
+     */
+    @Query(value = "SELECT " + COLUNAS_BUSCA + ", false AS arquivado " +
+           "FROM tb_cliente c " + CONDICAO_BUSCA +
+           "ORDER BY relevancia DESC, c.id_cliente DESC " +
+           "LIMIT :limite",
+           nativeQuery = true)
+    List<ClienteBuscaResultado> buscarRanqueado(@Param("termo") String termo,
+                                                @Param("padrao") String padrao,
+                                                @Param("buscarTelefone") boolean buscarTelefone,
+                                                @Param("padraoTelefone") String padraoTelefone,
+                                                @Param("limite") int limite);
 
-    @Query("SELECT c FROM Cliente c WHERE c.statusLead IN :status")
-    List<Cliente> findByStatusLeadIn(@Param("status") List<StatusLead> status);
+    /**
+     * Busca textual ranqueada em clientes ativos e arquivados. Cada tabela retorna os
+     * seus melhores resultados e só eles são reordenados.
+     *
+     * @see #buscarRanqueado(String, String, boolean, String, int)
+     */
+    @Query(value = "SELECT r.* FROM (" +
+           "(SELECT " + COLUNAS_BUSCA + ", false AS arquivado FROM tb_cliente c " + CONDICAO_BUSCA +
+           " ORDER BY relevancia DESC, c.id_cliente DESC LIMIT :limite) " +
+           "UNION ALL " +
+           "(SELECT " + COLUNAS_BUSCA + ", true AS arquivado FROM tb_cliente_arquivo c " + CONDICAO_BUSCA +
+           " ORDER BY relevancia DESC, c.id_cliente DESC LIMIT :limite)" +
+           ") r " +
+           "ORDER BY r.relevancia DESC, r.id DESC " +
+           "LIMIT :limite",
+           nativeQuery = true)
+    List<ClienteBuscaResultado> buscarRanqueadoComArquivados(@Param("termo") String termo,
+                                                             @Param("padrao") String padrao,
+                                                             @Param("buscarTelefone") boolean buscarTelefone,
+                                                             @Param("padraoTelefone") String padraoTelefone,
+                                                             @Param("limite") int limite);
 
-    @Query("SELECT c FROM Cliente c WHERE c.nome ILIKE %:nome%")
-    List<Cliente> findByNomeContainingIgnoreCase(@Param("nome") String nome);
+    /**
+     * Lê nome e empresa dos clientes em lotes ordenados por ID (keyset).
+     *
+     * @param aposId Último ID lido no lote anterior
+     * @param limite Tamanho do lote
+     * @return Linhas (id, nome, empresa) com ID maior que {@code aposId}
+     */
+    @Query("SELECT c.id AS id, c.nome AS nome, c.empresa AS empresa FROM Cliente c " +
+           "WHERE c.id > :aposId ORDER BY c.id")
+    List<ClienteNomeEmpresa> findNomesAposId(@Param("aposId") Long aposId, Limit limite);
 
-    @Query("SELECT c FROM Cliente c WHERE c.empresa ILIKE %:empresa%")
-    List<Cliente> findByEmpresaContainingIgnoreCase(@Param("empresa") String empresa);
+    /**
+     * Clientes cujas chaves de deduplicação ainda não foram calculadas ou usam
+     * regras de uma versão anterior, em lotes ordenados por ID (keyset).
+     *
+     * @param versao Versão atual das regras
+     * @param aposId Último ID lido no lote anterior
+     * @param limite Tamanho do lote
+     * @return Linhas (id, nome, email, telefone, empresa)
+     */
+    @Query("SELECT c.id AS id, c.nome AS nome, c.email AS email, c.telefone AS telefone, c.empresa AS empresa " +
+           "FROM Cliente c WHERE (c.dedupVersao IS NULL OR c.dedupVersao < :versao) AND c.id > :aposId ORDER BY c.id")
+    List<ClienteContato> findChavesDesatualizadas(@Param("versao") short versao,
+                                                  @Param("aposId") Long aposId,
+                                                  Limit limite);
 
-    @Query("SELECT c FROM Cliente c WHERE c.createdAt BETWEEN :inicio AND :fim")
-    List<Cliente> findByCreatedAtBetween(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+    /**
+     * Grava as chaves de deduplicação calculadas fora da entidade.
+     */
+    @Modifying
+    @Query("UPDATE Cliente c SET c.dedupTelefone = :telefone, c.dedupEmail = :email, " +
+           "c.dedupNome = :nome, c.dedupVersao = :versao WHERE c.id = :id")
+    void atualizarChavesDeduplicacao(@Param("id") Long id,
+                                     @Param("telefone") String telefone,
+                                     @Param("email") String email,
+                                     @Param("nome") String nome,
+                                     @Param("versao") short versao);
 
     /**
-     * Query otimizada para buscar leads que precisam de follow-up.
-     * Evita carregar todos os clientes na memória.
+     * Lê e bloqueia o estado da pontuação de um lead, para atualizá-la de forma incremental.
      *
-     * @param seteDiasAtras Data de corte (7 dias atrás)
-     * @param statusAtivos Lista de status considerados ativos
-     * @return Lista de clientes que precisam de acompanhamento
+     * @param id    ID do lead
+     * @param agora Instante de referência
+     * @return Estado da pontuação, se o lead existe
      */
-    @Query("SELECT c FROM Cliente c WHERE " +
-           "(c.dataUltimaInteracao IS NULL OR c.dataUltimaInteracao < :seteDiasAtras) " +
-           "AND c.statusLead IN :statusAtivos")
-    List<Cliente> findLeadsToFollow(@Param("seteDiasAtras") LocalDateTime seteDiasAtras,
-                                    @Param("statusAtivos") List<StatusLead> statusAtivos);
+    @Query(value = "SELECT " + COLUNAS_SCORE_ESTADO + "c.id_usuario_responsavel AS usuarioResponsavelId " +
+                   "FROM tb_cliente c WHERE c.id_cliente = :id FOR UPDATE",
+           nativeQuery = true)
+    Optional<LeadScoreEstado> findScoreEstadoParaAtualizar(@Param("id") Long id, @Param("agora") LocalDateTime agora);
 
     /**
-     * Query otimizada para buscar leads quentes do dia.
+     * Estado da pontuação de um lote de leads, para o recálculo completo. O responsável
+     * é o usuário da interação mais recente com usuário, se houver.
      *
-     * @param inicioHoje Início do dia atual
-     * @param statusQuentes Lista de status considerados quentes
-     * @return Lista de leads quentes com atividade recente
+     * @param ids   IDs dos leads
+     * @param agora Instante de referência
+     * @return Estado da pontuação dos leads existentes
      */
-    @Query("SELECT c FROM Cliente c WHERE " +
-           "c.statusLead IN :statusQuentes " +
-           "AND c.dataUltimaInteracao IS NOT NULL " +
-           "AND c.dataUltimaInteracao > :inicioHoje")
-    List<Cliente> findLeadsHotToday(@Param("inicioHoje") LocalDateTime inicioHoje,
-                                    @Param("statusQuentes") List<StatusLead> statusQuentes);
+    @Query(value = "SELECT " + COLUNAS_SCORE_ESTADO +
+                   "COALESCE((SELECT i.id_usuario FROM tb_interacao_cliente i " +
+                   "  WHERE i.id_cliente = c.id_cliente AND i.id_usuario IS NOT NULL " +
+                   "  ORDER BY i.created_at DESC LIMIT 1), c.id_usuario_responsavel) AS usuarioResponsavelId " +
+                   "FROM tb_cliente c WHERE c.id_cliente IN (:ids)",
+           nativeQuery = true)
+    List<LeadScoreEstado> findScoreEstados(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Grava a pontuação de um lead.
+     */
+    @Modifying
+    @Query(value = "UPDATE tb_cliente SET score_lead = :score, score_engajamento = :engajamento, " +
+                   "score_interesse = :interesse, score_calculado_em = :agora, " +
+                   "id_usuario_responsavel = :responsavel WHERE id_cliente = :id",
+           nativeQuery = true)
+    void atualizarScore(@Param("id") Long id,
+                        @Param("score") double score,
+                        @Param("engajamento") double engajamento,
+                        @Param("interesse") double interesse,
+                        @Param("responsavel") Long responsavel,
+                        @Param("agora") LocalDateTime agora);
+
+    /**
+     * Grava a pontuação de um lote de leads em um único comando. Os valores chegam como
+     * literais de array do PostgreSQL ({@code {1,2,3}}), na mesma ordem dos IDs.
+     * Leads atualizados de forma incremental após {@code agora} são preservados.
+     *
+     * @return IDs dos leads atualizados
+     */
+    @Query(value = "UPDATE tb_cliente c SET score_lead = v.score, score_engajamento = v.engajamento, " +
+                   "score_interesse = v.interesse, score_calculado_em = :agora, id_usuario_responsavel = v.responsavel " +
+                   "FROM unnest(CAST(:ids AS BIGINT[]), CAST(:scores AS DOUBLE PRECISION[]), " +
+                   "  CAST(:engajamentos AS DOUBLE PRECISION[]), CAST(:interesses AS DOUBLE PRECISION[]), " +
+                   "  CAST(:responsaveis AS BIGINT[])) AS v(id, score, engajamento, interesse, responsavel) " +
+                   "WHERE c.id_cliente = v.id AND (c.score_calculado_em IS NULL OR c.score_calculado_em <= :agora) " +
+                   "RETURNING c.id_cliente",
+           nativeQuery = true)
+    List<Long> atualizarScores(@Param("ids") String ids,
+                               @Param("scores") String scores,
+                               @Param("engajamentos") String engajamentos,
+                               @Param("interesses") String interesses,
+                               @Param("responsaveis") String responsaveis,
+                               @Param("agora") LocalDateTime agora);
+
+    @Query("SELECT c.id FROM Cliente c WHERE c.id > :aposId ORDER BY c.id")
+    List<Long> findIdsAposId(@Param("aposId") Long aposId, Limit limite);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tb_cliente WHERE score_calculado_em IS NULL)", nativeQuery = true)
+    boolean existsScorePendente();
+
+    /**
+     * Maiores pontuações de leads em aberto de cada responsável (inclusive sem responsável).
+     *
+     * @param limite Quantidade de leads por responsável
+     * @return Linhas (id, score, usuarioResponsavelId)
+     */
+    @Query(value = "SELECT t.id AS id, t.score AS score, t.responsavel AS usuarioResponsavelId FROM (" +
+                   "  SELECT c.id_cliente AS id, c.score_lead AS score, c.id_usuario_responsavel AS responsavel, " +
+                   "  row_number() OVER (PARTITION BY c.id_usuario_responsavel " +
+                   "    ORDER BY c.score_lead DESC, c.id_cliente DESC) AS posicao " +
+                   "  FROM tb_cliente c WHERE " + STATUS_ATIVOS_SQL +
+                   ") t WHERE t.posicao <= :limite",
+           nativeQuery = true)
+    List<LeadRankingEntrada> findTopScorePorResponsavel(@Param("limite") int limite);
+
+    @Query(value = "SELECT c.id_cliente AS id, c.score_lead AS score, c.id_usuario_responsavel AS usuarioResponsavelId " +
+                   "FROM tb_cliente c WHERE " + STATUS_ATIVOS_SQL +
+                   " ORDER BY c.score_lead DESC, c.id_cliente DESC LIMIT :limite",
+           nativeQuery = true)
+    List<LeadRankingEntrada> findTopScore(@Param("limite") int limite);
+
+    @Query(value = "SELECT c.id_cliente AS id, c.score_lead AS score, c.id_usuario_responsavel AS usuarioResponsavelId " +
+                   "FROM tb_cliente c WHERE c.id_usuario_responsavel = :responsavel AND " + STATUS_ATIVOS_SQL +
+                   " ORDER BY c.score_lead DESC, c.id_cliente DESC LIMIT :limite",
+           nativeQuery = true)
+    List<LeadRankingEntrada> findTopScoreDoResponsavel(@Param("responsavel") Long responsavel, @Param("limite") int limite);
+
+    @Query(value = "SELECT c.id_cliente AS id, c.score_lead AS score, c.id_usuario_responsavel AS usuarioResponsavelId " +
+                   "FROM tb_cliente c WHERE c.id_usuario_responsavel IS NULL AND " + STATUS_ATIVOS_SQL +
+                   " ORDER BY c.score_lead DESC, c.id_cliente DESC LIMIT :limite",
+           nativeQuery = true)
+    List<LeadRankingEntrada> findTopScoreSemResponsavel(@Param("limite") int limite);
+
+    @Query("SELECT c.id AS id, c.nome AS nome, c.email AS email, c.telefone AS telefone, c.empresa AS empresa " +
+           "FROM Cliente c WHERE c.id IN :ids")
+    List<ClienteContato> findContatosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Altera o status de um lote de clientes em um único comando e registra a nota
+     * automática de mudança de status de cada um (INSERT ... SELECT do mesmo comando).
+     * Clientes que já estão no status de destino são ignorados. Os IDs das notas saem de
+     * um nextval por bloco de {@link InteracaoCliente#BLOCO_IDS} notas, como no otimizador
+     * pooled; o DEFAULT da coluna consumiria um bloco inteiro por nota.
+     *
+     * @param ids        IDs do lote
+     * @param novoStatus Nome do status de destino
+     * @param agora      Instante da alteração
+     * @return Linhas (origem, total) dos clientes efetivamente alterados
+     */
+    @Query(value = "WITH alterados AS (" +
+           "  UPDATE tb_cliente c SET " +
+           "    status_lead = :novoStatus, " +
+           "    data_ultima_interacao = :agora, " +
+           "    updated_at = :agora, " +
+           "    data_primeiro_contato = CASE WHEN :novoStatus = 'CONTATADO' " +
+           "      THEN COALESCE(c.data_primeiro_contato, :agora) ELSE c.data_primeiro_contato END " +
+           "  FROM tb_cliente anterior " +
+           "  WHERE anterior.id_cliente = c.id_cliente " +
+           "    AND c.id_cliente IN (:ids) " +
+           "    AND c.status_lead IS DISTINCT FROM :novoStatus " +
+           "  RETURNING c.id_cliente, c.origem_lead, anterior.status_lead AS status_anterior" +
+           "), numeradas AS (" +
+           "  SELECT a.*, ROW_NUMBER() OVER (ORDER BY a.id_cliente) - 1 AS n FROM alterados a" +
+           "), blocos AS (" +
+           "  SELECT b, nextval('tb_interacao_cliente_id_interacao_seq') AS fim " +
+           "  FROM generate_series(1, (SELECT (COUNT(*) + " + (InteracaoCliente.BLOCO_IDS - 1) + ") / " +
+           InteracaoCliente.BLOCO_IDS + " FROM alterados)) b" +
+           "), notas AS (" +
+           "  INSERT INTO tb_interacao_cliente (id_interacao, id_cliente, tipo_interacao, descricao, dados_extras, created_at) " +
+           "  SELECT bl.fim - " + (InteracaoCliente.BLOCO_IDS - 1) + " + MOD(a.n, " + InteracaoCliente.BLOCO_IDS + "), " +
+           "    a.id_cliente, 'NOTA_INTERNA', " +
+           "    'Status alterado de ' || COALESCE(a.status_anterior, 'null') || ' para ' || :novoStatus, " +
+           "    jsonb_build_object('automatico', true, 'lote', true, " +
+           "      'statusAnterior', a.status_anterior, 'novoStatus', :novoStatus), " +
+           "    :agora " +
+           "  FROM numeradas a JOIN blocos bl ON bl.b = a.n / " + InteracaoCliente.BLOCO_IDS + " + 1" +
+           ") " +
+           "SELECT a.origem_lead AS origem, COUNT(*) AS total FROM alterados a GROUP BY a.origem_lead",
+           nativeQuery = true)
+    List<OrigemCount> atualizarStatusEmLote(@Param("ids") List<Long> ids,
+                                            @Param("novoStatus") String novoStatus,
+                                            @Param("agora") LocalDateTime agora);
 
     @Query("SELECT COUNT(c) FROM Cliente c WHERE c.statusLead = :status")
     long countByStatusLead(@Param("status") StatusLead status);
 
     /**
-     * Conta leads ativos (excluindo CLIENTE e PERDIDO).
+     * Conta leads agrupados por status e origem.
      *
-     * @return Número de leads ativos no sistema
+     * @return Linhas (status, origem, total)
      */
-    @Query("SELECT COUNT(c) FROM Cliente c WHERE c.statusLead NOT IN ('CLIENTE', 'PERDIDO')")
-    long countLeadsAtivos();
+    @Query("SELECT c.statusLead AS status, c.origemLead AS origem, COUNT(c) AS total " +
+           "FROM Cliente c GROUP BY c.statusLead, c.origemLead")
+    List<StatusOrigemCount> countGroupByStatusAndOrigem();
+
+    /**
+     * Conta leads criados no período agrupados por status e origem.
+     *
+     * @param inicio Início do período
+     * @param fim Fim do período
+     * @return Linhas (status, origem, total)
+     */
+    @Query("SELECT c.statusLead AS status, c.origemLead AS origem, COUNT(c) AS total " +
+           "FROM Cliente c WHERE c.createdAt BETWEEN :inicio AND :fim " +
+           "GROUP BY c.statusLead, c.origemLead")
+    List<StatusOrigemCount> countGroupByStatusAndOrigemBetween(@Param("inicio") LocalDateTime inicio,
+                                                               @Param("fim") LocalDateTime fim);
 
     /**
-     * Busca clientes convertidos (status CLIENTE) para cálculo de receita.
+     * Conta leads e leads convertidos (status CLIENTE) agrupados por origem.
      *
-     * @return Lista de clientes convertidos
+     * @return Linhas (origem, total, convertidos) das origens com leads
      */
-    @Query("SELECT c FROM Cliente c LEFT JOIN FETCH c.interesses i LEFT JOIN FETCH i.produto WHERE c.statusLead = 'CLIENTE'")
-    List<Cliente> findClientesConvertidosComInteresses();
+    @Query("SELECT c.origemLead AS origem, COUNT(c) AS total, " +
+           "SUM(CASE WHEN c.statusLead = 'CLIENTE' THEN 1 ELSE 0 END) AS convertidos " +
+           "FROM Cliente c GROUP BY c.origemLead")
+    List<ConversaoOrigemAgregado> countConversaoGroupByOrigem();
+
+    /**
+     * Conta leads ativos (excluindo CLIENTE e PERDIDO).
+     *
+     * @return Número de leads ativos no sistema
+     */
+    @Query("SELECT COUNT(c) FROM Cliente c WHERE c.statusLead NOT IN ('CLIENTE', 'PERDIDO')")
+    long countLeadsAtivos();
 
     /**
-     * Busca todos os clientes com seus interesses para cálculo de pipeline.
+     * Agrega o pipeline de vendas por status: quantidade de leads e soma do preço
+     * dos produtos de interesse. Leads perdidos não fazem parte do pipeline.
      *
-     * @return Lista de clientes com interesses carregados
+     * @return Linhas (status, quantidade, valorPotencial)
      */
-    @Query("SELECT c FROM Cliente c LEFT JOIN FETCH c.interesses i LEFT JOIN FETCH i.produto WHERE c.statusLead NOT IN ('PERDIDO')")
-    List<Cliente> findClientesComInteressesParaPipeline();
+    @Query("SELECT c.statusLead AS status, COUNT(DISTINCT c.id) AS quantidade, " +
+           "COALESCE(SUM(p.preco), 0) AS valorPotencial " +
+           "FROM Cliente c LEFT JOIN c.interesses i LEFT JOIN i.produto p " +
+           "WHERE c.statusLead NOT IN ('PERDIDO') " +
+           "GROUP BY c.statusLead")
+    List<PipelineStatusAgregado> aggregatePipelineByStatus();
 }
\ No newline at end of file
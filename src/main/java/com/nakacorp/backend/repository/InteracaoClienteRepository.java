@@ -2,45 +2,120 @@ package com.nakacorp.backend.repository;
 
 import com.nakacorp.backend.model.InteracaoCliente;
 import com.nakacorp.backend.model.enums.TipoInteracao;
+import com.nakacorp.backend.repository.projection.EngajamentoPorTipo;
+import com.nakacorp.backend.repository.projection.TipoInteracaoCount;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface InteracaoClienteRepository extends JpaRepository<InteracaoCliente, Long> {
-
-    List<InteracaoCliente> findByClienteIdOrderByCreatedAtDesc(Long clienteId);
-
-    List<InteracaoCliente> findByUsuarioId(Long usuarioId);
-
-    List<InteracaoCliente> findByTipoInteracao(TipoInteracao tipoInteracao);
+public interface InteracaoClienteRepository extends JpaRepository<InteracaoCliente, Long>, JpaSpecificationExecutor<InteracaoCliente> {
 
     @Query("SELECT i FROM InteracaoCliente i WHERE i.cliente.id = :clienteId AND i.tipoInteracao = :tipo ORDER BY i.createdAt DESC")
     List<InteracaoCliente> findByClienteIdAndTipoInteracao(@Param("clienteId") Long clienteId, @Param("tipo") TipoInteracao tipo);
 
-    @Query("SELECT i FROM InteracaoCliente i WHERE i.createdAt BETWEEN :inicio AND :fim ORDER BY i.createdAt DESC")
-    List<InteracaoCliente> findByCreatedAtBetween(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
-
     @Query("SELECT i FROM InteracaoCliente i WHERE i.cliente.id = :clienteId AND i.createdAt BETWEEN :inicio AND :fim ORDER BY i.createdAt DESC")
     List<InteracaoCliente> findByClienteIdAndCreatedAtBetween(@Param("clienteId") Long clienteId, @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
     /**
-     * Busca próximas interações agendadas (baseado em dados_extras com campo 'dataAgendada').
-     * Como próximas tarefas são armazenadas em JSONB, esta query busca interações recentes
-     * que possam conter informações de agendamento futuro.
+     * Busca uma interação com cliente e usuário em uma única consulta.
+     *
+     * @param id ID da interação
+     * @return Interação com as associações carregadas
+     */
+    @EntityGraph(InteracaoCliente.GRAFO_DETALHE)
+    @Query("SELECT i FROM InteracaoCliente i WHERE i.id = :id")
+    Optional<InteracaoCliente> findDetalheById(@Param("id") Long id);
+
+    /**
+     * Lista todas as interações com cliente e usuário, em ordem de criação.
      *
-     * @param dataLimite Data limite para considerar interações
-     * @return Lista de interações com potencial de agendamento
+     * @return Interações com as associações carregadas
      */
+    @EntityGraph(InteracaoCliente.GRAFO_DETALHE)
+    @Query("SELECT i FROM InteracaoCliente i ORDER BY i.id")
+    List<InteracaoCliente> findAllDetalhe();
+
+    /**
+     * Busca as próximas interações agendadas a partir de um instante.
+     * Usa o índice parcial em {@code data_agendada}, com o limite aplicado no banco.
+     *
+     * @param agora  Instante de referência
+     * @param limite Quantidade máxima de interações
+     * @return Interações ordenadas pela data agendada
+     */
+    @EntityGraph(InteracaoCliente.GRAFO_DETALHE)
     @Query("SELECT i FROM InteracaoCliente i " +
-           "LEFT JOIN FETCH i.cliente c " +
-           "LEFT JOIN FETCH i.usuario u " +
-           "WHERE i.tipoInteracao IN ('TELEFONE', 'EMAIL') " +
-           "AND i.createdAt >= :dataLimite " +
-           "ORDER BY i.createdAt ASC")
-    List<InteracaoCliente> findProximasInteracoes(@Param("dataLimite") LocalDateTime dataLimite);
-}
\ No newline at end of file
+           "WHERE i.dataAgendada >= :agora " +
+           "ORDER BY i.dataAgendada ASC")
+    List<InteracaoCliente> findProximasAgendadas(@Param("agora") LocalDateTime agora, Limit limite);
+
+    /**
+     * Busca a agenda de um vendedor a partir de um instante.
+     * Usa o índice parcial em {@code (id_usuario, data_agendada)}.
+     *
+     * @param usuarioId ID do usuário responsável
+     * @param agora     Instante de referência
+     * @param limite    Quantidade máxima de interações
+     * @return Interações do usuário ordenadas pela data agendada
+     */
+    @EntityGraph(InteracaoCliente.GRAFO_DETALHE)
+    @Query("SELECT i FROM InteracaoCliente i " +
+           "WHERE i.usuario.id = :usuarioId AND i.dataAgendada >= :agora " +
+           "ORDER BY i.dataAgendada ASC")
+    List<InteracaoCliente> findAgendaUsuario(@Param("usuarioId") Long usuarioId,
+                                             @Param("agora") LocalDateTime agora,
+                                             Limit limite);
+
+    /**
+     * Conta interações agrupadas por tipo.
+     *
+     * @return Linhas (tipo, total)
+     */
+    @Query("SELECT i.tipoInteracao AS tipo, COUNT(i) AS total FROM InteracaoCliente i GROUP BY i.tipoInteracao")
+    List<TipoInteracaoCount> countGroupByTipoInteracao();
+
+    /**
+     * Transfere para o cliente principal todas as interações dos clientes mesclados.
+     *
+     * @param principalId ID do cliente que permanece
+     * @param ids         IDs dos clientes mesclados
+     * @return Quantidade de interações transferidas
+     */
+    @Modifying
+    @Query(value = "UPDATE tb_interacao_cliente SET id_cliente = :principalId WHERE id_cliente IN (:ids)",
+           nativeQuery = true)
+    int transferirParaCliente(@Param("principalId") Long principalId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Soma as interações recentes de cada lead por tipo, com cada interação decaída
+     * exponencialmente pela sua idade (peso 1 no instante {@code agora}).
+     *
+     * @param ids               IDs dos leads
+     * @param agora             Instante de referência do decaimento
+     * @param corte             Interações anteriores a este instante são ignoradas
+     * @param meiaVidaSegundos  Meia-vida do decaimento, em segundos
+     * @return Linhas (clienteId, tipo, total)
+     */
+    @Query(value = "SELECT i.id_cliente AS clienteId, i.tipo_interacao AS tipo, " +
+                   "CAST(SUM(power(0.5, GREATEST(EXTRACT(EPOCH FROM (:agora - i.created_at)), 0) / :meiaVidaSegundos)) " +
+                   "AS DOUBLE PRECISION) AS total " +
+                   "FROM tb_interacao_cliente i " +
+                   "WHERE i.id_cliente IN (:ids) AND i.created_at >= :corte " +
+                   "GROUP BY i.id_cliente, i.tipo_interacao",
+           nativeQuery = true)
+    List<EngajamentoPorTipo> somarEngajamentoDecaido(@Param("ids") Collection<Long> ids,
+                                                     @Param("agora") LocalDateTime agora,
+                                                     @Param("corte") LocalDateTime corte,
+                                                     @Param("meiaVidaSegundos") double meiaVidaSegundos);
+}
@@ -1,26 +1,49 @@
 package com.nakacorp.backend.repository;
 
 import com.nakacorp.backend.model.LeadOrigem;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LeadOrigemRepository extends JpaRepository<LeadOrigem, Long> {
+public interface LeadOrigemRepository extends JpaRepository<LeadOrigem, Long>, JpaSpecificationExecutor<LeadOrigem> {
 
     Optional<LeadOrigem> findByClienteId(Long clienteId);
 
+    @EntityGraph(attributePaths = "cliente")
     List<LeadOrigem> findByUtmSource(String utmSource);
 
     List<LeadOrigem> findByUtmCampaign(String utmCampaign);
 
+    @EntityGraph(attributePaths = "cliente")
     @Query("SELECT lo FROM LeadOrigem lo WHERE lo.utmSource = :source AND lo.utmCampaign = :campaign")
     List<LeadOrigem> findByUtmSourceAndUtmCampaign(@Param("source") String utmSource, @Param("campaign") String utmCampaign);
 
     @Query("SELECT DISTINCT lo.utmSource FROM LeadOrigem lo WHERE lo.utmSource IS NOT NULL ORDER BY lo.utmSource")
     List<String> findDistinctUtmSources();
-}
\ No newline at end of file
+
+    /**
+     * Transfere para o cliente principal a origem mais antiga dos clientes mesclados,
+     * se o principal ainda não tiver origem registrada.
+     *
+     * @param principalId ID do cliente que permanece
+     * @param ids         IDs dos clientes mesclados
+     * @return Quantidade de origens transferidas (0 ou 1)
+     */
+    @Modifying
+    @Query(value = "UPDATE tb_lead_origem SET id_cliente = :principalId " +
+                   "WHERE id_lead_origem = (" +
+                   "  SELECT lo.id_lead_origem FROM tb_lead_origem lo WHERE lo.id_cliente IN (:ids) " +
+                   "  ORDER BY lo.created_at, lo.id_lead_origem LIMIT 1) " +
+                   "AND NOT EXISTS (SELECT 1 FROM tb_lead_origem p WHERE p.id_cliente = :principalId)",
+           nativeQuery = true)
+    int transferirParaCliente(@Param("principalId") Long principalId, @Param("ids") Collection<Long> ids);
+}
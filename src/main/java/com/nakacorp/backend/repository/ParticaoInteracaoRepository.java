@@ -0,0 +1,92 @@
+package com.nakacorp.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Manutenção das partições mensais de {@code tb_interacao_cliente} (V12).
+ * <p>
+ * Encapsula as funções {@code criar_particoes_interacao} e
+ * {@code remover_particoes_interacao}, a listagem das partições anexadas e o
+ * {@code EXPLAIN} usado para conferir a poda de partições das consultas por período.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public class ParticaoInteracaoRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ParticaoInteracaoRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Cria as partições mensais de [inicio, fim) que ainda não existem.
+     *
+     * @param inicio primeiro dia do intervalo (ajustado para o início do mês)
+     * @param fim    fim exclusivo do intervalo
+     * @return quantidade de partições criadas
+     */
+    public int criarParticoes(LocalDate inicio, LocalDate fim) {
+        Number criadas = (Number) entityManager
+                .createNativeQuery("SELECT criar_particoes_interacao(CAST(:inicio AS DATE), CAST(:fim AS DATE))")
+                .setParameter("inicio", inicio)
+                .setParameter("fim", fim)
+                .getSingleResult();
+        return criadas.intValue();
+    }
+
+    /**
+     * Desanexa as partições mensais inteiramente anteriores ao corte. As tabelas
+     * desanexadas e mantidas perdem as chaves estrangeiras (V15).
+     *
+     * @param corte   primeiro dia mantido
+     * @param remover remove as tabelas desanexadas e as linhas anteriores ao corte na partição padrão
+     * @return nomes das partições processadas
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> removerParticoes(LocalDate corte, boolean remover) {
+        return entityManager
+                .createNativeQuery("SELECT CAST(remover_particoes_interacao(CAST(:corte AS DATE), :remover) AS TEXT)")
+                .setParameter("corte", corte)
+                .setParameter("remover", remover)
+                .getResultList();
+    }
+
+    /**
+     * Lista as partições anexadas, incluindo a padrão.
+     *
+     * @return nomes das partições em ordem alfabética (mensais em ordem cronológica)
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> listarParticoes() {
+        return entityManager
+                .createNativeQuery("SELECT CAST(c.relname AS TEXT) FROM pg_inherits h " +
+                                   "JOIN pg_class c ON c.oid = h.inhrelid " +
+                                   "WHERE h.inhparent = CAST('tb_interacao_cliente' AS REGCLASS) " +
+                                   "ORDER BY c.relname")
+                .getResultList();
+    }
+
+    /**
+     * Plano de execução de uma consulta, sem executá-la.
+     *
+     * @param sql consulta SQL sem parâmetros (valores literais, para o planejador podar na planificação)
+     * @return linhas do plano
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> explicar(String sql) {
+        return entityManager
+                .createNativeQuery("EXPLAIN (COSTS OFF) " + sql)
+                .getResultList();
+    }
+}
@@ -8,19 +8,38 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
     List<Produto> findByAtivoTrue();
 
+    long countByAtivoTrue();
+
     List<Produto> findByCategoria(String categoria);
 
     List<Produto> findByAtivoTrueAndCategoria(String categoria);
 
-    @Query("SELECT p FROM Produto p WHERE p.nome ILIKE %:nome%")
-    List<Produto> findByNomeContainingIgnoreCase(@Param("nome") String nome);
+    /**
+     * Busca produtos por nome (substring ou similaridade), sem diferenciar acentos.
+     * Usa o índice de trigramas {@code idx_produto_nome_trgm}; o termo deve chegar normalizado.
+     *
+     * @param termo  Termo normalizado
+     * @param padrao Padrão LIKE de substring do termo
+     * @param limite Quantidade máxima de resultados
+     * @return Produtos do mais ao menos similar
+     */
+    @Query(value = "SELECT p.* FROM tb_produto p " +
+           "WHERE f_unaccent(lower(p.nome)) LIKE :padrao OR f_unaccent(lower(p.nome)) % :termo " +
+           "ORDER BY similarity(f_unaccent(lower(p.nome)), :termo) DESC, p.id_produto " +
+           "LIMIT :limite",
+           nativeQuery = true)
+    List<Produto> buscarPorNome(@Param("termo") String termo,
+                                @Param("padrao") String padrao,
+                                @Param("limite") int limite);
 
     @Query("SELECT p FROM Produto p WHERE p.preco BETWEEN :precoMin AND :precoMax")
     List<Produto> findByPrecoBetween(@Param("precoMin") BigDecimal precoMin, @Param("precoMax") BigDecimal precoMax);
@@ -31,4 +50,13 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     List<String> findDistinctCategorias();
 
     boolean existsByNome(String nome);
+
+    /**
+     * Filtra os nomes que já pertencem a algum produto, para validar importações em lote.
+     *
+     * @param nomes Nomes a verificar
+     * @return Nomes já cadastrados
+     */
+    @Query("SELECT p.nome FROM Produto p WHERE p.nome IN :nomes")
+    Set<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.nakacorp.backend.repository;
+
+import com.nakacorp.backend.repository.projection.Projecao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Consultas de listagem que selecionam apenas as colunas dos DTOs.
+ * <p>
+ * Aceita as mesmas {@link Specification}s usadas nos repositórios, mas monta a
+ * consulta como {@link Tuple} a partir de uma {@link Projecao}: o SQL traz somente
+ * as colunas exibidas, com os joins necessários em uma única consulta, e nenhuma
+ * entidade é carregada no persistence context.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public class ProjecaoRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ProjecaoRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Lista os registros do filtro convertidos pela projeção.
+     *
+     * @param projecao colunas e conversão
+     * @param filtro   filtro (pode ser {@code null})
+     * @param ordem    ordenação
+     * @param limite   quantidade máxima de registros (0 para sem limite)
+     * @return DTOs na ordem solicitada
+     */
+    public <T, R> List<R> listar(Projecao<T, R> projecao, Specification<T> filtro, Sort ordem, int limite) {
+        return listarLinhas(projecao, filtro, ordem, 0L, limite).stream()
+                .map(projecao.conversor())
+                .toList();
+    }
+
+    /**
+     * Lista as linhas do filtro sem convertê-las.
+     *
+     * @param projecao colunas selecionadas
+     * @param filtro   filtro (pode ser {@code null})
+     * @param ordem    ordenação
+     * @param inicio   posição da primeira linha
+     * @param limite   quantidade máxima de linhas (0 para sem limite)
+     * @return linhas com as colunas da projeção
+     */
+    public <T> List<Tuple> listarLinhas(Projecao<T, ?> projecao, Specification<T> filtro, Sort ordem,
+                                        long inicio, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(projecao.entidade());
+        query.multiselect(projecao.colunas().apply(root));
+        aplicarFiltro(filtro, root, query, cb);
+        if (ordem != null && ordem.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(ordem, root, cb));
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (inicio > 0) {
+            typed.setFirstResult(Math.toIntExact(inicio));
+        }
+        if (limite > 0) {
+            typed.setMaxResults(limite);
+        }
+        return typed.getResultList();
+    }
+
+    /**
+     * Página dos registros do filtro convertidos pela projeção.
+     * O COUNT é omitido quando a página já revela o total.
+     *
+     * @param projecao colunas e conversão
+     * @param filtro   filtro (pode ser {@code null})
+     * @param pageable página e ordenação
+     * @return página de DTOs
+     */
+    public <T, R> Page<R> paginar(Projecao<T, R> projecao, Specification<T> filtro, Pageable pageable) {
+        List<Tuple> linhas = pageable.isPaged()
+                ? listarLinhas(projecao, filtro, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+                : listarLinhas(projecao, filtro, pageable.getSort(), 0L, 0);
+        List<R> conteudo = linhas.stream().map(projecao.conversor()).toList();
+        return PageableExecutionUtils.getPage(conteudo, pageable, () -> contar(projecao.entidade(), filtro));
+    }
+
+    /**
+     * Conta os registros do filtro.
+     *
+     * @param entidade entidade consultada
+     * @param filtro   filtro (pode ser {@code null})
+     * @return quantidade de registros
+     */
+    public <T> long contar(Class<T> entidade, Specification<T> filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entidade);
+        query.select(cb.count(root));
+        aplicarFiltro(filtro, root, query, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static <T> void aplicarFiltro(Specification<T> filtro, Root<T> root, CriteriaQuery<?> query,
+                                          CriteriaBuilder cb) {
+        if (filtro == null) {
+            return;
+        }
+        Predicate predicado = filtro.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+    }
+}
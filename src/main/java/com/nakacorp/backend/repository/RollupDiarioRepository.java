@@ -0,0 +1,157 @@
+package com.nakacorp.backend.repository;
+
+import com.nakacorp.backend.model.RollupDiario;
+import com.nakacorp.backend.model.RollupDiarioId;
+import com.nakacorp.backend.repository.projection.RollupDiarioPonto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RollupDiarioRepository extends JpaRepository<RollupDiario, RollupDiarioId> {
+
+    /**
+     * Chave de advisory lock de um dia do rollup: {@code (hashtext('tb_rollup_diario'), dias desde 2000-01-01)}.
+     * Incrementos travam o dia em modo compartilhado e a reconstrução em modo exclusivo,
+     * até o fim de cada transação.
+     */
+    String CHAVE_DIA = "hashtext('tb_rollup_diario'), ";
+    String DIAS_DESDE_2000 = " - DATE '2000-01-01'";
+
+    /**
+     * Soma {@code delta} à contagem da linha, criando-a se não existir. Espera a
+     * reconstrução em andamento do mesmo dia terminar.
+     */
+    @Modifying
+    @Query(value = "WITH trava AS (SELECT pg_advisory_xact_lock_shared(" + CHAVE_DIA +
+                   "CAST(:data AS DATE)" + DIAS_DESDE_2000 + ")) " +
+                   "INSERT INTO tb_rollup_diario (data, metrica, status_lead, origem_lead, tipo_interacao, total) " +
+                   "SELECT :data, :metrica, :statusLead, :origemLead, :tipoInteracao, :delta FROM trava " +
+                   "ON CONFLICT (data, metrica, status_lead, origem_lead, tipo_interacao) " +
+                   "DO UPDATE SET total = tb_rollup_diario.total + EXCLUDED.total",
+           nativeQuery = true)
+    void incrementar(@Param("data") LocalDate data,
+                     @Param("metrica") String metrica,
+                     @Param("statusLead") String statusLead,
+                     @Param("origemLead") String origemLead,
+                     @Param("tipoInteracao") String tipoInteracao,
+                     @Param("delta") long delta);
+
+    /**
+     * Métricas das séries temporais por dia, somando todas as origens.
+     *
+     * @param inicio Primeiro dia (inclusivo)
+     * @param fim    Último dia (inclusivo)
+     * @return Uma linha por dia com movimento
+     */
+    @Query("SELECT r.data AS data, " +
+           "SUM(CASE WHEN r.metrica = 'LEAD_CRIADO' THEN r.total ELSE 0 END) AS leadsCriados, " +
+           "SUM(CASE WHEN r.metrica = 'ENTRADA_STATUS' AND r.statusLead = 'CLIENTE' THEN r.total ELSE 0 END) AS conversoes, " +
+           "SUM(CASE WHEN r.metrica = 'ENTRADA_STATUS' AND r.statusLead = 'PERDIDO' THEN r.total ELSE 0 END) AS perdidos, " +
+           "SUM(CASE WHEN r.metrica = 'INTERACAO' THEN r.total ELSE 0 END) AS interacoes " +
+           "FROM RollupDiario r WHERE r.data BETWEEN :inicio AND :fim " +
+           "GROUP BY r.data ORDER BY r.data")
+    List<RollupDiarioPonto> findPontosBetween(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    /**
+     * Métricas das séries temporais por dia para uma origem de lead.
+     *
+     * @param inicio Primeiro dia (inclusivo)
+     * @param fim    Último dia (inclusivo)
+     * @param origem Origem do lead
+     * @return Uma linha por dia com movimento
+     */
+    @Query("SELECT r.data AS data, " +
+           "SUM(CASE WHEN r.metrica = 'LEAD_CRIADO' THEN r.total ELSE 0 END) AS leadsCriados, " +
+           "SUM(CASE WHEN r.metrica = 'ENTRADA_STATUS' AND r.statusLead = 'CLIENTE' THEN r.total ELSE 0 END) AS conversoes, " +
+           "SUM(CASE WHEN r.metrica = 'ENTRADA_STATUS' AND r.statusLead = 'PERDIDO' THEN r.total ELSE 0 END) AS perdidos, " +
+           "SUM(CASE WHEN r.metrica = 'INTERACAO' THEN r.total ELSE 0 END) AS interacoes " +
+           "FROM RollupDiario r WHERE r.data BETWEEN :inicio AND :fim AND r.origemLead = :origem " +
+           "GROUP BY r.data ORDER BY r.data")
+    List<RollupDiarioPonto> findPontosBetweenByOrigem(@Param("inicio") LocalDate inicio,
+                                                      @Param("fim") LocalDate fim,
+                                                      @Param("origem") String origem);
+
+    // ===================== RECONSTRUÇÃO =====================
+    // Lê as views de histórico (ativos + arquivados) para que o arquivamento não altere períodos reconstruídos
+
+    /**
+     * Trava em modo exclusivo, em ordem crescente, os dias de [inicio, fim): espera os
+     * incrementos em andamento desses dias confirmarem e bloqueia os seguintes até o
+     * fim da transação. Deve ser chamado antes das demais consultas da reconstrução,
+     * para que elas já vejam as escritas confirmadas.
+     *
+     * @return quantidade de dias travados
+     */
+    @Query(value = "SELECT COUNT(*) FROM (" +
+                   "SELECT pg_advisory_xact_lock(" + CHAVE_DIA + "CAST(d AS DATE)" + DIAS_DESDE_2000 + ") " +
+                   "FROM generate_series(CAST(:inicio AS DATE), CAST(:fim AS DATE) - 1, INTERVAL '1 day') AS d" +
+                   ") travas",
+           nativeQuery = true)
+    long travarPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_rollup_diario WHERE data >= :inicio AND data < :fim", nativeQuery = true)
+    int deleteByPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_rollup_diario (data, metrica, status_lead, origem_lead, tipo_interacao, total) " +
+                   "SELECT CAST(c.created_at AS DATE), 'LEAD_CRIADO', '', c.origem_lead, '', COUNT(*) " +
+                   "FROM vw_cliente_historico c " +
+                   "WHERE c.created_at >= :inicio AND c.created_at < :fim " +
+                   "GROUP BY CAST(c.created_at AS DATE), c.origem_lead",
+           nativeQuery = true)
+    int rebuildLeadsCriados(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Status inicial dos leads criados no período: o status anterior da primeira
+     * mudança registrada ou, se não houve mudança, o status atual.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tb_rollup_diario (data, metrica, status_lead, origem_lead, tipo_interacao, total) " +
+                   "SELECT CAST(c.created_at AS DATE), 'ENTRADA_STATUS', " +
+                   "COALESCE(primeira.status_anterior, c.status_lead, 'NOVO'), c.origem_lead, '', COUNT(*) " +
+                   "FROM vw_cliente_historico c " +
+                   "LEFT JOIN LATERAL (" +
+                   "  SELECT i.dados_extras ->> 'statusAnterior' AS status_anterior " +
+                   "  FROM vw_interacao_historico i " +
+                   "  WHERE i.id_cliente = c.id_cliente AND i.dados_extras ->> 'statusAnterior' IS NOT NULL " +
+                   "  ORDER BY i.created_at LIMIT 1" +
+                   ") primeira ON true " +
+                   "WHERE c.created_at >= :inicio AND c.created_at < :fim " +
+                   "GROUP BY CAST(c.created_at AS DATE), COALESCE(primeira.status_anterior, c.status_lead, 'NOVO'), c.origem_lead " +
+                   "ON CONFLICT (data, metrica, status_lead, origem_lead, tipo_interacao) " +
+                   "DO UPDATE SET total = tb_rollup_diario.total + EXCLUDED.total",
+           nativeQuery = true)
+    int rebuildStatusInicial(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_rollup_diario (data, metrica, status_lead, origem_lead, tipo_interacao, total) " +
+                   "SELECT CAST(i.created_at AS DATE), 'ENTRADA_STATUS', i.dados_extras ->> 'novoStatus', c.origem_lead, '', COUNT(*) " +
+                   "FROM vw_interacao_historico i " +
+                   "JOIN vw_cliente_historico c ON c.id_cliente = i.id_cliente " +
+                   "WHERE i.tipo_interacao = 'NOTA_INTERNA' " +
+                   "AND i.dados_extras ->> 'novoStatus' IS NOT NULL " +
+                   "AND i.created_at >= :inicio AND i.created_at < :fim " +
+                   "GROUP BY CAST(i.created_at AS DATE), i.dados_extras ->> 'novoStatus', c.origem_lead " +
+                   "ON CONFLICT (data, metrica, status_lead, origem_lead, tipo_interacao) " +
+                   "DO UPDATE SET total = tb_rollup_diario.total + EXCLUDED.total",
+           nativeQuery = true)
+    int rebuildMudancasStatus(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_rollup_diario (data, metrica, status_lead, origem_lead, tipo_interacao, total) " +
+                   "SELECT CAST(i.created_at AS DATE), 'INTERACAO', '', c.origem_lead, i.tipo_interacao, COUNT(*) " +
+                   "FROM vw_interacao_historico i " +
+                   "JOIN vw_cliente_historico c ON c.id_cliente = i.id_cliente " +
+                   "WHERE i.created_at >= :inicio AND i.created_at < :fim " +
+                   "GROUP BY CAST(i.created_at AS DATE), c.origem_lead, i.tipo_interacao",
+           nativeQuery = true)
+    int rebuildInteracoes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+}
@@ -0,0 +1,36 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+
+/**
+ * Projeção de um cliente encontrado pela busca textual.
+ * <p>
+ * Traz apenas os campos exibidos na listagem de resultados e a relevância
+ * calculada pelo banco (maior é melhor). {@code arquivado} indica um lead lido de
+ * {@code tb_cliente_arquivo}.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ClienteBuscaResultado {
+
+    Long getId();
+
+    String getNome();
+
+    String getEmail();
+
+    String getEmpresa();
+
+    String getTelefone();
+
+    StatusLead getStatus();
+
+    OrigemLead getOrigem();
+
+    Double getRelevancia();
+    Boolean getArquivado();
+}
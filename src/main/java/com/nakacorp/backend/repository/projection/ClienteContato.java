@@ -0,0 +1,25 @@
+package com.nakacorp.backend.repository.projection;
+
+/**
+ * Projeção com os campos de identificação e contato de um cliente.
+ * <p>
+ * Usada para recalcular as chaves de deduplicação e exibir o ranking de leads
+ * sem materializar entidades.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ClienteContato {
+
+    Long getId();
+
+    String getNome();
+
+    String getEmail();
+
+    String getTelefone();
+
+    String getEmpresa();
+}
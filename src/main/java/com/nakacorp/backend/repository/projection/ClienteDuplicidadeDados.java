@@ -0,0 +1,29 @@
+package com.nakacorp.backend.repository.projection;
+
+/**
+ * Dados de um lead usados na comparação de duplicados.
+ * <p>
+ * {@code chave} é a chave do bloco em que o lead foi lido (vazia na busca
+ * de candidatos de um único lead).
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ClienteDuplicidadeDados {
+
+    String getChave();
+
+    Long getId();
+
+    String getNome();
+
+    String getEmpresa();
+
+    String getDedupTelefone();
+
+    String getDedupEmail();
+
+    String getDedupNome();
+}
@@ -0,0 +1,20 @@
+package com.nakacorp.backend.repository.projection;
+
+/**
+ * Projeção com o nome e a empresa de um cliente.
+ * <p>
+ * Usada para carregar o índice de autocomplete sem materializar entidades.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ClienteNomeEmpresa {
+
+    Long getId();
+
+    String getNome();
+
+    String getEmpresa();
+}
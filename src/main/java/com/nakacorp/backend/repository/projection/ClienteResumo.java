@@ -0,0 +1,29 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+
+/**
+ * Projeção com os dados de resumo de um cliente.
+ * <p>
+ * Usada ao registrar interações, que apenas referenciam o cliente, sem materializar a entidade.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ClienteResumo {
+
+    Long getId();
+
+    String getNome();
+
+    String getEmail();
+
+    String getEmpresa();
+
+    StatusLead getStatusLead();
+
+    OrigemLead getOrigemLead();
+}
@@ -0,0 +1,22 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+
+/**
+ * Projeção da conversão de leads agregada por origem.
+ * <p>
+ * Traz o total de leads da origem e quantos estão com status {@code CLIENTE}.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ConversaoOrigemAgregado {
+
+    OrigemLead getOrigem();
+
+    Long getTotal();
+
+    Long getConvertidos();
+}
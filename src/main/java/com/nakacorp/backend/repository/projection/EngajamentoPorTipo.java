@@ -0,0 +1,19 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.TipoInteracao;
+
+/**
+ * Projeção com a quantidade de interações de um tipo, já decaída pela idade de cada interação.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface EngajamentoPorTipo {
+
+    Long getClienteId();
+
+    TipoInteracao getTipo();
+
+    Double getTotal();
+}
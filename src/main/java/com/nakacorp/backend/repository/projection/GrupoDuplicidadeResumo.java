@@ -0,0 +1,15 @@
+package com.nakacorp.backend.repository.projection;
+
+/**
+ * Resumo de um grupo de leads candidatos a duplicados.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface GrupoDuplicidadeResumo {
+
+    Long getGrupo();
+
+    Double getScoreMaximo();
+}
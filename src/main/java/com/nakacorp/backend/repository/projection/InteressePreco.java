@@ -0,0 +1,21 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.NivelInteresse;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção com o nível de um interesse e o preço do produto.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface InteressePreco {
+
+    Long getClienteId();
+
+    NivelInteresse getNivel();
+
+    BigDecimal getPreco();
+}
@@ -0,0 +1,17 @@
+package com.nakacorp.backend.repository.projection;
+
+/**
+ * Projeção de um lead no ranking de pontuação.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface LeadRankingEntrada {
+
+    Long getId();
+
+    Double getScore();
+
+    Long getUsuarioResponsavelId();
+}
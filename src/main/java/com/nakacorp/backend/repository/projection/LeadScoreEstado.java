@@ -0,0 +1,32 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.StatusLead;
+
+/**
+ * Projeção com o estado da pontuação de um lead.
+ * <p>
+ * As somas de engajamento e interesse são as parciais brutas gravadas na última
+ * atualização; o tempo decorrido desde então é calculado pelo banco.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface LeadScoreEstado {
+
+    Long getId();
+
+    StatusLead getStatus();
+
+    Double getEngajamento();
+
+    Double getInteresse();
+
+    /**
+     * Segundos desde a última atualização da pontuação; {@code null} se nunca foi calculada.
+     */
+    Double getSegundosDesdeCalculo();
+
+    Long getUsuarioResponsavelId();
+}
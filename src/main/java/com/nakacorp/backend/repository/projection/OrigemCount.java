@@ -0,0 +1,17 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+
+/**
+ * Projeção de contagem de leads por origem.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface OrigemCount {
+
+    OrigemLead getOrigem();
+
+    Long getTotal();
+}
@@ -0,0 +1,25 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.StatusLead;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção do pipeline de vendas agregado por status do lead.
+ * <p>
+ * Traz a quantidade de leads e a soma dos preços dos produtos de interesse
+ * de cada estágio do funil.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface PipelineStatusAgregado {
+
+    StatusLead getStatus();
+
+    Long getQuantidade();
+
+    BigDecimal getValorPotencial();
+}
@@ -0,0 +1,32 @@
+package com.nakacorp.backend.repository.projection;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Colunas selecionadas de uma entidade e a conversão de cada linha no DTO.
+ * <p>
+ * As colunas são selecionadas como {@link Tuple} com alias, sem instanciar a
+ * entidade; o persistence context não recebe nenhum objeto gerenciado.
+ * Projeções usadas em paginação por cursor devem incluir os aliases
+ * {@code id} e {@code createdAt}.
+ * </p>
+ *
+ * @param entidade  entidade raiz da consulta
+ * @param colunas   colunas (e joins) a partir da raiz
+ * @param conversor conversão de uma linha no DTO
+ * @param <T>       tipo da entidade
+ * @param <R>       tipo do DTO
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record Projecao<T, R>(
+        Class<T> entidade,
+        Function<Root<T>, List<Selection<?>>> colunas,
+        Function<Tuple, R> conversor
+) {}
@@ -0,0 +1,259 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.dto.res.ClienteInteresseResponseDto;
+import com.nakacorp.backend.dto.res.ClienteResponseDto;
+import com.nakacorp.backend.dto.res.ClienteSummaryDto;
+import com.nakacorp.backend.dto.res.InteracaoClienteResponseDto;
+import com.nakacorp.backend.dto.res.LeadAcompanhamentoDto;
+import com.nakacorp.backend.dto.res.LeadOrigemResponseDto;
+import com.nakacorp.backend.dto.res.ProdutoSummaryDto;
+import com.nakacorp.backend.dto.res.TimelineClienteDto;
+import com.nakacorp.backend.dto.res.UsuarioResponseDto;
+import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.model.ClienteInteresse;
+import com.nakacorp.backend.model.InteracaoCliente;
+import com.nakacorp.backend.model.LeadOrigem;
+import com.nakacorp.backend.model.Produto;
+import com.nakacorp.backend.model.Usuario;
+import com.nakacorp.backend.model.enums.NivelInteresse;
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.model.enums.TipoCobranca;
+import com.nakacorp.backend.model.enums.TipoInteracao;
+import com.nakacorp.backend.model.enums.TipoUsuario;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projeções das listagens: as colunas de cada DTO de resposta e a montagem do DTO.
+ * <p>
+ * As colunas de entidades relacionadas são selecionadas por join com alias
+ * {@code <relacao>_<atributo>}, montando os DTOs aninhados sem carregar as entidades.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ProjecoesListagem {
+
+    private static final String[] COLUNAS_CLIENTE = {
+            "id", "nome", "email", "telefone", "endereco", "cidade", "estado", "cep", "empresa", "cargo",
+            "origemLead", "statusLead", "dataPrimeiroContato", "dataUltimaInteracao", "observacoes",
+            "createdAt", "updatedAt"
+    };
+    private static final String[] COLUNAS_CLIENTE_RESUMO = {
+            "id", "nome", "email", "empresa", "statusLead", "origemLead"
+    };
+    private static final String[] COLUNAS_USUARIO = {
+            "id", "nome", "email", "tipoUsuario", "googleId", "ativo", "createdAt", "updatedAt"
+    };
+    private static final String[] COLUNAS_PRODUTO_RESUMO = {
+            "id", "nome", "categoria", "preco", "tipoCobranca", "ativo"
+    };
+
+    /**
+     * Cliente completo ({@link ClienteResponseDto}).
+     */
+    public static final Projecao<Cliente, ClienteResponseDto> CLIENTE = new Projecao<>(Cliente.class,
+            root -> colunas(root, null, COLUNAS_CLIENTE),
+            linha -> new ClienteResponseDto(
+                    linha.get("id", Long.class),
+                    linha.get("nome", String.class),
+                    linha.get("email", String.class),
+                    linha.get("telefone", String.class),
+                    linha.get("endereco", String.class),
+                    linha.get("cidade", String.class),
+                    linha.get("estado", String.class),
+                    linha.get("cep", String.class),
+                    linha.get("empresa", String.class),
+                    linha.get("cargo", String.class),
+                    linha.get("origemLead", OrigemLead.class),
+                    linha.get("statusLead", StatusLead.class),
+                    linha.get("dataPrimeiroContato", LocalDateTime.class),
+                    linha.get("dataUltimaInteracao", LocalDateTime.class),
+                    linha.get("observacoes", String.class),
+                    linha.get("createdAt", LocalDateTime.class),
+                    linha.get("updatedAt", LocalDateTime.class)));
+
+    /**
+     * Resumo do cliente ({@link ClienteSummaryDto}); inclui {@code createdAt} para o cursor.
+     */
+    public static final Projecao<Cliente, ClienteSummaryDto> CLIENTE_RESUMO = new Projecao<>(Cliente.class,
+            root -> {
+                List<Selection<?>> colunas = colunas(root, null, COLUNAS_CLIENTE_RESUMO);
+                colunas.add(root.get("createdAt").alias("createdAt"));
+                return colunas;
+            },
+            linha -> clienteResumo(linha, null));
+
+    /**
+     * Lead das filas de acompanhamento ({@link LeadAcompanhamentoDto}).
+     */
+    public static final Projecao<Cliente, LeadAcompanhamentoDto> LEAD_ACOMPANHAMENTO = new Projecao<>(Cliente.class,
+            root -> colunas(root, null,
+                    "id", "nome", "email", "telefone", "empresa", "statusLead", "origemLead", "dataUltimaInteracao"),
+            linha -> new LeadAcompanhamentoDto(
+                    linha.get("id", Long.class),
+                    linha.get("nome", String.class),
+                    linha.get("email", String.class),
+                    linha.get("telefone", String.class),
+                    linha.get("empresa", String.class),
+                    linha.get("statusLead", StatusLead.class),
+                    linha.get("origemLead", OrigemLead.class),
+                    linha.get("dataUltimaInteracao", LocalDateTime.class)));
+
+    /**
+     * Apenas o ID do cliente.
+     */
+    public static final Projecao<Cliente, Long> CLIENTE_ID = new Projecao<>(Cliente.class,
+            root -> List.of(root.get("id").alias("id")),
+            linha -> linha.get("id", Long.class));
+
+    /**
+     * Interação com o resumo do cliente e o usuário responsável ({@link InteracaoClienteResponseDto}).
+     */
+    public static final Projecao<InteracaoCliente, InteracaoClienteResponseDto> INTERACAO =
+            new Projecao<>(InteracaoCliente.class,
+                    root -> {
+                        Join<InteracaoCliente, Cliente> cliente = root.join("cliente");
+                        Join<InteracaoCliente, Usuario> usuario = root.join("usuario", JoinType.LEFT);
+                        List<Selection<?>> colunas = colunas(root, null,
+                                "id", "tipoInteracao", "descricao", "dadosExtras", "createdAt");
+                        colunas.addAll(colunas(cliente, "cliente", COLUNAS_CLIENTE_RESUMO));
+                        colunas.addAll(colunas(usuario, "usuario", COLUNAS_USUARIO));
+                        return colunas;
+                    },
+                    linha -> new InteracaoClienteResponseDto(
+                            linha.get("id", Long.class),
+                            clienteResumo(linha, "cliente"),
+                            usuario(linha, "usuario"),
+                            linha.get("tipoInteracao", TipoInteracao.class),
+                            linha.get("descricao", String.class),
+                            dadosExtras(linha),
+                            linha.get("createdAt", LocalDateTime.class)));
+
+    /**
+     * Item da timeline do cliente ({@link TimelineClienteDto}).
+     */
+    public static final Projecao<InteracaoCliente, TimelineClienteDto> TIMELINE =
+            new Projecao<>(InteracaoCliente.class,
+                    root -> {
+                        Join<InteracaoCliente, Usuario> usuario = root.join("usuario", JoinType.LEFT);
+                        List<Selection<?>> colunas = colunas(root, null,
+                                "id", "tipoInteracao", "descricao", "dadosExtras", "createdAt");
+                        colunas.add(usuario.get("nome").alias("usuario_nome"));
+                        return colunas;
+                    },
+                    linha -> new TimelineClienteDto(
+                            linha.get("id", Long.class),
+                            linha.get("tipoInteracao", TipoInteracao.class),
+                            linha.get("descricao", String.class),
+                            linha.get("usuario_nome") != null ? linha.get("usuario_nome", String.class) : "Sistema",
+                            dadosExtras(linha),
+                            linha.get("createdAt", LocalDateTime.class)));
+
+    /**
+     * Interesse com os resumos do cliente e do produto ({@link ClienteInteresseResponseDto}).
+     */
+    public static final Projecao<ClienteInteresse, ClienteInteresseResponseDto> INTERESSE =
+            new Projecao<>(ClienteInteresse.class,
+                    root -> {
+                        Join<ClienteInteresse, Cliente> cliente = root.join("cliente");
+                        Join<ClienteInteresse, Produto> produto = root.join("produto");
+                        List<Selection<?>> colunas = colunas(root, null,
+                                "id", "nivelInteresse", "observacoes", "createdAt");
+                        colunas.addAll(colunas(cliente, "cliente", COLUNAS_CLIENTE_RESUMO));
+                        colunas.addAll(colunas(produto, "produto", COLUNAS_PRODUTO_RESUMO));
+                        return colunas;
+                    },
+                    linha -> new ClienteInteresseResponseDto(
+                            linha.get("id", Long.class),
+                            clienteResumo(linha, "cliente"),
+                            new ProdutoSummaryDto(
+                                    linha.get("produto_id", Long.class),
+                                    linha.get("produto_nome", String.class),
+                                    linha.get("produto_categoria", String.class),
+                                    linha.get("produto_preco", BigDecimal.class),
+                                    linha.get("produto_tipoCobranca", TipoCobranca.class),
+                                    linha.get("produto_ativo", Boolean.class)),
+                            linha.get("nivelInteresse", NivelInteresse.class),
+                            linha.get("observacoes", String.class),
+                            linha.get("createdAt", LocalDateTime.class)));
+
+    /**
+     * Origem do lead ({@link LeadOrigemResponseDto}); o ID do cliente vem da chave estrangeira, sem join.
+     */
+    public static final Projecao<LeadOrigem, LeadOrigemResponseDto> LEAD_ORIGEM =
+            new Projecao<>(LeadOrigem.class,
+                    root -> {
+                        List<Selection<?>> colunas = colunas(root, null,
+                                "id", "fonteDetalhada", "utmSource", "utmMedium", "utmCampaign", "userAgent",
+                                "createdAt");
+                        colunas.add(root.get("cliente").get("id").alias("cliente_id"));
+                        return colunas;
+                    },
+                    linha -> new LeadOrigemResponseDto(
+                            linha.get("id", Long.class),
+                            linha.get("cliente_id", Long.class),
+                            linha.get("fonteDetalhada", String.class),
+                            linha.get("utmSource", String.class),
+                            linha.get("utmMedium", String.class),
+                            linha.get("utmCampaign", String.class),
+                            linha.get("userAgent", String.class),
+                            linha.get("createdAt", LocalDateTime.class)));
+
+    private ProjecoesListagem() {}
+
+    private static List<Selection<?>> colunas(From<?, ?> origem, String prefixo, String... atributos) {
+        List<Selection<?>> colunas = new ArrayList<>(atributos.length + 4);
+        for (String atributo : atributos) {
+            colunas.add(origem.get(atributo).alias(alias(prefixo, atributo)));
+        }
+        return colunas;
+    }
+
+    private static String alias(String prefixo, String atributo) {
+        return prefixo == null ? atributo : prefixo + "_" + atributo;
+    }
+
+    private static ClienteSummaryDto clienteResumo(Tuple linha, String prefixo) {
+        return new ClienteSummaryDto(
+                linha.get(alias(prefixo, "id"), Long.class),
+                linha.get(alias(prefixo, "nome"), String.class),
+                linha.get(alias(prefixo, "email"), String.class),
+                linha.get(alias(prefixo, "empresa"), String.class),
+                linha.get(alias(prefixo, "statusLead"), StatusLead.class),
+                linha.get(alias(prefixo, "origemLead"), OrigemLead.class));
+    }
+
+    private static UsuarioResponseDto usuario(Tuple linha, String prefixo) {
+        Long id = linha.get(alias(prefixo, "id"), Long.class);
+        if (id == null) {
+            return null;
+        }
+        return new UsuarioResponseDto(
+                id,
+                linha.get(alias(prefixo, "nome"), String.class),
+                linha.get(alias(prefixo, "email"), String.class),
+                linha.get(alias(prefixo, "tipoUsuario"), TipoUsuario.class),
+                linha.get(alias(prefixo, "googleId"), String.class),
+                linha.get(alias(prefixo, "ativo"), Boolean.class),
+                linha.get(alias(prefixo, "createdAt"), LocalDateTime.class),
+                linha.get(alias(prefixo, "updatedAt"), LocalDateTime.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> dadosExtras(Tuple linha) {
+        return (Map<String, Object>) linha.get("dadosExtras");
+    }
+}
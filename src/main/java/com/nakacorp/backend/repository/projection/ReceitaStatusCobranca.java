@@ -0,0 +1,28 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.model.enums.TipoCobranca;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção de receita agrupada por status do lead e tipo de cobrança do produto.
+ * <p>
+ * Cada linha traz a quantidade de interesses (cliente × produto) e a soma
+ * dos preços dos produtos para a combinação (status, tipo de cobrança).
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ReceitaStatusCobranca {
+
+    StatusLead getStatus();
+
+    TipoCobranca getTipoCobranca();
+
+    Long getQuantidade();
+
+    BigDecimal getValor();
+}
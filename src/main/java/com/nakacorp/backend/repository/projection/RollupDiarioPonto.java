@@ -0,0 +1,23 @@
+package com.nakacorp.backend.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção de um dia do rollup diário com as métricas das séries temporais.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface RollupDiarioPonto {
+
+    LocalDate getData();
+
+    Long getLeadsCriados();
+
+    Long getConversoes();
+
+    Long getPerdidos();
+
+    Long getInteracoes();
+}
@@ -0,0 +1,24 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+
+/**
+ * Projeção de contagem de leads agrupada por status e origem.
+ * <p>
+ * Cada linha representa uma combinação (status, origem) com o total de leads,
+ * permitindo que as métricas do dashboard sejam calculadas sem carregar entidades.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface StatusOrigemCount {
+
+    StatusLead getStatus();
+
+    OrigemLead getOrigem();
+
+    Long getTotal();
+}
@@ -0,0 +1,17 @@
+package com.nakacorp.backend.repository.projection;
+
+import com.nakacorp.backend.model.enums.TipoInteracao;
+
+/**
+ * Projeção de contagem de interações agrupada por tipo.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public interface TipoInteracaoCount {
+
+    TipoInteracao getTipo();
+
+    Long getTotal();
+}
@@ -0,0 +1,29 @@
+package com.nakacorp.backend.repository.specification;
+
+import com.nakacorp.backend.model.ClienteInteresse;
+import com.nakacorp.backend.model.enums.NivelInteresse;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros combináveis de {@link ClienteInteresse} para consultas dinâmicas.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ClienteInteresseSpecifications {
+
+    private ClienteInteresseSpecifications() {}
+
+    public static Specification<ClienteInteresse> doCliente(Long clienteId) {
+        return (root, query, cb) -> cb.equal(root.get("cliente").get("id"), clienteId);
+    }
+
+    public static Specification<ClienteInteresse> doProduto(Long produtoId) {
+        return (root, query, cb) -> cb.equal(root.get("produto").get("id"), produtoId);
+    }
+
+    public static Specification<ClienteInteresse> comNivel(NivelInteresse nivel) {
+        return (root, query, cb) -> cb.equal(root.get("nivelInteresse"), nivel);
+    }
+}
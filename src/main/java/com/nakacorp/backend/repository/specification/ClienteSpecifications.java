@@ -0,0 +1,173 @@
+package com.nakacorp.backend.repository.specification;
+
+import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.model.ClienteInteresse;
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Filtros combináveis de {@link Cliente} para consultas dinâmicas.
+ * <p>
+ * Cada método retorna {@code null} quando o filtro não foi informado;
+ * {@link Specification#allOf} ignora especificações nulas, então os
+ * filtros podem ser combinados livremente.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ClienteSpecifications {
+
+    private ClienteSpecifications() {}
+
+    /**
+     * Busca textual em nome, email e empresa (sem diferenciar maiúsculas nem acentos).
+     * As expressões coincidem com os índices de trigramas da migração V6.
+     */
+    public static Specification<Cliente> termo(String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return null;
+        }
+        String padrao = TermoBusca.contem(TermoBusca.normalizar(searchTerm));
+        return (root, query, cb) -> cb.or(
+                cb.like(semAcento(cb, root.get("nome")), padrao, '\\'),
+                cb.like(cb.lower(root.get("email")), padrao, '\\'),
+                cb.like(semAcento(cb, root.get("empresa")), padrao, '\\')
+        );
+    }
+
+    public static Specification<Cliente> statusEm(Collection<StatusLead> status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("statusLead").in(status);
+    }
+
+    public static Specification<Cliente> origemEm(Collection<OrigemLead> origens) {
+        if (origens == null || origens.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("origemLead").in(origens);
+    }
+
+    /**
+     * Clientes com interesse em ao menos um produto das categorias informadas.
+     * Usa semi-join (EXISTS) para não duplicar clientes na paginação.
+     */
+    public static Specification<Cliente> interesseEmCategorias(Collection<String> categorias) {
+        if (categorias == null || categorias.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> interesse = query.subquery(Long.class);
+            Root<ClienteInteresse> ci = interesse.from(ClienteInteresse.class);
+            interesse.select(ci.get("id"))
+                    .where(cb.equal(ci.get("cliente"), root),
+                           ci.get("produto").get("categoria").in(categorias));
+            return cb.exists(interesse);
+        };
+    }
+
+    public static Specification<Cliente> criadoAPartirDe(LocalDateTime inicio) {
+        if (inicio == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), inicio);
+    }
+
+    public static Specification<Cliente> criadoAte(LocalDateTime fim) {
+        if (fim == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), fim);
+    }
+
+    /**
+     * Clientes com ID maior que o informado, para percorrer resultados em lotes.
+     */
+    public static Specification<Cliente> idMaiorQue(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<Cliente> semInteracao() {
+        return (root, query, cb) -> cb.isNull(root.get("dataUltimaInteracao"));
+    }
+
+    public static Specification<Cliente> ultimaInteracaoAntesDe(LocalDateTime corte) {
+        if (corte == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("dataUltimaInteracao"), corte);
+    }
+
+    public static Specification<Cliente> ultimaInteracaoAPartirDe(LocalDateTime inicio) {
+        if (inicio == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dataUltimaInteracao"), inicio);
+    }
+
+    /**
+     * Clientes posteriores à posição na ordem {@code (dataUltimaInteracao ASC, id ASC)}.
+     * O limite redundante {@code dataUltimaInteracao >= :data} permite ao banco iniciar
+     * o range scan do índice direto na posição.
+     */
+    public static Specification<Cliente> aposUltimaInteracaoCrescente(LocalDateTime data, Long id) {
+        if (data == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDateTime> dataUltimaInteracao = root.get("dataUltimaInteracao");
+            return cb.and(
+                    cb.greaterThanOrEqualTo(dataUltimaInteracao, data),
+                    cb.or(
+                            cb.greaterThan(dataUltimaInteracao, data),
+                            cb.and(cb.equal(dataUltimaInteracao, data), cb.greaterThan(root.get("id"), id))
+                    )
+            );
+        };
+    }
+
+    /**
+     * Clientes posteriores à posição na ordem {@code (dataUltimaInteracao DESC, id DESC)}.
+     */
+    public static Specification<Cliente> aposUltimaInteracaoDecrescente(LocalDateTime data, Long id) {
+        if (data == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDateTime> dataUltimaInteracao = root.get("dataUltimaInteracao");
+            return cb.and(
+                    cb.lessThanOrEqualTo(dataUltimaInteracao, data),
+                    cb.or(
+                            cb.lessThan(dataUltimaInteracao, data),
+                            cb.and(cb.equal(dataUltimaInteracao, data), cb.lessThan(root.get("id"), id))
+                    )
+            );
+        };
+    }
+
+    public static Specification<Cliente> idEm(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    private static Expression<String> semAcento(CriteriaBuilder cb, Expression<String> coluna) {
+        return cb.function("f_unaccent", String.class, cb.lower(coluna));
+    }
+}
@@ -0,0 +1,66 @@
+package com.nakacorp.backend.repository.specification;
+
+import com.nakacorp.backend.exception.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Formato de texto opaco dos cursores de paginação ({@link KeysetCursor}, {@link SegmentoCursor}).
+ * <p>
+ * As partes da posição são unidas por {@code |} e codificadas em Base64 URL-safe, para que
+ * o cliente não dependa do formato. Partes nulas são gravadas vazias.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+final class CursorOpaco {
+
+    private static final String SEPARADOR = "|";
+
+    private CursorOpaco() {}
+
+    /**
+     * Codifica as partes da posição.
+     *
+     * @param partes valores da posição, na ordem lida por {@link #decodificar}
+     * @return cursor opaco
+     */
+    static String codificar(Object... partes) {
+        String valor = Arrays.stream(partes)
+                .map(parte -> Objects.toString(parte, ""))
+                .collect(Collectors.joining(SEPARADOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente.
+     *
+     * @param cursor     cursor opaco; nulo ou vazio indica a primeira página
+     * @param quantidade quantidade de partes esperada
+     * @param leitor     converte as partes na posição
+     * @return posição decodificada ou {@code null} para a primeira página
+     * @throws InvalidDataException se o cursor não está no formato esperado
+     */
+    static <T> T decodificar(String cursor, int quantidade, Function<String[], T> leitor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARADOR, -1);
+            if (partes.length != quantidade) {
+                throw new IllegalArgumentException("Quantidade de partes inválida: " + partes.length);
+            }
+            return leitor.apply(partes);
+        } catch (RuntimeException e) {
+            throw new InvalidDataException("cursor", "cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.nakacorp.backend.repository.specification;
+
+import com.nakacorp.backend.model.InteracaoCliente;
+import com.nakacorp.backend.model.enums.TipoInteracao;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros combináveis de {@link InteracaoCliente} para consultas dinâmicas.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class InteracaoClienteSpecifications {
+
+    private InteracaoClienteSpecifications() {}
+
+    public static Specification<InteracaoCliente> doCliente(Long clienteId) {
+        return (root, query, cb) -> cb.equal(root.get("cliente").get("id"), clienteId);
+    }
+
+    public static Specification<InteracaoCliente> doTipo(TipoInteracao tipo) {
+        return (root, query, cb) -> cb.equal(root.get("tipoInteracao"), tipo);
+    }
+
+    public static Specification<InteracaoCliente> doUsuario(Long usuarioId) {
+        return (root, query, cb) -> cb.equal(root.get("usuario").get("id"), usuarioId);
+    }
+
+    public static Specification<InteracaoCliente> criadaEntre(LocalDateTime inicio, LocalDateTime fim) {
+        return (root, query, cb) -> cb.between(root.get("createdAt"), inicio, fim);
+    }
+}
@@ -0,0 +1,34 @@
+package com.nakacorp.backend.repository.specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posição de uma paginação por cursor: o par {@code (createdAt, id)} do último registro lido.
+ * <p>
+ * É trafegado como texto opaco ({@link CursorOpaco}) para que o cliente não dependa do formato.
+ * </p>
+ *
+ * @param createdAt data de criação do último registro
+ * @param id        ID do último registro (desempate)
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    public String codificar() {
+        return CursorOpaco.codificar(createdAt, id);
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente.
+     *
+     * @param cursor cursor opaco; nulo ou vazio indica a primeira página
+     * @return posição decodificada ou {@code null} para a primeira página
+     */
+    public static KeysetCursor decodificar(String cursor) {
+        return CursorOpaco.decodificar(cursor, 2, partes -> new KeysetCursor(
+                LocalDateTime.parse(partes[0]),
+                Long.parseLong(partes[1])));
+    }
+}
@@ -0,0 +1,97 @@
+package com.nakacorp.backend.repository.specification;
+
+import com.nakacorp.backend.dto.res.CursorPageDto;
+import com.nakacorp.backend.repository.ProjecaoRepository;
+import com.nakacorp.backend.repository.projection.Projecao;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Paginação por cursor (keyset) ordenada por {@code (createdAt DESC, id DESC)}.
+ * <p>
+ * Em vez de OFFSET, cada página parte do último registro da anterior, então o custo
+ * não cresce com a profundidade. Requer as propriedades {@code createdAt} e {@code id}
+ * na entidade, {@code created_at NOT NULL} (V12/V13; um valor nulo ficaria fora do
+ * predicado de seek) e um índice que termine em {@code (created_at DESC, id DESC)}.
+ * As linhas são lidas por {@link ProjecaoRepository}, sem carregar entidades.
+ * O COUNT só é executado quando o total é solicitado.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class KeysetPagination {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final Sort ORDEM = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private KeysetPagination() {}
+
+    /**
+     * Busca uma página a partir do cursor, selecionando apenas as colunas da projeção.
+     *
+     * @param repository   repositório de projeções
+     * @param projecao     colunas e conversão (deve incluir os aliases {@code id} e {@code createdAt})
+     * @param filtro       filtro da listagem (pode ser {@code null})
+     * @param cursor       cursor opaco da página anterior ({@code null} na primeira)
+     * @param size         tamanho da página (limitado a {@value #TAMANHO_MAXIMO})
+     * @param incluirTotal se deve contar o total de registros do filtro
+     * @return página com o cursor da próxima
+     */
+    public static <T, R> CursorPageDto<R> buscar(ProjecaoRepository repository,
+                                                 Projecao<T, R> projecao,
+                                                 Specification<T> filtro,
+                                                 String cursor,
+                                                 int size,
+                                                 boolean incluirTotal) {
+        int limite = Math.max(1, Math.min(size, TAMANHO_MAXIMO));
+        Specification<T> pagina = Specification.allOf(filtro, apos(KeysetCursor.decodificar(cursor)));
+
+        // Um registro a mais indica se existe próxima página
+        List<Tuple> linhas = repository.listarLinhas(projecao, pagina, ORDEM, 0L, limite + 1);
+        boolean hasNext = linhas.size() > limite;
+        if (hasNext) {
+            linhas = linhas.subList(0, limite);
+        }
+
+        String proximoCursor = null;
+        if (hasNext) {
+            Tuple ultima = linhas.get(limite - 1);
+            proximoCursor = new KeysetCursor(ultima.get("createdAt", LocalDateTime.class), ultima.get("id", Long.class))
+                    .codificar();
+        }
+        Long total = incluirTotal ? repository.contar(projecao.entidade(), filtro) : null;
+
+        return new CursorPageDto<>(linhas.stream().map(projecao.conversor()).toList(), limite, hasNext, proximoCursor, total);
+    }
+
+    /**
+     * Registros posteriores ao cursor na ordem {@code (createdAt DESC, id DESC)}.
+     * O limite redundante {@code createdAt <= :createdAt} permite ao banco iniciar
+     * o range scan do índice direto na posição do cursor.
+     */
+    private static <T> Specification<T> apos(KeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<Long> id = root.get("id");
+            return cb.and(
+                    cb.lessThanOrEqualTo(createdAt, cursor.createdAt()),
+                    cb.or(
+                            cb.lessThan(createdAt, cursor.createdAt()),
+                            cb.and(cb.equal(createdAt, cursor.createdAt()), cb.lessThan(id, cursor.id()))
+                    )
+            );
+        };
+    }
+}
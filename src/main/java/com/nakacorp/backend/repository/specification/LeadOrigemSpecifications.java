@@ -0,0 +1,20 @@
+package com.nakacorp.backend.repository.specification;
+
+import com.nakacorp.backend.model.LeadOrigem;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros combináveis de {@link LeadOrigem} para consultas dinâmicas.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LeadOrigemSpecifications {
+
+    private LeadOrigemSpecifications() {}
+
+    public static Specification<LeadOrigem> comUtmSource(String utmSource) {
+        return (root, query, cb) -> cb.equal(root.get("utmSource"), utmSource);
+    }
+}
@@ -0,0 +1,37 @@
+package com.nakacorp.backend.repository.specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posição de uma paginação por cursor dividida em segmentos: o índice do segmento
+ * e o par {@code (dataUltimaInteracao, id)} do último registro lido nele.
+ * <p>
+ * É trafegado como texto opaco ({@link CursorOpaco}), no mesmo formato de {@link KeysetCursor}.
+ * </p>
+ *
+ * @param segmento            índice do segmento do último registro
+ * @param dataUltimaInteracao data da última interação do último registro (pode ser {@code null})
+ * @param id                  ID do último registro (desempate)
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record SegmentoCursor(int segmento, LocalDateTime dataUltimaInteracao, Long id) {
+
+    public String codificar() {
+        return CursorOpaco.codificar(segmento, dataUltimaInteracao, id);
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente.
+     *
+     * @param cursor cursor opaco; nulo ou vazio indica a primeira página
+     * @return posição decodificada ou {@code null} para a primeira página
+     */
+    public static SegmentoCursor decodificar(String cursor) {
+        return CursorOpaco.decodificar(cursor, 3, partes -> new SegmentoCursor(
+                Integer.parseInt(partes[0]),
+                partes[1].isEmpty() ? null : LocalDateTime.parse(partes[1]),
+                Long.parseLong(partes[2])));
+    }
+}
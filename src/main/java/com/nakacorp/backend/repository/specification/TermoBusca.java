@@ -0,0 +1,64 @@
+package com.nakacorp.backend.repository.specification;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de termos de busca textual.
+ * <p>
+ * Os índices de busca (migração V6) são criados sobre {@code f_unaccent(lower(coluna))};
+ * o termo recebe a mesma normalização antes de ser enviado ao banco para que
+ * as comparações usem esses índices.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class TermoBusca {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private TermoBusca() {}
+
+    /**
+     * Remove acentos, converte para minúsculas e colapsa espaços.
+     *
+     * @param termo termo informado pelo usuário
+     * @return termo normalizado, ou string vazia se nulo
+     */
+    public static String normalizar(String termo) {
+        if (termo == null) {
+            return "";
+        }
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(termo, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcento.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * Padrão LIKE de substring para um termo já normalizado.
+     *
+     * @param termoNormalizado termo retornado por {@link #normalizar(String)}
+     * @return padrão {@code %termo%} com curingas escapados
+     */
+    public static String contem(String termoNormalizado) {
+        return "%" + escaparLike(termoNormalizado) + "%";
+    }
+
+    /**
+     * Extrai apenas os dígitos do termo, para comparação com telefones.
+     *
+     * @param termo termo informado pelo usuário
+     * @return dígitos do termo, ou string vazia
+     */
+    public static String digitos(String termo) {
+        return termo == null ? "" : NAO_DIGITOS.matcher(termo).replaceAll("");
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,198 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.dto.res.ClienteResponseDto;
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.exception.InvalidDataException;
+import com.nakacorp.backend.repository.ClienteArquivadoRepository;
+import com.nakacorp.backend.repository.ClienteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Arquivamento de leads perdidos e restauração de leads arquivados.
+ * <p>
+ * Leads PERDIDO sem atividade há {@code app.arquivamento.meses-perdido} meses são movidos,
+ * com interações, interesses e origem, para as tabelas de arquivo. Cada lote roda em uma
+ * transação própria, com tempo limite, e trava apenas os seus leads (SKIP LOCKED), então
+ * os bloqueios duram no máximo um lote e não disputam com as edições em andamento.
+ * A restauração devolve os leads às tabelas quentes e recalcula os dados derivados.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@Transactional
+public class ArquivamentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivamentoService.class);
+
+    private static final int LIMITE_RESTAURACAO = 1000;
+
+    private final ClienteArquivadoRepository arquivoRepository;
+    private final ClienteRepository clienteRepository;
+    private final ClienteAutocompleteIndex autocompleteIndex;
+    private final LeadScoreService leadScoreService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor;
+    private final TransactionTemplate transaction;
+    private final int mesesPerdido;
+    private final int tamanhoLote;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+
+    @Autowired
+    public ArquivamentoService(ClienteArquivadoRepository arquivoRepository,
+                               ClienteRepository clienteRepository,
+                               ClienteAutocompleteIndex autocompleteIndex,
+                               LeadScoreService leadScoreService,
+                               ApplicationEventPublisher eventPublisher,
+                               @Qualifier("backgroundExecutor") ExecutorService executor,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.arquivamento.meses-perdido:6}") int mesesPerdido,
+                               @Value("${app.arquivamento.tamanho-lote:500}") int tamanhoLote,
+                               @Value("${app.arquivamento.timeout-lote-ms:30000}") long timeoutLoteMs) {
+        this.arquivoRepository = arquivoRepository;
+        this.clienteRepository = clienteRepository;
+        this.autocompleteIndex = autocompleteIndex;
+        this.leadScoreService = leadScoreService;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.transaction = new TransactionTemplate(transactionManager);
+        // Timeout da transação também limita as queries do lote (e os bloqueios que elas mantêm)
+        this.transaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutLoteMs)));
+        this.mesesPerdido = mesesPerdido;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Inicia o arquivamento em segundo plano.
+     *
+     * @return false se um arquivamento já está em andamento
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean iniciarArquivamento() {
+        if (execucao.isLocked()) {
+            return false;
+        }
+        executor.execute(this::arquivarPerdidos);
+        return true;
+    }
+
+    /**
+     * Arquiva, em lotes, todos os leads perdidos sem atividade desde o corte.
+     */
+    @Scheduled(cron = "${app.arquivamento.cron:0 0 1 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void arquivarPerdidos() {
+        if (!execucao.tryLock()) {
+            logger.info("Arquivamento de leads já em andamento");
+            return;
+        }
+        try {
+            long inicioNanos = System.nanoTime();
+            LocalDateTime corte = LocalDateTime.now().minusMonths(mesesPerdido);
+
+            long total = 0L;
+            List<Long> lote;
+            do {
+                lote = transaction.execute(status -> arquivarLote(corte));
+                total += lote.size();
+            } while (lote.size() == tamanhoLote);
+
+            if (total > 0) {
+                eventPublisher.publishEvent(DashboardAlteradoEvent.todas());
+            }
+            logger.info("Arquivamento concluído: {} leads perdidos antes de {} arquivados em {} ms",
+                    total, corte, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos));
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    /**
+     * Restaura um lead arquivado.
+     *
+     * @param id ID do cliente arquivado
+     * @return cliente restaurado
+     * @throws IllegalArgumentException se o cliente não está arquivado
+     * @throws IllegalStateException    se o email já pertence a um lead ativo
+     */
+    public ClienteResponseDto restaurar(Long id) {
+        if (!arquivoRepository.existsById(id)) {
+            throw new IllegalArgumentException("Cliente arquivado não encontrado: " + id);
+        }
+        if (restaurar(List.of(id)).isEmpty()) {
+            throw new IllegalStateException("Já existe um cliente ativo com o email do cliente arquivado " + id);
+        }
+        return clienteRepository.findById(id)
+                .map(ClienteResponseDto::fromEntity)
+                .orElseThrow();
+    }
+
+    /**
+     * Restaura leads arquivados. IDs não arquivados e leads cujo email já pertence
+     * a um lead ativo são ignorados.
+     *
+     * @param ids IDs dos clientes arquivados (até {@value #LIMITE_RESTAURACAO})
+     * @return IDs restaurados
+     */
+    public List<Long> restaurar(List<Long> ids) {
+        List<Long> solicitados = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (solicitados.isEmpty()) {
+            throw new InvalidDataException("ids", "informe ao menos um ID");
+        }
+        if (solicitados.size() > LIMITE_RESTAURACAO) {
+            throw new InvalidDataException("ids", "no máximo " + LIMITE_RESTAURACAO + " clientes por restauração");
+        }
+
+        List<Long> restaurados = arquivoRepository.restaurarClientes(solicitados);
+        if (restaurados.isEmpty()) {
+            return restaurados;
+        }
+        arquivoRepository.restaurarInteracoes(restaurados);
+        arquivoRepository.restaurarInteresses(restaurados);
+        arquivoRepository.restaurarOrigens(restaurados);
+        arquivoRepository.removerArquivados(restaurados);
+
+        clienteRepository.findAllById(restaurados).forEach(autocompleteIndex::registrar);
+        leadScoreService.recalcular(restaurados);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.todas());
+
+        logger.info("{} leads restaurados do arquivo", restaurados.size());
+        return restaurados;
+    }
+
+    private List<Long> arquivarLote(LocalDateTime corte) {
+        List<Long> ids = arquivoRepository.travarPerdidosParaArquivar(corte, tamanhoLote);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        arquivoRepository.arquivarClientes(ids, LocalDateTime.now());
+        arquivoRepository.arquivarInteracoes(ids);
+        arquivoRepository.arquivarInteresses(ids);
+        arquivoRepository.arquivarOrigens(ids);
+        arquivoRepository.removerAtivos(ids);
+
+        ids.forEach(autocompleteIndex::remover);
+        return ids;
+    }
+}
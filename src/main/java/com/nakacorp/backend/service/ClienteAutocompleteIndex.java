@@ -0,0 +1,497 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.dto.res.AutocompleteStatsDto;
+import com.nakacorp.backend.dto.res.AutocompleteSugestaoDto;
+import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.repository.ClienteRepository;
+import com.nakacorp.backend.repository.projection.ClienteNomeEmpresa;
+import com.nakacorp.backend.repository.specification.TermoBusca;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice em memória de prefixos de nome e empresa dos clientes, para autocomplete.
+ * <p>
+ * O índice é um snapshot imutável com arrays paralelos por cliente (id, nome, empresa)
+ * e um array ordenado de entradas {@code long} que codificam (cliente, campo, início da palavra).
+ * Cada palavra de nome e empresa é uma entrada, então "sil" encontra "João Silva".
+ * A busca é uma busca binária pelo prefixo normalizado seguida de leitura sequencial.
+ * </p>
+ * <p>
+ * Alterações feitas após a construção ficam em um mapa de pendências, consultado junto
+ * com o snapshot e incorporado a um novo snapshot quando passa de
+ * {@code app.autocomplete.max-pendentes}. O índice é recarregado do banco na
+ * inicialização e periodicamente, para corrigir escritas que não passaram pelos serviços.
+ * O número de clientes indexados é limitado por {@code app.autocomplete.max-clientes}.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class ClienteAutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteAutocompleteIndex.class);
+
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final int CAMPO_NOME = 0;
+    private static final int CAMPO_EMPRESA = 1;
+    private static final int OFFSET_MAXIMO = 0xFFFF;
+    private static final Nomes REMOVIDO = new Nomes(null, null, "", "");
+
+    private final ClienteRepository clienteRepository;
+    private final ExecutorService executor;
+    private final int maxClientes;
+    private final int maxPendentes;
+
+    private final Map<Long, Nomes> pendentes = new ConcurrentHashMap<>();
+    private final ReentrantLock construcao = new ReentrantLock();
+    private final AtomicBoolean compactacaoAgendada = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ClienteAutocompleteIndex(ClienteRepository clienteRepository,
+                                    @Qualifier("backgroundExecutor") ExecutorService executor,
+                                    @Value("${app.autocomplete.max-clientes:3000000}") int maxClientes,
+                                    @Value("${app.autocomplete.max-pendentes:2000}") int maxPendentes) {
+        this.clienteRepository = clienteRepository;
+        this.executor = executor;
+        this.maxClientes = maxClientes;
+        this.maxPendentes = maxPendentes;
+    }
+
+    /**
+     * Constrói o índice após a inicialização, sem bloquear o startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        executor.execute(this::recarregar);
+    }
+
+    /**
+     * Indica se o índice já foi construído.
+     *
+     * @return true se as buscas podem ser atendidas pelo índice
+     */
+    public boolean pronto() {
+        return snapshot != null;
+    }
+
+    /**
+     * Busca clientes cujo nome ou empresa tenha uma palavra iniciada pelo prefixo.
+     *
+     * @param prefixo texto digitado (maiúsculas e acentos são ignorados)
+     * @param limite  quantidade máxima de sugestões
+     * @return sugestões, alterações recentes primeiro e depois em ordem alfabética
+     */
+    public List<AutocompleteSugestaoDto> buscar(String prefixo, int limite) {
+        Snapshot atual = snapshot;
+        String chave = TermoBusca.normalizar(prefixo);
+        if (atual == null || chave.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        Map<Long, AutocompleteSugestaoDto> sugestoes = new LinkedHashMap<>();
+
+        String inicioPalavra = " " + chave;
+        for (Map.Entry<Long, Nomes> pendente : pendentes.entrySet()) {
+            if (sugestoes.size() >= limite) {
+                break;
+            }
+            Nomes nomes = pendente.getValue();
+            if (nomes != REMOVIDO && nomes.corresponde(chave, inicioPalavra)) {
+                sugestoes.put(pendente.getKey(),
+                        new AutocompleteSugestaoDto(pendente.getKey(), nomes.nome(), nomes.empresa()));
+            }
+        }
+
+        long[] entradas = atual.entradas();
+        for (int i = atual.primeiraEntrada(chave); i < entradas.length && sugestoes.size() < limite; i++) {
+            long entrada = entradas[i];
+            if (!atual.chave(entrada).startsWith(chave, offset(entrada))) {
+                break;
+            }
+            int slot = slot(entrada);
+            long id = atual.ids()[slot];
+            if (!pendentes.containsKey(id) && !sugestoes.containsKey(id)) {
+                sugestoes.put(id, new AutocompleteSugestaoDto(id, atual.nomes()[slot], atual.empresas()[slot]));
+            }
+        }
+
+        return List.copyOf(sugestoes.values());
+    }
+
+    /**
+     * Registra a criação ou alteração de um cliente após o commit da transação corrente.
+     *
+     * @param cliente cliente persistido
+     */
+    public void registrar(Cliente cliente) {
+        Long id = cliente.getId();
+        Nomes nomes = Nomes.de(cliente.getNome(), cliente.getEmpresa());
+        aposCommit(() -> pendentes.put(id, nomes));
+    }
+
+    /**
+     * Registra a remoção de um cliente após o commit da transação corrente.
+     *
+     * @param id ID do cliente removido
+     */
+    public void remover(Long id) {
+        aposCommit(() -> pendentes.put(id, REMOVIDO));
+    }
+
+    /**
+     * Recarrega o índice a partir do banco de dados.
+     */
+    @Scheduled(cron = "${app.autocomplete.reload-cron:0 0 4 * * *}")
+    public void recarregar() {
+        construcao.lock();
+        try {
+            long inicio = System.nanoTime();
+            Construtor construtor = new Construtor(maxClientes);
+            long ultimoId = 0L;
+            List<ClienteNomeEmpresa> lote;
+            do {
+                lote = clienteRepository.findNomesAposId(ultimoId, Limit.of(TAMANHO_LOTE));
+                for (ClienteNomeEmpresa linha : lote) {
+                    construtor.adicionar(linha.getId(), linha.getNome(), linha.getEmpresa());
+                    ultimoId = linha.getId();
+                }
+            } while (lote.size() == TAMANHO_LOTE && !construtor.limiteAtingido());
+
+            publicar(construtor);
+            logger.info("Índice de autocomplete carregado: {} clientes, {} entradas, ~{} KB em {} ms",
+                    snapshot.clientes(), snapshot.entradas().length, snapshot.bytesEstimados() / 1024,
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Falha ao carregar o índice de autocomplete", e);
+        } finally {
+            construcao.unlock();
+        }
+    }
+
+    /**
+     * Retorna o tamanho e o uso de memória estimado do índice.
+     *
+     * @return estatísticas do índice
+     */
+    public AutocompleteStatsDto estatisticas() {
+        Snapshot atual = snapshot;
+        if (atual == null) {
+            return new AutocompleteStatsDto(false, 0, 0, pendentes.size(), 0L, false, null);
+        }
+        return new AutocompleteStatsDto(true, atual.clientes(), atual.entradas().length, pendentes.size(),
+                atual.bytesEstimados(), atual.limiteAtingido(), atual.construidoEm());
+    }
+
+    /**
+     * Incorpora as alterações pendentes a um novo snapshot, sem consultar o banco.
+     */
+    private void compactar() {
+        construcao.lock();
+        try {
+            Snapshot atual = snapshot;
+            if (atual == null) {
+                return;
+            }
+            Construtor construtor = new Construtor(maxClientes);
+            for (int slot = 0; slot < atual.clientes() && !construtor.limiteAtingido(); slot++) {
+                if (!pendentes.containsKey(atual.ids()[slot])) {
+                    construtor.adicionar(atual.ids()[slot], atual.nomes()[slot], atual.empresas()[slot]);
+                }
+            }
+            publicar(construtor);
+            logger.debug("Índice de autocomplete compactado: {} clientes", snapshot.clientes());
+        } finally {
+            construcao.unlock();
+        }
+    }
+
+    /**
+     * Aplica as pendências ao construtor, publica o novo snapshot e remove as
+     * pendências incorporadas (as que não mudaram durante a construção).
+     */
+    private void publicar(Construtor construtor) {
+        Map<Long, Nomes> aplicadas = new HashMap<>(pendentes);
+        aplicadas.forEach((id, nomes) -> {
+            if (nomes != REMOVIDO) {
+                construtor.substituir(id, nomes.nome(), nomes.empresa());
+            } else {
+                construtor.remover(id);
+            }
+        });
+
+        Snapshot novo = construtor.construir();
+        if (novo.limiteAtingido()) {
+            logger.warn("Índice de autocomplete limitado a {} clientes (app.autocomplete.max-clientes)", maxClientes);
+        }
+        snapshot = novo;
+        aplicadas.forEach(pendentes::remove);
+    }
+
+    private void aposCommit(Runnable alteracao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alteracao.run();
+                    agendarCompactacao();
+                }
+            });
+        } else {
+            alteracao.run();
+            agendarCompactacao();
+        }
+    }
+
+    private void agendarCompactacao() {
+        if (snapshot != null && pendentes.size() > maxPendentes && compactacaoAgendada.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    compactar();
+                } finally {
+                    compactacaoAgendada.set(false);
+                }
+            });
+        }
+    }
+
+    private static long entrada(int slot, int campo, int offset) {
+        return ((long) slot << 17) | ((long) campo << 16) | offset;
+    }
+
+    private static int slot(long entrada) {
+        return (int) (entrada >>> 17);
+    }
+
+    private static int campo(long entrada) {
+        return (int) ((entrada >>> 16) & 1);
+    }
+
+    private static int offset(long entrada) {
+        return (int) (entrada & OFFSET_MAXIMO);
+    }
+
+    /**
+     * Compara {@code a} a partir de {@code ia} com {@code b} a partir de {@code ib}, sem criar substrings.
+     */
+    private static int comparar(String a, int ia, String b, int ib) {
+        int la = a.length() - ia;
+        int lb = b.length() - ib;
+        int n = Math.min(la, lb);
+        for (int k = 0; k < n; k++) {
+            int diferenca = a.charAt(ia + k) - b.charAt(ib + k);
+            if (diferenca != 0) {
+                return diferenca;
+            }
+        }
+        return la - lb;
+    }
+
+    /**
+     * Nome e empresa de uma alteração pendente, com as chaves já normalizadas.
+     */
+    private record Nomes(String nome, String empresa, String chaveNome, String chaveEmpresa) {
+
+        static Nomes de(String nome, String empresa) {
+            return new Nomes(nome, empresa, TermoBusca.normalizar(nome), TermoBusca.normalizar(empresa));
+        }
+
+        boolean corresponde(String chave, String inicioPalavra) {
+            return chaveNome.startsWith(chave) || chaveNome.contains(inicioPalavra)
+                    || chaveEmpresa.startsWith(chave) || chaveEmpresa.contains(inicioPalavra);
+        }
+    }
+
+    /**
+     * Snapshot imutável do índice.
+     */
+    private record Snapshot(long[] ids, String[] nomes, String[] empresas, int clientes, long[] entradas,
+                            long bytesEstimados, boolean limiteAtingido, LocalDateTime construidoEm) {
+
+        String chave(long entrada) {
+            String texto = campo(entrada) == CAMPO_NOME ? nomes[slot(entrada)] : empresas[slot(entrada)];
+            return TermoBusca.normalizar(texto);
+        }
+
+        /**
+         * Posição da primeira entrada maior ou igual à chave (busca binária).
+         */
+        int primeiraEntrada(String chave) {
+            int baixo = 0;
+            int alto = entradas.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                long entrada = entradas[meio];
+                if (comparar(chave(entrada), offset(entrada), chave, 0) < 0) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+
+    /**
+     * Acumula os clientes e constrói o snapshot ordenado.
+     * Empresas iguais compartilham a mesma instância de String.
+     */
+    private static final class Construtor {
+
+        private final int maxClientes;
+        private final Map<Long, Integer> slotPorId = new HashMap<>();
+        private final Map<String, String> empresasUnicas = new HashMap<>();
+        private long[] ids = new long[1024];
+        private String[] nomes = new String[1024];
+        private String[] empresas = new String[1024];
+        private int clientes = 0;
+        private boolean limiteAtingido = false;
+
+        Construtor(int maxClientes) {
+            this.maxClientes = maxClientes;
+        }
+
+        boolean limiteAtingido() {
+            return limiteAtingido;
+        }
+
+        void adicionar(long id, String nome, String empresa) {
+            if (clientes >= maxClientes) {
+                limiteAtingido = true;
+                return;
+            }
+            if (clientes == ids.length) {
+                int capacidade = Math.min(Math.max(ids.length * 2, 1024), Math.max(maxClientes, 1));
+                ids = Arrays.copyOf(ids, capacidade);
+                nomes = Arrays.copyOf(nomes, capacidade);
+                empresas = Arrays.copyOf(empresas, capacidade);
+            }
+            ids[clientes] = id;
+            nomes[clientes] = nome;
+            empresas[clientes] = empresa != null ? empresasUnicas.computeIfAbsent(empresa, e -> e) : null;
+            slotPorId.put(id, clientes);
+            clientes++;
+        }
+
+        void substituir(long id, String nome, String empresa) {
+            Integer slot = slotPorId.get(id);
+            if (slot == null) {
+                adicionar(id, nome, empresa);
+                return;
+            }
+            nomes[slot] = nome;
+            empresas[slot] = empresa != null ? empresasUnicas.computeIfAbsent(empresa, e -> e) : null;
+        }
+
+        /**
+         * Marca o slot como removido (nome nulo); {@link #construir()} descarta o slot.
+         */
+        void remover(long id) {
+            Integer slot = slotPorId.remove(id);
+            if (slot != null) {
+                nomes[slot] = null;
+                empresas[slot] = null;
+            }
+        }
+
+        Snapshot construir() {
+            int ativos = 0;
+            for (int slot = 0; slot < clientes; slot++) {
+                if (nomes[slot] != null) {
+                    ids[ativos] = ids[slot];
+                    nomes[ativos] = nomes[slot];
+                    empresas[ativos] = empresas[slot];
+                    ativos++;
+                }
+            }
+
+            List<EntradaTemporaria> temporarias = new ArrayList<>(ativos * 3);
+            long bytesTextos = 0L;
+            for (int slot = 0; slot < ativos; slot++) {
+                bytesTextos += adicionarPalavras(temporarias, slot, CAMPO_NOME, nomes[slot]);
+                adicionarPalavras(temporarias, slot, CAMPO_EMPRESA, empresas[slot]);
+            }
+            for (String empresa : empresasUnicas.values()) {
+                bytesTextos += tamanhoEstimado(empresa);
+            }
+
+            EntradaTemporaria[] ordenadas = temporarias.toArray(EntradaTemporaria[]::new);
+            Arrays.parallelSort(ordenadas, Comparator.naturalOrder());
+            long[] entradas = new long[ordenadas.length];
+            for (int i = 0; i < ordenadas.length; i++) {
+                entradas[i] = ordenadas[i].entrada();
+            }
+
+            long bytes = 8L * ativos + 8L * ativos + 8L * entradas.length + bytesTextos;
+            return new Snapshot(Arrays.copyOf(ids, ativos), Arrays.copyOf(nomes, ativos),
+                    Arrays.copyOf(empresas, ativos), ativos, entradas,
+                    bytes, limiteAtingido, LocalDateTime.now());
+        }
+
+        /**
+         * Cria uma entrada para cada início de palavra do texto normalizado.
+         *
+         * @return tamanho estimado do texto em bytes
+         */
+        private static long adicionarPalavras(List<EntradaTemporaria> destino, int slot, int campo, String texto) {
+            if (texto == null) {
+                return 0L;
+            }
+            String chave = TermoBusca.normalizar(texto);
+            int limite = Math.min(chave.length(), OFFSET_MAXIMO);
+            for (int i = 0; i < limite; i++) {
+                if (chave.charAt(i) != ' ' && (i == 0 || chave.charAt(i - 1) == ' ')) {
+                    destino.add(new EntradaTemporaria(chave, i, entrada(slot, campo, i)));
+                }
+            }
+            return tamanhoEstimado(texto);
+        }
+
+        /**
+         * Cabeçalhos de String e do array interno somados aos caracteres (compact strings).
+         */
+        private static long tamanhoEstimado(String texto) {
+            return 40L + texto.length();
+        }
+    }
+
+    /**
+     * Entrada usada apenas durante a ordenação; a chave normalizada é descartada depois.
+     */
+    private record EntradaTemporaria(String chave, int offset, long entrada)
+            implements Comparable<EntradaTemporaria> {
+
+        @Override
+        public int compareTo(EntradaTemporaria outra) {
+            int comparacao = comparar(chave, offset, outra.chave, outra.offset);
+            return comparacao != 0 ? comparacao : Long.compare(entrada, outra.entrada);
+        }
+    }
+}
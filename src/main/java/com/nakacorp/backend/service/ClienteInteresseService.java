@@ -3,7 +3,10 @@ package com.nakacorp.backend.service;
 import com.nakacorp.backend.dto.req.ClienteInteresseRequestDto;
 import com.nakacorp.backend.dto.req.ClienteInteresseUpdateDto;
 import com.nakacorp.backend.dto.res.ClienteInteresseResponseDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
 import com.nakacorp.backend.dto.res.InteresseProdutoStatsDto;
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.event.DashboardSecao;
 import com.nakacorp.backend.model.Cliente;
 import com.nakacorp.backend.model.ClienteInteresse;
 import com.nakacorp.backend.model.Produto;
@@ -11,9 +14,16 @@ import com.nakacorp.backend.model.enums.NivelInteresse;
 import com.nakacorp.backend.repository.ClienteInteresseRepository;
 import com.nakacorp.backend.repository.ClienteRepository;
 import com.nakacorp.backend.repository.ProdutoRepository;
+import com.nakacorp.backend.repository.ProjecaoRepository;
+import com.nakacorp.backend.repository.projection.ProjecoesListagem;
+import com.nakacorp.backend.repository.specification.ClienteInteresseSpecifications;
+import com.nakacorp.backend.repository.specification.KeysetPagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,57 +34,66 @@ import java.util.Optional;
 @Transactional
 public class ClienteInteresseService {
 
+    private static final Sort MAIS_RECENTES = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final ClienteInteresseRepository interesseRepository;
+    private final ProjecaoRepository projecaoRepository;
     private final ClienteRepository clienteRepository;
     private final ProdutoRepository produtoRepository;
     private final InteracaoClienteService interacaoService;
+    private final LeadScoreService leadScoreService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public ClienteInteresseService(
             ClienteInteresseRepository interesseRepository,
+            ProjecaoRepository projecaoRepository,
             ClienteRepository clienteRepository,
             ProdutoRepository produtoRepository,
-            InteracaoClienteService interacaoService) {
+            InteracaoClienteService interacaoService,
+            LeadScoreService leadScoreService,
+            ApplicationEventPublisher eventPublisher) {
         this.interesseRepository = interesseRepository;
+        this.projecaoRepository = projecaoRepository;
         this.clienteRepository = clienteRepository;
         this.produtoRepository = produtoRepository;
         this.interacaoService = interacaoService;
+        this.leadScoreService = leadScoreService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Lista por cursor, dos registros mais recentes para os mais antigos.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<ClienteInteresseResponseDto> scroll(String cursor, int size, boolean incluirTotal) {
+        return KeysetPagination.buscar(projecaoRepository, ProjecoesListagem.INTERESSE, null, cursor, size, incluirTotal);
     }
 
     @Transactional(readOnly = true)
     public Page<ClienteInteresseResponseDto> findAll(Pageable pageable) {
-        return interesseRepository.findAll(pageable)
-                .map(ClienteInteresseResponseDto::fromEntity);
+        return projecaoRepository.paginar(ProjecoesListagem.INTERESSE, null, pageable);
     }
 
     @Transactional(readOnly = true)
     public Optional<ClienteInteresseResponseDto> findById(Long id) {
-        return interesseRepository.findById(id)
+        return interesseRepository.findDetalheById(id)
                 .map(ClienteInteresseResponseDto::fromEntity);
     }
 
     @Transactional(readOnly = true)
     public List<ClienteInteresseResponseDto> findByCliente(Long clienteId) {
-        return interesseRepository.findByClienteId(clienteId)
-                .stream()
-                .map(ClienteInteresseResponseDto::fromEntity)
-                .toList();
+        return listar(ClienteInteresseSpecifications.doCliente(clienteId));
     }
 
     @Transactional(readOnly = true)
     public List<ClienteInteresseResponseDto> findByProduto(Long produtoId) {
-        return interesseRepository.findByProdutoId(produtoId)
-                .stream()
-                .map(ClienteInteresseResponseDto::fromEntity)
-                .toList();
+        return listar(ClienteInteresseSpecifications.doProduto(produtoId));
     }
 
     @Transactional(readOnly = true)
     public List<ClienteInteresseResponseDto> findByNivelInteresse(NivelInteresse nivel) {
-        return interesseRepository.findByNivelInteresse(nivel)
-                .stream()
-                .map(ClienteInteresseResponseDto::fromEntity)
-                .toList();
+        return listar(ClienteInteresseSpecifications.comNivel(nivel));
     }
 
     @Transactional(readOnly = true)
@@ -90,7 +109,7 @@ public class ClienteInteresseService {
         Produto produto = produtoRepository.findById(request.produtoId())
                 .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado: " + request.produtoId()));
 
-        if (interesseRepository.findByClienteIdAndProdutoId(request.clienteId(), request.produtoId()).isPresent()) {
+        if (interesseRepository.existsByClienteIdAndProdutoId(request.clienteId(), request.produtoId())) {
             throw new IllegalArgumentException("Cliente já possui interesse cadastrado neste produto");
         }
 
@@ -105,12 +124,14 @@ public class ClienteInteresseService {
                 produto.getNome(),
                 request.nivelInteresse()
         );
+        leadScoreService.recalcularInteresse(request.clienteId());
+        eventPublisher.publishEvent(DashboardAlteradoEvent.of(DashboardSecao.RECEITA, DashboardSecao.PIPELINE));
 
         return ClienteInteresseResponseDto.fromEntity(saved);
     }
 
     public ClienteInteresseResponseDto update(Long id, ClienteInteresseUpdateDto request) {
-        ClienteInteresse interesse = interesseRepository.findById(id)
+        ClienteInteresse interesse = interesseRepository.findDetalheById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Interesse não encontrado: " + id));
 
         NivelInteresse nivelAnterior = interesse.getNivelInteresse();
@@ -127,13 +148,14 @@ public class ClienteInteresseService {
                     nivelAnterior,
                     request.nivelInteresse()
             );
+            leadScoreService.recalcularInteresse(interesse.getCliente().getId());
         }
 
         return ClienteInteresseResponseDto.fromEntity(updated);
     }
 
     public void delete(Long id) {
-        ClienteInteresse interesse = interesseRepository.findById(id)
+        ClienteInteresse interesse = interesseRepository.findDetalheById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Interesse não encontrado: " + id));
 
         interacaoService.registrarRemocaoInteresse(
@@ -142,6 +164,8 @@ public class ClienteInteresseService {
         );
 
         interesseRepository.deleteById(id);
+        leadScoreService.recalcularInteresse(interesse.getCliente().getId());
+        eventPublisher.publishEvent(DashboardAlteradoEvent.of(DashboardSecao.RECEITA, DashboardSecao.PIPELINE));
     }
 
     @Transactional(readOnly = true)
@@ -175,9 +199,10 @@ public class ClienteInteresseService {
 
     @Transactional(readOnly = true)
     public List<ClienteInteresseResponseDto> getClientesInteresseAlto() {
-        return interesseRepository.findByNivelInteresse(NivelInteresse.ALTO)
-                .stream()
-                .map(ClienteInteresseResponseDto::fromEntity)
-                .toList();
+        return listar(ClienteInteresseSpecifications.comNivel(NivelInteresse.ALTO));
+    }
+
+    private List<ClienteInteresseResponseDto> listar(Specification<ClienteInteresse> filtro) {
+        return projecaoRepository.listar(ProjecoesListagem.INTERESSE, filtro, MAIS_RECENTES, 0);
     }
-}
\ No newline at end of file
+}
@@ -2,42 +2,105 @@ package com.nakacorp.backend.service;
 
 import com.nakacorp.backend.dto.req.ClienteRequestDto;
 import com.nakacorp.backend.dto.req.ClienteUpdateDto;
+import com.nakacorp.backend.dto.req.StatusLoteRequestDto;
+import com.nakacorp.backend.dto.res.AutocompleteStatsDto;
+import com.nakacorp.backend.dto.res.AutocompleteSugestaoDto;
+import com.nakacorp.backend.dto.res.ClienteBuscaDto;
 import com.nakacorp.backend.dto.res.ClienteResponseDto;
 import com.nakacorp.backend.dto.res.ClienteSummaryDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
 import com.nakacorp.backend.dto.res.DashboardStatsDto;
 import com.nakacorp.backend.dto.res.FilterRequestDto;
+import com.nakacorp.backend.dto.res.StatusLoteResultadoDto;
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.event.DashboardSecao;
+import com.nakacorp.backend.event.LeadStatusAlteradoEvent;
+import com.nakacorp.backend.exception.InvalidDataException;
 import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.model.enums.OrigemLead;
 import com.nakacorp.backend.model.enums.StatusLead;
 import com.nakacorp.backend.repository.ClienteRepository;
+import com.nakacorp.backend.repository.ProjecaoRepository;
+import com.nakacorp.backend.repository.projection.ClienteBuscaResultado;
+import com.nakacorp.backend.repository.projection.OrigemCount;
+import com.nakacorp.backend.repository.projection.ProjecoesListagem;
+import com.nakacorp.backend.repository.specification.ClienteSpecifications;
+import com.nakacorp.backend.repository.specification.KeysetPagination;
+import com.nakacorp.backend.repository.specification.TermoBusca;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class ClienteService {
 
+    private static final Set<String> CAMPOS_ORDENACAO = Set.of(
+            "createdAt", "updatedAt", "nome", "email", "empresa",
+            "statusLead", "origemLead", "dataUltimaInteracao");
+
+    private static final int TAMANHO_MINIMO_BUSCA = 2;
+    private static final int DIGITOS_MINIMOS_TELEFONE = 4;
+    private static final int LIMITE_MAXIMO_BUSCA = 50;
+    private static final int LIMITE_MAXIMO_AUTOCOMPLETE = 20;
+    private static final int TAMANHO_LOTE_STATUS = 1000;
+
     private final ClienteRepository clienteRepository;
+    private final ProjecaoRepository projecaoRepository;
     private final InteracaoClienteService interacaoService;
+    private final RollupDiarioService rollupService;
+    private final ClienteAutocompleteIndex autocompleteIndex;
+    private final DeduplicacaoService deduplicacaoService;
+    private final LeadScoreService leadScoreService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
 
     @Autowired
-    public ClienteService(ClienteRepository clienteRepository, InteracaoClienteService interacaoService) {
+    public ClienteService(ClienteRepository clienteRepository,
+                          ProjecaoRepository projecaoRepository,
+                          InteracaoClienteService interacaoService,
+                          RollupDiarioService rollupService,
+                          ClienteAutocompleteIndex autocompleteIndex,
+                          DeduplicacaoService deduplicacaoService,
+                          LeadScoreService leadScoreService,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager) {
         this.clienteRepository = clienteRepository;
+        this.projecaoRepository = projecaoRepository;
         this.interacaoService = interacaoService;
+        this.rollupService = rollupService;
+        this.autocompleteIndex = autocompleteIndex;
+        this.deduplicacaoService = deduplicacaoService;
+        this.leadScoreService = leadScoreService;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Transactional(readOnly = true)
     public Page<ClienteResponseDto> findAll(Pageable pageable) {
-        return clienteRepository.findAll(pageable)
-                .map(ClienteResponseDto::fromEntity);
+        return projecaoRepository.paginar(ProjecoesListagem.CLIENTE, null, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -46,24 +109,93 @@ public class ClienteService {
                 .map(ClienteResponseDto::fromEntity);
     }
 
+    /**
+     * Lista clientes aplicando no banco todos os filtros informados.
+     * Filtros nulos ou vazios são ignorados.
+     */
     @Transactional(readOnly = true)
     public Page<ClienteResponseDto> findWithFilters(FilterRequestDto filter) {
-        Sort sort = Sort.by(Sort.Direction.fromString(filter.sortDirection()), filter.sortBy());
-        Pageable pageable = PageRequest.of(filter.page(), filter.size(), sort);
+        if (!CAMPOS_ORDENACAO.contains(filter.sortBy())) {
+            throw new InvalidDataException("sortBy", "campo de ordenação não suportado: " + filter.sortBy());
+        }
+        Sort sort = Sort.by(Sort.Direction.fromString(filter.sortDirection()), filter.sortBy())
+                .and(Sort.by(Sort.Direction.fromString(filter.sortDirection()), "id"));
+        Pageable pageable = PageRequest.of(filter.page(), Math.min(filter.size(), 100), sort);
 
-        //FILTROS CUSTOM?
-        return clienteRepository.findAll(pageable)
-                .map(ClienteResponseDto::fromEntity);
+        return projecaoRepository.paginar(ProjecoesListagem.CLIENTE, especificacao(filter), pageable);
     }
 
+    /**
+     * Busca textual ranqueada em nome, empresa, email e telefone, sem diferenciar
+     * maiúsculas nem acentos e tolerando pequenos erros de digitação.
+     *
+     * @param termo             termo de busca (mínimo de 2 caracteres)
+     * @param limite            quantidade máxima de resultados (1 a 50)
+     * @param incluirArquivados se deve buscar também os leads arquivados
+     * @return clientes do mais relevante ao menos relevante
+     */
     @Transactional(readOnly = true)
-    public List<ClienteSummaryDto> findByStatus(StatusLead status) {
-        return clienteRepository.findByStatusLead(status)
-                .stream()
-                .map(ClienteSummaryDto::fromEntity)
+    public List<ClienteBuscaDto> search(String termo, int limite, boolean incluirArquivados) {
+        String normalizado = TermoBusca.normalizar(termo);
+        if (normalizado.length() < TAMANHO_MINIMO_BUSCA) {
+            throw new InvalidDataException("q", "informe ao menos " + TAMANHO_MINIMO_BUSCA + " caracteres");
+        }
+        String digitos = TermoBusca.digitos(termo);
+        boolean buscarTelefone = digitos.length() >= DIGITOS_MINIMOS_TELEFONE;
+
+        String padrao = TermoBusca.contem(normalizado);
+        String padraoTelefone = TermoBusca.contem(digitos);
+        int limiteValido = Math.max(1, Math.min(limite, LIMITE_MAXIMO_BUSCA));
+        List<ClienteBuscaResultado> resultados = incluirArquivados
+                ? clienteRepository.buscarRanqueadoComArquivados(normalizado, padrao, buscarTelefone, padraoTelefone, limiteValido)
+                : clienteRepository.buscarRanqueado(normalizado, padrao, buscarTelefone, padraoTelefone, limiteValido);
+        return resultados.stream()
+                .map(ClienteBuscaDto::fromProjection)
+                .toList();
+    }
+
+    /**
+     * Sugestões de clientes para o campo de seleção de leads, pelo início de
+     * qualquer palavra do nome ou da empresa. Atendida pelo índice em memória, sem abrir transação;
+     * enquanto ele é construído, usa a busca textual no banco.
+     *
+     * @param prefixo texto digitado
+     * @param limite  quantidade máxima de sugestões (1 a 20)
+     * @return sugestões de clientes
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<AutocompleteSugestaoDto> autocomplete(String prefixo, int limite) {
+        int limiteValido = Math.max(1, Math.min(limite, LIMITE_MAXIMO_AUTOCOMPLETE));
+        if (autocompleteIndex.pronto()) {
+            return autocompleteIndex.buscar(prefixo, limiteValido);
+        }
+        if (TermoBusca.normalizar(prefixo).length() < TAMANHO_MINIMO_BUSCA) {
+            return List.of();
+        }
+        return search(prefixo, limiteValido, false).stream()
+                .map(c -> new AutocompleteSugestaoDto(c.id(), c.nome(), c.empresa()))
                 .toList();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AutocompleteStatsDto getAutocompleteStats() {
+        return autocompleteIndex.estatisticas();
+    }
+
+    /**
+     * Lista clientes por cursor, dos mais recentes para os mais antigos.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<ClienteResponseDto> scroll(String cursor, int size, boolean incluirTotal) {
+        return KeysetPagination.buscar(projecaoRepository, ProjecoesListagem.CLIENTE, null, cursor, size, incluirTotal);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ClienteSummaryDto> findByStatus(StatusLead status, String cursor, int size, boolean incluirTotal) {
+        return KeysetPagination.buscar(projecaoRepository, ProjecoesListagem.CLIENTE_RESUMO,
+                ClienteSpecifications.statusEm(List.of(status)), cursor, size, incluirTotal);
+    }
+
     public ClienteResponseDto create(ClienteRequestDto request) {
         if (clienteRepository.existsByEmail(request.email())) {
             throw new IllegalArgumentException("Cliente já cadastrado");
@@ -77,7 +209,14 @@ public class ClienteService {
 
         Cliente saved = clienteRepository.save(cliente);
 
+        rollupService.registrarLeadCriado(saved);
+        autocompleteIndex.registrar(saved);
+        deduplicacaoService.avaliar(saved);
         interacaoService.registrarPrimeiroContato(saved.getId());
+        leadScoreService.recalcular(List.of(saved.getId()));
+        eventPublisher.publishEvent(DashboardAlteradoEvent.of(
+                DashboardSecao.ESTATISTICAS, DashboardSecao.TAXA_CONVERSAO, DashboardSecao.CONVERSAO_POR_ORIGEM,
+                DashboardSecao.LEADS_ATIVOS, DashboardSecao.PIPELINE));
 
         return ClienteResponseDto.fromEntity(saved);
     }
@@ -92,8 +231,18 @@ public class ClienteService {
             }
         }
 
+        StatusLead statusAnterior = cliente.getStatusLead();
         updateClienteFromUpdateRequest(cliente, request);
         Cliente updated = clienteRepository.save(cliente);
+        autocompleteIndex.registrar(updated);
+        deduplicacaoService.avaliar(updated);
+
+        if (statusAnterior != null && updated.getStatusLead() != statusAnterior) {
+            interacaoService.registrarMudancaStatus(id, statusAnterior, updated.getStatusLead());
+            eventPublisher.publishEvent(new LeadStatusAlteradoEvent(
+                    id, updated.getNome(), statusAnterior, updated.getStatusLead()));
+        }
+        eventPublisher.publishEvent(DashboardAlteradoEvent.todas());
         return ClienteResponseDto.fromEntity(updated);
     }
 
@@ -112,15 +261,78 @@ public class ClienteService {
         Cliente updated = clienteRepository.save(cliente);
 
         interacaoService.registrarMudancaStatus(id, statusAnterior, novoStatus);
+        eventPublisher.publishEvent(new LeadStatusAlteradoEvent(id, updated.getNome(), statusAnterior, novoStatus));
+        eventPublisher.publishEvent(DashboardAlteradoEvent.of(
+                DashboardSecao.ESTATISTICAS, DashboardSecao.TAXA_CONVERSAO, DashboardSecao.CONVERSAO_POR_ORIGEM,
+                DashboardSecao.LEADS_ATIVOS, DashboardSecao.PIPELINE, DashboardSecao.RECEITA));
 
         return ClienteResponseDto.fromEntity(updated);
     }
 
+    /**
+     * Altera o status de vários clientes, informados por IDs ou por filtro.
+     * <p>
+     * Os IDs são resolvidos em uma transação de leitura e ordenados; a alteração roda em
+     * lotes de {@value #TAMANHO_LOTE_STATUS} clientes, cada lote em uma transação própria
+     * com um comando que atualiza os clientes e insere as notas de mudança de status.
+     * Os bloqueios de linha duram no máximo um lote e, pela ordem dos IDs, alterações em
+     * lote concorrentes travam os clientes na mesma sequência. Uma falha interrompe os
+     * lotes seguintes, mantendo os já confirmados. Clientes que já estão no status de
+     * destino não são alterados.
+     * </p>
+     *
+     * @param request IDs ou filtro dos clientes e status de destino
+     * @return quantidade de clientes selecionados e alterados
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StatusLoteResultadoDto updateStatusEmLote(StatusLoteRequestDto request) {
+        boolean informouIds = request.ids() != null && !request.ids().isEmpty();
+        if (informouIds == (request.filtro() != null)) {
+            throw new InvalidDataException("ids", "informe os IDs ou um filtro");
+        }
+
+        List<Long> ids = informouIds
+                ? request.ids().stream().filter(Objects::nonNull).distinct().sorted().toList()
+                : readOnlyTransaction.execute(status -> resolverIds(request.filtro()));
+
+        StatusLead novoStatus = request.novoStatus();
+        LocalDateTime agora = LocalDateTime.now();
+        long totalAlterados = 0L;
+        int confirmados = 0;
+        try {
+            while (confirmados < ids.size()) {
+                List<Long> lote = ids.subList(confirmados, Math.min(confirmados + TAMANHO_LOTE_STATUS, ids.size()));
+                totalAlterados += transaction.execute(status -> atualizarStatusDoLote(lote, novoStatus, agora));
+                confirmados += lote.size();
+            }
+        } finally {
+            if (totalAlterados > 0) {
+                eventPublisher.publishEvent(DashboardAlteradoEvent.of(
+                        DashboardSecao.ESTATISTICAS, DashboardSecao.TAXA_CONVERSAO, DashboardSecao.CONVERSAO_POR_ORIGEM,
+                        DashboardSecao.LEADS_ATIVOS, DashboardSecao.PIPELINE, DashboardSecao.RECEITA));
+                leadScoreService.recalcularEmLotes(ids.subList(0, confirmados));
+            }
+        }
+        return new StatusLoteResultadoDto(ids.size(), totalAlterados, novoStatus);
+    }
+
+    private long atualizarStatusDoLote(List<Long> lote, StatusLead novoStatus, LocalDateTime agora) {
+        Map<OrigemLead, Long> alterados = new EnumMap<>(OrigemLead.class);
+        for (OrigemCount contagem : clienteRepository.atualizarStatusEmLote(lote, novoStatus.name(), agora)) {
+            alterados.merge(contagem.getOrigem(), contagem.getTotal(), Long::sum);
+        }
+        interacaoService.registrarMudancasStatusEmLote(alterados, novoStatus);
+        return alterados.values().stream().mapToLong(Long::longValue).sum();
+    }
+
     public void delete(Long id) {
         if (!clienteRepository.existsById(id)) {
             throw new IllegalArgumentException("Cliente não encontrado: " + id);
         }
         clienteRepository.deleteById(id);
+        autocompleteIndex.remover(id);
+        leadScoreService.remover(id);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.todas());
     }
 
     @Transactional(readOnly = true)
@@ -137,6 +349,58 @@ public class ClienteService {
         );
     }
 
+    private static Specification<Cliente> especificacao(FilterRequestDto filter) {
+        return Specification.allOf(
+                ClienteSpecifications.termo(filter.searchTerm()),
+                ClienteSpecifications.statusEm(converterEnums(filter.status(), StatusLead.class, "status")),
+                ClienteSpecifications.origemEm(converterEnums(filter.origens(), OrigemLead.class, "origens")),
+                ClienteSpecifications.interesseEmCategorias(filter.categorias()),
+                ClienteSpecifications.criadoAPartirDe(filter.dataInicio()),
+                ClienteSpecifications.criadoAte(filter.dataFim())
+        );
+    }
+
+    /**
+     * IDs dos clientes do filtro, lidos em lotes por ordem de ID.
+     * Um filtro sem nenhum critério é recusado para não alterar a base inteira.
+     */
+    private List<Long> resolverIds(FilterRequestDto filtro) {
+        boolean semCriterios = (filtro.searchTerm() == null || filtro.searchTerm().isBlank())
+                && (filtro.status() == null || filtro.status().isEmpty())
+                && (filtro.origens() == null || filtro.origens().isEmpty())
+                && (filtro.categorias() == null || filtro.categorias().isEmpty())
+                && filtro.dataInicio() == null && filtro.dataFim() == null;
+        if (semCriterios) {
+            throw new InvalidDataException("filtro", "informe ao menos um critério");
+        }
+
+        Specification<Cliente> spec = especificacao(filtro);
+        List<Long> ids = new ArrayList<>();
+        List<Long> lote;
+        do {
+            Long ultimoId = ids.isEmpty() ? null : ids.get(ids.size() - 1);
+            lote = projecaoRepository.listar(ProjecoesListagem.CLIENTE_ID,
+                    spec.and(ClienteSpecifications.idMaiorQue(ultimoId)), Sort.by("id"), TAMANHO_LOTE_STATUS);
+            ids.addAll(lote);
+        } while (lote.size() == TAMANHO_LOTE_STATUS);
+        return ids;
+    }
+
+    private static <E extends Enum<E>> List<E> converterEnums(List<String> valores, Class<E> tipo, String campo) {
+        if (valores == null || valores.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return valores.stream()
+                    .filter(v -> v != null && !v.isBlank())
+                    .map(v -> Enum.valueOf(tipo, v.trim().toUpperCase(Locale.ROOT)))
+                    .distinct()
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException(campo, "valor inválido em " + valores);
+        }
+    }
+
     private void updateClienteFromRequest(Cliente cliente, ClienteRequestDto request) {
         cliente.setTelefone(request.telefone());
         cliente.setEndereco(request.endereco());
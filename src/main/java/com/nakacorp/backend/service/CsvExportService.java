@@ -1,14 +1,18 @@
 package com.nakacorp.backend.service;
 
+import com.nakacorp.backend.model.CadastroCliente;
 import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.model.ClienteArquivado;
 import com.nakacorp.backend.model.Produto;
 import com.nakacorp.backend.model.InteracaoCliente;
+import com.nakacorp.backend.repository.ClienteArquivadoRepository;
 import com.nakacorp.backend.repository.ClienteRepository;
 import com.nakacorp.backend.repository.ProdutoRepository;
 import com.nakacorp.backend.repository.InteracaoClienteRepository;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,7 +21,10 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import jakarta.persistence.EntityManager;
 
 /**
  * Serviço responsável pela exportação de dados em formato CSV.
@@ -36,61 +43,55 @@ public class CsvExportService {
     private final ClienteRepository clienteRepository;
     private final ProdutoRepository produtoRepository;
     private final InteracaoClienteRepository interacaoRepository;
+    private final ClienteArquivadoRepository clienteArquivadoRepository;
+    private final EntityManager entityManager;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int LOTE_ARQUIVADOS = 1000;
 
     @Autowired
     public CsvExportService(ClienteRepository clienteRepository,
                            ProdutoRepository produtoRepository,
-                           InteracaoClienteRepository interacaoRepository) {
+                           InteracaoClienteRepository interacaoRepository,
+                           ClienteArquivadoRepository clienteArquivadoRepository,
+                           EntityManager entityManager) {
         this.clienteRepository = clienteRepository;
         this.produtoRepository = produtoRepository;
         this.interacaoRepository = interacaoRepository;
+        this.clienteArquivadoRepository = clienteArquivadoRepository;
+        this.entityManager = entityManager;
     }
 
     /**
      * Exporta todos os clientes para CSV.
      *
+     * @param incluirArquivados se deve incluir os leads arquivados, com a coluna "Arquivado Em"
      * @return bytes do arquivo CSV
      * @throws IOException em caso de erro na geração
      */
-    public byte[] exportarClientes() throws IOException {
+    public byte[] exportarClientes(boolean incluirArquivados) throws IOException {
         List<Cliente> clientes = clienteRepository.findAll();
+        List<String> cabecalho = new ArrayList<>(List.of("ID", "Nome", "Email", "Telefone", "Empresa", "Cargo",
+                "Cidade", "Estado", "CEP", "Endereco", "Origem Lead",
+                "Status Lead", "Observacoes", "Data Primeiro Contato",
+                "Data Ultima Interacao", "Criado Em", "Atualizado Em"));
+        if (incluirArquivados) {
+            cabecalho.add("Arquivado Em");
+        }
 
         try (ByteArrayOutputStream out = new ByteArrayOutputStream();
              OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
              CSVPrinter printer = new CSVPrinter(writer, CSVFormat.EXCEL
                      .builder()
-                     .setHeader("ID", "Nome", "Email", "Telefone", "Empresa", "Cargo",
-                               "Cidade", "Estado", "CEP", "Endereco", "Origem Lead",
-                               "Status Lead", "Observacoes", "Data Primeiro Contato",
-                               "Data Ultima Interacao", "Criado Em", "Atualizado Em")
+                     .setHeader(cabecalho.toArray(String[]::new))
                      .build())) {
 
             for (Cliente cliente : clientes) {
-                printer.printRecord(
-                    cliente.getId(),
-                    cliente.getNome(),
-                    cliente.getEmail(),
-                    cliente.getTelefone(),
-                    cliente.getEmpresa(),
-                    cliente.getCargo(),
-                    cliente.getCidade(),
-                    cliente.getEstado(),
-                    cliente.getCep(),
-                    cliente.getEndereco(),
-                    cliente.getOrigemLead(),
-                    cliente.getStatusLead(),
-                    cliente.getObservacoes(),
-                    cliente.getDataPrimeiroContato() != null ?
-                        cliente.getDataPrimeiroContato().format(DATE_FORMATTER) : "",
-                    cliente.getDataUltimaInteracao() != null ?
-                        cliente.getDataUltimaInteracao().format(DATE_FORMATTER) : "",
-                    cliente.getCreatedAt() != null ?
-                        cliente.getCreatedAt().format(DATE_FORMATTER) : "",
-                    cliente.getUpdatedAt() != null ?
-                        cliente.getUpdatedAt().format(DATE_FORMATTER) : ""
-                );
+                printer.printRecord(colunasCadastro(cliente));
+            }
+
+            if (incluirArquivados) {
+                exportarArquivados(printer);
             }
 
             printer.flush();
@@ -98,6 +99,54 @@ public class CsvExportService {
         }
     }
 
+    /**
+     * Acrescenta os clientes arquivados, lidos em lotes por ID para não carregar o
+     * arquivo inteiro; cada lote é desanexado da sessão depois de escrito.
+     */
+    private void exportarArquivados(CSVPrinter printer) throws IOException {
+        long ultimoId = 0L;
+        List<ClienteArquivado> lote;
+        do {
+            lote = clienteArquivadoRepository.findAposId(ultimoId, Limit.of(LOTE_ARQUIVADOS));
+            for (ClienteArquivado cliente : lote) {
+                List<Object> colunas = colunasCadastro(cliente);
+                colunas.add(cliente.getArquivadoEm().format(DATE_FORMATTER));
+                printer.printRecord(colunas);
+                ultimoId = cliente.getId();
+            }
+            entityManager.clear();
+        } while (lote.size() == LOTE_ARQUIVADOS);
+    }
+
+    /**
+     * Colunas de cadastro de um lead, na ordem do cabeçalho da exportação de clientes.
+     */
+    private List<Object> colunasCadastro(CadastroCliente cliente) {
+        return new ArrayList<>(Arrays.<Object>asList(
+            cliente.getId(),
+            cliente.getNome(),
+            cliente.getEmail(),
+            cliente.getTelefone(),
+            cliente.getEmpresa(),
+            cliente.getCargo(),
+            cliente.getCidade(),
+            cliente.getEstado(),
+            cliente.getCep(),
+            cliente.getEndereco(),
+            cliente.getOrigemLead(),
+            cliente.getStatusLead(),
+            cliente.getObservacoes(),
+            cliente.getDataPrimeiroContato() != null ?
+                cliente.getDataPrimeiroContato().format(DATE_FORMATTER) : "",
+            cliente.getDataUltimaInteracao() != null ?
+                cliente.getDataUltimaInteracao().format(DATE_FORMATTER) : "",
+            cliente.getCreatedAt() != null ?
+                cliente.getCreatedAt().format(DATE_FORMATTER) : "",
+            cliente.getUpdatedAt() != null ?
+                cliente.getUpdatedAt().format(DATE_FORMATTER) : ""
+        ));
+    }
+
     /**
      * Exporta todos os produtos para CSV.
      *
@@ -145,7 +194,7 @@ public class CsvExportService {
      * @throws IOException em caso de erro na geração
      */
     public byte[] exportarInteracoes() throws IOException {
-        List<InteracaoCliente> interacoes = interacaoRepository.findAll();
+        List<InteracaoCliente> interacoes = interacaoRepository.findAllDetalhe();
 
         try (ByteArrayOutputStream out = new ByteArrayOutputStream();
              OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
@@ -187,7 +236,7 @@ public class CsvExportService {
 
             writer.write("CLIENTES\n");
             writer.flush();
-            out.write(exportarClientes());
+            out.write(exportarClientes(false));
 
             writer.write("\n\nPRODUTOS\n");
             writer.flush();
@@ -1,5 +1,7 @@
 package com.nakacorp.backend.service;
 
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.event.DashboardSecao;
 import com.nakacorp.backend.model.Cliente;
 import com.nakacorp.backend.model.Produto;
 import com.nakacorp.backend.model.enums.OrigemLead;
@@ -12,6 +14,7 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -23,7 +26,12 @@ import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import jakarta.persistence.EntityManager;
 
 /**
  * Serviço responsável pela importação de dados a partir de arquivos CSV.
@@ -41,14 +49,37 @@ public class CsvImportService {
 
     private final ClienteRepository clienteRepository;
     private final ProdutoRepository produtoRepository;
+    private final RollupDiarioService rollupService;
+    private final ClienteAutocompleteIndex autocompleteIndex;
+    private final DeduplicacaoService deduplicacaoService;
+    private final LeadScoreService leadScoreService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    /**
+     * Linhas gravadas por vez; múltiplo de {@code hibernate.jdbc.batch_size}.
+     */
+    private static final int TAMANHO_LOTE = 500;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Autowired
     public CsvImportService(ClienteRepository clienteRepository,
-                           ProdutoRepository produtoRepository) {
+                           ProdutoRepository produtoRepository,
+                           RollupDiarioService rollupService,
+                           ClienteAutocompleteIndex autocompleteIndex,
+                           DeduplicacaoService deduplicacaoService,
+                           LeadScoreService leadScoreService,
+                           ApplicationEventPublisher eventPublisher,
+                           EntityManager entityManager) {
         this.clienteRepository = clienteRepository;
         this.produtoRepository = produtoRepository;
+        this.rollupService = rollupService;
+        this.autocompleteIndex = autocompleteIndex;
+        this.deduplicacaoService = deduplicacaoService;
+        this.leadScoreService = leadScoreService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -57,13 +88,18 @@ public class CsvImportService {
      * Formato esperado:
      * Nome, Email, Telefone, Empresa, Cargo, Cidade, Estado, CEP, Endereco, Origem Lead, Status Lead, Observacoes
      *
+     * As linhas válidas são gravadas em lotes de {@value #TAMANHO_LOTE}: os emails do lote são
+     * verificados em uma consulta e os INSERTs vão ao banco em batches JDBC no flush.
+     *
      * @param file arquivo CSV
      * @return resultado da importação
      * @throws IOException em caso de erro na leitura
      */
     public ImportResult importarClientes(MultipartFile file) throws IOException {
         List<String> erros = new ArrayList<>();
-        int sucessos = 0;
+        List<Long> importados = new ArrayList<>();
+        Set<String> emailsArquivo = new HashSet<>();
+        Map<Integer, Cliente> lote = new LinkedHashMap<>();
         int linhaAtual = 0;
 
         try (BufferedReader reader = new BufferedReader(
@@ -111,23 +147,35 @@ public class CsvImportService {
                         continue;
                     }
 
-                    if (clienteRepository.existsByEmail(cliente.getEmail())) {
-                        erros.add("Linha " + linhaAtual + ": Email já cadastrado - " + cliente.getEmail());
+                    if (!emailsArquivo.add(cliente.getEmail())) {
+                        erros.add("Linha " + linhaAtual + ": Email repetido no arquivo - " + cliente.getEmail());
                         continue;
                     }
 
-                    clienteRepository.save(cliente);
-                    sucessos++;
+                    lote.put(linhaAtual, cliente);
 
                 } catch (IllegalArgumentException e) {
                     erros.add("Linha " + linhaAtual + ": Valor inválido - " + e.getMessage());
                 } catch (Exception e) {
                     erros.add("Linha " + linhaAtual + ": Erro ao processar - " + e.getMessage());
                 }
+
+                if (lote.size() == TAMANHO_LOTE) {
+                    importados.addAll(salvarClientes(lote, erros));
+                    lote.clear();
+                }
             }
         }
+        importados.addAll(salvarClientes(lote, erros));
 
-        return new ImportResult(sucessos, erros.size(), erros);
+        leadScoreService.recalcular(importados);
+        if (!importados.isEmpty()) {
+            eventPublisher.publishEvent(DashboardAlteradoEvent.of(
+                    DashboardSecao.ESTATISTICAS, DashboardSecao.TAXA_CONVERSAO, DashboardSecao.CONVERSAO_POR_ORIGEM,
+                    DashboardSecao.LEADS_ATIVOS, DashboardSecao.PIPELINE));
+        }
+
+        return new ImportResult(importados.size(), erros.size(), erros);
     }
 
     /**
@@ -142,6 +190,8 @@ public class CsvImportService {
      */
     public ImportResult importarProdutos(MultipartFile file) throws IOException {
         List<String> erros = new ArrayList<>();
+        Set<String> nomesArquivo = new HashSet<>();
+        Map<Integer, Produto> lote = new LinkedHashMap<>();
         int sucessos = 0;
         int linhaAtual = 0;
 
@@ -185,25 +235,105 @@ public class CsvImportService {
                         continue;
                     }
 
-                    if (produtoRepository.existsByNome(produto.getNome())) {
-                        erros.add("Linha " + linhaAtual + ": Produto já cadastrado - " + produto.getNome());
+                    if (!nomesArquivo.add(produto.getNome())) {
+                        erros.add("Linha " + linhaAtual + ": Produto repetido no arquivo - " + produto.getNome());
                         continue;
                     }
 
-                    produtoRepository.save(produto);
-                    sucessos++;
+                    lote.put(linhaAtual, produto);
 
                 } catch (IllegalArgumentException e) {
                     erros.add("Linha " + linhaAtual + ": Valor inválido - " + e.getMessage());
                 } catch (Exception e) {
                     erros.add("Linha " + linhaAtual + ": Erro ao processar - " + e.getMessage());
                 }
+
+                if (lote.size() == TAMANHO_LOTE) {
+                    sucessos += salvarProdutos(lote, erros);
+                    lote.clear();
+                }
             }
         }
+        sucessos += salvarProdutos(lote, erros);
+
+        if (sucessos > 0) {
+            eventPublisher.publishEvent(DashboardAlteradoEvent.of(DashboardSecao.ESTATISTICAS));
+        }
 
         return new ImportResult(sucessos, erros.size(), erros);
     }
 
+    /**
+     * Grava um lote de clientes ainda não cadastrados e registra os dados derivados.
+     * O contexto de persistência é limpo ao final, para o flush dos próximos lotes
+     * não revisar os clientes já gravados.
+     *
+     * @param lote  clientes por linha do arquivo
+     * @param erros erros da importação, acrescidos dos emails já cadastrados
+     * @return IDs dos clientes gravados
+     */
+    private List<Long> salvarClientes(Map<Integer, Cliente> lote, List<String> erros) {
+        if (lote.isEmpty()) {
+            return List.of();
+        }
+        Set<String> existentes = clienteRepository.findEmailsExistentes(
+                lote.values().stream().map(Cliente::getEmail).toList());
+
+        List<Cliente> novos = new ArrayList<>(lote.size());
+        lote.forEach((linha, cliente) -> {
+            if (existentes.contains(cliente.getEmail())) {
+                erros.add("Linha " + linha + ": Email já cadastrado - " + cliente.getEmail());
+            } else {
+                novos.add(cliente);
+            }
+        });
+
+        // IDs vêm da sequência em blocos: os INSERTs do lote saem em batches neste flush
+        List<Cliente> salvos = clienteRepository.saveAll(novos);
+        entityManager.flush();
+
+        rollupService.registrarLeadsCriados(salvos);
+        List<Long> ids = new ArrayList<>(salvos.size());
+        for (Cliente salvo : salvos) {
+            autocompleteIndex.registrar(salvo);
+            deduplicacaoService.avaliar(salvo);
+            ids.add(salvo.getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    /**
+     * Grava um lote de produtos ainda não cadastrados.
+     *
+     * @param lote  produtos por linha do arquivo
+     * @param erros erros da importação, acrescidos dos nomes já cadastrados
+     * @return quantidade de produtos gravados
+     */
+    private int salvarProdutos(Map<Integer, Produto> lote, List<String> erros) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        Set<String> existentes = produtoRepository.findNomesExistentes(
+                lote.values().stream().map(Produto::getNome).toList());
+
+        List<Produto> novos = new ArrayList<>(lote.size());
+        lote.forEach((linha, produto) -> {
+            if (existentes.contains(produto.getNome())) {
+                erros.add("Linha " + linha + ": Produto já cadastrado - " + produto.getNome());
+            } else {
+                novos.add(produto);
+            }
+        });
+
+        produtoRepository.saveAll(novos);
+        entityManager.flush();
+        entityManager.clear();
+        return novos.size();
+    }
+
     /**
      * Obtém valor de uma coluna ou retorna null se vazia.
      */
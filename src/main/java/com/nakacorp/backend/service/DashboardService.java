@@ -1,116 +1,142 @@
 package com.nakacorp.backend.service;
 
 import com.nakacorp.backend.dto.res.*;
-import com.nakacorp.backend.model.Cliente;
-import com.nakacorp.backend.model.ClienteInteresse;
-import com.nakacorp.backend.model.InteracaoCliente;
+import com.nakacorp.backend.event.DashboardSecao;
 import com.nakacorp.backend.model.enums.OrigemLead;
 import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.repository.ClienteInteresseRepository;
 import com.nakacorp.backend.repository.ClienteRepository;
 import com.nakacorp.backend.repository.InteracaoClienteRepository;
 import com.nakacorp.backend.repository.ProdutoRepository;
+import com.nakacorp.backend.repository.projection.ConversaoOrigemAgregado;
+import com.nakacorp.backend.repository.projection.PipelineStatusAgregado;
+import com.nakacorp.backend.repository.projection.ReceitaStatusCobranca;
+import com.nakacorp.backend.repository.projection.StatusOrigemCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 public class DashboardService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final int LIMITE_PROXIMAS_INTERACOES = 10;
+
     private final ClienteRepository clienteRepository;
     private final ProdutoRepository produtoRepository;
     private final InteracaoClienteService interacaoService;
     private final InteracaoClienteRepository interacaoClienteRepository;
+    private final ClienteInteresseRepository clienteInteresseRepository;
+    private final DashboardSnapshotCache snapshotCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean homeParallel;
+    private final long sectionTimeoutMs;
 
     @Autowired
     public DashboardService(
             ClienteRepository clienteRepository,
             ProdutoRepository produtoRepository,
             InteracaoClienteService interacaoService,
-            InteracaoClienteRepository interacaoClienteRepository) {
+            InteracaoClienteRepository interacaoClienteRepository,
+            ClienteInteresseRepository clienteInteresseRepository,
+            DashboardSnapshotCache snapshotCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.dashboard.home.parallel:true}") boolean homeParallel,
+            @Value("${app.dashboard.home.section-timeout-ms:5000}") long sectionTimeoutMs) {
         this.clienteRepository = clienteRepository;
         this.produtoRepository = produtoRepository;
         this.interacaoService = interacaoService;
         this.interacaoClienteRepository = interacaoClienteRepository;
+        this.clienteInteresseRepository = clienteInteresseRepository;
+        this.snapshotCache = snapshotCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Timeout da transação também limita as queries da seção no banco
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMs)));
+        this.homeParallel = homeParallel;
+        this.sectionTimeoutMs = sectionTimeoutMs;
     }
 
-    public DashboardStatsDto getGeneralStats() {
-        // Stats de clientes
-        long totalClientes = clienteRepository.count();
-        long leadsNovos = clienteRepository.countByStatusLead(StatusLead.NOVO);
-        long leadsQualificados = clienteRepository.countByStatusLead(StatusLead.QUALIFICADO);
-        long leadsConvertidos = clienteRepository.countByStatusLead(StatusLead.CLIENTE);
-        long leadsPerdidos = clienteRepository.countByStatusLead(StatusLead.PERDIDO);
+    /**
+     * Estatísticas gerais do CRM (snapshot em cache).
+     */
+    public DashboardSnapshot<DashboardStatsDto> getGeneralStats() {
+        return aguardar(iniciarSecao(DashboardSecao.ESTATISTICAS, this::calcularEstatisticasGerais));
+    }
 
-        // Stats de produtos
-        long totalProdutos = produtoRepository.count();
-        long produtosAtivos = produtoRepository.findByAtivoTrue().size();
+    /**
+     * Taxa de conversão geral em percentual (snapshot em cache).
+     */
+    public DashboardSnapshot<Double> calculateConversionRate() {
+        return aguardar(iniciarSecao(DashboardSecao.TAXA_CONVERSAO, this::calcularTaxaConversao));
+    }
 
-        // Stats de interações
-        InteracaoStatsDto interacaoStats = interacaoService.getStats();
+    /**
+     * Métricas de receita total do CRM (snapshot em cache).
+     */
+    public DashboardSnapshot<ReceitaTotalDto> getReceitaTotal() {
+        return aguardar(iniciarSecao(DashboardSecao.RECEITA, this::calcularReceitaTotal));
+    }
 
-        return new DashboardStatsDto(
-                totalClientes,
-                leadsNovos,
-                leadsQualificados,
-                leadsConvertidos,
-                leadsPerdidos,
-                totalProdutos,
-                produtosAtivos,
-                interacaoStats
-        );
+    /**
+     * Pipeline de vendas por status (snapshot em cache).
+     */
+    public DashboardSnapshot<List<PipelineStatusDto>> getPipelineVendas() {
+        return aguardar(iniciarSecao(DashboardSecao.PIPELINE, this::calcularPipelineVendas));
     }
 
-    public List<LeadConversionDto> getConversionRateByOrigem() {
-        return Arrays.stream(OrigemLead.values())
-                .map(this::calculateConversionForOrigem)
-                .toList();
+    /**
+     * Próximas interações agendadas (snapshot em cache).
+     */
+    public DashboardSnapshot<List<ProximaInteracaoDto>> getProximasInteracoes() {
+        return aguardar(iniciarSecao(DashboardSecao.PROXIMAS_INTERACOES, this::calcularProximasInteracoes));
     }
 
-    public DashboardStatsDto getStatsByPeriod(LocalDateTime inicio, LocalDateTime fim) {
-        List<Cliente> clientesPeriodo = clienteRepository.findByCreatedAtBetween(inicio, fim);
-
-        long totalClientes = clientesPeriodo.size();
-        long leadsNovos = clientesPeriodo.stream()
-                .filter(c -> c.getStatusLead() == StatusLead.NOVO)
-                .count();
-        long leadsQualificados = clientesPeriodo.stream()
-                .filter(c -> c.getStatusLead() == StatusLead.QUALIFICADO)
-                .count();
-        long leadsConvertidos = clientesPeriodo.stream()
-                .filter(c -> c.getStatusLead() == StatusLead.CLIENTE)
-                .count();
-        long leadsPerdidos = clientesPeriodo.stream()
-                .filter(c -> c.getStatusLead() == StatusLead.PERDIDO)
-                .count();
+    /**
+     * Quantidade de leads ativos, excluindo CLIENTE e PERDIDO (snapshot em cache).
+     */
+    public DashboardSnapshot<Long> countLeadsAtivos() {
+        return aguardar(iniciarSecao(DashboardSecao.LEADS_ATIVOS, clienteRepository::countLeadsAtivos));
+    }
 
-        long totalProdutos = produtoRepository.count();
-        long produtosAtivos = produtoRepository.findByAtivoTrue().size();
+    private DashboardStatsDto calcularEstatisticasGerais() {
+        return buildStats(clienteRepository.countGroupByStatusAndOrigem());
+    }
 
-        // Interações do período seriam necessárias no repository
-        InteracaoStatsDto interacaoStats = interacaoService.getStats();
+    /**
+     * Taxa de conversão por origem do lead (snapshot em cache).
+     */
+    public DashboardSnapshot<List<LeadConversionDto>> getConversionRateByOrigem() {
+        return aguardar(iniciarSecao(DashboardSecao.CONVERSAO_POR_ORIGEM, this::calcularConversaoPorOrigem));
+    }
 
-        return new DashboardStatsDto(
-                totalClientes,
-                leadsNovos,
-                leadsQualificados,
-                leadsConvertidos,
-                leadsPerdidos,
-                totalProdutos,
-                produtosAtivos,
-                interacaoStats
-        );
+    public DashboardStatsDto getStatsByPeriod(LocalDateTime inicio, LocalDateTime fim) {
+        return buildStats(clienteRepository.countGroupByStatusAndOrigemBetween(inicio, fim));
     }
 
-    public double calculateConversionRate() {
+    private double calcularTaxaConversao() {
         long totalLeads = clienteRepository.count();
         long convertidos = clienteRepository.countByStatusLead(StatusLead.CLIENTE);
 
@@ -118,51 +144,35 @@ public class DashboardService {
     }
 
     public double calculateConversionRateLastMonth() {
-        LocalDateTime umMesAtras = LocalDateTime.now().minus(1, ChronoUnit.MONTHS);
-        List<Cliente> clientesUltimoMes = clienteRepository.findByCreatedAtBetween(umMesAtras, LocalDateTime.now());
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime umMesAtras = agora.minus(1, ChronoUnit.MONTHS);
+        List<StatusOrigemCount> contagens = clienteRepository.countGroupByStatusAndOrigemBetween(umMesAtras, agora);
 
-        long totalLeads = clientesUltimoMes.size();
-        long convertidos = clientesUltimoMes.stream()
-                .filter(c -> c.getStatusLead() == StatusLead.CLIENTE)
-                .count();
+        long totalLeads = somarTotal(contagens);
+        long convertidos = somarPorStatus(contagens).getOrDefault(StatusLead.CLIENTE, 0L);
 
         return totalLeads > 0 ? (double) convertidos / totalLeads * 100 : 0.0;
     }
 
-    public List<Cliente> getLeadsToFollow() {
-        LocalDateTime seteDiasAtras = LocalDateTime.now().minus(7, ChronoUnit.DAYS);
-        List<StatusLead> statusAtivos = Arrays.asList(
-            StatusLead.NOVO,
-            StatusLead.CONTATADO,
-            StatusLead.QUALIFICADO
-        );
-
-        // Query otimizada - não carrega todos os clientes na memória
-        return clienteRepository.findLeadsToFollow(seteDiasAtras, statusAtivos);
-    }
-
-    public List<Cliente> getLeadsHotToday() {
-        LocalDateTime inicioHoje = LocalDateTime.now().toLocalDate().atStartOfDay();
-        List<StatusLead> statusQuentes = Arrays.asList(
-            StatusLead.QUALIFICADO,
-            StatusLead.OPORTUNIDADE
-        );
-
-        // Query otimizada - não carrega todos os clientes na memória
-        return clienteRepository.findLeadsHotToday(inicioHoje, statusQuentes);
-    }
-
-    private LeadConversionDto calculateConversionForOrigem(OrigemLead origem) {
-        List<Cliente> clientesOrigem = clienteRepository.findByOrigemLead(origem);
-
-        long totalLeads = clientesOrigem.size();
-        long convertidos = clientesOrigem.stream()
-                .filter(c -> c.getStatusLead() == StatusLead.CLIENTE)
-                .count();
-
-        double taxa = totalLeads > 0 ? (double) convertidos / totalLeads * 100 : 0.0;
+    /**
+     * Conversão de todas as origens a partir de uma única query agrupada.
+     * Origens sem leads são retornadas zeradas.
+     */
+    private List<LeadConversionDto> calcularConversaoPorOrigem() {
+        Map<OrigemLead, ConversaoOrigemAgregado> porOrigem = new EnumMap<>(OrigemLead.class);
+        for (ConversaoOrigemAgregado linha : clienteRepository.countConversaoGroupByOrigem()) {
+            porOrigem.put(linha.getOrigem(), linha);
+        }
 
-        return new LeadConversionDto(origem, totalLeads, convertidos, taxa);
+        return Arrays.stream(OrigemLead.values())
+                .map(origem -> {
+                    ConversaoOrigemAgregado linha = porOrigem.get(origem);
+                    long totalLeads = linha != null ? valorOuZero(linha.getTotal()) : 0L;
+                    long convertidos = linha != null ? valorOuZero(linha.getConvertidos()) : 0L;
+                    double taxa = totalLeads > 0 ? (double) convertidos / totalLeads * 100 : 0.0;
+                    return new LeadConversionDto(origem, totalLeads, convertidos, taxa);
+                })
+                .toList();
     }
 
     /**
@@ -171,48 +181,44 @@ public class DashboardService {
      *
      * @return DTO com informações de receita
      */
-    public ReceitaTotalDto getReceitaTotal() {
-        List<Cliente> clientesConvertidos = clienteRepository.findClientesConvertidosComInteresses();
-
+    private ReceitaTotalDto calcularReceitaTotal() {
         BigDecimal receitaTotal = BigDecimal.ZERO;
         BigDecimal receitaMensal = BigDecimal.ZERO;
         BigDecimal receitaAnual = BigDecimal.ZERO;
+        BigDecimal receitaPotencial = BigDecimal.ZERO;
         long totalVendas = 0;
 
-        for (Cliente cliente : clientesConvertidos) {
-            if (cliente.getInteresses() != null) {
-                for (ClienteInteresse interesse : cliente.getInteresses()) {
-                    if (interesse.getProduto() != null && interesse.getProduto().getPreco() != null) {
-                        BigDecimal preco = interesse.getProduto().getPreco();
-                        receitaTotal = receitaTotal.add(preco);
-                        totalVendas++;
-
-                        // Cálculo baseado no tipo de cobrança
-                        if (interesse.getProduto().getTipoCobranca() != null) {
-                            switch (interesse.getProduto().getTipoCobranca()) {
-                                case MENSAL -> receitaMensal = receitaMensal.add(preco);
-                                case ANUAL -> receitaAnual = receitaAnual.add(preco);
-                                case UNICO -> {} // Receita única não entra em recorrência
-                            }
-                        }
-                    }
+        for (ReceitaStatusCobranca linha : clienteInteresseRepository.sumReceitaGroupByStatusAndTipoCobranca()) {
+            StatusLead status = linha.getStatus();
+            BigDecimal valor = linha.getValor() != null ? linha.getValor() : BigDecimal.ZERO;
+
+            // Receita potencial: todos os leads que não foram perdidos
+            if (status != null && status != StatusLead.PERDIDO) {
+                receitaPotencial = receitaPotencial.add(valor);
+            }
+
+            if (status != StatusLead.CLIENTE) {
+                continue;
+            }
+
+            receitaTotal = receitaTotal.add(valor);
+            totalVendas += linha.getQuantidade();
+
+            // Cálculo baseado no tipo de cobrança
+            if (linha.getTipoCobranca() != null) {
+                switch (linha.getTipoCobranca()) {
+                    case MENSAL -> receitaMensal = receitaMensal.add(valor);
+                    case ANUAL -> receitaAnual = receitaAnual.add(valor);
+                    case UNICO -> {} // Receita única não entra em recorrência
                 }
             }
         }
 
-        // Calcula receita potencial (todos os leads ativos com interesses)
-        List<Cliente> clientesAtivos = clienteRepository.findClientesComInteressesParaPipeline();
-        BigDecimal receitaPotencial = clientesAtivos.stream()
-                .flatMap(c -> c.getInteresses() != null ? c.getInteresses().stream() : Stream.empty())
-                .map(i -> i.getProduto() != null ? i.getProduto().getPreco() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         // Calcula vendas no mês atual
-        LocalDateTime inicioMes = LocalDateTime.now().withDayOfMonth(1).toLocalDate().atStartOfDay();
-        List<Cliente> clientesMes = clienteRepository.findByCreatedAtBetween(inicioMes, LocalDateTime.now());
-        long vendasMes = clientesMes.stream()
-                .filter(c -> c.getStatusLead() == StatusLead.CLIENTE)
-                .count();
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime inicioMes = agora.withDayOfMonth(1).toLocalDate().atStartOfDay();
+        long vendasMes = somarPorStatus(clienteRepository.countGroupByStatusAndOrigemBetween(inicioMes, agora))
+                .getOrDefault(StatusLead.CLIENTE, 0L);
 
         // Ticket médio
         BigDecimal ticketMedio = totalVendas > 0
@@ -235,24 +241,24 @@ public class DashboardService {
      *
      * @return Lista de status com quantidade e valor potencial
      */
-    public List<PipelineStatusDto> getPipelineVendas() {
-        List<Cliente> todosClientes = clienteRepository.findClientesComInteressesParaPipeline();
-        long totalLeads = todosClientes.size();
+    private List<PipelineStatusDto> calcularPipelineVendas() {
+        Map<StatusLead, PipelineStatusAgregado> porStatus = new EnumMap<>(StatusLead.class);
+        for (PipelineStatusAgregado linha : clienteRepository.aggregatePipelineByStatus()) {
+            porStatus.put(linha.getStatus(), linha);
+        }
 
-        // Agrupa por status e calcula valores
-        Map<StatusLead, List<Cliente>> clientesPorStatus = todosClientes.stream()
-                .collect(Collectors.groupingBy(Cliente::getStatusLead));
+        long totalLeads = porStatus.values().stream()
+                .mapToLong(PipelineStatusAgregado::getQuantidade)
+                .sum();
 
         return Arrays.stream(StatusLead.values())
                 .filter(status -> status != StatusLead.PERDIDO) // Não mostra perdidos no pipeline
                 .map(status -> {
-                    List<Cliente> clientes = clientesPorStatus.getOrDefault(status, Collections.emptyList());
-                    long quantidade = clientes.size();
-
-                    BigDecimal valorPotencial = clientes.stream()
-                            .flatMap(c -> c.getInteresses() != null ? c.getInteresses().stream() : Stream.empty())
-                            .map(i -> i.getProduto() != null ? i.getProduto().getPreco() : BigDecimal.ZERO)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    PipelineStatusAgregado linha = porStatus.get(status);
+                    long quantidade = linha != null ? linha.getQuantidade() : 0L;
+                    BigDecimal valorPotencial = linha != null && linha.getValorPotencial() != null
+                            ? linha.getValorPotencial()
+                            : BigDecimal.ZERO;
 
                     double percentual = totalLeads > 0 ? (double) quantidade / totalLeads * 100 : 0.0;
 
@@ -262,89 +268,186 @@ public class DashboardService {
     }
 
     /**
-     * Busca próximas interações/tarefas agendadas.
-     * Como o sistema armazena agendamentos em JSONB, esta implementação
-     * retorna as interações mais recentes que podem ter follow-up.
+     * Busca as próximas interações/tarefas agendadas a partir de agora.
+     * A ordenação e o limite são aplicados no banco sobre a coluna indexada {@code data_agendada}.
      *
      * @return Lista de próximas interações
      */
-    public List<ProximaInteracaoDto> getProximasInteracoes() {
-        LocalDateTime agora = LocalDateTime.now();
-        LocalDateTime seteDiasAtras = agora.minus(7, ChronoUnit.DAYS);
-
-        List<InteracaoCliente> interacoes = interacaoClienteRepository.findProximasInteracoes(seteDiasAtras);
-
-        return interacoes.stream()
-                .limit(10) // Limita a 10 próximas interações
-                .map(i -> {
-                    // Verifica se tem data agendada no dadosExtras
-                    LocalDateTime dataAgendada = extractDataAgendada(i);
-                    boolean urgente = isUrgente(i, dataAgendada);
-
-                    return new ProximaInteracaoDto(
-                            i.getId(),
-                            i.getCliente() != null ? i.getCliente().getNome() : "N/A",
-                            i.getCliente() != null ? i.getCliente().getId() : null,
-                            i.getTipoInteracao(),
-                            i.getDescricao(),
-                            dataAgendada != null ? dataAgendada : i.getCreatedAt(),
-                            i.getUsuario() != null ? i.getUsuario().getNome() : "Não atribuído",
-                            urgente
-                    );
-                })
-                .collect(Collectors.toList());
+    private List<ProximaInteracaoDto> calcularProximasInteracoes() {
+        return interacaoClienteRepository.findProximasAgendadas(LocalDateTime.now(), Limit.of(LIMITE_PROXIMAS_INTERACOES))
+                .stream()
+                .map(ProximaInteracaoDto::fromEntity)
+                .toList();
     }
 
     /**
      * Retorna dados consolidados para a tela home do dashboard.
+     * <p>
+     * Cada seção vem do {@link DashboardSnapshotCache}; em caso de ausência é
+     * calculada uma única vez, em transação read-only própria, mesmo com
+     * requisições simultâneas. No modo paralelo ({@code app.dashboard.home.parallel})
+     * as seções são disparadas ao mesmo tempo em virtual threads, cada uma com seu
+     * tempo limite; seções que falham ou estouram o tempo são devolvidas nulas e
+     * listadas em {@code secoesIndisponiveis}.
+     * </p>
      *
      * @return DTO com todas as informações do dashboard
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardHomeDto getDashboardHome() {
-        ReceitaTotalDto receita = getReceitaTotal();
-        DashboardStatsDto estatisticas = getGeneralStats();
-        List<PipelineStatusDto> pipeline = getPipelineVendas();
-        List<ProximaInteracaoDto> proximasInteracoes = getProximasInteracoes();
-        double taxaConversao = calculateConversionRate();
-        long leadsAtivos = clienteRepository.countLeadsAtivos();
+        List<String> secoesIndisponiveis = new ArrayList<>();
+
+        var receita = iniciarSecaoHome(DashboardSecao.RECEITA, this::calcularReceitaTotal);
+        var estatisticas = iniciarSecaoHome(DashboardSecao.ESTATISTICAS, this::calcularEstatisticasGerais);
+        var pipeline = iniciarSecaoHome(DashboardSecao.PIPELINE, this::calcularPipelineVendas);
+        var proximasInteracoes = iniciarSecaoHome(DashboardSecao.PROXIMAS_INTERACOES, this::calcularProximasInteracoes);
+        var taxaConversao = iniciarSecaoHome(DashboardSecao.TAXA_CONVERSAO, this::calcularTaxaConversao);
+        var leadsAtivos = iniciarSecaoHome(DashboardSecao.LEADS_ATIVOS, clienteRepository::countLeadsAtivos);
+
+        List<DashboardSnapshot<?>> carregados = new ArrayList<>();
+        DashboardSnapshot<ReceitaTotalDto> receitaSnapshot =
+                aguardarSecao("receita", receita, secoesIndisponiveis, carregados);
+        DashboardSnapshot<DashboardStatsDto> estatisticasSnapshot =
+                aguardarSecao("estatisticas", estatisticas, secoesIndisponiveis, carregados);
+        DashboardSnapshot<List<PipelineStatusDto>> pipelineSnapshot =
+                aguardarSecao("pipeline", pipeline, secoesIndisponiveis, carregados);
+        DashboardSnapshot<List<ProximaInteracaoDto>> proximasSnapshot =
+                aguardarSecao("proximasInteracoes", proximasInteracoes, secoesIndisponiveis, carregados);
+        DashboardSnapshot<Double> taxaSnapshot =
+                aguardarSecao("taxaConversao", taxaConversao, secoesIndisponiveis, carregados);
+        DashboardSnapshot<Long> leadsAtivosSnapshot =
+                aguardarSecao("leadsAtivos", leadsAtivos, secoesIndisponiveis, carregados);
+
+        // A idade do payload é a da seção mais antiga
+        DashboardSnapshot<?> maisAntigo = carregados.stream()
+                .min(Comparator.comparing(DashboardSnapshot::geradoEm))
+                .orElse(new DashboardSnapshot<>(null, LocalDateTime.now()));
 
         return new DashboardHomeDto(
-                receita,
-                estatisticas,
-                pipeline,
-                proximasInteracoes,
-                taxaConversao,
-                leadsAtivos
+                valorOuNulo(receitaSnapshot),
+                valorOuNulo(estatisticasSnapshot),
+                valorOuNulo(pipelineSnapshot),
+                valorOuNulo(proximasSnapshot),
+                valorOuNulo(taxaSnapshot),
+                valorOuNulo(leadsAtivosSnapshot),
+                secoesIndisponiveis,
+                maisAntigo.geradoEm(),
+                maisAntigo.idadeSegundos()
         );
     }
 
     /**
-     * Extrai data agendada do campo dadosExtras (JSONB).
+     * Obtém a seção pelo cache de snapshots, calculando-a em transação read-only própria.
      */
-    private LocalDateTime extractDataAgendada(InteracaoCliente interacao) {
-        if (interacao.getDadosExtras() != null && interacao.getDadosExtras().containsKey("dataAgendada")) {
-            Object dataObj = interacao.getDadosExtras().get("dataAgendada");
-            if (dataObj != null) {
-                try {
-                    return LocalDateTime.parse(dataObj.toString());
-                } catch (Exception e) {
-                    // Se não conseguir parsear, retorna null
-                    return null;
-                }
+    private <T> CompletableFuture<DashboardSnapshot<T>> iniciarSecao(DashboardSecao secao, Supplier<T> calculo) {
+        return snapshotCache.get(secao, () -> readOnlyTransaction.execute(status -> calculo.get()));
+    }
+
+    /**
+     * Inicia uma seção da home com tempo limite próprio. No modo sequencial
+     * aguarda a seção terminar antes de retornar, de modo que a próxima só
+     * começa depois dela.
+     */
+    private <T> CompletableFuture<DashboardSnapshot<T>> iniciarSecaoHome(DashboardSecao secao, Supplier<T> calculo) {
+        // copy() evita que o timeout desta requisição complete o future compartilhado do cache
+        CompletableFuture<DashboardSnapshot<T>> future = iniciarSecao(secao, calculo)
+                .copy()
+                .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+
+        if (!homeParallel) {
+            future.handle((valor, erro) -> null).join();
+        }
+        return future;
+    }
+
+    /**
+     * Aguarda uma seção fora da home, propagando a falha original.
+     */
+    private <T> DashboardSnapshot<T> aguardar(CompletableFuture<DashboardSnapshot<T>> secao) {
+        try {
+            return secao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
             }
+            throw e;
         }
-        return null;
     }
 
     /**
-     * Verifica se uma interação é urgente (próxima de acontecer).
+     * Aguarda o resultado de uma seção da home. Em caso de falha ou timeout
+     * registra a seção como indisponível e retorna null (resultado parcial).
      */
-    private boolean isUrgente(InteracaoCliente interacao, LocalDateTime dataAgendada) {
-        LocalDateTime agora = LocalDateTime.now();
-        LocalDateTime dataReferencia = dataAgendada != null ? dataAgendada : interacao.getCreatedAt();
+    private <T> DashboardSnapshot<T> aguardarSecao(String nome,
+                                                   CompletableFuture<DashboardSnapshot<T>> secao,
+                                                   List<String> secoesIndisponiveis,
+                                                   List<DashboardSnapshot<?>> carregados) {
+        try {
+            DashboardSnapshot<T> snapshot = secao.join();
+            carregados.add(snapshot);
+            return snapshot;
+        } catch (CompletionException | CancellationException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            if (causa instanceof TimeoutException) {
+                logger.warn("Seção '{}' do dashboard excedeu {} ms", nome, sectionTimeoutMs);
+            } else {
+                logger.error("Falha ao carregar seção '{}' do dashboard", nome, causa);
+            }
+            secoesIndisponiveis.add(nome);
+            return null;
+        }
+    }
+
+    private static <T> T valorOuNulo(DashboardSnapshot<T> snapshot) {
+        return snapshot != null ? snapshot.valor() : null;
+    }
+
+    private static long valorOuZero(Long valor) {
+        return valor != null ? valor : 0L;
+    }
+
+    /**
+     * Monta as estatísticas gerais a partir das contagens agrupadas por status e origem.
+     */
+    private DashboardStatsDto buildStats(List<StatusOrigemCount> contagens) {
+        Map<StatusLead, Long> porStatus = somarPorStatus(contagens);
+
+        long totalProdutos = produtoRepository.count();
+        long produtosAtivos = produtoRepository.countByAtivoTrue();
+
+        InteracaoStatsDto interacaoStats = interacaoService.getStats();
+
+        return new DashboardStatsDto(
+                somarTotal(contagens),
+                porStatus.getOrDefault(StatusLead.NOVO, 0L),
+                porStatus.getOrDefault(StatusLead.QUALIFICADO, 0L),
+                porStatus.getOrDefault(StatusLead.CLIENTE, 0L),
+                porStatus.getOrDefault(StatusLead.PERDIDO, 0L),
+                totalProdutos,
+                produtosAtivos,
+                interacaoStats
+        );
+    }
+
+    /**
+     * Soma as contagens agrupadas por status, ignorando a origem.
+     */
+    private Map<StatusLead, Long> somarPorStatus(List<StatusOrigemCount> contagens) {
+        Map<StatusLead, Long> porStatus = new EnumMap<>(StatusLead.class);
+        for (StatusOrigemCount contagem : contagens) {
+            if (contagem.getStatus() != null) {
+                porStatus.merge(contagem.getStatus(), contagem.getTotal(), Long::sum);
+            }
+        }
+        return porStatus;
+    }
 
-        // Considera urgente se for nas próximas 24h
-        long horasAte = ChronoUnit.HOURS.between(agora, dataReferencia);
-        return horasAte >= 0 && horasAte <= 24;
+    /**
+     * Soma o total de leads de todas as linhas agrupadas.
+     */
+    private long somarTotal(List<StatusOrigemCount> contagens) {
+        return contagens.stream()
+                .mapToLong(StatusOrigemCount::getTotal)
+                .sum();
     }
 }
@@ -0,0 +1,24 @@
+package com.nakacorp.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Valor de uma seção do dashboard junto com o instante em que foi calculado.
+ *
+ * @param valor    dados da seção
+ * @param geradoEm momento do cálculo
+ * @param <T>      tipo dos dados da seção
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public record DashboardSnapshot<T>(T valor, LocalDateTime geradoEm) {
+
+    /**
+     * Idade do snapshot em segundos, usada para informar ao cliente quão defasado está.
+     */
+    public long idadeSegundos() {
+        return Math.max(0, Duration.between(geradoEm, LocalDateTime.now()).toSeconds());
+    }
+}
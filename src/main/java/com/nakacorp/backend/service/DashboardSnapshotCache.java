@@ -0,0 +1,85 @@
+package com.nakacorp.backend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.event.DashboardSecao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Cache de snapshots das seções do dashboard.
+ * <p>
+ * Usa um {@link AsyncCache} do Caffeine (configuração {@code dashboardCaffeineConfig}):
+ * requisições simultâneas para uma seção ausente compartilham o mesmo cálculo
+ * (single-flight) em vez de recalcular cada uma. Falhas não são cacheadas.
+ * Os snapshots são invalidados por {@link DashboardAlteradoEvent} após o commit
+ * das escritas em clientes, interações, interesses e produtos.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class DashboardSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotCache.class);
+
+    private final AsyncCache<DashboardSecao, DashboardSnapshot<?>> cache;
+
+    @Autowired
+    public DashboardSnapshotCache(
+            @Qualifier("dashboardCaffeineConfig") Caffeine<Object, Object> dashboardCaffeineConfig,
+            @Qualifier("dashboardExecutor") ExecutorService dashboardExecutor) {
+        this.cache = dashboardCaffeineConfig
+                .executor(dashboardExecutor)
+                .buildAsync();
+    }
+
+    /**
+     * Obtém o snapshot da seção, calculando-o uma única vez em caso de ausência.
+     *
+     * @param secao   seção do dashboard
+     * @param calculo cálculo da seção (executado no executor do dashboard)
+     * @param <T>     tipo dos dados da seção
+     * @return future com o snapshot da seção
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<DashboardSnapshot<T>> get(DashboardSecao secao, Supplier<T> calculo) {
+        CompletableFuture<? extends DashboardSnapshot<?>> snapshot = cache.get(secao,
+                s -> new DashboardSnapshot<>(calculo.get(), LocalDateTime.now()));
+        return (CompletableFuture<DashboardSnapshot<T>>) snapshot;
+    }
+
+    /**
+     * Invalida as seções afetadas por uma alteração, após o commit da transação.
+     * Executa antes dos demais ouvintes, que podem recalcular as seções.
+     *
+     * @param event evento de alteração de dados do dashboard
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDashboardAlterado(DashboardAlteradoEvent event) {
+        logger.debug("Invalidando snapshots do dashboard: {}", event.secoes());
+        cache.synchronous().invalidateAll(event.secoes());
+    }
+
+    /**
+     * Remove todos os snapshots do cache.
+     */
+    public void invalidarTudo() {
+        cache.synchronous().invalidateAll();
+    }
+}
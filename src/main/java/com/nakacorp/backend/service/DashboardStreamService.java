@@ -0,0 +1,227 @@
+package com.nakacorp.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nakacorp.backend.dto.res.DashboardDeltaDto;
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.event.DashboardSecao;
+import com.nakacorp.backend.event.LeadStatusAlteradoEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Stream SSE do dashboard com eventos incrementais.
+ * <p>
+ * Conexões ociosas não ocupam threads: cada inscrição é um {@link SseEmitter}
+ * assíncrono e os envios rodam em virtual threads do {@code dashboardExecutor}.
+ * As seções alteradas ({@link DashboardAlteradoEvent}) são agrupadas por um intervalo
+ * de debounce, recalculadas uma única vez via {@link DashboardSnapshotCache},
+ * serializadas uma vez e enviadas a todos os inscritos. Movimentos de leads no pipeline
+ * ({@link LeadStatusAlteradoEvent}) são enviados logo após o commit.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    private final DashboardService dashboardService;
+    private final ExecutorService dashboardExecutor;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+
+    private final Set<SseEmitter> emissores = ConcurrentHashMap.newKeySet();
+    private final Set<DashboardSecao> secoesPendentes = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public DashboardStreamService(
+            DashboardService dashboardService,
+            @Qualifier("dashboardExecutor") ExecutorService dashboardExecutor,
+            ObjectMapper objectMapper,
+            @Value("${app.dashboard.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.dashboardService = dashboardService;
+        this.dashboardExecutor = dashboardExecutor;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Registra um novo inscrito e envia o estado atual da home como primeiro evento.
+     *
+     * @return emissor SSE da conexão
+     */
+    public SseEmitter inscrever() {
+        SseEmitter emissor = new SseEmitter(timeoutMs);
+        emissor.onCompletion(() -> emissores.remove(emissor));
+        emissor.onTimeout(emissor::complete);
+        emissor.onError(e -> emissores.remove(emissor));
+        emissores.add(emissor);
+
+        String home = serializar(new DashboardDeltaDto("home", dashboardService.getDashboardHome(), LocalDateTime.now()));
+        if (home != null) {
+            enviar(emissor, List.of(SseEmitter.event().name("home").data(home, MediaType.APPLICATION_JSON).build()));
+        }
+        return emissor;
+    }
+
+    /**
+     * Marca as seções alteradas para o próximo envio.
+     * Executa depois da invalidação do {@link DashboardSnapshotCache}.
+     *
+     * @param event evento de alteração de dados do dashboard
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onDashboardAlterado(DashboardAlteradoEvent event) {
+        if (!emissores.isEmpty()) {
+            secoesPendentes.addAll(event.secoes());
+        }
+    }
+
+    /**
+     * Envia o movimento do lead no pipeline e, se aplicável, o aviso de novo lead quente.
+     *
+     * @param event evento de mudança de status do lead
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadStatusAlterado(LeadStatusAlteradoEvent event) {
+        if (emissores.isEmpty()) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        List<Set<DataWithMediaType>> eventos = new ArrayList<>(2);
+        adicionar(eventos, new DashboardDeltaDto("pipeline-movimento", event, agora));
+        if (event.leadQuente()) {
+            adicionar(eventos, new DashboardDeltaDto("lead-quente", event, agora));
+        }
+        difundir(eventos);
+    }
+
+    /**
+     * Recalcula as seções pendentes uma única vez e envia o novo snapshot de cada uma.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.stream.debounce-ms:1000}")
+    public void enviarSecoesPendentes() {
+        if (secoesPendentes.isEmpty()) {
+            return;
+        }
+        Set<DashboardSecao> secoes = EnumSet.noneOf(DashboardSecao.class);
+        for (Iterator<DashboardSecao> it = secoesPendentes.iterator(); it.hasNext(); ) {
+            secoes.add(it.next());
+            it.remove();
+        }
+        if (emissores.isEmpty()) {
+            return;
+        }
+
+        List<Set<DataWithMediaType>> eventos = new ArrayList<>(secoes.size());
+        for (DashboardSecao secao : secoes) {
+            try {
+                DashboardSnapshot<?> snapshot = snapshotDa(secao);
+                adicionar(eventos, new DashboardDeltaDto(
+                        secao.name().toLowerCase(Locale.ROOT), snapshot.valor(), snapshot.geradoEm()));
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao recalcular a seção {} para o stream do dashboard", secao, e);
+            }
+        }
+        difundir(eventos);
+    }
+
+    /**
+     * Envia um comentário periódico para manter as conexões abertas e descartar as encerradas.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.stream.heartbeat-ms:30000}")
+    public void enviarHeartbeat() {
+        if (!emissores.isEmpty()) {
+            difundir(List.of(SseEmitter.event().comment("ping").build()));
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        emissores.forEach(SseEmitter::complete);
+        emissores.clear();
+    }
+
+    private DashboardSnapshot<?> snapshotDa(DashboardSecao secao) {
+        return switch (secao) {
+            case RECEITA -> dashboardService.getReceitaTotal();
+            case ESTATISTICAS -> dashboardService.getGeneralStats();
+            case PIPELINE -> dashboardService.getPipelineVendas();
+            case PROXIMAS_INTERACOES -> dashboardService.getProximasInteracoes();
+            case TAXA_CONVERSAO -> dashboardService.calculateConversionRate();
+            case CONVERSAO_POR_ORIGEM -> dashboardService.getConversionRateByOrigem();
+            case LEADS_ATIVOS -> dashboardService.countLeadsAtivos();
+        };
+    }
+
+    /**
+     * Serializa e monta o evento uma única vez; o mesmo conteúdo é enviado a todos os inscritos.
+     */
+    private void adicionar(List<Set<DataWithMediaType>> eventos, DashboardDeltaDto delta) {
+        String json = serializar(delta);
+        if (json != null) {
+            eventos.add(SseEmitter.event().name(delta.tipo()).data(json, MediaType.APPLICATION_JSON).build());
+        }
+    }
+
+    private String serializar(DashboardDeltaDto delta) {
+        try {
+            return objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            logger.warn("Falha ao serializar evento {} do dashboard", delta.tipo(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Envia os eventos a cada inscrito em uma virtual thread própria,
+     * para que um cliente lento não atrase os demais.
+     */
+    private void difundir(List<Set<DataWithMediaType>> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        for (SseEmitter emissor : emissores) {
+            dashboardExecutor.execute(() -> enviar(emissor, eventos));
+        }
+    }
+
+    private void enviar(SseEmitter emissor, List<Set<DataWithMediaType>> eventos) {
+        try {
+            for (Set<DataWithMediaType> evento : eventos) {
+                emissor.send(evento);
+            }
+        } catch (IOException | IllegalStateException e) {
+            emissores.remove(emissor);
+            logger.debug("Conexão SSE do dashboard encerrada: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,615 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.dto.req.MesclagemDuplicatasRequestDto;
+import com.nakacorp.backend.dto.res.ClienteResponseDto;
+import com.nakacorp.backend.dto.res.ClienteSummaryDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
+import com.nakacorp.backend.dto.res.GrupoDuplicidadeDto;
+import com.nakacorp.backend.dto.res.ParDuplicidadeDto;
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.exception.InvalidDataException;
+import com.nakacorp.backend.model.ChavesDeduplicacao;
+import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.model.ClienteDuplicata;
+import com.nakacorp.backend.model.enums.ChaveDuplicidade;
+import com.nakacorp.backend.repository.ClienteDuplicataRepository;
+import com.nakacorp.backend.repository.ClienteInteresseRepository;
+import com.nakacorp.backend.repository.ClienteRepository;
+import com.nakacorp.backend.repository.InteracaoClienteRepository;
+import com.nakacorp.backend.repository.LeadOrigemRepository;
+import com.nakacorp.backend.repository.ProjecaoRepository;
+import com.nakacorp.backend.repository.projection.ClienteContato;
+import com.nakacorp.backend.repository.projection.ClienteDuplicidadeDados;
+import com.nakacorp.backend.repository.projection.GrupoDuplicidadeResumo;
+import com.nakacorp.backend.repository.projection.ProjecoesListagem;
+import com.nakacorp.backend.repository.specification.ClienteSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Detecção e mesclagem de leads duplicados.
+ * <p>
+ * A detecção tem duas etapas:
+ * </p>
+ * <ol>
+ *   <li>Blocagem: cada lead tem chaves de telefone, email e nome/empresa
+ *       ({@link ChavesDeduplicacao}) em colunas indexadas; só leads com uma chave
+ *       em comum são comparados. Blocos com mais de {@code max-bloco} leads
+ *       (números e emails genéricos) são ignorados, então o custo é linear no
+ *       tamanho da base.</li>
+ *   <li>Comparação: cada par do bloco recebe um score de 0 a 1 pela similaridade
+ *       Jaro-Winkler de nome e empresa e pela coincidência de telefone e email;
+ *       pares com score mínimo são gravados em {@code tb_cliente_duplicata}.</li>
+ * </ol>
+ * <p>
+ * Um lead cadastrado ou alterado é comparado na hora com os leads que compartilham
+ * suas chaves. A varredura noturna recalcula chaves desatualizadas, percorre todos
+ * os blocos, remove pares que deixaram de ser parecidos e reagrupa os pares em
+ * conjuntos conectados.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@Transactional
+public class DeduplicacaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeduplicacaoService.class);
+
+    private static final int TAMANHO_LOTE_CHAVES = 1000;
+    private static final int BLOCOS_POR_PAGINA = 500;
+    private static final int PARES_POR_PAGINA = 5000;
+    private static final int GRUPOS_POR_TRANSACAO = 500;
+    private static final int LIMITE_CANDIDATOS = 50;
+    private static final int LIMITE_MAXIMO_GRUPOS = 100;
+
+    private final ClienteRepository clienteRepository;
+    private final ClienteDuplicataRepository duplicataRepository;
+    private final InteracaoClienteRepository interacaoRepository;
+    private final ClienteInteresseRepository interesseRepository;
+    private final LeadOrigemRepository leadOrigemRepository;
+    private final ProjecaoRepository projecaoRepository;
+    private final InteracaoClienteService interacaoService;
+    private final ClienteAutocompleteIndex autocompleteIndex;
+    private final LeadScoreService leadScoreService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double scoreMinimo;
+    private final int maxBloco;
+
+    private final ReentrantLock varredura = new ReentrantLock();
+
+    @Autowired
+    public DeduplicacaoService(ClienteRepository clienteRepository,
+                               ClienteDuplicataRepository duplicataRepository,
+                               InteracaoClienteRepository interacaoRepository,
+                               ClienteInteresseRepository interesseRepository,
+                               LeadOrigemRepository leadOrigemRepository,
+                               ProjecaoRepository projecaoRepository,
+                               InteracaoClienteService interacaoService,
+                               ClienteAutocompleteIndex autocompleteIndex,
+                               LeadScoreService leadScoreService,
+                               ApplicationEventPublisher eventPublisher,
+                               @Qualifier("backgroundExecutor") ExecutorService executor,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.deduplicacao.score-minimo:0.85}") double scoreMinimo,
+                               @Value("${app.deduplicacao.max-bloco:50}") int maxBloco) {
+        this.clienteRepository = clienteRepository;
+        this.duplicataRepository = duplicataRepository;
+        this.interacaoRepository = interacaoRepository;
+        this.interesseRepository = interesseRepository;
+        this.leadOrigemRepository = leadOrigemRepository;
+        this.projecaoRepository = projecaoRepository;
+        this.interacaoService = interacaoService;
+        this.autocompleteIndex = autocompleteIndex;
+        this.leadScoreService = leadScoreService;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.scoreMinimo = scoreMinimo;
+        this.maxBloco = maxBloco;
+    }
+
+    /**
+     * Compara um lead recém-salvo com os leads que compartilham suas chaves
+     * e registra os pares parecidos, na transação corrente. Blocos com mais de
+     * {@code max-bloco} leads são ignorados como na varredura, que removeria os
+     * pares encontrados neles.
+     *
+     * @param cliente cliente salvo (com ID)
+     */
+    public void avaliar(Cliente cliente) {
+        Lead lead = new Lead(cliente.getId(), cliente.getNome(), cliente.getEmpresa(),
+                ChavesDeduplicacao.telefone(cliente.getTelefone()),
+                ChavesDeduplicacao.email(cliente.getEmail()));
+        String chaveNome = ChavesDeduplicacao.nomeEmpresa(cliente.getNome(), cliente.getEmpresa());
+        if (lead.telefone() == null && lead.email() == null && chaveNome == null) {
+            return;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        duplicataRepository.findCandidatos(lead.id(), lead.telefone(), lead.email(), chaveNome, maxBloco, LIMITE_CANDIDATOS)
+                .stream()
+                .map(Lead::of)
+                .map(candidato -> comparar(lead, candidato))
+                .filter(par -> par.score() >= scoreMinimo)
+                .forEach(par -> registrar(par, agora));
+    }
+
+    /**
+     * Lista os grupos de leads com pares pendentes, em ordem de grupo.
+     *
+     * @param cursor último grupo da página anterior (opcional)
+     * @param size   quantidade de grupos (1 a 100)
+     * @return grupos com os clientes e os pares de cada um
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<GrupoDuplicidadeDto> listarGrupos(String cursor, int size) {
+        long aposGrupo = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                aposGrupo = Long.parseLong(cursor.trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidDataException("cursor", "cursor inválido");
+            }
+        }
+        int tamanho = Math.max(1, Math.min(size, LIMITE_MAXIMO_GRUPOS));
+
+        List<GrupoDuplicidadeResumo> resumos = duplicataRepository.findGruposPendentes(aposGrupo, Limit.of(tamanho + 1));
+        boolean hasNext = resumos.size() > tamanho;
+        if (hasNext) {
+            resumos = resumos.subList(0, tamanho);
+        }
+        if (resumos.isEmpty()) {
+            return new CursorPageDto<>(List.of(), tamanho, false, null, null);
+        }
+
+        Map<Long, List<ClienteDuplicata>> paresPorGrupo = duplicataRepository
+                .findPendentesByGrupoIn(resumos.stream().map(GrupoDuplicidadeResumo::getGrupo).toList())
+                .stream()
+                .collect(Collectors.groupingBy(ClienteDuplicata::getGrupo, LinkedHashMap::new, Collectors.toList()));
+
+        Set<Long> ids = new LinkedHashSet<>();
+        paresPorGrupo.values().forEach(pares -> pares.forEach(par -> {
+            ids.add(par.getIdClienteA());
+            ids.add(par.getIdClienteB());
+        }));
+        Map<Long, ClienteSummaryDto> clientes = projecaoRepository.listar(ProjecoesListagem.CLIENTE_RESUMO,
+                        ClienteSpecifications.idEm(ids), Sort.by("id"), ids.size())
+                .stream()
+                .collect(Collectors.toMap(ClienteSummaryDto::id, Function.identity()));
+
+        List<GrupoDuplicidadeDto> grupos = new ArrayList<>(resumos.size());
+        for (GrupoDuplicidadeResumo resumo : resumos) {
+            List<ClienteDuplicata> pares = paresPorGrupo.getOrDefault(resumo.getGrupo(), List.of());
+            List<ClienteSummaryDto> membros = pares.stream()
+                    .flatMap(par -> Stream.of(par.getIdClienteA(), par.getIdClienteB()))
+                    .distinct()
+                    .sorted()
+                    .map(clientes::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            grupos.add(new GrupoDuplicidadeDto(resumo.getGrupo(), resumo.getScoreMaximo(), membros,
+                    pares.stream().map(ParDuplicidadeDto::fromEntity).toList()));
+        }
+
+        String nextCursor = hasNext ? String.valueOf(resumos.get(resumos.size() - 1).getGrupo()) : null;
+        return new CursorPageDto<>(grupos, tamanho, hasNext, nextCursor, null);
+    }
+
+    /**
+     * Marca os pares pendentes de um grupo como não duplicados; eles não voltam a ser sugeridos.
+     *
+     * @param grupo ID do grupo
+     */
+    public void descartarGrupo(Long grupo) {
+        if (duplicataRepository.descartarGrupo(grupo) == 0) {
+            throw new IllegalArgumentException("Grupo de duplicados não encontrado: " + grupo);
+        }
+    }
+
+    /**
+     * Mescla leads duplicados em um cliente principal.
+     * <p>
+     * Campos vazios do principal são completados pelos duplicados (do menor ao maior ID);
+     * interações, interesses em produtos que o principal não tem e a origem do lead
+     * (se o principal não tiver) são transferidos. Os duplicados são removidos e
+     * a mesclagem é registrada na timeline do principal. O status do principal é mantido.
+     * </p>
+     *
+     * @param request cliente principal e clientes a mesclar
+     * @return cliente principal atualizado
+     */
+    public ClienteResponseDto mesclar(MesclagemDuplicatasRequestDto request) {
+        Long principalId = request.principalId();
+        List<Long> ids = request.duplicadosIds().stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !id.equals(principalId))
+                .distinct()
+                .sorted()
+                .toList();
+        if (ids.isEmpty()) {
+            throw new InvalidDataException("duplicadosIds", "informe clientes diferentes do principal");
+        }
+
+        Cliente principal = clienteRepository.findById(principalId)
+                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + principalId));
+        List<Cliente> duplicados = clienteRepository.findAllById(ids);
+        if (duplicados.size() != ids.size()) {
+            Set<Long> encontrados = duplicados.stream().map(Cliente::getId).collect(Collectors.toSet());
+            Long ausente = ids.stream().filter(id -> !encontrados.contains(id)).findFirst().orElseThrow();
+            throw new IllegalArgumentException("Cliente não encontrado: " + ausente);
+        }
+        duplicados.sort(Comparator.comparing(Cliente::getId));
+
+        duplicados.forEach(duplicado -> completar(principal, duplicado));
+        List<String> emails = duplicados.stream().map(Cliente::getEmail).toList();
+
+        interacaoRepository.transferirParaCliente(principalId, ids);
+        interesseRepository.transferirParaCliente(principalId, ids);
+        leadOrigemRepository.transferirParaCliente(principalId, ids);
+        clienteRepository.deleteAllByIdInBatch(ids);
+
+        Cliente salvo = clienteRepository.save(principal);
+        interacaoService.registrarMesclagem(principalId, ids, emails);
+        ids.forEach(autocompleteIndex::remover);
+        autocompleteIndex.registrar(salvo);
+        ids.forEach(leadScoreService::remover);
+        leadScoreService.recalcular(List.of(principalId));
+        eventPublisher.publishEvent(DashboardAlteradoEvent.todas());
+
+        logger.info("Clientes {} mesclados no cliente {}", ids, principalId);
+        return ClienteResponseDto.fromEntity(salvo);
+    }
+
+    /**
+     * Inicia a varredura completa em segundo plano.
+     *
+     * @return false se uma varredura já está em andamento
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean iniciarVarredura() {
+        if (varredura.isLocked()) {
+            return false;
+        }
+        executor.execute(this::varrerBase);
+        return true;
+    }
+
+    /**
+     * Varredura completa da base: atualiza chaves, compara os blocos de cada chave,
+     * remove pares não confirmados e recalcula os grupos. Cada etapa roda em
+     * transações curtas, por página.
+     */
+    @Scheduled(cron = "${app.deduplicacao.scan-cron:0 0 2 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void varrerBase() {
+        if (!varredura.tryLock()) {
+            logger.info("Varredura de duplicados já em andamento");
+            return;
+        }
+        try {
+            long inicioNanos = System.nanoTime();
+            LocalDateTime inicio = LocalDateTime.now();
+
+            int chaves = atualizarChaves();
+            long blocos = 0L;
+            long pares = 0L;
+            for (ChaveDuplicidade chave : ChaveDuplicidade.values()) {
+                long[] resultado = compararBlocos(chave);
+                blocos += resultado[0];
+                pares += resultado[1];
+            }
+            Integer removidos = transaction.execute(status -> duplicataRepository.deletePendentesAntesDe(inicio));
+            int grupos = reagrupar();
+
+            logger.info("Varredura de duplicados concluída em {} ms: {} chaves atualizadas, {} blocos, " +
+                            "{} pares registrados, {} pares removidos, {} grupos",
+                    (System.nanoTime() - inicioNanos) / 1_000_000, chaves, blocos, pares, removidos, grupos);
+        } catch (RuntimeException e) {
+            logger.error("Falha na varredura de duplicados", e);
+        } finally {
+            varredura.unlock();
+        }
+    }
+
+    /**
+     * Calcula as chaves dos clientes sem chave ou com regras de versão anterior.
+     */
+    private int atualizarChaves() {
+        int total = 0;
+        long ultimoId = 0L;
+        List<ClienteContato> lote;
+        do {
+            long aposId = ultimoId;
+            lote = transaction.execute(status -> {
+                List<ClienteContato> linhas = clienteRepository.findChavesDesatualizadas(
+                        ChavesDeduplicacao.VERSAO, aposId, Limit.of(TAMANHO_LOTE_CHAVES));
+                for (ClienteContato linha : linhas) {
+                    clienteRepository.atualizarChavesDeduplicacao(linha.getId(),
+                            ChavesDeduplicacao.telefone(linha.getTelefone()),
+                            ChavesDeduplicacao.email(linha.getEmail()),
+                            ChavesDeduplicacao.nomeEmpresa(linha.getNome(), linha.getEmpresa()),
+                            ChavesDeduplicacao.VERSAO);
+                }
+                return linhas;
+            });
+            if (!lote.isEmpty()) {
+                ultimoId = lote.get(lote.size() - 1).getId();
+                total += lote.size();
+            }
+        } while (lote.size() == TAMANHO_LOTE_CHAVES);
+        return total;
+    }
+
+    /**
+     * Percorre os blocos de uma chave em páginas e registra os pares parecidos.
+     *
+     * @return blocos avaliados e pares registrados
+     */
+    private long[] compararBlocos(ChaveDuplicidade chave) {
+        long blocos = 0L;
+        long registrados = 0L;
+        String aposChave = "";
+        while (true) {
+            String apos = aposChave;
+            List<ClienteDuplicidadeDados> membros = readOnlyTransaction.execute(status -> switch (chave) {
+                case TELEFONE -> duplicataRepository.findBlocosTelefone(apos, maxBloco, BLOCOS_POR_PAGINA);
+                case EMAIL -> duplicataRepository.findBlocosEmail(apos, maxBloco, BLOCOS_POR_PAGINA);
+                case NOME_EMPRESA -> duplicataRepository.findBlocosNome(apos, maxBloco, BLOCOS_POR_PAGINA);
+            });
+            if (membros == null || membros.isEmpty()) {
+                break;
+            }
+
+            Map<String, List<Lead>> porBloco = new LinkedHashMap<>();
+            for (ClienteDuplicidadeDados membro : membros) {
+                porBloco.computeIfAbsent(membro.getChave(), k -> new ArrayList<>()).add(Lead.of(membro));
+            }
+            List<Par> pares = new ArrayList<>();
+            for (List<Lead> bloco : porBloco.values()) {
+                for (int i = 0; i < bloco.size(); i++) {
+                    for (int j = i + 1; j < bloco.size(); j++) {
+                        Par par = comparar(bloco.get(i), bloco.get(j));
+                        if (par.score() >= scoreMinimo) {
+                            pares.add(par);
+                        }
+                    }
+                }
+            }
+            if (!pares.isEmpty()) {
+                LocalDateTime agora = LocalDateTime.now();
+                transaction.executeWithoutResult(status -> pares.forEach(par -> registrar(par, agora)));
+            }
+
+            blocos += porBloco.size();
+            registrados += pares.size();
+            aposChave = membros.get(membros.size() - 1).getChave();
+            if (porBloco.size() < BLOCOS_POR_PAGINA) {
+                break;
+            }
+        }
+        return new long[]{blocos, registrados};
+    }
+
+    /**
+     * Recalcula os grupos como componentes conectados dos pares pendentes;
+     * o grupo é o menor ID do componente.
+     *
+     * @return quantidade de grupos
+     */
+    private int reagrupar() {
+        Map<Long, Long> pais = new HashMap<>();
+        List<long[]> pares = new ArrayList<>();
+        long ultimoA = 0L;
+        long ultimoB = 0L;
+        List<ClienteDuplicata> pagina;
+        do {
+            long a = ultimoA;
+            long b = ultimoB;
+            pagina = readOnlyTransaction.execute(status ->
+                    duplicataRepository.findPendentesApos(a, b, Limit.of(PARES_POR_PAGINA)));
+            for (ClienteDuplicata par : pagina) {
+                unir(pais, par.getIdClienteA(), par.getIdClienteB());
+                pares.add(new long[]{par.getIdClienteA(), par.getIdClienteB()});
+            }
+            if (!pagina.isEmpty()) {
+                ultimoA = pagina.get(pagina.size() - 1).getIdClienteA();
+                ultimoB = pagina.get(pagina.size() - 1).getIdClienteB();
+            }
+        } while (pagina.size() == PARES_POR_PAGINA);
+
+        Map<Long, Set<Long>> idsPorGrupo = new HashMap<>();
+        for (long[] par : pares) {
+            idsPorGrupo.computeIfAbsent(raiz(pais, par[0]), k -> new LinkedHashSet<>()).add(par[0]);
+        }
+
+        List<Map.Entry<Long, Set<Long>>> grupos = new ArrayList<>(idsPorGrupo.entrySet());
+        for (int inicio = 0; inicio < grupos.size(); inicio += GRUPOS_POR_TRANSACAO) {
+            List<Map.Entry<Long, Set<Long>>> lote = grupos.subList(inicio, Math.min(inicio + GRUPOS_POR_TRANSACAO, grupos.size()));
+            transaction.executeWithoutResult(status ->
+                    lote.forEach(grupo -> duplicataRepository.atualizarGrupo(grupo.getKey(), grupo.getValue())));
+        }
+        return grupos.size();
+    }
+
+    private void registrar(Par par, LocalDateTime agora) {
+        duplicataRepository.registrar(par.idClienteA(), par.idClienteB(), par.score(), par.motivo().name(), agora);
+    }
+
+    /**
+     * Score do par: o maior entre as evidências de telefone, email e nome/empresa.
+     * O resultado depende apenas dos dois leads, não do bloco em que foram comparados.
+     */
+    private static Par comparar(Lead x, Lead y) {
+        double nome = jaroWinkler(ChavesDeduplicacao.normalizar(x.nome()), ChavesDeduplicacao.normalizar(y.nome()));
+        String empresaX = ChavesDeduplicacao.normalizar(x.empresa());
+        String empresaY = ChavesDeduplicacao.normalizar(y.empresa());
+
+        ChaveDuplicidade motivo = ChaveDuplicidade.NOME_EMPRESA;
+        double score = empresaX.isEmpty() || empresaY.isEmpty()
+                ? 0.9 * nome
+                : 0.75 * nome + 0.25 * jaroWinkler(empresaX, empresaY);
+        if (x.telefone() != null && x.telefone().equals(y.telefone()) && 0.6 + 0.4 * nome > score) {
+            score = 0.6 + 0.4 * nome;
+            motivo = ChaveDuplicidade.TELEFONE;
+        }
+        if (x.email() != null && x.email().equals(y.email()) && 0.55 + 0.45 * nome > score) {
+            score = 0.55 + 0.45 * nome;
+            motivo = ChaveDuplicidade.EMAIL;
+        }
+
+        return x.id() < y.id()
+                ? new Par(x.id(), y.id(), score, motivo)
+                : new Par(y.id(), x.id(), score, motivo);
+    }
+
+    /**
+     * Similaridade Jaro-Winkler entre 0 (nada em comum) e 1 (iguais).
+     */
+    private static double jaroWinkler(String s1, String s2) {
+        if (s1.isEmpty() || s2.isEmpty()) {
+            return 0.0;
+        }
+        if (s1.equals(s2)) {
+            return 1.0;
+        }
+        int janela = Math.max(0, Math.max(s1.length(), s2.length()) / 2 - 1);
+        boolean[] casados1 = new boolean[s1.length()];
+        boolean[] casados2 = new boolean[s2.length()];
+
+        int coincidencias = 0;
+        for (int i = 0; i < s1.length(); i++) {
+            int fim = Math.min(i + janela + 1, s2.length());
+            for (int j = Math.max(0, i - janela); j < fim; j++) {
+                if (!casados2[j] && s1.charAt(i) == s2.charAt(j)) {
+                    casados1[i] = true;
+                    casados2[j] = true;
+                    coincidencias++;
+                    break;
+                }
+            }
+        }
+        if (coincidencias == 0) {
+            return 0.0;
+        }
+
+        int transposicoes = 0;
+        for (int i = 0, j = 0; i < s1.length(); i++) {
+            if (casados1[i]) {
+                while (!casados2[j]) {
+                    j++;
+                }
+                if (s1.charAt(i) != s2.charAt(j)) {
+                    transposicoes++;
+                }
+                j++;
+            }
+        }
+
+        double m = coincidencias;
+        double jaro = (m / s1.length() + m / s2.length() + (m - transposicoes / 2.0) / m) / 3.0;
+        int prefixo = 0;
+        while (prefixo < Math.min(4, Math.min(s1.length(), s2.length())) && s1.charAt(prefixo) == s2.charAt(prefixo)) {
+            prefixo++;
+        }
+        return jaro + prefixo * 0.1 * (1.0 - jaro);
+    }
+
+    private static void unir(Map<Long, Long> pais, long a, long b) {
+        long raizA = raiz(pais, a);
+        long raizB = raiz(pais, b);
+        if (raizA != raizB) {
+            pais.put(Math.max(raizA, raizB), Math.min(raizA, raizB));
+        }
+    }
+
+    private static long raiz(Map<Long, Long> pais, long id) {
+        long raiz = id;
+        Long pai;
+        while ((pai = pais.get(raiz)) != null && pai != raiz) {
+            raiz = pai;
+        }
+        long atual = id;
+        while (atual != raiz) {
+            long proximo = pais.get(atual);
+            pais.put(atual, raiz);
+            atual = proximo;
+        }
+        return raiz;
+    }
+
+    /**
+     * Completa os campos vazios do principal com os do duplicado.
+     */
+    private static void completar(Cliente principal, Cliente duplicado) {
+        if (principal.getTelefone() == null) principal.setTelefone(duplicado.getTelefone());
+        if (principal.getEndereco() == null) principal.setEndereco(duplicado.getEndereco());
+        if (principal.getCidade() == null) principal.setCidade(duplicado.getCidade());
+        if (principal.getEstado() == null) principal.setEstado(duplicado.getEstado());
+        if (principal.getCep() == null) principal.setCep(duplicado.getCep());
+        if (principal.getEmpresa() == null) principal.setEmpresa(duplicado.getEmpresa());
+        if (principal.getCargo() == null) principal.setCargo(duplicado.getCargo());
+
+        if (duplicado.getDataPrimeiroContato() != null && (principal.getDataPrimeiroContato() == null
+                || duplicado.getDataPrimeiroContato().isBefore(principal.getDataPrimeiroContato()))) {
+            principal.setDataPrimeiroContato(duplicado.getDataPrimeiroContato());
+        }
+        if (duplicado.getDataUltimaInteracao() != null && (principal.getDataUltimaInteracao() == null
+                || duplicado.getDataUltimaInteracao().isAfter(principal.getDataUltimaInteracao()))) {
+            principal.setDataUltimaInteracao(duplicado.getDataUltimaInteracao());
+        }
+        if (duplicado.getObservacoes() != null && !duplicado.getObservacoes().isBlank()) {
+            principal.setObservacoes(principal.getObservacoes() == null || principal.getObservacoes().isBlank()
+                    ? duplicado.getObservacoes()
+                    : principal.getObservacoes() + "\n" + duplicado.getObservacoes());
+        }
+    }
+
+    /**
+     * Dados de um lead usados na comparação.
+     */
+    private record Lead(Long id, String nome, String empresa, String telefone, String email) {
+
+        static Lead of(ClienteDuplicidadeDados dados) {
+            return new Lead(dados.getId(), dados.getNome(), dados.getEmpresa(),
+                    dados.getDedupTelefone(), dados.getDedupEmail());
+        }
+    }
+
+    private record Par(Long idClienteA, Long idClienteB, double score, ChaveDuplicidade motivo) {}
+}
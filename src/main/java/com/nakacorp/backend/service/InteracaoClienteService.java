@@ -2,25 +2,44 @@ package com.nakacorp.backend.service;
 
 import com.nakacorp.backend.dto.req.InteracaoClienteRequestDto;
 import com.nakacorp.backend.dto.req.InteracaoClienteUpdateDto;
+import com.nakacorp.backend.dto.res.ClienteSummaryDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
 import com.nakacorp.backend.dto.res.InteracaoClienteResponseDto;
 import com.nakacorp.backend.dto.res.InteracaoStatsDto;
+import com.nakacorp.backend.dto.res.ProximaInteracaoDto;
 import com.nakacorp.backend.dto.res.TimelineClienteDto;
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.event.DashboardSecao;
+import com.nakacorp.backend.event.NotaAutomaticaEvent;
 import com.nakacorp.backend.model.Cliente;
 import com.nakacorp.backend.model.InteracaoCliente;
 import com.nakacorp.backend.model.Usuario;
 import com.nakacorp.backend.model.enums.NivelInteresse;
+import com.nakacorp.backend.model.enums.OrigemLead;
 import com.nakacorp.backend.model.enums.StatusLead;
 import com.nakacorp.backend.model.enums.TipoInteracao;
 import com.nakacorp.backend.repository.ClienteRepository;
 import com.nakacorp.backend.repository.InteracaoClienteRepository;
+import com.nakacorp.backend.repository.ProjecaoRepository;
 import com.nakacorp.backend.repository.UsuarioRepository;
+import com.nakacorp.backend.repository.projection.ClienteResumo;
+import com.nakacorp.backend.repository.projection.ProjecoesListagem;
+import com.nakacorp.backend.repository.specification.InteracaoClienteSpecifications;
+import com.nakacorp.backend.repository.specification.KeysetPagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,64 +51,99 @@ public class InteracaoClienteService {
 
     private final InteracaoClienteRepository interacaoRepository;
     private final ClienteRepository clienteRepository;
+    private final ProjecaoRepository projecaoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final InteracaoStatsCounter statsCounter;
+    private final RollupDiarioService rollupService;
+    private final LeadScoreService leadScoreService;
+    private final UltimaInteracaoWriter ultimaInteracaoWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public InteracaoClienteService(
             InteracaoClienteRepository interacaoRepository,
             ClienteRepository clienteRepository,
-            UsuarioRepository usuarioRepository) {
+            ProjecaoRepository projecaoRepository,
+            UsuarioRepository usuarioRepository,
+            InteracaoStatsCounter statsCounter,
+            RollupDiarioService rollupService,
+            LeadScoreService leadScoreService,
+            UltimaInteracaoWriter ultimaInteracaoWriter,
+            ApplicationEventPublisher eventPublisher) {
         this.interacaoRepository = interacaoRepository;
         this.clienteRepository = clienteRepository;
+        this.projecaoRepository = projecaoRepository;
         this.usuarioRepository = usuarioRepository;
+        this.statsCounter = statsCounter;
+        this.rollupService = rollupService;
+        this.leadScoreService = leadScoreService;
+        this.ultimaInteracaoWriter = ultimaInteracaoWriter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
     public Page<InteracaoClienteResponseDto> findAll(Pageable pageable) {
-        return interacaoRepository.findAll(pageable)
-                .map(InteracaoClienteResponseDto::fromEntity);
+        return projecaoRepository.paginar(ProjecoesListagem.INTERACAO, null, pageable);
     }
 
     @Transactional(readOnly = true)
     public Optional<InteracaoClienteResponseDto> findById(Long id) {
-        return interacaoRepository.findById(id)
+        return interacaoRepository.findDetalheById(id)
                 .map(InteracaoClienteResponseDto::fromEntity);
     }
 
     @Transactional(readOnly = true)
     public List<TimelineClienteDto> getTimelineCliente(Long clienteId) {
-        return interacaoRepository.findByClienteIdOrderByCreatedAtDesc(clienteId)
-                .stream()
-                .map(TimelineClienteDto::fromEntity)
-                .toList();
+        return projecaoRepository.listar(ProjecoesListagem.TIMELINE, InteracaoClienteSpecifications.doCliente(clienteId),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"), 0);
     }
 
+    /**
+     * Lista interações por cursor, das mais recentes para as mais antigas.
+     */
     @Transactional(readOnly = true)
-    public List<InteracaoClienteResponseDto> findByUsuario(Long usuarioId) {
-        return interacaoRepository.findByUsuarioId(usuarioId)
-                .stream()
-                .map(InteracaoClienteResponseDto::fromEntity)
-                .toList();
+    public CursorPageDto<InteracaoClienteResponseDto> scroll(String cursor, int size, boolean incluirTotal) {
+        return buscarPorCursor(null, cursor, size, incluirTotal);
     }
 
     @Transactional(readOnly = true)
-    public List<InteracaoClienteResponseDto> findByTipo(TipoInteracao tipo) {
-        return interacaoRepository.findByTipoInteracao(tipo)
-                .stream()
-                .map(InteracaoClienteResponseDto::fromEntity)
-                .toList();
+    public CursorPageDto<InteracaoClienteResponseDto> findByUsuario(Long usuarioId, String cursor, int size,
+                                                                    boolean incluirTotal) {
+        return buscarPorCursor(InteracaoClienteSpecifications.doUsuario(usuarioId), cursor, size, incluirTotal);
     }
 
+    /**
+     * Agenda de um vendedor: próximas interações atribuídas a ele, ordenadas pela data agendada.
+     * O limite é restrito ao intervalo de 1 a 100.
+     */
     @Transactional(readOnly = true)
-    public List<InteracaoClienteResponseDto> findByPeriodo(LocalDateTime inicio, LocalDateTime fim) {
-        return interacaoRepository.findByCreatedAtBetween(inicio, fim)
+    public List<ProximaInteracaoDto> getAgendaUsuario(Long usuarioId, int limite) {
+        int limiteAjustado = Math.max(1, Math.min(limite, 100));
+        return interacaoRepository.findAgendaUsuario(usuarioId, LocalDateTime.now(), Limit.of(limiteAjustado))
                 .stream()
-                .map(InteracaoClienteResponseDto::fromEntity)
+                .map(ProximaInteracaoDto::fromEntity)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<InteracaoClienteResponseDto> findByTipo(TipoInteracao tipo, String cursor, int size,
+                                                                 boolean incluirTotal) {
+        return buscarPorCursor(InteracaoClienteSpecifications.doTipo(tipo), cursor, size, incluirTotal);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<InteracaoClienteResponseDto> findByPeriodo(LocalDateTime inicio, LocalDateTime fim,
+                                                                    String cursor, int size, boolean incluirTotal) {
+        return buscarPorCursor(InteracaoClienteSpecifications.criadaEntre(inicio, fim), cursor, size, incluirTotal);
+    }
+
+    private CursorPageDto<InteracaoClienteResponseDto> buscarPorCursor(Specification<InteracaoCliente> filtro,
+                                                                       String cursor, int size, boolean incluirTotal) {
+        return KeysetPagination.buscar(projecaoRepository, ProjecoesListagem.INTERACAO, filtro, cursor, size, incluirTotal);
+    }
+
     public InteracaoClienteResponseDto create(InteracaoClienteRequestDto request) {
-        Cliente cliente = clienteRepository.findById(request.clienteId())
+        ClienteResumo cliente = clienteRepository.findResumoById(request.clienteId())
                 .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + request.clienteId()));
 
         Usuario usuario = null;
@@ -98,35 +152,54 @@ public class InteracaoClienteService {
                     .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado: " + request.usuarioId()));
         }
 
-        InteracaoCliente interacao = new InteracaoCliente(cliente, request.tipoInteracao(), request.descricao());
+        InteracaoCliente interacao = new InteracaoCliente(
+                clienteRepository.getReferenceById(cliente.getId()), request.tipoInteracao(), request.descricao());
         interacao.setUsuario(usuario);
         interacao.setDadosExtras(request.dadosExtras());
 
         InteracaoCliente saved = interacaoRepository.save(interacao);
+        registrarCriacao(saved, cliente.getOrigemLead());
+        ultimaInteracaoWriter.registrar(cliente.getId(), LocalDateTime.now());
 
-        cliente.setDataUltimaInteracao(LocalDateTime.now());
-        clienteRepository.save(cliente);
-
-        return InteracaoClienteResponseDto.fromEntity(saved);
+        return InteracaoClienteResponseDto.fromEntity(saved, ClienteSummaryDto.fromProjection(cliente));
     }
 
     public InteracaoClienteResponseDto update(Long id, InteracaoClienteUpdateDto request) {
-        InteracaoCliente interacao = interacaoRepository.findById(id)
+        InteracaoCliente interacao = interacaoRepository.findDetalheById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Interação não encontrada: " + id));
 
+        TipoInteracao tipoAnterior = interacao.getTipoInteracao();
+
         if (request.tipoInteracao() != null) interacao.setTipoInteracao(request.tipoInteracao());
         if (request.descricao() != null) interacao.setDescricao(request.descricao());
         if (request.dadosExtras() != null) interacao.setDadosExtras(request.dadosExtras());
 
         InteracaoCliente updated = interacaoRepository.save(interacao);
+
+        if (updated.getTipoInteracao() != tipoAnterior) {
+            statsCounter.decrementar(tipoAnterior);
+            statsCounter.incrementar(updated.getTipoInteracao());
+            LocalDate data = dataDe(updated);
+            OrigemLead origem = updated.getCliente().getOrigemLead();
+            rollupService.registrarInteracao(data, origem, tipoAnterior, -1);
+            rollupService.registrarInteracao(data, origem, updated.getTipoInteracao(), 1);
+            leadScoreService.registrarAlteracaoTipo(updated, tipoAnterior);
+        }
+        // Tipo, descrição ou agendamento podem ter mudado
+        publicarAlteracao(true);
         return InteracaoClienteResponseDto.fromEntity(updated);
     }
 
     public void delete(Long id) {
-        if (!interacaoRepository.existsById(id)) {
-            throw new IllegalArgumentException("Interação não encontrada: " + id);
-        }
-        interacaoRepository.deleteById(id);
+        InteracaoCliente interacao = interacaoRepository.findDetalheById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Interação não encontrada: " + id));
+
+        interacaoRepository.delete(interacao);
+        statsCounter.decrementar(interacao.getTipoInteracao());
+        rollupService.registrarInteracao(dataDe(interacao), interacao.getCliente().getOrigemLead(),
+                interacao.getTipoInteracao(), -1);
+        leadScoreService.registrarRemocaoInteracao(interacao);
+        publicarAlteracao(interacao.getDataAgendada() != null);
     }
 
     public void registrarPrimeiroContato(Long clienteId) {
@@ -137,14 +210,8 @@ public class InteracaoClienteService {
         dadosExtras.put("automatico", true);
         dadosExtras.put("origem", cliente.getOrigemLead().toString());
 
-        InteracaoCliente interacao = new InteracaoCliente(
-                cliente,
-                TipoInteracao.NOTA_INTERNA,
-                "Cliente cadastrado no sistema - Primeiro contato registrado"
-        );
-        interacao.setDadosExtras(dadosExtras);
-
-        interacaoRepository.save(interacao);
+        publicarNota(clienteId, cliente.getOrigemLead(),
+                "Cliente cadastrado no sistema - Primeiro contato registrado", dadosExtras);
 
         if (cliente.getDataPrimeiroContato() == null) {
             cliente.setDataPrimeiroContato(LocalDateTime.now());
@@ -153,27 +220,61 @@ public class InteracaoClienteService {
     }
 
     public void registrarMudancaStatus(Long clienteId, StatusLead statusAnterior, StatusLead novoStatus) {
-        Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
+        OrigemLead origem = origemDoCliente(clienteId);
 
         Map<String, Object> dadosExtras = new HashMap<>();
         dadosExtras.put("automatico", true);
         dadosExtras.put("statusAnterior", statusAnterior.toString());
         dadosExtras.put("novoStatus", novoStatus.toString());
 
-        InteracaoCliente interacao = new InteracaoCliente(
-                cliente,
-                TipoInteracao.NOTA_INTERNA,
-                String.format("Status alterado de %s para %s", statusAnterior, novoStatus)
-        );
-        interacao.setDadosExtras(dadosExtras);
+        publicarNota(clienteId, origem,
+                String.format("Status alterado de %s para %s", statusAnterior, novoStatus), dadosExtras);
+        rollupService.registrarMudancaStatus(origem, novoStatus);
+        leadScoreService.atualizarStatus(clienteId, novoStatus);
+    }
+
+    /**
+     * Atualiza contadores e rollup diário após uma mudança de status em lote, cujas
+     * notas automáticas foram inseridas pelo próprio comando de atualização.
+     * O evento do dashboard fica a cargo de quem executa o lote, uma vez ao final.
+     *
+     * @param alteradosPorOrigem quantidade de leads alterados por origem
+     * @param novoStatus         status de destino
+     */
+    public void registrarMudancasStatusEmLote(Map<OrigemLead, Long> alteradosPorOrigem, StatusLead novoStatus) {
+        long total = 0L;
+        LocalDate hoje = LocalDate.now();
+        for (Map.Entry<OrigemLead, Long> alterados : alteradosPorOrigem.entrySet()) {
+            rollupService.registrarInteracao(hoje, alterados.getKey(), TipoInteracao.NOTA_INTERNA, alterados.getValue());
+            rollupService.registrarMudancaStatus(alterados.getKey(), novoStatus, alterados.getValue());
+            total += alterados.getValue();
+        }
+        if (total > 0) {
+            statsCounter.adicionar(TipoInteracao.NOTA_INTERNA, total);
+        }
+    }
+
+    /**
+     * Registra na timeline do cliente principal a mesclagem de leads duplicados.
+     *
+     * @param clienteId ID do cliente principal
+     * @param mesclados IDs dos clientes mesclados e removidos
+     * @param emails    emails dos clientes mesclados
+     */
+    public void registrarMesclagem(Long clienteId, List<Long> mesclados, List<String> emails) {
+        OrigemLead origem = origemDoCliente(clienteId);
+
+        Map<String, Object> dadosExtras = new HashMap<>();
+        dadosExtras.put("automatico", true);
+        dadosExtras.put("clientesMesclados", mesclados);
+        dadosExtras.put("emailsMesclados", emails);
 
-        interacaoRepository.save(interacao);
+        publicarNota(clienteId, origem,
+                String.format("Leads duplicados mesclados neste cliente: %s", emails), dadosExtras);
     }
 
     public void registrarEmail(Long clienteId, String assunto, String remetente, Long usuarioId) {
-        Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
+        OrigemLead origem = origemDoCliente(clienteId);
 
         Usuario usuario = usuarioId != null ?
                 usuarioRepository.findById(usuarioId).orElse(null) : null;
@@ -184,22 +285,19 @@ public class InteracaoClienteService {
         dadosExtras.put("automatico", false);
 
         InteracaoCliente interacao = new InteracaoCliente(
-                cliente,
+                clienteRepository.getReferenceById(clienteId),
                 TipoInteracao.EMAIL,
                 String.format("Email enviado: %s", assunto)
         );
         interacao.setUsuario(usuario);
         interacao.setDadosExtras(dadosExtras);
 
-        interacaoRepository.save(interacao);
-
-        cliente.setDataUltimaInteracao(LocalDateTime.now());
-        clienteRepository.save(cliente);
+        registrarCriacao(interacaoRepository.save(interacao), origem);
+        ultimaInteracaoWriter.registrar(clienteId, LocalDateTime.now());
     }
 
     public void registrarTelefone(Long clienteId, String numeroTelefone, String duracao, Long usuarioId) {
-        Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
+        OrigemLead origem = origemDoCliente(clienteId);
 
         Usuario usuario = usuarioId != null ?
                 usuarioRepository.findById(usuarioId).orElse(null) : null;
@@ -210,73 +308,42 @@ public class InteracaoClienteService {
         dadosExtras.put("automatico", false);
 
         InteracaoCliente interacao = new InteracaoCliente(
-                cliente,
+                clienteRepository.getReferenceById(clienteId),
                 TipoInteracao.TELEFONE,
                 String.format("Ligação telefônica realizada - Duração: %s", duracao)
         );
         interacao.setUsuario(usuario);
         interacao.setDadosExtras(dadosExtras);
 
-        interacaoRepository.save(interacao);
-
-        cliente.setDataUltimaInteracao(LocalDateTime.now());
-        clienteRepository.save(cliente);
+        registrarCriacao(interacaoRepository.save(interacao), origem);
+        ultimaInteracaoWriter.registrar(clienteId, LocalDateTime.now());
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Estatísticas de interações por tipo, servidas pelos contadores em memória.
+     * O custo não depende do tamanho da tabela de interações.
+     */
     public InteracaoStatsDto getStats() {
-        List<InteracaoCliente> todasInteracoes = interacaoRepository.findAll();
-
-        long total = todasInteracoes.size();
-        long emails = todasInteracoes.stream()
-                .filter(i -> i.getTipoInteracao() == TipoInteracao.EMAIL)
-                .count();
-        long telefones = todasInteracoes.stream()
-                .filter(i -> i.getTipoInteracao() == TipoInteracao.TELEFONE)
-                .count();
-        long whatsapp = todasInteracoes.stream()
-                .filter(i -> i.getTipoInteracao() == TipoInteracao.WHATSAPP)
-                .count();
-        long forms = todasInteracoes.stream()
-                .filter(i -> i.getTipoInteracao() == TipoInteracao.FORM_SUBMIT)
-                .count();
-        long visits = todasInteracoes.stream()
-                .filter(i -> i.getTipoInteracao() == TipoInteracao.SITE_VISIT)
-                .count();
-        long notas = todasInteracoes.stream()
-                .filter(i -> i.getTipoInteracao() == TipoInteracao.NOTA_INTERNA)
-                .count();
-
-        return new InteracaoStatsDto(total, emails, telefones, whatsapp, forms, visits, notas);
+        return statsCounter.getStats();
     }
 
     public void registrarInteresseProduto(Long clienteId, String nomeProduto, NivelInteresse nivel) {
-        Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
+        OrigemLead origem = origemDoCliente(clienteId);
 
         Map<String, Object> dadosExtras = new HashMap<>();
         dadosExtras.put("automatico", true);
         dadosExtras.put("produto", nomeProduto);
         dadosExtras.put("nivelInteresse", nivel.toString());
 
-        InteracaoCliente interacao = new InteracaoCliente(
-                cliente,
-                TipoInteracao.NOTA_INTERNA,
-                String.format("Cliente demonstrou interesse %s no produto: %s", nivel.toString().toLowerCase(), nomeProduto)
-        );
-        interacao.setDadosExtras(dadosExtras);
-
-        interacaoRepository.save(interacao);
-
-        cliente.setDataUltimaInteracao(LocalDateTime.now());
-        clienteRepository.save(cliente);
+        publicarNota(clienteId, origem,
+                String.format("Cliente demonstrou interesse %s no produto: %s", nivel.toString().toLowerCase(), nomeProduto), dadosExtras);
+        ultimaInteracaoWriter.registrar(clienteId, LocalDateTime.now());
     }
 
     public void registrarMudancaNivelInteresse(Long clienteId, String nomeProduto,
                                                NivelInteresse nivelAnterior,
                                                NivelInteresse novoNivel) {
-        Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
+        OrigemLead origem = origemDoCliente(clienteId);
 
         Map<String, Object> dadosExtras = new HashMap<>();
         dadosExtras.put("automatico", true);
@@ -284,40 +351,97 @@ public class InteracaoClienteService {
         dadosExtras.put("nivelAnterior", nivelAnterior.toString());
         dadosExtras.put("novoNivel", novoNivel.toString());
 
-        InteracaoCliente interacao = new InteracaoCliente(
-                cliente,
-                TipoInteracao.NOTA_INTERNA,
+        publicarNota(clienteId, origem,
                 String.format("Nível de interesse alterado de %s para %s no produto: %s",
-                        nivelAnterior.toString().toLowerCase(),
-                        novoNivel.toString().toLowerCase(),
-                        nomeProduto)
-        );
-        interacao.setDadosExtras(dadosExtras);
-
-        interacaoRepository.save(interacao);
-
-        cliente.setDataUltimaInteracao(LocalDateTime.now());
-        clienteRepository.save(cliente);
+                nivelAnterior.toString().toLowerCase(),
+                novoNivel.toString().toLowerCase(),
+                nomeProduto), dadosExtras);
+        ultimaInteracaoWriter.registrar(clienteId, LocalDateTime.now());
     }
 
     public void registrarRemocaoInteresse(Long clienteId, String nomeProduto) {
-        Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
+        OrigemLead origem = origemDoCliente(clienteId);
 
         Map<String, Object> dadosExtras = new HashMap<>();
         dadosExtras.put("automatico", true);
         dadosExtras.put("produto", nomeProduto);
 
-        InteracaoCliente interacao = new InteracaoCliente(
-                cliente,
-                TipoInteracao.NOTA_INTERNA,
-                String.format("Interesse removido do produto: %s", nomeProduto)
-        );
-        interacao.setDadosExtras(dadosExtras);
+        publicarNota(clienteId, origem,
+                String.format("Interesse removido do produto: %s", nomeProduto), dadosExtras);
+        ultimaInteracaoWriter.registrar(clienteId, LocalDateTime.now());
+    }
+
+    /**
+     * Grava as notas automáticas de um lote, em uma única transação, e atualiza
+     * contadores, rollup diário e dashboard. Chamado pelo {@link NotaAutomaticaWriter}.
+     *
+     * @param notas notas publicadas pelos registros automáticos
+     */
+    public void gravarNotasAutomaticas(List<NotaAutomaticaEvent> notas) {
+        List<InteracaoCliente> interacoes = new ArrayList<>(notas.size());
+        Map<OrigemLead, Long> gravadasPorOrigem = new EnumMap<>(OrigemLead.class);
+        for (NotaAutomaticaEvent nota : notas) {
+            InteracaoCliente interacao = new InteracaoCliente(
+                    clienteRepository.getReferenceById(nota.clienteId()),
+                    TipoInteracao.NOTA_INTERNA,
+                    nota.descricao()
+            );
+            interacao.setDadosExtras(nota.dadosExtras());
+            interacoes.add(interacao);
+            gravadasPorOrigem.merge(nota.origem(), 1L, Long::sum);
+        }
+        // IDs da sequência: os INSERTs saem em batches no flush
+        interacaoRepository.saveAll(interacoes);
+        interacaoRepository.flush();
+
+        LocalDate hoje = LocalDate.now();
+        gravadasPorOrigem.forEach((origem, total) ->
+                rollupService.registrarInteracao(hoje, origem, TipoInteracao.NOTA_INTERNA, total));
+        statsCounter.adicionar(TipoInteracao.NOTA_INTERNA, notas.size());
+        publicarAlteracao(false);
+    }
+
+    /**
+     * Publica uma nota interna automática, gravada após o commit pelo {@link NotaAutomaticaWriter}.
+     */
+    private void publicarNota(Long clienteId, OrigemLead origem, String descricao, Map<String, Object> dadosExtras) {
+        eventPublisher.publishEvent(new NotaAutomaticaEvent(clienteId, origem, descricao, dadosExtras));
+    }
+
+    /**
+     * Origem do lead, lida sem carregar o cliente.
+     *
+     * @throws IllegalArgumentException se o cliente não existe
+     */
+    private OrigemLead origemDoCliente(Long clienteId) {
+        return clienteRepository.findOrigemLeadById(clienteId)
+                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
+    }
 
-        interacaoRepository.save(interacao);
+    /**
+     * Atualiza contadores, rollup diário, pontuação do lead e dashboard após salvar uma nova interação.
+     */
+    private void registrarCriacao(InteracaoCliente interacao, OrigemLead origem) {
+        statsCounter.incrementar(interacao.getTipoInteracao());
+        rollupService.registrarInteracao(dataDe(interacao), origem, interacao.getTipoInteracao(), 1);
+        leadScoreService.registrarInteracao(interacao);
+        publicarAlteracao(interacao.getDataAgendada() != null);
+    }
 
-        cliente.setDataUltimaInteracao(LocalDateTime.now());
-        clienteRepository.save(cliente);
+    private static LocalDate dataDe(InteracaoCliente interacao) {
+        return interacao.getCreatedAt() != null ? interacao.getCreatedAt().toLocalDate() : LocalDate.now();
+    }
+
+    /**
+     * Invalida as seções do dashboard afetadas por uma interação.
+     * Interações agendadas também alimentam as próximas interações.
+     */
+    private void publicarAlteracao(boolean agendamento) {
+        if (agendamento) {
+            eventPublisher.publishEvent(DashboardAlteradoEvent.of(
+                    DashboardSecao.ESTATISTICAS, DashboardSecao.PROXIMAS_INTERACOES));
+        } else {
+            eventPublisher.publishEvent(DashboardAlteradoEvent.of(DashboardSecao.ESTATISTICAS));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.dto.res.InteracaoStatsDto;
+import com.nakacorp.backend.model.enums.TipoInteracao;
+import com.nakacorp.backend.repository.InteracaoClienteRepository;
+import com.nakacorp.backend.repository.projection.TipoInteracaoCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores em memória de interações por {@link TipoInteracao}.
+ * <p>
+ * Os contadores são carregados do banco com uma única query agrupada,
+ * atualizados pelo {@link InteracaoClienteService} após o commit de cada
+ * escrita e reconciliados periodicamente para corrigir divergências
+ * (ex.: interações removidas em cascata junto com o cliente).
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class InteracaoStatsCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteracaoStatsCounter.class);
+
+    private final InteracaoClienteRepository interacaoRepository;
+
+    private final Map<TipoInteracao, AtomicLong> contadores = new EnumMap<>(TipoInteracao.class);
+
+    private volatile boolean carregado = false;
+
+    @Autowired
+    public InteracaoStatsCounter(InteracaoClienteRepository interacaoRepository) {
+        this.interacaoRepository = interacaoRepository;
+        for (TipoInteracao tipo : TipoInteracao.values()) {
+            contadores.put(tipo, new AtomicLong());
+        }
+    }
+
+    /**
+     * Retorna as estatísticas atuais, carregando do banco na primeira chamada.
+     *
+     * @return estatísticas de interações por tipo
+     */
+    public InteracaoStatsDto getStats() {
+        if (!carregado) {
+            reconciliar();
+        }
+
+        long emails = contadores.get(TipoInteracao.EMAIL).get();
+        long telefones = contadores.get(TipoInteracao.TELEFONE).get();
+        long whatsapp = contadores.get(TipoInteracao.WHATSAPP).get();
+        long forms = contadores.get(TipoInteracao.FORM_SUBMIT).get();
+        long visits = contadores.get(TipoInteracao.SITE_VISIT).get();
+        long notas = contadores.get(TipoInteracao.NOTA_INTERNA).get();
+        long total = emails + telefones + whatsapp + forms + visits + notas;
+
+        return new InteracaoStatsDto(total, emails, telefones, whatsapp, forms, visits, notas);
+    }
+
+    /**
+     * Incrementa o contador do tipo após o commit da transação corrente.
+     *
+     * @param tipo tipo da interação criada
+     */
+    public void incrementar(TipoInteracao tipo) {
+        aposCommit(tipo, 1);
+    }
+
+    /**
+     * Soma uma quantidade ao contador do tipo após o commit da transação corrente.
+     *
+     * @param tipo       tipo das interações criadas
+     * @param quantidade quantidade de interações criadas
+     */
+    public void adicionar(TipoInteracao tipo, long quantidade) {
+        aposCommit(tipo, quantidade);
+    }
+
+    /**
+     * Decrementa o contador do tipo após o commit da transação corrente.
+     *
+     * @param tipo tipo da interação removida
+     */
+    public void decrementar(TipoInteracao tipo) {
+        aposCommit(tipo, -1);
+    }
+
+    /**
+     * Recarrega os contadores a partir do banco de dados.
+     * <p>
+     * Os deltas confirmados enquanto a contagem roda não são sobrescritos: cada contador
+     * recebe a diferença entre a contagem do banco e o seu valor no início da consulta.
+     * Um delta cujo commit cai entre a leitura inicial e o snapshot da consulta é contado
+     * duas vezes até a reconciliação seguinte.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${app.interacoes.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.interacoes.stats.reconcile-interval-ms:300000}")
+    public synchronized void reconciliar() {
+        Map<TipoInteracao, Long> noInicio = new EnumMap<>(TipoInteracao.class);
+        contadores.forEach((tipo, contador) -> noInicio.put(tipo, contador.get()));
+
+        Map<TipoInteracao, Long> doBanco = new EnumMap<>(TipoInteracao.class);
+        for (TipoInteracaoCount contagem : interacaoRepository.countGroupByTipoInteracao()) {
+            doBanco.put(contagem.getTipo(), contagem.getTotal());
+        }
+
+        contadores.forEach((tipo, contador) -> {
+            long correcao = doBanco.getOrDefault(tipo, 0L) - noInicio.get(tipo);
+            long valor = contador.addAndGet(correcao);
+            if (carregado && correcao != 0) {
+                logger.debug("Contador de interações {} reconciliado: {} -> {}", tipo, valor - correcao, valor);
+            }
+        });
+        carregado = true;
+    }
+
+    private void aposCommit(TipoInteracao tipo, long delta) {
+        if (tipo == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contadores.get(tipo).addAndGet(delta);
+                }
+            });
+        } else {
+            contadores.get(tipo).addAndGet(delta);
+        }
+    }
+}
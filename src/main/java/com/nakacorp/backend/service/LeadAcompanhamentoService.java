@@ -0,0 +1,203 @@
+package com.nakacorp.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nakacorp.backend.dto.res.CursorPageDto;
+import com.nakacorp.backend.dto.res.LeadAcompanhamentoDto;
+import com.nakacorp.backend.exception.InvalidDataException;
+import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.repository.ProjecaoRepository;
+import com.nakacorp.backend.repository.projection.ProjecoesListagem;
+import com.nakacorp.backend.repository.specification.ClienteSpecifications;
+import com.nakacorp.backend.repository.specification.KeysetPagination;
+import com.nakacorp.backend.repository.specification.SegmentoCursor;
+import jakarta.persistence.Tuple;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static com.nakacorp.backend.repository.specification.ClienteSpecifications.*;
+
+/**
+ * Filas de acompanhamento de leads do dashboard: follow-up e leads quentes do dia.
+ * <p>
+ * Cada fila é dividida em segmentos, um por status (e, no follow-up, leads sem interação
+ * antes dos com interação antiga), lidos em sequência. Cada segmento é um range contínuo
+ * do índice {@code (status_lead, data_ultima_interacao, id_cliente)} e é paginado por
+ * cursor, sem OFFSET nem sort; o cursor guarda o segmento e a posição dentro dele.
+ * As linhas são lidas por {@link ProjecaoRepository}, sem carregar entidades.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@Transactional(readOnly = true)
+public class LeadAcompanhamentoService {
+
+    private static final int DIAS_SEM_INTERACAO = 7;
+    private static final int TAMANHO_LOTE_EXPORTACAO = 1000;
+
+    private static final List<StatusLead> STATUS_FOLLOW_UP = List.of(
+            StatusLead.NOVO, StatusLead.CONTATADO, StatusLead.QUALIFICADO);
+    private static final List<StatusLead> STATUS_QUENTES = List.of(
+            StatusLead.OPORTUNIDADE, StatusLead.QUALIFICADO);
+
+    private static final Sort ORDEM_ID = Sort.by(Sort.Direction.ASC, "id");
+    private static final Sort ORDEM_MAIS_ANTIGOS = Sort.by(Sort.Direction.ASC, "dataUltimaInteracao", "id");
+    private static final Sort ORDEM_MAIS_RECENTES = Sort.by(Sort.Direction.DESC, "dataUltimaInteracao", "id");
+
+    private final ProjecaoRepository projecaoRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public LeadAcompanhamentoService(ProjecaoRepository projecaoRepository,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager) {
+        this.projecaoRepository = projecaoRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Leads em aberto sem interação há {@value #DIAS_SEM_INTERACAO} dias ou mais, por status;
+     * dentro de cada status, os sem interação primeiro e depois os mais antigos.
+     */
+    public CursorPageDto<LeadAcompanhamentoDto> getLeadsToFollow(String cursor, int size) {
+        return buscar(segmentosFollowUp(), SegmentoCursor.decodificar(cursor), limitar(size));
+    }
+
+    /**
+     * Leads qualificados ou em oportunidade com interação hoje, por status e mais recentes primeiro.
+     */
+    public CursorPageDto<LeadAcompanhamentoDto> getLeadsHotToday(String cursor, int size) {
+        return buscar(segmentosQuentes(), SegmentoCursor.decodificar(cursor), limitar(size));
+    }
+
+    /**
+     * Escreve a fila de follow-up completa em NDJSON (um lead por linha).
+     * Cada lote é lido em uma transação própria, sem manter conexão durante a escrita.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportarLeadsToFollow(OutputStream saida) throws IOException {
+        exportar(segmentosFollowUp(), saida);
+    }
+
+    /**
+     * Escreve a fila de leads quentes do dia completa em NDJSON (um lead por linha).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportarLeadsHotToday(OutputStream saida) throws IOException {
+        exportar(segmentosQuentes(), saida);
+    }
+
+    private List<Segmento> segmentosFollowUp() {
+        LocalDateTime corte = LocalDateTime.now().minusDays(DIAS_SEM_INTERACAO);
+        List<Segmento> segmentos = new ArrayList<>();
+        for (StatusLead status : STATUS_FOLLOW_UP) {
+            segmentos.add(new Segmento(
+                    Specification.allOf(statusEm(List.of(status)), semInteracao()),
+                    ORDEM_ID,
+                    (data, id) -> idMaiorQue(id)));
+            segmentos.add(new Segmento(
+                    Specification.allOf(statusEm(List.of(status)), ultimaInteracaoAntesDe(corte)),
+                    ORDEM_MAIS_ANTIGOS,
+                    ClienteSpecifications::aposUltimaInteracaoCrescente));
+        }
+        return segmentos;
+    }
+
+    private List<Segmento> segmentosQuentes() {
+        LocalDateTime inicioHoje = LocalDate.now().atStartOfDay();
+        return STATUS_QUENTES.stream()
+                .map(status -> new Segmento(
+                        Specification.allOf(statusEm(List.of(status)), ultimaInteracaoAPartirDe(inicioHoje)),
+                        ORDEM_MAIS_RECENTES,
+                        ClienteSpecifications::aposUltimaInteracaoDecrescente))
+                .toList();
+    }
+
+    private CursorPageDto<LeadAcompanhamentoDto> buscar(List<Segmento> segmentos, SegmentoCursor cursor, int limite) {
+        int inicio = cursor != null ? cursor.segmento() : 0;
+        if (inicio < 0 || inicio >= segmentos.size()) {
+            throw new InvalidDataException("cursor", "cursor inválido");
+        }
+
+        // Um registro a mais indica se existe próxima página
+        List<Tuple> linhas = new ArrayList<>();
+        List<Integer> origens = new ArrayList<>();
+        for (int i = inicio; i < segmentos.size() && linhas.size() <= limite; i++) {
+            Segmento segmento = segmentos.get(i);
+            Specification<Cliente> filtro = i == inicio && cursor != null
+                    ? Specification.allOf(segmento.filtro(), segmento.apos().apply(cursor.dataUltimaInteracao(), cursor.id()))
+                    : segmento.filtro();
+            List<Tuple> lidas = projecaoRepository.listarLinhas(ProjecoesListagem.LEAD_ACOMPANHAMENTO, filtro,
+                    segmento.ordem(), 0L, limite + 1 - linhas.size());
+            linhas.addAll(lidas);
+            origens.addAll(Collections.nCopies(lidas.size(), i));
+        }
+
+        boolean hasNext = linhas.size() > limite;
+        if (hasNext) {
+            linhas = linhas.subList(0, limite);
+        }
+
+        String proximoCursor = null;
+        if (hasNext) {
+            Tuple ultima = linhas.get(limite - 1);
+            proximoCursor = new SegmentoCursor(origens.get(limite - 1),
+                    ultima.get("dataUltimaInteracao", LocalDateTime.class), ultima.get("id", Long.class))
+                    .codificar();
+        }
+
+        return new CursorPageDto<>(linhas.stream().map(ProjecoesListagem.LEAD_ACOMPANHAMENTO.conversor()).toList(),
+                limite, hasNext, proximoCursor, null);
+    }
+
+    private void exportar(List<Segmento> segmentos, OutputStream saida) throws IOException {
+        SegmentoCursor cursor = null;
+        CursorPageDto<LeadAcompanhamentoDto> pagina;
+        do {
+            SegmentoCursor posicao = cursor;
+            pagina = readOnlyTransaction.execute(status -> buscar(segmentos, posicao, TAMANHO_LOTE_EXPORTACAO));
+            for (LeadAcompanhamentoDto lead : pagina.content()) {
+                saida.write(objectMapper.writeValueAsBytes(lead));
+                saida.write('\n');
+            }
+            saida.flush();
+            cursor = SegmentoCursor.decodificar(pagina.nextCursor());
+        } while (pagina.hasNext());
+    }
+
+    private static int limitar(int size) {
+        return Math.max(1, Math.min(size, KeysetPagination.TAMANHO_MAXIMO));
+    }
+
+    /**
+     * Trecho da fila lido em uma única ordem do índice.
+     *
+     * @param filtro filtro do segmento
+     * @param ordem  ordem de leitura
+     * @param apos   registros posteriores a uma posição {@code (dataUltimaInteracao, id)} na ordem
+     */
+    private record Segmento(Specification<Cliente> filtro,
+                            Sort ordem,
+                            BiFunction<LocalDateTime, Long, Specification<Cliente>> apos) {}
+}
@@ -2,6 +2,8 @@ package com.nakacorp.backend.service;
 
 import com.nakacorp.backend.dto.req.LeadCaptureRequestDto;
 import com.nakacorp.backend.dto.res.LeadCaptureResponseDto;
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.event.DashboardSecao;
 import com.nakacorp.backend.model.Cliente;
 import com.nakacorp.backend.model.enums.OrigemLead;
 import com.nakacorp.backend.model.enums.StatusLead;
@@ -10,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,7 @@ import java.time.LocalDateTime;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -45,6 +49,11 @@ public class LeadCaptureService {
 
     private final ClienteRepository clienteRepository;
     private final EmailService emailService;
+    private final RollupDiarioService rollupService;
+    private final ClienteAutocompleteIndex autocompleteIndex;
+    private final DeduplicacaoService deduplicacaoService;
+    private final LeadScoreService leadScoreService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.company.name:NakaCorp}")
     private String companyName;
@@ -61,10 +70,20 @@ public class LeadCaptureService {
     @Autowired
     public LeadCaptureService(
             ClienteRepository clienteRepository,
-            EmailService emailService
+            EmailService emailService,
+            RollupDiarioService rollupService,
+            ClienteAutocompleteIndex autocompleteIndex,
+            DeduplicacaoService deduplicacaoService,
+            LeadScoreService leadScoreService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.clienteRepository = clienteRepository;
         this.emailService = emailService;
+        this.rollupService = rollupService;
+        this.autocompleteIndex = autocompleteIndex;
+        this.deduplicacaoService = deduplicacaoService;
+        this.leadScoreService = leadScoreService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -131,6 +150,16 @@ public class LeadCaptureService {
         }
 
         clienteRepository.save(cliente);
+        autocompleteIndex.registrar(cliente);
+        deduplicacaoService.avaliar(cliente);
+        leadScoreService.recalcular(List.of(cliente.getId()));
+
+        if (isNovoCliente) {
+            rollupService.registrarLeadCriado(cliente);
+            eventPublisher.publishEvent(DashboardAlteradoEvent.of(
+                    DashboardSecao.ESTATISTICAS, DashboardSecao.TAXA_CONVERSAO, DashboardSecao.CONVERSAO_POR_ORIGEM,
+                    DashboardSecao.LEADS_ATIVOS, DashboardSecao.PIPELINE));
+        }
 
         enviarEmailConfirmacao(cliente, request.formaContatoPreferida());
 
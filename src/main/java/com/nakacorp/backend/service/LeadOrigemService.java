@@ -2,6 +2,7 @@ package com.nakacorp.backend.service;
 
 import com.nakacorp.backend.dto.req.LeadOrigemRequestDto;
 import com.nakacorp.backend.dto.req.LeadOrigemUpdateDto;
+import com.nakacorp.backend.dto.res.CursorPageDto;
 import com.nakacorp.backend.dto.res.LeadOrigemResponseDto;
 import com.nakacorp.backend.dto.res.UtmAnalyticsDto;
 import com.nakacorp.backend.model.Cliente;
@@ -9,9 +10,14 @@ import com.nakacorp.backend.model.LeadOrigem;
 import com.nakacorp.backend.model.enums.StatusLead;
 import com.nakacorp.backend.repository.ClienteRepository;
 import com.nakacorp.backend.repository.LeadOrigemRepository;
+import com.nakacorp.backend.repository.ProjecaoRepository;
+import com.nakacorp.backend.repository.projection.ProjecoesListagem;
+import com.nakacorp.backend.repository.specification.KeysetPagination;
+import com.nakacorp.backend.repository.specification.LeadOrigemSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,18 +29,29 @@ import java.util.Optional;
 public class LeadOrigemService {
 
     private final LeadOrigemRepository leadOrigemRepository;
+    private final ProjecaoRepository projecaoRepository;
     private final ClienteRepository clienteRepository;
 
     @Autowired
-    public LeadOrigemService(LeadOrigemRepository leadOrigemRepository, ClienteRepository clienteRepository) {
+    public LeadOrigemService(LeadOrigemRepository leadOrigemRepository,
+                             ProjecaoRepository projecaoRepository,
+                             ClienteRepository clienteRepository) {
         this.leadOrigemRepository = leadOrigemRepository;
+        this.projecaoRepository = projecaoRepository;
         this.clienteRepository = clienteRepository;
     }
 
+    /**
+     * Lista por cursor, dos registros mais recentes para os mais antigos.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<LeadOrigemResponseDto> scroll(String cursor, int size, boolean incluirTotal) {
+        return KeysetPagination.buscar(projecaoRepository, ProjecoesListagem.LEAD_ORIGEM, null, cursor, size, incluirTotal);
+    }
+
     @Transactional(readOnly = true)
     public Page<LeadOrigemResponseDto> findAll(Pageable pageable) {
-        return leadOrigemRepository.findAll(pageable)
-                .map(LeadOrigemResponseDto::fromEntity);
+        return projecaoRepository.paginar(ProjecoesListagem.LEAD_ORIGEM, null, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -51,10 +68,8 @@ public class LeadOrigemService {
 
     @Transactional(readOnly = true)
     public List<LeadOrigemResponseDto> findByUtmSource(String utmSource) {
-        return leadOrigemRepository.findByUtmSource(utmSource)
-                .stream()
-                .map(LeadOrigemResponseDto::fromEntity)
-                .toList();
+        return projecaoRepository.listar(ProjecoesListagem.LEAD_ORIGEM, LeadOrigemSpecifications.comUtmSource(utmSource),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"), 0);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,349 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.repository.ClienteRepository;
+import com.nakacorp.backend.repository.projection.LeadRankingEntrada;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Ranking em memória dos leads em aberto de maior pontuação, geral e por responsável.
+ * <p>
+ * Cada ranking guarda os {@code 2 * app.lead-score.ranking-tamanho} melhores leads do grupo
+ * em um conjunto ordenado (pontuação decrescente, ID decrescente), de onde as consultas
+ * leem os primeiros N sem acessar o banco. A folga acima de N absorve leads que saem do
+ * ranking (mudança de status, queda de pontuação, troca de responsável); quando um ranking
+ * incompleto cai abaixo de N ele é recarregado do banco em segundo plano.
+ * </p>
+ * <p>
+ * As alterações são aplicadas após o commit da transação que as gravou. O índice é
+ * carregado com uma única consulta por janela ({@code row_number() OVER (PARTITION BY
+ * responsável)}) e recarregado após cada recálculo completo das pontuações.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class LeadRankingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadRankingIndex.class);
+
+    private static final long GERAL = -1L;
+    private static final long SEM_RESPONSAVEL = 0L;
+    private static final Comparator<Entrada> ORDEM = Comparator.comparingDouble(Entrada::score).reversed()
+            .thenComparing(Comparator.comparingLong(Entrada::id).reversed());
+
+    private final ClienteRepository clienteRepository;
+    private final ExecutorService executor;
+    private final int tamanho;
+    private final int capacidade;
+
+    private final Map<Long, Entrada> porLead = new HashMap<>();
+    private final Map<Long, Ranking> porResponsavel = new HashMap<>();
+    private final Map<Long, Optional<Entrada>> alteracoesDuranteCarga = new LinkedHashMap<>();
+    private final Set<Long> recargasAgendadas = ConcurrentHashMap.newKeySet();
+    private Ranking geral;
+    private int cargasEmAndamento = 0;
+
+    @Autowired
+    public LeadRankingIndex(ClienteRepository clienteRepository,
+                            @Qualifier("backgroundExecutor") ExecutorService executor,
+                            @Value("${app.lead-score.ranking-tamanho:50}") int tamanho) {
+        this.clienteRepository = clienteRepository;
+        this.executor = executor;
+        this.tamanho = Math.max(1, tamanho);
+        this.capacidade = this.tamanho * 2;
+    }
+
+    /**
+     * Tamanho máximo de uma consulta ao ranking.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Leads de maior pontuação do responsável, ou de todos os responsáveis.
+     * Antes da primeira carga do índice a consulta é feita no banco.
+     *
+     * @param usuarioId ID do responsável; {@code null} para o ranking geral
+     * @param limite    quantidade de leads (até {@link #tamanho()})
+     * @return leads em ordem de pontuação decrescente
+     */
+    public List<Entrada> consultar(Long usuarioId, int limite) {
+        int limiteAjustado = Math.max(1, Math.min(limite, tamanho));
+        synchronized (this) {
+            if (geral != null) {
+                Ranking ranking = usuarioId == null ? geral : porResponsavel.get(usuarioId);
+                if (ranking == null) {
+                    return List.of();
+                }
+                return ranking.entradas.stream().limit(limiteAjustado).toList();
+            }
+        }
+        List<LeadRankingEntrada> linhas = usuarioId == null
+                ? clienteRepository.findTopScore(limiteAjustado)
+                : clienteRepository.findTopScoreDoResponsavel(usuarioId, limiteAjustado);
+        return linhas.stream().map(Entrada::de).toList();
+    }
+
+    /**
+     * Registra a nova pontuação de um lead após o commit da transação corrente.
+     *
+     * @param id          ID do lead
+     * @param score       pontuação
+     * @param responsavel ID do responsável, ou {@code null}
+     * @param ativo       se o lead está em aberto (leads fechados saem do ranking)
+     */
+    public void atualizar(Long id, double score, Long responsavel, boolean ativo) {
+        Entrada entrada = ativo ? new Entrada(id, score, responsavel != null ? responsavel : SEM_RESPONSAVEL) : null;
+        aposCommit(() -> aplicar(id, entrada));
+    }
+
+    /**
+     * Retira um lead removido do ranking após o commit da transação corrente.
+     *
+     * @param id ID do lead
+     */
+    public void remover(Long id) {
+        aposCommit(() -> aplicar(id, null));
+    }
+
+    /**
+     * Recarrega todos os rankings a partir do banco de dados.
+     */
+    public void recarregar() {
+        iniciarCarga();
+        try {
+            long inicio = System.nanoTime();
+            List<LeadRankingEntrada> topGeral = clienteRepository.findTopScore(capacidade);
+            List<LeadRankingEntrada> topPorResponsavel = clienteRepository.findTopScorePorResponsavel(capacidade);
+
+            Map<Long, List<Entrada>> grupos = new HashMap<>();
+            for (LeadRankingEntrada linha : topPorResponsavel) {
+                Entrada entrada = Entrada.de(linha);
+                grupos.computeIfAbsent(entrada.responsavel(), chave -> new ArrayList<>()).add(entrada);
+            }
+
+            synchronized (this) {
+                geral = Ranking.de(topGeral.stream().map(Entrada::de).toList(), capacidade);
+                porResponsavel.clear();
+                grupos.forEach((chave, entradas) -> porResponsavel.put(chave, Ranking.de(entradas, capacidade)));
+                porLead.clear();
+                geral.entradas.forEach(entrada -> porLead.put(entrada.id(), entrada));
+                porResponsavel.values().forEach(ranking ->
+                        ranking.entradas.forEach(entrada -> porLead.put(entrada.id(), entrada)));
+                reaplicarAlteracoes();
+            }
+            logger.info("Ranking de leads carregado: {} responsáveis, {} leads em {} ms",
+                    grupos.size(), porLead.size(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Falha ao carregar o ranking de leads", e);
+        } finally {
+            finalizarCarga();
+        }
+    }
+
+    /**
+     * Recarrega do banco um único ranking que ficou abaixo do tamanho de consulta.
+     */
+    private void recarregarGrupo(long chave) {
+        iniciarCarga();
+        try {
+            List<LeadRankingEntrada> linhas;
+            if (chave == GERAL) {
+                linhas = clienteRepository.findTopScore(capacidade);
+            } else if (chave == SEM_RESPONSAVEL) {
+                linhas = clienteRepository.findTopScoreSemResponsavel(capacidade);
+            } else {
+                linhas = clienteRepository.findTopScoreDoResponsavel(chave, capacidade);
+            }
+            Ranking novo = Ranking.de(linhas.stream().map(Entrada::de).toList(), capacidade);
+
+            synchronized (this) {
+                if (geral == null) {
+                    return;
+                }
+                Ranking anterior = chave == GERAL ? geral : porResponsavel.get(chave);
+                if (chave == GERAL) {
+                    geral = novo;
+                } else {
+                    porResponsavel.put(chave, novo);
+                }
+                if (anterior != null) {
+                    anterior.entradas.forEach(this::esquecerSeAusente);
+                }
+                novo.entradas.forEach(entrada -> porLead.put(entrada.id(), entrada));
+                reaplicarAlteracoes();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao recarregar o ranking de leads {}", chave, e);
+        } finally {
+            finalizarCarga();
+        }
+    }
+
+    private synchronized void iniciarCarga() {
+        cargasEmAndamento++;
+    }
+
+    private synchronized void finalizarCarga() {
+        if (--cargasEmAndamento == 0) {
+            alteracoesDuranteCarga.clear();
+        }
+    }
+
+    /**
+     * Reaplica as alterações confirmadas enquanto uma carga lia o banco, que podem não
+     * estar na leitura. Aplicar de novo uma alteração já refletida não muda o ranking.
+     */
+    private void reaplicarAlteracoes() {
+        new ArrayList<>(alteracoesDuranteCarga.entrySet())
+                .forEach(alteracao -> aplicar(alteracao.getKey(), alteracao.getValue().orElse(null)));
+    }
+
+    private synchronized void aplicar(Long id, Entrada nova) {
+        if (cargasEmAndamento > 0) {
+            alteracoesDuranteCarga.put(id, Optional.ofNullable(nova));
+        }
+        if (geral == null) {
+            return;
+        }
+
+        Entrada anterior = porLead.remove(id);
+        if (anterior != null) {
+            retirar(geral, GERAL, anterior);
+            retirar(porResponsavel.get(anterior.responsavel()), anterior.responsavel(), anterior);
+        }
+        if (nova == null) {
+            return;
+        }
+
+        Ranking grupo = porResponsavel.computeIfAbsent(nova.responsavel(), chave -> new Ranking(true));
+        boolean noGeral = inserir(geral, nova);
+        boolean noGrupo = inserir(grupo, nova);
+        if (noGeral || noGrupo) {
+            porLead.put(id, nova);
+        }
+    }
+
+    /**
+     * Insere a entrada se ela está comprovadamente entre as melhores do ranking.
+     * Em um ranking incompleto, uma entrada pior que a última pode estar atrás de
+     * leads que não estão em memória e não é inserida.
+     *
+     * @return true se a entrada foi inserida
+     */
+    private boolean inserir(Ranking ranking, Entrada entrada) {
+        TreeSet<Entrada> entradas = ranking.entradas;
+        boolean melhorQueUltima = !entradas.isEmpty() && ORDEM.compare(entrada, entradas.last()) < 0;
+
+        if (entradas.size() < capacidade && (ranking.completo || melhorQueUltima)) {
+            entradas.add(entrada);
+            return true;
+        }
+        if (entradas.size() >= capacidade && melhorQueUltima) {
+            entradas.add(entrada);
+            esquecerSeAusente(entradas.pollLast());
+            ranking.completo = false;
+            return true;
+        }
+        if (entradas.size() >= capacidade) {
+            ranking.completo = false;
+        }
+        return false;
+    }
+
+    private void retirar(Ranking ranking, long chave, Entrada entrada) {
+        if (ranking != null && ranking.entradas.remove(entrada)
+                && !ranking.completo && ranking.entradas.size() < tamanho) {
+            agendarRecarga(chave);
+        }
+    }
+
+    private void esquecerSeAusente(Entrada entrada) {
+        Ranking grupo = porResponsavel.get(entrada.responsavel());
+        if (!geral.entradas.contains(entrada) && (grupo == null || !grupo.entradas.contains(entrada))) {
+            porLead.remove(entrada.id(), entrada);
+        }
+    }
+
+    private void agendarRecarga(long chave) {
+        if (recargasAgendadas.add(chave)) {
+            executor.execute(() -> {
+                try {
+                    recarregarGrupo(chave);
+                } finally {
+                    recargasAgendadas.remove(chave);
+                }
+            });
+        }
+    }
+
+    private void aposCommit(Runnable alteracao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alteracao.run();
+                }
+            });
+        } else {
+            alteracao.run();
+        }
+    }
+
+    /**
+     * Lead no ranking; {@code responsavel} é 0 para leads sem responsável.
+     */
+    public record Entrada(long id, double score, long responsavel) {
+
+        static Entrada de(LeadRankingEntrada linha) {
+            Long responsavel = linha.getUsuarioResponsavelId();
+            return new Entrada(linha.getId(), linha.getScore(), responsavel != null ? responsavel : SEM_RESPONSAVEL);
+        }
+
+        public Long usuarioResponsavelId() {
+            return responsavel != SEM_RESPONSAVEL ? responsavel : null;
+        }
+    }
+
+    /**
+     * Melhores entradas de um grupo. {@code completo} indica que o grupo inteiro está em
+     * memória (o banco tinha menos leads que a capacidade).
+     */
+    private static final class Ranking {
+
+        final TreeSet<Entrada> entradas = new TreeSet<>(ORDEM);
+        boolean completo;
+
+        Ranking(boolean completo) {
+            this.completo = completo;
+        }
+
+        static Ranking de(List<Entrada> entradas, int capacidade) {
+            Ranking ranking = new Ranking(entradas.size() < capacidade);
+            ranking.entradas.addAll(entradas);
+            return ranking;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.model.enums.NivelInteresse;
+import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.model.enums.TipoInteracao;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Regras da pontuação de leads (0 a 100).
+ * <ul>
+ *   <li>Engajamento (até 40): interações ponderadas por tipo, com meia-vida de
+ *       {@value #MEIA_VIDA_DIAS} dias. A soma decaída é acumulativa: uma nova interação
+ *       decai o valor anterior até o instante atual e soma o seu peso.</li>
+ *   <li>Interesse (até 30): interesses ponderados pelo nível e pela ordem de grandeza
+ *       do preço do produto.</li>
+ *   <li>Status (até 30): estágio do lead no funil; CLIENTE e PERDIDO não pontuam.</li>
+ * </ul>
+ * As somas brutas saturam exponencialmente, então poucos sinais fortes já
+ * aproximam o lead do máximo de cada componente.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LeadScoreCalculadora {
+
+    public static final int MEIA_VIDA_DIAS = 14;
+
+    /**
+     * Interações mais antigas que isto contribuem menos de 0,1% do peso e são ignoradas no recálculo.
+     */
+    public static final int JANELA_DIAS = MEIA_VIDA_DIAS * 10;
+
+    public static final double MEIA_VIDA_SEGUNDOS = Duration.ofDays(MEIA_VIDA_DIAS).toSeconds();
+
+    /**
+     * Status em aberto, que participam do ranking de leads.
+     */
+    public static final Set<StatusLead> STATUS_ATIVOS = EnumSet.of(
+            StatusLead.NOVO, StatusLead.CONTATADO, StatusLead.QUALIFICADO, StatusLead.OPORTUNIDADE);
+
+    private static final double MAXIMO_ENGAJAMENTO = 40.0;
+    private static final double ESCALA_ENGAJAMENTO = 20.0;
+    private static final double MAXIMO_INTERESSE = 30.0;
+    private static final double ESCALA_INTERESSE = 15.0;
+
+    private static final Map<TipoInteracao, Double> PESOS_INTERACAO = new EnumMap<>(Map.of(
+            TipoInteracao.FORM_SUBMIT, 10.0,
+            TipoInteracao.TELEFONE, 8.0,
+            TipoInteracao.WHATSAPP, 6.0,
+            TipoInteracao.EMAIL, 5.0,
+            TipoInteracao.SITE_VISIT, 3.0,
+            TipoInteracao.NOTA_INTERNA, 0.0));
+
+    private static final Map<NivelInteresse, Double> PESOS_INTERESSE = new EnumMap<>(Map.of(
+            NivelInteresse.BAIXO, 1.0,
+            NivelInteresse.MEDIO, 2.0,
+            NivelInteresse.ALTO, 3.0));
+
+    private static final Map<StatusLead, Double> PONTOS_STATUS = new EnumMap<>(Map.of(
+            StatusLead.NOVO, 5.0,
+            StatusLead.CONTATADO, 10.0,
+            StatusLead.QUALIFICADO, 20.0,
+            StatusLead.OPORTUNIDADE, 30.0,
+            StatusLead.CLIENTE, 0.0,
+            StatusLead.PERDIDO, 0.0));
+
+    private LeadScoreCalculadora() {}
+
+    public static double pesoInteracao(TipoInteracao tipo) {
+        return tipo != null ? PESOS_INTERACAO.getOrDefault(tipo, 0.0) : 0.0;
+    }
+
+    /**
+     * Peso de um interesse: nível (1 a 3) multiplicado por 1 + log10(1 + preço).
+     */
+    public static double pesoInteresse(NivelInteresse nivel, BigDecimal preco) {
+        double pesoNivel = PESOS_INTERESSE.getOrDefault(nivel != null ? nivel : NivelInteresse.MEDIO, 2.0);
+        double valor = preco != null ? Math.max(0.0, preco.doubleValue()) : 0.0;
+        return pesoNivel * (1.0 + Math.log10(1.0 + valor));
+    }
+
+    /**
+     * Decai um valor de engajamento pelo tempo decorrido.
+     *
+     * @param valor    valor no início do intervalo
+     * @param segundos duração do intervalo ({@code null} ou negativo não decai)
+     * @return valor no fim do intervalo
+     */
+    public static double decair(double valor, Double segundos) {
+        if (valor == 0.0 || segundos == null || segundos <= 0.0) {
+            return valor;
+        }
+        return valor * Math.pow(0.5, segundos / MEIA_VIDA_SEGUNDOS);
+    }
+
+    /**
+     * Decai um valor de engajamento do instante {@code de} até {@code ate}.
+     */
+    public static double decair(double valor, LocalDateTime de, LocalDateTime ate) {
+        if (de == null || ate == null) {
+            return valor;
+        }
+        return decair(valor, (double) Duration.between(de, ate).toSeconds());
+    }
+
+    public static boolean ativo(StatusLead status) {
+        return status != null && STATUS_ATIVOS.contains(status);
+    }
+
+    /**
+     * Pontuação final a partir das somas brutas, arredondada em duas casas.
+     *
+     * @param status      status do lead ({@code null} é tratado como NOVO)
+     * @param engajamento soma de interações já decaída até o instante do cálculo
+     * @param interesse   soma dos pesos dos interesses
+     * @return pontuação de 0 a 100
+     */
+    public static double score(StatusLead status, double engajamento, double interesse) {
+        double pontos = saturar(engajamento, MAXIMO_ENGAJAMENTO, ESCALA_ENGAJAMENTO)
+                + saturar(interesse, MAXIMO_INTERESSE, ESCALA_INTERESSE)
+                + PONTOS_STATUS.getOrDefault(status != null ? status : StatusLead.NOVO, 0.0);
+        return Math.round(pontos * 100.0) / 100.0;
+    }
+
+    private static double saturar(double valor, double maximo, double escala) {
+        return valor <= 0.0 ? 0.0 : maximo * (1.0 - Math.exp(-valor / escala));
+    }
+}
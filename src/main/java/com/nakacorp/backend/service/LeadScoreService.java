@@ -0,0 +1,402 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.dto.res.LeadScoreDto;
+import com.nakacorp.backend.model.InteracaoCliente;
+import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.model.enums.TipoInteracao;
+import com.nakacorp.backend.repository.ClienteInteresseRepository;
+import com.nakacorp.backend.repository.ClienteRepository;
+import com.nakacorp.backend.repository.InteracaoClienteRepository;
+import com.nakacorp.backend.repository.projection.ClienteContato;
+import com.nakacorp.backend.repository.projection.EngajamentoPorTipo;
+import com.nakacorp.backend.repository.projection.InteressePreco;
+import com.nakacorp.backend.repository.projection.LeadScoreEstado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Manutenção da pontuação de leads ({@link LeadScoreCalculadora}) e do ranking em memória.
+ * <p>
+ * A pontuação é atualizada de forma incremental: cada interação bloqueia a linha do lead,
+ * decai o engajamento gravado até o instante atual e soma o peso da interação; interesses
+ * e status recalculam apenas o próprio componente. O último usuário que interagiu com o
+ * lead passa a ser o seu responsável.
+ * </p>
+ * <p>
+ * O recálculo completo refaz todas as pontuações a partir das interações, interesses e
+ * status. Os IDs são divididos em lotes processados em paralelo por um {@link ForkJoinPool}
+ * de {@code app.lead-score.parallelism} threads, cada lote em sua transação; o paralelismo
+ * deve ficar abaixo do pool de conexões. Leads atualizados de forma incremental durante o
+ * recálculo mantêm a pontuação mais recente.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@Transactional
+public class LeadScoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadScoreService.class);
+
+    private static final int TAMANHO_LOTE = 1000;
+    private static final int TAMANHO_LOTE_IDS = 10_000;
+
+    private final ClienteRepository clienteRepository;
+    private final InteracaoClienteRepository interacaoRepository;
+    private final ClienteInteresseRepository interesseRepository;
+    private final LeadRankingIndex rankingIndex;
+    private final ExecutorService executor;
+    private final TransactionTemplate transaction;
+    private final int paralelismo;
+
+    private final ReentrantLock recalculo = new ReentrantLock();
+
+    @Autowired
+    public LeadScoreService(ClienteRepository clienteRepository,
+                            InteracaoClienteRepository interacaoRepository,
+                            ClienteInteresseRepository interesseRepository,
+                            LeadRankingIndex rankingIndex,
+                            @Qualifier("backgroundExecutor") ExecutorService executor,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.lead-score.parallelism:4}") int paralelismo) {
+        this.clienteRepository = clienteRepository;
+        this.interacaoRepository = interacaoRepository;
+        this.interesseRepository = interesseRepository;
+        this.rankingIndex = rankingIndex;
+        this.executor = executor;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+
+    /**
+     * Carrega o ranking após a inicialização, sem bloquear o startup. Se houver leads
+     * nunca pontuados (base migrada ou importada), executa antes o recálculo completo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void carregarNaInicializacao() {
+        executor.execute(() -> {
+            try {
+                if (clienteRepository.existsScorePendente()) {
+                    recalcularTodos();
+                } else {
+                    rankingIndex.recarregar();
+                }
+            } catch (RuntimeException e) {
+                logger.error("Falha ao inicializar a pontuação de leads", e);
+            }
+        });
+    }
+
+    /**
+     * Leads em aberto de maior pontuação, servidos pelo ranking em memória.
+     *
+     * @param usuarioId ID do responsável; {@code null} para todos os leads
+     * @param limite    quantidade de leads
+     * @return leads em ordem de pontuação decrescente
+     */
+    @Transactional(readOnly = true)
+    public List<LeadScoreDto> ranking(Long usuarioId, int limite) {
+        List<LeadRankingIndex.Entrada> entradas = rankingIndex.consultar(usuarioId, limite);
+        if (entradas.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = entradas.stream().map(LeadRankingIndex.Entrada::id).toList();
+        Map<Long, ClienteContato> contatos = clienteRepository.findContatosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ClienteContato::getId, Function.identity()));
+        return entradas.stream()
+                .filter(entrada -> contatos.containsKey(entrada.id()))
+                .map(entrada -> LeadScoreDto.fromProjection(contatos.get(entrada.id()), entrada.score(),
+                        entrada.usuarioResponsavelId()))
+                .toList();
+    }
+
+    /**
+     * Soma uma nova interação ao engajamento do lead.
+     */
+    public void registrarInteracao(InteracaoCliente interacao) {
+        ajustarEngajamento(interacao, LeadScoreCalculadora.pesoInteracao(interacao.getTipoInteracao()),
+                interacao.getUsuario() != null ? interacao.getUsuario().getId() : null);
+    }
+
+    /**
+     * Retira do engajamento do lead a contribuição de uma interação removida.
+     */
+    public void registrarRemocaoInteracao(InteracaoCliente interacao) {
+        ajustarEngajamento(interacao, -LeadScoreCalculadora.pesoInteracao(interacao.getTipoInteracao()), null);
+    }
+
+    /**
+     * Troca no engajamento do lead o peso do tipo anterior de uma interação pelo atual.
+     */
+    public void registrarAlteracaoTipo(InteracaoCliente interacao, TipoInteracao tipoAnterior) {
+        double diferenca = LeadScoreCalculadora.pesoInteracao(interacao.getTipoInteracao())
+                - LeadScoreCalculadora.pesoInteracao(tipoAnterior);
+        ajustarEngajamento(interacao, diferenca, null);
+    }
+
+    /**
+     * Recalcula o componente de interesse do lead após uma alteração em seus interesses.
+     */
+    public void recalcularInteresse(Long clienteId) {
+        LocalDateTime agora = LocalDateTime.now();
+        clienteRepository.findScoreEstadoParaAtualizar(clienteId, agora).ifPresent(estado -> {
+            double interesse = somarInteresses(interesseRepository.findNiveisComPreco(List.of(clienteId)))
+                    .getOrDefault(clienteId, 0.0);
+            gravar(estado, estado.getStatus(), engajamentoAtual(estado), interesse,
+                    estado.getUsuarioResponsavelId(), agora);
+        });
+    }
+
+    /**
+     * Atualiza a pontuação do lead para o novo status.
+     */
+    public void atualizarStatus(Long clienteId, StatusLead status) {
+        LocalDateTime agora = LocalDateTime.now();
+        clienteRepository.findScoreEstadoParaAtualizar(clienteId, agora).ifPresent(estado ->
+                gravar(estado, status, engajamentoAtual(estado), valor(estado.getInteresse()),
+                        estado.getUsuarioResponsavelId(), agora));
+    }
+
+    /**
+     * Recalcula por completo a pontuação dos leads, na transação corrente.
+     *
+     * @param ids IDs dos leads
+     */
+    public void recalcular(List<Long> ids) {
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+            recalcularLote(ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ids.size())));
+        }
+    }
+
+    /**
+     * Recalcula por completo a pontuação dos leads, em uma transação por lote.
+     *
+     * @param ids IDs dos leads
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recalcularEmLotes(List<Long> ids) {
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ids.size()));
+            transaction.executeWithoutResult(status -> recalcularLote(lote));
+        }
+    }
+
+    /**
+     * Retira um lead removido do ranking.
+     */
+    public void remover(Long clienteId) {
+        rankingIndex.remover(clienteId);
+    }
+
+    /**
+     * Recalcula a pontuação de todos os leads em paralelo e recarrega o ranking.
+     */
+    @Scheduled(cron = "${app.lead-score.rebuild-cron:0 0 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recalcularTodos() {
+        if (!recalculo.tryLock()) {
+            logger.info("Recálculo de pontuação de leads já em andamento");
+            return;
+        }
+        try {
+            long inicio = System.nanoTime();
+            long[] ids = carregarIds();
+            LongAdder atualizados = new LongAdder();
+            try (ForkJoinPool pool = new ForkJoinPool(paralelismo)) {
+                pool.invoke(new RecalculoLotes(ids, 0, ids.length, atualizados));
+            }
+            rankingIndex.recarregar();
+            logger.info("Pontuação de leads recalculada: {} de {} leads em {} ms ({} threads)",
+                    atualizados.sum(), ids.length, (System.nanoTime() - inicio) / 1_000_000, paralelismo);
+        } catch (RuntimeException e) {
+            logger.error("Falha no recálculo da pontuação de leads", e);
+        } finally {
+            recalculo.unlock();
+        }
+    }
+
+    private void ajustarEngajamento(InteracaoCliente interacao, double peso, Long usuarioId) {
+        if (peso == 0.0 && usuarioId == null) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime criadaEm = interacao.getCreatedAt() != null ? interacao.getCreatedAt() : agora;
+        clienteRepository.findScoreEstadoParaAtualizar(interacao.getCliente().getId(), agora).ifPresent(estado -> {
+            double engajamento = Math.max(0.0,
+                    engajamentoAtual(estado) + LeadScoreCalculadora.decair(peso, criadaEm, agora));
+            Long responsavel = usuarioId != null ? usuarioId : estado.getUsuarioResponsavelId();
+            gravar(estado, estado.getStatus(), engajamento, valor(estado.getInteresse()), responsavel, agora);
+        });
+    }
+
+    private void gravar(LeadScoreEstado estado, StatusLead status, double engajamento, double interesse,
+                        Long responsavel, LocalDateTime agora) {
+        double score = LeadScoreCalculadora.score(status, engajamento, interesse);
+        clienteRepository.atualizarScore(estado.getId(), score, engajamento, interesse, responsavel, agora);
+        rankingIndex.atualizar(estado.getId(), score, responsavel, LeadScoreCalculadora.ativo(status));
+    }
+
+    /**
+     * Refaz a pontuação de um lote a partir das linhas de interações, interesses e status.
+     *
+     * @return quantidade de leads atualizados
+     */
+    private int recalcularLote(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime corte = agora.minusDays(LeadScoreCalculadora.JANELA_DIAS);
+
+        List<LeadScoreEstado> estados = clienteRepository.findScoreEstados(ids, agora);
+        Map<Long, Double> engajamentos = new HashMap<>();
+        for (EngajamentoPorTipo linha : interacaoRepository.somarEngajamentoDecaido(
+                ids, agora, corte, LeadScoreCalculadora.MEIA_VIDA_SEGUNDOS)) {
+            engajamentos.merge(linha.getClienteId(),
+                    LeadScoreCalculadora.pesoInteracao(linha.getTipo()) * valor(linha.getTotal()), Double::sum);
+        }
+        Map<Long, Double> interesses = somarInteresses(interesseRepository.findNiveisComPreco(ids));
+
+        StringJoiner idsArray = arrayLiteral();
+        StringJoiner scores = arrayLiteral();
+        StringJoiner engajamentosArray = arrayLiteral();
+        StringJoiner interessesArray = arrayLiteral();
+        StringJoiner responsaveis = arrayLiteral();
+        Map<Long, Double> scoresPorLead = new HashMap<>();
+        for (LeadScoreEstado estado : estados) {
+            double engajamento = engajamentos.getOrDefault(estado.getId(), 0.0);
+            double interesse = interesses.getOrDefault(estado.getId(), 0.0);
+            double score = LeadScoreCalculadora.score(estado.getStatus(), engajamento, interesse);
+            scoresPorLead.put(estado.getId(), score);
+
+            idsArray.add(String.valueOf(estado.getId()));
+            scores.add(String.valueOf(score));
+            engajamentosArray.add(String.valueOf(engajamento));
+            interessesArray.add(String.valueOf(interesse));
+            Long responsavel = estado.getUsuarioResponsavelId();
+            responsaveis.add(responsavel != null ? responsavel.toString() : "NULL");
+        }
+        if (estados.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> atualizados = new HashSet<>(clienteRepository.atualizarScores(idsArray.toString(),
+                scores.toString(), engajamentosArray.toString(), interessesArray.toString(),
+                responsaveis.toString(), agora));
+        for (LeadScoreEstado estado : estados) {
+            if (atualizados.contains(estado.getId())) {
+                rankingIndex.atualizar(estado.getId(), scoresPorLead.get(estado.getId()),
+                        estado.getUsuarioResponsavelId(), LeadScoreCalculadora.ativo(estado.getStatus()));
+            }
+        }
+        return atualizados.size();
+    }
+
+    private long[] carregarIds() {
+        long[] ids = new long[TAMANHO_LOTE_IDS];
+        int total = 0;
+        long ultimoId = 0L;
+        List<Long> lote;
+        do {
+            lote = clienteRepository.findIdsAposId(ultimoId, Limit.of(TAMANHO_LOTE_IDS));
+            if (total + lote.size() > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, total + lote.size()));
+            }
+            for (Long id : lote) {
+                ids[total++] = id;
+                ultimoId = id;
+            }
+        } while (lote.size() == TAMANHO_LOTE_IDS);
+        return Arrays.copyOf(ids, total);
+    }
+
+    private static Map<Long, Double> somarInteresses(List<InteressePreco> linhas) {
+        Map<Long, Double> interesses = new HashMap<>();
+        for (InteressePreco linha : linhas) {
+            interesses.merge(linha.getClienteId(),
+                    LeadScoreCalculadora.pesoInteresse(linha.getNivel(), linha.getPreco()), Double::sum);
+        }
+        return interesses;
+    }
+
+    private static double engajamentoAtual(LeadScoreEstado estado) {
+        return LeadScoreCalculadora.decair(valor(estado.getEngajamento()), estado.getSegundosDesdeCalculo());
+    }
+
+    private static double valor(Double numero) {
+        return numero != null ? numero : 0.0;
+    }
+
+    private static StringJoiner arrayLiteral() {
+        return new StringJoiner(",", "{", "}");
+    }
+
+    /**
+     * Divide o intervalo de IDs ao meio até o tamanho de um lote; cada lote roda em sua
+     * própria transação. A falha de um lote é registrada sem interromper os demais.
+     */
+    private final class RecalculoLotes extends RecursiveAction {
+
+        private final long[] ids;
+        private final int inicio;
+        private final int fim;
+        private final LongAdder atualizados;
+
+        RecalculoLotes(long[] ids, int inicio, int fim, LongAdder atualizados) {
+            this.ids = ids;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.atualizados = atualizados;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio <= TAMANHO_LOTE) {
+                List<Long> lote = Arrays.stream(ids, inicio, fim).boxed().toList();
+                try {
+                    Integer quantidade = transaction.execute(status -> recalcularLote(lote));
+                    atualizados.add(quantidade != null ? quantidade : 0);
+                } catch (RuntimeException e) {
+                    logger.warn("Falha ao recalcular a pontuação dos leads {} a {}", lote.get(0),
+                            lote.get(lote.size() - 1), e);
+                }
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new RecalculoLotes(ids, inicio, meio, atualizados),
+                    new RecalculoLotes(ids, meio, fim, atualizados));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.event.NotaAutomaticaEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grava em lote as notas internas automáticas ({@link NotaAutomaticaEvent}) fora das requisições.
+ * <p>
+ * As notas entram em uma fila limitada após o commit da transação que as publicou
+ * (notas de transações desfeitas são descartadas) e são gravadas por uma virtual thread
+ * quando o lote atinge {@code app.notas-automaticas.tamanho-lote} ou quando passa
+ * {@code app.notas-automaticas.intervalo-ms} desde a primeira nota do lote; cada lote é
+ * uma transação com INSERTs em batch. Com a fila cheia, a nota é gravada na própria
+ * thread que a publicou. No encerramento a fila é esvaziada antes de liberar o banco.
+ * </p>
+ * <p>
+ * A verificação de {@code ativo} e o {@code offer} acontecem sob a trava de leitura de
+ * {@code aceitacao}; o encerramento desliga {@code ativo} sob a trava de escrita. Assim,
+ * quando o encerramento esvazia a fila nenhum publicador está entre a verificação e o
+ * {@code offer}, e as notas publicadas depois são gravadas na própria thread.
+ * </p>
+ * <p>
+ * Métricas: {@code notas.automaticas.fila} (notas aguardando gravação),
+ * {@code notas.automaticas.gravacao} (duração de cada lote) e
+ * {@code notas.automaticas.descartadas} (notas de clientes removidos antes da gravação).
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class NotaAutomaticaWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotaAutomaticaWriter.class);
+
+    private final InteracaoClienteService interacaoService;
+    private final TransactionTemplate transaction;
+    private final BlockingQueue<NotaAutomaticaEvent> fila;
+    private final int tamanhoLote;
+    private final long intervaloNanos;
+    private final long timeoutEncerramentoMs;
+    private final Timer gravacao;
+    private final Counter descartadas;
+
+    private final ReadWriteLock aceitacao = new ReentrantReadWriteLock();
+    private volatile boolean ativo = true;
+    private Thread consumidor;
+
+    @Autowired
+    public NotaAutomaticaWriter(InteracaoClienteService interacaoService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.notas-automaticas.capacidade-fila:10000}") int capacidadeFila,
+                                @Value("${app.notas-automaticas.tamanho-lote:200}") int tamanhoLote,
+                                @Value("${app.notas-automaticas.intervalo-ms:500}") long intervaloMs,
+                                @Value("${app.notas-automaticas.timeout-encerramento-ms:30000}") long timeoutEncerramentoMs) {
+        this.interacaoService = interacaoService;
+        // Nova transação: a gravação na thread do publicador roda no afterCommit da transação dele
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.timeoutEncerramentoMs = timeoutEncerramentoMs;
+
+        Gauge.builder("notas.automaticas.fila", fila, BlockingQueue::size)
+                .description("Notas internas automáticas aguardando gravação")
+                .register(meterRegistry);
+        this.gravacao = Timer.builder("notas.automaticas.gravacao")
+                .description("Duração da gravação de cada lote de notas internas automáticas")
+                .register(meterRegistry);
+        this.descartadas = Counter.builder("notas.automaticas.descartadas")
+                .description("Notas internas automáticas descartadas por falha na gravação")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        consumidor = Thread.ofVirtual().name("notas-automaticas").start(this::consumir);
+    }
+
+    /**
+     * Enfileira a nota após o commit da transação que a publicou.
+     *
+     * @param nota nota publicada
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotaAutomatica(NotaAutomaticaEvent nota) {
+        boolean enfileirada;
+        aceitacao.readLock().lock();
+        try {
+            enfileirada = ativo && fila.offer(nota);
+        } finally {
+            aceitacao.readLock().unlock();
+        }
+        if (!enfileirada) {
+            gravar(List.of(nota));
+        }
+    }
+
+    /**
+     * Para de aceitar notas na fila e grava as pendentes.
+     */
+    @PreDestroy
+    public void encerrar() {
+        pararDeAceitar();
+        try {
+            consumidor.join(timeoutEncerramentoMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        esvaziar(new ArrayList<>(tamanhoLote));
+    }
+
+    private void consumir() {
+        List<NotaAutomaticaEvent> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                NotaAutomaticaEvent primeira = fila.poll(intervaloNanos, TimeUnit.NANOSECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+                lote.add(primeira);
+                long limite = System.nanoTime() + intervaloNanos;
+                while (lote.size() < tamanhoLote) {
+                    NotaAutomaticaEvent proxima = fila.poll(Math.max(0L, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (proxima == null) {
+                        break;
+                    }
+                    lote.add(proxima);
+                }
+            } catch (InterruptedException e) {
+                // Um novo poll falharia na hora: grava o que resta sem bloquear e encerra.
+                // O sinal é restaurado depois, senão a obtenção de conexão também falharia
+                pararDeAceitar();
+                esvaziar(lote);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!lote.isEmpty()) {
+                gravar(lote);
+                lote.clear();
+            }
+        }
+    }
+
+    /**
+     * Desliga a fila; retorna só depois que os publicadores em andamento concluíram o {@code offer}.
+     */
+    private void pararDeAceitar() {
+        aceitacao.writeLock().lock();
+        try {
+            ativo = false;
+        } finally {
+            aceitacao.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Grava o lote em andamento e as notas restantes na fila, sem bloquear.
+     */
+    private void esvaziar(List<NotaAutomaticaEvent> lote) {
+        do {
+            if (!lote.isEmpty()) {
+                gravar(lote);
+                lote.clear();
+            }
+        } while (fila.drainTo(lote, tamanhoLote) > 0);
+    }
+
+    private void gravar(List<NotaAutomaticaEvent> lote) {
+        long inicio = System.nanoTime();
+        try {
+            transaction.executeWithoutResult(status -> interacaoService.gravarNotasAutomaticas(lote));
+        } catch (RuntimeException e) {
+            // Uma nota de cliente já removido invalida o lote inteiro; grava nota a nota
+            logger.warn("Falha ao gravar lote de {} notas automáticas; gravando individualmente", lote.size(), e);
+            for (NotaAutomaticaEvent nota : lote) {
+                try {
+                    transaction.executeWithoutResult(status -> interacaoService.gravarNotasAutomaticas(List.of(nota)));
+                } catch (RuntimeException erroNota) {
+                    descartadas.increment();
+                    logger.warn("Nota automática do cliente {} descartada: {}", nota.clienteId(), erroNota.getMessage());
+                }
+            }
+        } finally {
+            gravacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+}
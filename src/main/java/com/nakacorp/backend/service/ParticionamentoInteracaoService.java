@@ -0,0 +1,245 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.dto.res.ParticoesInteracaoDto;
+import com.nakacorp.backend.dto.res.PodaParticaoDto;
+import com.nakacorp.backend.repository.ParticaoInteracaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manutenção das partições mensais de {@code tb_interacao_cliente}.
+ * <p>
+ * Na inicialização e diariamente ({@code app.interacoes.particoes.cron}) garante as
+ * partições do mês corrente e dos {@code app.interacoes.particoes.meses-futuros} meses
+ * seguintes, para que as gravações nunca caiam na partição padrão. Com
+ * {@code app.interacoes.particoes.retencao-meses} maior que zero, os meses anteriores
+ * à retenção saem da tabela: DESANEXAR mantém cada mês como tabela avulsa, fora das
+ * consultas da aplicação e sem chaves estrangeiras (V15), para que remover clientes ou
+ * usuários depois não altere o histórico guardado; REMOVER apaga as tabelas e as linhas
+ * antigas da partição padrão.
+ * </p>
+ * <p>
+ * Também confere, com {@code EXPLAIN}, que as consultas por período dos repositórios
+ * leem apenas as partições do período e registra um aviso quando não leem.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@Transactional(readOnly = true)
+public class ParticionamentoInteracaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParticionamentoInteracaoService.class);
+
+    private static final String PREFIXO_MENSAL = "tb_interacao_cliente_p";
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTICAO_NO_PLANO =
+            Pattern.compile("\\bon (tb_interacao_cliente_(?:p\\d{6}|padrao))\\b");
+
+    /**
+     * Modo de retenção dos meses antigos.
+     */
+    public enum ModoRetencao {
+        DESANEXAR,
+        REMOVER
+    }
+
+    /**
+     * Consulta conferida pela poda: filtra {@code created_at} em [inicio, fim]
+     * ({@code fim} nulo para intervalo aberto).
+     */
+    private record ConsultaPeriodo(String nome, String sql, LocalDateTime inicio, LocalDateTime fim) {
+    }
+
+    private final ParticaoInteracaoRepository particaoRepository;
+    private final ExecutorService executor;
+    private final TransactionTemplate transaction;
+    private final int mesesFuturos;
+    private final int retencaoMeses;
+    private final ModoRetencao retencaoModo;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+
+    @Autowired
+    public ParticionamentoInteracaoService(ParticaoInteracaoRepository particaoRepository,
+                                           @Qualifier("backgroundExecutor") ExecutorService executor,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${app.interacoes.particoes.meses-futuros:3}") int mesesFuturos,
+                                           @Value("${app.interacoes.particoes.retencao-meses:0}") int retencaoMeses,
+                                           @Value("${app.interacoes.particoes.retencao-modo:DESANEXAR}") ModoRetencao retencaoModo) {
+        this.particaoRepository = particaoRepository;
+        this.executor = executor;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.mesesFuturos = mesesFuturos;
+        this.retencaoMeses = retencaoMeses;
+        this.retencaoModo = retencaoModo;
+    }
+
+    /**
+     * Cria as partições que faltam e confere a poda após a inicialização, sem bloquear o startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void manterNaInicializacao() {
+        executor.execute(() -> {
+            try {
+                manterParticoes();
+                transaction.executeWithoutResult(status -> verificarPoda().stream()
+                        .filter(poda -> !poda.podada())
+                        .forEach(poda -> logger.warn("Consulta '{}' leu as partições {}; esperado apenas {}",
+                                poda.consulta(), poda.particoesLidas(), poda.particoesEsperadas())));
+            } catch (RuntimeException e) {
+                logger.error("Falha na manutenção das partições de interações", e);
+            }
+        });
+    }
+
+    /**
+     * Cria as partições futuras e aplica a retenção, cada etapa em uma transação.
+     */
+    @Scheduled(cron = "${app.interacoes.particoes.cron:0 30 0 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void manterParticoes() {
+        if (!execucao.tryLock()) {
+            logger.info("Manutenção das partições de interações já em andamento");
+            return;
+        }
+        try {
+            LocalDate mesAtual = LocalDate.now().withDayOfMonth(1);
+            Integer criadas = transaction.execute(status ->
+                    particaoRepository.criarParticoes(mesAtual, mesAtual.plusMonths(mesesFuturos + 1L)));
+            if (criadas != null && criadas > 0) {
+                logger.info("{} partições mensais de interações criadas", criadas);
+            }
+
+            if (retencaoMeses > 0) {
+                LocalDate corte = mesAtual.minusMonths(retencaoMeses);
+                List<String> antigas = transaction.execute(status ->
+                        particaoRepository.removerParticoes(corte, retencaoModo == ModoRetencao.REMOVER));
+                if (antigas != null && !antigas.isEmpty()) {
+                    logger.info("Retenção de interações ({} antes de {}): {}", retencaoModo, corte, antigas);
+                }
+            }
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    /**
+     * Partições atuais, configuração de manutenção e conferência da poda.
+     *
+     * @return situação do particionamento
+     */
+    public ParticoesInteracaoDto consultar() {
+        return new ParticoesInteracaoDto(
+                particaoRepository.listarParticoes(),
+                mesesFuturos,
+                retencaoMeses,
+                retencaoModo.name(),
+                verificarPoda());
+    }
+
+    /**
+     * Planeja as consultas por período dos repositórios com valores de referência e
+     * compara as partições lidas com as dos meses do período. A partição padrão pode
+     * aparecer em qualquer plano (guarda meses sem partição própria) e não conta.
+     *
+     * @return resultado por consulta
+     */
+    public List<PodaParticaoDto> verificarPoda() {
+        List<String> particoes = particaoRepository.listarParticoes();
+        return consultasPorPeriodo().stream()
+                .map(consulta -> verificarPoda(consulta, particoes))
+                .toList();
+    }
+
+    private PodaParticaoDto verificarPoda(ConsultaPeriodo consulta, List<String> particoes) {
+        List<String> esperadas = particoes.stream()
+                .filter(nome -> nome.startsWith(PREFIXO_MENSAL))
+                .filter(nome -> intersecta(YearMonth.parse(nome.substring(PREFIXO_MENSAL.length()), FORMATO_MES),
+                        consulta.inicio(), consulta.fim()))
+                .toList();
+
+        String plano = String.join("\n", particaoRepository.explicar(consulta.sql()));
+        Matcher matcher = PARTICAO_NO_PLANO.matcher(plano);
+        List<String> lidas = matcher.results()
+                .map(resultado -> resultado.group(1))
+                .distinct()
+                .sorted()
+                .toList();
+
+        boolean podada = lidas.stream()
+                .filter(nome -> nome.startsWith(PREFIXO_MENSAL))
+                .allMatch(esperadas::contains);
+        return new PodaParticaoDto(consulta.nome(), esperadas, lidas, podada);
+    }
+
+    private static boolean intersecta(YearMonth mes, LocalDateTime inicio, LocalDateTime fim) {
+        LocalDateTime inicioMes = mes.atDay(1).atStartOfDay();
+        LocalDateTime fimMes = mes.plusMonths(1).atDay(1).atStartOfDay();
+        return fimMes.isAfter(inicio) && (fim == null || !inicioMes.isAfter(fim));
+    }
+
+    /**
+     * Equivalentes em SQL das consultas por {@code created_at} dos repositórios
+     * (listagem por período, período do cliente, engajamento do lead score e rollup diário).
+     * As agendas filtram {@code data_agendada}, que não é a chave de partição, e usam os
+     * índices parciais de cada partição.
+     */
+    private static List<ConsultaPeriodo> consultasPorPeriodo() {
+        LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime inicioPeriodo = agora.minusDays(30);
+        LocalDateTime corteEngajamento = agora.minusDays(LeadScoreCalculadora.JANELA_DIAS);
+        LocalDateTime dia = agora.truncatedTo(ChronoUnit.DAYS);
+
+        return List.of(
+                new ConsultaPeriodo("interacoes-por-periodo",
+                        "SELECT i.id_interacao FROM tb_interacao_cliente i " +
+                        "WHERE i.created_at BETWEEN " + literal(inicioPeriodo) + " AND " + literal(agora) + " " +
+                        "ORDER BY i.created_at DESC, i.id_interacao DESC LIMIT 21",
+                        inicioPeriodo, agora),
+                new ConsultaPeriodo("interacoes-do-cliente-por-periodo",
+                        "SELECT i.id_interacao FROM tb_interacao_cliente i " +
+                        "WHERE i.id_cliente = 0 AND i.created_at BETWEEN " + literal(inicioPeriodo) +
+                        " AND " + literal(agora) + " ORDER BY i.created_at DESC",
+                        inicioPeriodo, agora),
+                new ConsultaPeriodo("engajamento-lead-score",
+                        "SELECT i.id_cliente, i.tipo_interacao, COUNT(*) FROM tb_interacao_cliente i " +
+                        "WHERE i.id_cliente IN (0) AND i.created_at >= " + literal(corteEngajamento) + " " +
+                        "GROUP BY i.id_cliente, i.tipo_interacao",
+                        corteEngajamento, null),
+                new ConsultaPeriodo("rollup-diario",
+                        "SELECT i.tipo_interacao, COUNT(*) FROM tb_interacao_cliente i " +
+                        "WHERE i.created_at >= " + literal(dia) + " AND i.created_at < " + literal(dia.plusDays(1)) + " " +
+                        "GROUP BY i.tipo_interacao",
+                        dia, dia.plusDays(1)));
+    }
+
+    private static String literal(LocalDateTime instante) {
+        return "TIMESTAMP '" + instante + "'";
+    }
+}
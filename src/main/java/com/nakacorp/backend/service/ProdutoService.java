@@ -5,11 +5,16 @@ import com.nakacorp.backend.dto.req.ProdutoUpdateDto;
 import com.nakacorp.backend.dto.res.InteresseProdutoStatsDto;
 import com.nakacorp.backend.dto.res.ProdutoResponseDto;
 import com.nakacorp.backend.dto.res.ProdutoSummaryDto;
+import com.nakacorp.backend.event.DashboardAlteradoEvent;
+import com.nakacorp.backend.event.DashboardSecao;
+import com.nakacorp.backend.exception.InvalidDataException;
 import com.nakacorp.backend.model.Produto;
 import com.nakacorp.backend.model.enums.NivelInteresse;
 import com.nakacorp.backend.repository.ClienteInteresseRepository;
 import com.nakacorp.backend.repository.ProdutoRepository;
+import com.nakacorp.backend.repository.specification.TermoBusca;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,13 +28,20 @@ import java.util.Optional;
 @Transactional
 public class ProdutoService {
 
+    private static final int TAMANHO_MINIMO_BUSCA = 2;
+    private static final int LIMITE_MAXIMO_BUSCA = 50;
+
     private final ProdutoRepository produtoRepository;
     private final ClienteInteresseRepository clienteInteresseRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ProdutoService(ProdutoRepository produtoRepository, ClienteInteresseRepository clienteInteresseRepository) {
+    public ProdutoService(ProdutoRepository produtoRepository,
+                          ClienteInteresseRepository clienteInteresseRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.produtoRepository = produtoRepository;
         this.clienteInteresseRepository = clienteInteresseRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -58,6 +70,26 @@ public class ProdutoService {
                 .toList();
     }
 
+    /**
+     * Busca produtos por nome, sem diferenciar maiúsculas nem acentos.
+     *
+     * @param termo  termo de busca (mínimo de 2 caracteres)
+     * @param limite quantidade máxima de resultados (1 a 50)
+     * @return produtos do mais ao menos similar
+     */
+    @Transactional(readOnly = true)
+    public List<ProdutoSummaryDto> search(String termo, int limite) {
+        String normalizado = TermoBusca.normalizar(termo);
+        if (normalizado.length() < TAMANHO_MINIMO_BUSCA) {
+            throw new InvalidDataException("q", "informe ao menos " + TAMANHO_MINIMO_BUSCA + " caracteres");
+        }
+        return produtoRepository.buscarPorNome(normalizado, TermoBusca.contem(normalizado),
+                        Math.max(1, Math.min(limite, LIMITE_MAXIMO_BUSCA)))
+                .stream()
+                .map(ProdutoSummaryDto::fromEntity)
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public List<ProdutoResponseDto> findByPrecoRange(BigDecimal precoMin, BigDecimal precoMax) {
         return produtoRepository.findByPrecoBetween(precoMin, precoMax)
@@ -78,6 +110,7 @@ public class ProdutoService {
         updateProdutoFromRequest(produto, request);
 
         Produto saved = produtoRepository.save(produto);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.of(DashboardSecao.ESTATISTICAS));
         return ProdutoResponseDto.fromEntity(saved);
     }
 
@@ -87,6 +120,9 @@ public class ProdutoService {
 
         updateProdutoFromUpdateRequest(produto, request);
         Produto updated = produtoRepository.save(produto);
+        // Preço e tipo de cobrança alimentam receita e pipeline
+        eventPublisher.publishEvent(DashboardAlteradoEvent.of(
+                DashboardSecao.ESTATISTICAS, DashboardSecao.RECEITA, DashboardSecao.PIPELINE));
         return ProdutoResponseDto.fromEntity(updated);
     }
 
@@ -96,6 +132,7 @@ public class ProdutoService {
 
         produto.setAtivo(!produto.getAtivo());
         Produto updated = produtoRepository.save(produto);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.of(DashboardSecao.ESTATISTICAS));
         return ProdutoResponseDto.fromEntity(updated);
     }
 
@@ -110,6 +147,7 @@ public class ProdutoService {
         }
 
         produtoRepository.deleteById(id);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.of(DashboardSecao.ESTATISTICAS));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,221 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.dto.res.TimeSeriesPontoDto;
+import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.model.enums.Granularidade;
+import com.nakacorp.backend.model.enums.MetricaRollup;
+import com.nakacorp.backend.model.enums.OrigemLead;
+import com.nakacorp.backend.model.enums.StatusLead;
+import com.nakacorp.backend.model.enums.TipoInteracao;
+import com.nakacorp.backend.repository.RollupDiarioRepository;
+import com.nakacorp.backend.repository.projection.RollupDiarioPonto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantém o rollup diário ({@code tb_rollup_diario}) e monta as séries temporais do dashboard.
+ * <p>
+ * As contagens são incrementadas na mesma transação das escritas de clientes e interações.
+ * Um job agendado reconstrói os últimos dias a partir das tabelas de origem,
+ * corrigindo divergências como interações removidas em cascata junto com o cliente.
+ * Incrementos e reconstrução do mesmo dia são serializados por advisory locks do dia
+ * (compartilhado nos incrementos, exclusivo na reconstrução), então nenhum incremento
+ * concorrente é perdido nem contado duas vezes.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@Transactional
+public class RollupDiarioService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupDiarioService.class);
+
+    private static final String SEM_DIMENSAO = "";
+
+    private final RollupDiarioRepository rollupRepository;
+    private final int diasReconstrucao;
+    private final int maxDiasReconstrucao;
+
+    @Autowired
+    public RollupDiarioService(RollupDiarioRepository rollupRepository,
+                               @Value("${app.rollup.rebuild-days:3}") int diasReconstrucao,
+                               @Value("${app.rollup.rebuild-max-days:366}") int maxDiasReconstrucao) {
+        this.rollupRepository = rollupRepository;
+        this.diasReconstrucao = diasReconstrucao;
+        this.maxDiasReconstrucao = maxDiasReconstrucao;
+    }
+
+    /**
+     * Registra um lead criado e a entrada no seu status inicial.
+     *
+     * @param cliente cliente recém-salvo
+     */
+    public void registrarLeadCriado(Cliente cliente) {
+        registrarLeadsCriados(List.of(cliente));
+    }
+
+    /**
+     * Registra leads criados em lote, com um incremento por origem e por par (status, origem).
+     *
+     * @param clientes clientes recém-salvos
+     */
+    public void registrarLeadsCriados(Collection<Cliente> clientes) {
+        Map<String, Long> criadosPorOrigem = new TreeMap<>();
+        Map<List<String>, Long> entradasPorStatus = new HashMap<>();
+        for (Cliente cliente : clientes) {
+            String origem = nome(cliente.getOrigemLead());
+            StatusLead status = cliente.getStatusLead() != null ? cliente.getStatusLead() : StatusLead.NOVO;
+            criadosPorOrigem.merge(origem, 1L, Long::sum);
+            entradasPorStatus.merge(List.of(status.name(), origem), 1L, Long::sum);
+        }
+
+        LocalDate hoje = LocalDate.now();
+        criadosPorOrigem.forEach((origem, total) -> rollupRepository.incrementar(hoje,
+                MetricaRollup.LEAD_CRIADO.name(), SEM_DIMENSAO, origem, SEM_DIMENSAO, total));
+        entradasPorStatus.forEach((chave, total) -> rollupRepository.incrementar(hoje,
+                MetricaRollup.ENTRADA_STATUS.name(), chave.get(0), chave.get(1), SEM_DIMENSAO, total));
+    }
+
+    /**
+     * Registra a entrada de um lead em um novo status.
+     *
+     * @param origem     origem do lead
+     * @param novoStatus status de destino
+     */
+    public void registrarMudancaStatus(OrigemLead origem, StatusLead novoStatus) {
+        registrarMudancaStatus(origem, novoStatus, 1);
+    }
+
+    /**
+     * Registra a entrada de vários leads da mesma origem em um novo status.
+     *
+     * @param origem     origem dos leads
+     * @param novoStatus status de destino
+     * @param quantidade quantidade de leads
+     */
+    public void registrarMudancaStatus(OrigemLead origem, StatusLead novoStatus, long quantidade) {
+        rollupRepository.incrementar(LocalDate.now(), MetricaRollup.ENTRADA_STATUS.name(),
+                novoStatus.name(), nome(origem), SEM_DIMENSAO, quantidade);
+    }
+
+    /**
+     * Ajusta a contagem de interações do dia.
+     *
+     * @param data   dia da interação
+     * @param origem origem do lead
+     * @param tipo   tipo da interação
+     * @param delta  1 para criação, -1 para remoção
+     */
+    public void registrarInteracao(LocalDate data, OrigemLead origem, TipoInteracao tipo, long delta) {
+        rollupRepository.incrementar(data != null ? data : LocalDate.now(), MetricaRollup.INTERACAO.name(),
+                SEM_DIMENSAO, nome(origem), tipo.name(), delta);
+    }
+
+    /**
+     * Série temporal de leads, conversões, perdas e interações.
+     * Períodos sem movimento são retornados zerados.
+     *
+     * @param inicio        primeiro dia (inclusivo)
+     * @param fim           último dia (inclusivo)
+     * @param granularidade agrupamento dos pontos
+     * @param origem        origem do lead (opcional)
+     * @return pontos ordenados por período
+     */
+    @Transactional(readOnly = true)
+    public List<TimeSeriesPontoDto> getTimeSeries(LocalDate inicio, LocalDate fim,
+                                                  Granularidade granularidade, OrigemLead origem) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("Data final anterior à data inicial");
+        }
+
+        List<RollupDiarioPonto> dias = origem == null
+                ? rollupRepository.findPontosBetween(inicio, fim)
+                : rollupRepository.findPontosBetweenByOrigem(inicio, fim, origem.name());
+
+        Map<LocalDate, long[]> periodos = new TreeMap<>();
+        for (LocalDate periodo = granularidade.inicioDoPeriodo(inicio);
+             !periodo.isAfter(fim);
+             periodo = granularidade.proximoPeriodo(periodo)) {
+            periodos.put(periodo, new long[4]);
+        }
+
+        for (RollupDiarioPonto dia : dias) {
+            long[] totais = periodos.get(granularidade.inicioDoPeriodo(dia.getData()));
+            totais[0] += valor(dia.getLeadsCriados());
+            totais[1] += valor(dia.getConversoes());
+            totais[2] += valor(dia.getPerdidos());
+            totais[3] += valor(dia.getInteracoes());
+        }
+
+        List<TimeSeriesPontoDto> pontos = new ArrayList<>(periodos.size());
+        periodos.forEach((periodo, totais) ->
+                pontos.add(new TimeSeriesPontoDto(periodo, totais[0], totais[1], totais[2], totais[3])));
+        return pontos;
+    }
+
+    /**
+     * Reconstrói o rollup dos dias informados a partir de clientes e interações.
+     * Cada dia do período fica travado até o fim da transação, então o período é
+     * limitado a {@code app.rollup.rebuild-max-days} dias.
+     *
+     * @param inicio primeiro dia (inclusivo)
+     * @param fim    último dia (inclusivo)
+     * @throws IllegalArgumentException se o fim é anterior ao início ou o período excede o limite
+     */
+    public void reconstruir(LocalDate inicio, LocalDate fim) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("Data final anterior à data inicial");
+        }
+        LocalDate fimExclusivo = fim.plusDays(1);
+        if (ChronoUnit.DAYS.between(inicio, fimExclusivo) > maxDiasReconstrucao) {
+            throw new IllegalArgumentException("Período de reconstrução maior que " + maxDiasReconstrucao + " dias");
+        }
+        LocalDateTime de = inicio.atStartOfDay();
+        LocalDateTime ate = fimExclusivo.atStartOfDay();
+
+        rollupRepository.travarPeriodo(inicio, fimExclusivo);
+        int removidas = rollupRepository.deleteByPeriodo(inicio, fimExclusivo);
+        int inseridas = rollupRepository.rebuildLeadsCriados(de, ate)
+                + rollupRepository.rebuildStatusInicial(de, ate)
+                + rollupRepository.rebuildMudancasStatus(de, ate)
+                + rollupRepository.rebuildInteracoes(de, ate);
+
+        logger.info("Rollup diário reconstruído de {} a {}: {} linhas removidas, {} gravadas",
+                inicio, fim, removidas, inseridas);
+    }
+
+    /**
+     * Reconstrói periodicamente os últimos dias do rollup.
+     */
+    @Scheduled(cron = "${app.rollup.rebuild-cron:0 30 3 * * *}")
+    public void reconstruirRecentes() {
+        LocalDate hoje = LocalDate.now();
+        reconstruir(hoje.minusDays(diasReconstrucao), hoje);
+    }
+
+    private static String nome(Enum<?> valor) {
+        return valor != null ? valor.name() : SEM_DIMENSAO;
+    }
+
+    private static long valor(Long valor) {
+        return valor != null ? valor : 0L;
+    }
+}
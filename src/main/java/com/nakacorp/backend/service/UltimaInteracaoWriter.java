@@ -0,0 +1,114 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.repository.ClienteRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grava a data da última interação dos clientes ({@code data_ultima_interacao}).
+ * <p>
+ * Cada registro é um UPDATE de uma coluna com {@code GREATEST}, então gravações fora
+ * de ordem nunca recuam a data. Por padrão o UPDATE roda na transação da interação.
+ * Com {@code app.ultima-interacao.write-behind.enabled}, os registros confirmados são
+ * agrupados por cliente (fica a data mais recente) e gravados a cada
+ * {@code app.ultima-interacao.write-behind.intervalo-ms}, em uma transação por ciclo:
+ * rajadas de interações no mesmo cliente viram um único UPDATE na linha, ao custo de a
+ * data aparecer nas listagens com até um intervalo de atraso. Registros pendentes
+ * são perdidos se a aplicação cair antes do ciclo seguinte.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class UltimaInteracaoWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UltimaInteracaoWriter.class);
+
+    private final ClienteRepository clienteRepository;
+    private final TransactionTemplate transaction;
+    private final boolean writeBehind;
+
+    private final Map<Long, LocalDateTime> pendentes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UltimaInteracaoWriter(ClienteRepository clienteRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.ultima-interacao.write-behind.enabled:false}") boolean writeBehind) {
+        this.clienteRepository = clienteRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Registra uma interação do cliente.
+     *
+     * @param clienteId ID do cliente
+     * @param data      data da interação
+     */
+    public void registrar(Long clienteId, LocalDateTime data) {
+        if (!writeBehind) {
+            clienteRepository.avancarUltimaInteracao(clienteId, data);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acumular(clienteId, data);
+                }
+            });
+        } else {
+            acumular(clienteId, data);
+        }
+    }
+
+    /**
+     * Grava as datas pendentes, um UPDATE por cliente.
+     */
+    @Scheduled(fixedDelayString = "${app.ultima-interacao.write-behind.intervalo-ms:2000}")
+    public void gravarPendentes() {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        Map<Long, LocalDateTime> lote = new HashMap<>();
+        for (Long clienteId : pendentes.keySet()) {
+            LocalDateTime data = pendentes.remove(clienteId);
+            if (data != null) {
+                lote.put(clienteId, data);
+            }
+        }
+
+        try {
+            transaction.executeWithoutResult(status -> lote.forEach(clienteRepository::avancarUltimaInteracao));
+        } catch (RuntimeException e) {
+            // Devolve o lote para o próximo ciclo; o GREATEST torna a regravação segura
+            lote.forEach(this::acumular);
+            logger.warn("Falha ao gravar a última interação de {} clientes", lote.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        gravarPendentes();
+    }
+
+    private void acumular(Long clienteId, LocalDateTime data) {
+        pendentes.merge(clienteId, data, (atual, nova) -> nova.isAfter(atual) ? nova : atual);
+    }
+}
@@ -0,0 +1,109 @@
+-- =================================================
+-- ARQUIVAMENTO DE LEADS PERDIDOS
+-- =================================================
+-- Leads PERDIDO sem atividade há meses são movidos, com interações, interesses e
+-- origem, para tabelas de arquivo (ArquivamentoService). As tabelas quentes ficam
+-- proporcionais ao pipeline ativo e os leads podem ser restaurados.
+--
+-- As tabelas de arquivo guardam apenas os dados de cadastro; colunas derivadas
+-- (score, responsável, chaves de deduplicação e documento de busca da tabela
+-- quente) são recalculadas na restauração. Colunas de cadastro novas em
+-- tb_cliente e nas tabelas filhas devem ser incluídas aqui e nas consultas de
+-- ClienteArquivadoRepository.
+
+CREATE TABLE IF NOT EXISTS tb_cliente_arquivo (
+    id_cliente BIGINT PRIMARY KEY,
+    nome VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    telefone VARCHAR(20),
+    endereco TEXT,
+    cidade VARCHAR(100),
+    estado VARCHAR(2),
+    cep VARCHAR(10),
+    empresa VARCHAR(255),
+    cargo VARCHAR(100),
+    origem_lead VARCHAR(30) NOT NULL,
+    status_lead VARCHAR(30),
+    data_primeiro_contato TIMESTAMP,
+    data_ultima_interacao TIMESTAMP,
+    observacoes TEXT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    arquivado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    documento_busca TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', f_unaccent(lower(coalesce(nome, '')))), 'A') ||
+        setweight(to_tsvector('simple', f_unaccent(lower(coalesce(empresa, '')))), 'B') ||
+        setweight(to_tsvector('simple', lower(coalesce(email, ''))), 'C')
+    ) STORED
+);
+
+CREATE TABLE IF NOT EXISTS tb_interacao_cliente_arquivo (
+    id_interacao BIGINT PRIMARY KEY,
+    id_cliente BIGINT NOT NULL,
+    id_usuario BIGINT,
+    tipo_interacao VARCHAR(30) NOT NULL,
+    descricao TEXT NOT NULL,
+    dados_extras JSONB,
+    data_agendada TIMESTAMP,
+    created_at TIMESTAMP,
+    CONSTRAINT fk_interacao_arquivo_cliente FOREIGN KEY (id_cliente) REFERENCES tb_cliente_arquivo(id_cliente) ON DELETE CASCADE,
+    CONSTRAINT fk_interacao_arquivo_usuario FOREIGN KEY (id_usuario) REFERENCES tb_usuario(id_usuario) ON DELETE SET NULL
+);
+
+CREATE TABLE IF NOT EXISTS tb_cliente_interesse_arquivo (
+    id_interesse BIGINT PRIMARY KEY,
+    id_cliente BIGINT NOT NULL,
+    id_produto BIGINT NOT NULL,
+    nivel_interesse VARCHAR(20),
+    observacoes TEXT,
+    created_at TIMESTAMP,
+    CONSTRAINT fk_interesse_arquivo_cliente FOREIGN KEY (id_cliente) REFERENCES tb_cliente_arquivo(id_cliente) ON DELETE CASCADE,
+    CONSTRAINT fk_interesse_arquivo_produto FOREIGN KEY (id_produto) REFERENCES tb_produto(id_produto) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS tb_lead_origem_arquivo (
+    id_lead_origem BIGINT PRIMARY KEY,
+    id_cliente BIGINT UNIQUE NOT NULL,
+    fonte_detalhada VARCHAR(255),
+    utm_source VARCHAR(100),
+    utm_medium VARCHAR(100),
+    utm_campaign VARCHAR(100),
+    user_agent TEXT,
+    created_at TIMESTAMP,
+    CONSTRAINT fk_lead_origem_arquivo_cliente FOREIGN KEY (id_cliente) REFERENCES tb_cliente_arquivo(id_cliente) ON DELETE CASCADE
+);
+
+-- Filhas por cliente (restauração) e períodos do rollup
+CREATE INDEX IF NOT EXISTS idx_interacao_arquivo_cliente ON tb_interacao_cliente_arquivo(id_cliente);
+CREATE INDEX IF NOT EXISTS idx_interacao_arquivo_created ON tb_interacao_cliente_arquivo(created_at);
+CREATE INDEX IF NOT EXISTS idx_interesse_arquivo_cliente ON tb_cliente_interesse_arquivo(id_cliente);
+CREATE INDEX IF NOT EXISTS idx_cliente_arquivo_created ON tb_cliente_arquivo(created_at);
+
+-- Busca textual com arquivados (mesmas expressões da V6)
+CREATE INDEX IF NOT EXISTS idx_cliente_arquivo_documento_busca ON tb_cliente_arquivo USING GIN (documento_busca);
+CREATE INDEX IF NOT EXISTS idx_cliente_arquivo_nome_trgm ON tb_cliente_arquivo USING GIN (f_unaccent(lower(nome)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_cliente_arquivo_empresa_trgm ON tb_cliente_arquivo USING GIN (f_unaccent(lower(empresa)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_cliente_arquivo_email_trgm ON tb_cliente_arquivo USING GIN (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_cliente_arquivo_telefone_trgm ON tb_cliente_arquivo
+    USING GIN (regexp_replace(telefone, '\D', '', 'g') gin_trgm_ops);
+
+-- Candidatos ao arquivamento: perdidos pela última atividade (cadastro ou interação)
+CREATE INDEX IF NOT EXISTS idx_cliente_perdido_atividade
+    ON tb_cliente((GREATEST(updated_at, data_ultima_interacao)), id_cliente)
+    WHERE status_lead = 'PERDIDO';
+
+-- =================================================
+-- HISTÓRICO COMPLETO (ATIVOS + ARQUIVADOS)
+-- =================================================
+-- A reconstrução do rollup diário lê clientes e interações de qualquer período;
+-- os filtros por data são aplicados em cada lado do UNION ALL.
+
+CREATE OR REPLACE VIEW vw_cliente_historico AS
+SELECT id_cliente, origem_lead, status_lead, created_at FROM tb_cliente
+UNION ALL
+SELECT id_cliente, origem_lead, status_lead, created_at FROM tb_cliente_arquivo;
+
+CREATE OR REPLACE VIEW vw_interacao_historico AS
+SELECT id_interacao, id_cliente, tipo_interacao, dados_extras, created_at FROM tb_interacao_cliente
+UNION ALL
+SELECT id_interacao, id_cliente, tipo_interacao, dados_extras, created_at FROM tb_interacao_cliente_arquivo;
@@ -0,0 +1,21 @@
+-- =================================================
+-- IDS POR SEQUÊNCIA COM ALOCAÇÃO EM BLOCOS
+-- =================================================
+-- As entidades passam de IDENTITY para SEQUENCE com o otimizador pooled do
+-- Hibernate (allocationSize = 50): cada nextval reserva um bloco de 50 IDs,
+-- então os INSERTs não precisam de um round-trip para obter o ID e podem ser
+-- agrupados em batches JDBC.
+--
+-- As sequências são as criadas pelo BIGSERIAL da V1; só o incremento muda.
+-- O próximo bloco começa depois do último valor já emitido, então os IDs
+-- existentes (inclusive os das tabelas de arquivo) não são reaproveitados.
+-- O DEFAULT nextval das colunas continua valendo para os INSERTs nativos:
+-- cada chamada consome um bloco inteiro e nunca colide com os blocos do Hibernate.
+-- O incremento deve acompanhar o allocationSize das entidades.
+
+ALTER SEQUENCE tb_usuario_id_usuario_seq INCREMENT BY 50;
+ALTER SEQUENCE tb_cliente_id_cliente_seq INCREMENT BY 50;
+ALTER SEQUENCE tb_produto_id_produto_seq INCREMENT BY 50;
+ALTER SEQUENCE tb_lead_origem_id_lead_origem_seq INCREMENT BY 50;
+ALTER SEQUENCE tb_cliente_interesse_id_interesse_seq INCREMENT BY 50;
+ALTER SEQUENCE tb_interacao_cliente_id_interacao_seq INCREMENT BY 50;
@@ -0,0 +1,152 @@
+-- =================================================
+-- PARTICIONAMENTO MENSAL DAS INTERAÇÕES
+-- =================================================
+-- tb_interacao_cliente passa a ser particionada por faixa mensal de created_at.
+-- Consultas por período (listagem por período, engajamento decaído do lead score,
+-- reconstrução do rollup) leem apenas as partições do período, os índices e o
+-- vacuum ficam proporcionais a um mês e a retenção remove meses inteiros sem DELETE.
+--
+-- Partições: tb_interacao_cliente_pAAAAMM, uma por mês, mais a partição padrão
+-- tb_interacao_cliente_padrao para linhas fora dos meses criados (ex.: interações
+-- antigas restauradas do arquivo). As partições futuras são criadas pela aplicação
+-- (ParticionamentoInteracaoService) com criar_particoes_interacao e as antigas são
+-- desanexadas ou removidas com remover_particoes_interacao.
+--
+-- A chave primária passa a ser (id_interacao, created_at), pois toda chave única
+-- de tabela particionada inclui a chave de partição; os IDs continuam vindo da
+-- mesma sequência. created_at passa a ser NOT NULL (linhas sem data recebem o
+-- instante da migração).
+--
+-- A cópia dos dados roda na transação da migração e bloqueia as interações
+-- durante a cópia; em bases grandes, aplicar em janela de manutenção.
+
+-- =================================================
+-- FUNÇÕES DE MANUTENÇÃO
+-- =================================================
+
+-- Cria as partições mensais de [p_inicio, p_fim) que ainda não existem.
+-- Linhas do mês que estejam na partição padrão são movidas para a nova partição
+-- antes de anexá-la. Retorna a quantidade de partições criadas.
+CREATE OR REPLACE FUNCTION criar_particoes_interacao(p_inicio DATE, p_fim DATE) RETURNS INTEGER AS $$
+DECLARE
+    v_mes DATE := date_trunc('month', p_inicio)::DATE;
+    v_proximo DATE;
+    v_nome TEXT;
+    v_criadas INTEGER := 0;
+BEGIN
+    WHILE v_mes < p_fim LOOP
+        v_proximo := (v_mes + INTERVAL '1 month')::DATE;
+        v_nome := 'tb_interacao_cliente_p' || to_char(v_mes, 'YYYYMM');
+        IF to_regclass(v_nome) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE tb_interacao_cliente INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_nome);
+            EXECUTE format('WITH movidas AS (DELETE FROM tb_interacao_cliente_padrao '
+                           'WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM movidas', v_mes, v_proximo, v_nome);
+            EXECUTE format('ALTER TABLE tb_interacao_cliente ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           v_nome, v_mes, v_proximo);
+            v_criadas := v_criadas + 1;
+        END IF;
+        v_mes := v_proximo;
+    END LOOP;
+    RETURN v_criadas;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Desanexa as partições mensais inteiramente anteriores a p_corte e, com p_remover,
+-- remove as tabelas e as linhas anteriores ao corte na partição padrão.
+-- Partições desanexadas ficam como tabelas avulsas (para backup ou consulta manual).
+-- Retorna os nomes das partições processadas.
+CREATE OR REPLACE FUNCTION remover_particoes_interacao(p_corte DATE, p_remover BOOLEAN) RETURNS SETOF TEXT AS $$
+DECLARE
+    v_nome TEXT;
+BEGIN
+    -- DETACH bloqueia a tabela pai: desiste em vez de enfileirar as consultas atrás dele
+    PERFORM set_config('lock_timeout', '5s', true);
+    FOR v_nome IN
+        SELECT c.relname
+        FROM pg_inherits h
+        JOIN pg_class c ON c.oid = h.inhrelid
+        WHERE h.inhparent = 'tb_interacao_cliente'::REGCLASS
+          AND c.relname ~ '^tb_interacao_cliente_p[0-9]{6}$'
+          AND to_date(right(c.relname, 6), 'YYYYMM') + INTERVAL '1 month' <= p_corte
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE tb_interacao_cliente DETACH PARTITION %I', v_nome);
+        IF p_remover THEN
+            EXECUTE format('DROP TABLE %I', v_nome);
+        END IF;
+        RETURN NEXT v_nome;
+    END LOOP;
+    IF p_remover THEN
+        DELETE FROM tb_interacao_cliente_padrao WHERE created_at < p_corte;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- =================================================
+-- TROCA DA TABELA
+-- =================================================
+
+-- A view de histórico (V10) depende da tabela; é recriada no final
+DROP VIEW IF EXISTS vw_interacao_historico;
+
+ALTER TABLE tb_interacao_cliente RENAME TO tb_interacao_cliente_legado;
+-- Sem isso o DROP da tabela antiga removeria a sequência dos IDs
+ALTER SEQUENCE tb_interacao_cliente_id_interacao_seq OWNED BY NONE;
+
+CREATE TABLE tb_interacao_cliente (
+    id_interacao BIGINT NOT NULL DEFAULT nextval('tb_interacao_cliente_id_interacao_seq'),
+    id_cliente BIGINT NOT NULL,
+    id_usuario BIGINT,
+    tipo_interacao VARCHAR(30) NOT NULL CHECK (tipo_interacao IN ('EMAIL', 'TELEFONE', 'WHATSAPP', 'FORM_SUBMIT', 'SITE_VISIT', 'NOTA_INTERNA')),
+    descricao TEXT NOT NULL,
+    dados_extras JSONB,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    data_agendada TIMESTAMP,
+    CONSTRAINT pk_interacao_cliente PRIMARY KEY (id_interacao, created_at),
+    CONSTRAINT fk_interacao_cliente FOREIGN KEY (id_cliente) REFERENCES tb_cliente(id_cliente) ON DELETE CASCADE,
+    CONSTRAINT fk_interacao_usuario FOREIGN KEY (id_usuario) REFERENCES tb_usuario(id_usuario) ON DELETE SET NULL
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE tb_interacao_cliente_id_interacao_seq OWNED BY tb_interacao_cliente.id_interacao;
+
+CREATE TABLE tb_interacao_cliente_padrao PARTITION OF tb_interacao_cliente DEFAULT;
+
+-- Meses com interações até três meses à frente
+SELECT criar_particoes_interacao(
+    COALESCE((SELECT MIN(created_at) FROM tb_interacao_cliente_legado), CURRENT_TIMESTAMP)::DATE,
+    (date_trunc('month', CURRENT_DATE) + INTERVAL '4 months')::DATE);
+
+INSERT INTO tb_interacao_cliente (id_interacao, id_cliente, id_usuario, tipo_interacao, descricao,
+                                  dados_extras, created_at, data_agendada)
+SELECT id_interacao, id_cliente, id_usuario, tipo_interacao, descricao,
+       dados_extras, COALESCE(created_at, CURRENT_TIMESTAMP), data_agendada
+FROM tb_interacao_cliente_legado;
+
+DROP TABLE tb_interacao_cliente_legado;
+
+-- Interações arquivadas voltam para a tabela particionada na restauração
+UPDATE tb_interacao_cliente_arquivo SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE tb_interacao_cliente_arquivo ALTER COLUMN created_at SET NOT NULL;
+
+-- =================================================
+-- ÍNDICES (criados em cada partição)
+-- =================================================
+
+CREATE INDEX IF NOT EXISTS idx_interacao_cliente_data ON tb_interacao_cliente(id_cliente, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_interacao_created ON tb_interacao_cliente(created_at DESC, id_interacao DESC);
+CREATE INDEX IF NOT EXISTS idx_interacao_tipo_created ON tb_interacao_cliente(tipo_interacao, created_at DESC, id_interacao DESC);
+CREATE INDEX IF NOT EXISTS idx_interacao_usuario_created ON tb_interacao_cliente(id_usuario, created_at DESC, id_interacao DESC);
+CREATE INDEX IF NOT EXISTS idx_interacao_data_agendada
+    ON tb_interacao_cliente(data_agendada)
+    WHERE data_agendada IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_interacao_usuario_data_agendada
+    ON tb_interacao_cliente(id_usuario, data_agendada)
+    WHERE data_agendada IS NOT NULL;
+
+CREATE OR REPLACE VIEW vw_interacao_historico AS
+SELECT id_interacao, id_cliente, tipo_interacao, dados_extras, created_at FROM tb_interacao_cliente
+UNION ALL
+SELECT id_interacao, id_cliente, tipo_interacao, dados_extras, created_at FROM tb_interacao_cliente_arquivo;
+
+ANALYZE tb_interacao_cliente;
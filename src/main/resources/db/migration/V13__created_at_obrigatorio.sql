@@ -0,0 +1,43 @@
+-- =================================================
+-- CREATED_AT OBRIGATÓRIO NAS TABELAS PAGINADAS POR CURSOR
+-- =================================================
+-- A paginação por cursor (V5) ordena por (created_at DESC, id DESC) e parte do
+-- par do último registro lido; linhas com created_at nulo não entram no predicado
+-- de seek e geram cursores inválidos. As linhas antigas sem data recebem a melhor
+-- data disponível e a coluna passa a ser NOT NULL (tb_interacao_cliente já é
+-- desde a V12). As tabelas de arquivo acompanham, pois a restauração copia a
+-- coluna de volta.
+
+-- Backfill sem tocar em updated_at
+ALTER TABLE tb_cliente DISABLE TRIGGER update_tb_cliente_updated_at;
+UPDATE tb_cliente
+SET created_at = COALESCE(data_primeiro_contato, updated_at, CURRENT_TIMESTAMP)
+WHERE created_at IS NULL;
+ALTER TABLE tb_cliente ENABLE TRIGGER update_tb_cliente_updated_at;
+
+UPDATE tb_cliente_arquivo
+SET created_at = COALESCE(data_primeiro_contato, updated_at, arquivado_em)
+WHERE created_at IS NULL;
+
+UPDATE tb_cliente_interesse i
+SET created_at = COALESCE((SELECT c.created_at FROM tb_cliente c WHERE c.id_cliente = i.id_cliente), CURRENT_TIMESTAMP)
+WHERE i.created_at IS NULL;
+
+UPDATE tb_cliente_interesse_arquivo i
+SET created_at = COALESCE((SELECT c.created_at FROM tb_cliente_arquivo c WHERE c.id_cliente = i.id_cliente), CURRENT_TIMESTAMP)
+WHERE i.created_at IS NULL;
+
+UPDATE tb_lead_origem o
+SET created_at = COALESCE((SELECT c.created_at FROM tb_cliente c WHERE c.id_cliente = o.id_cliente), CURRENT_TIMESTAMP)
+WHERE o.created_at IS NULL;
+
+UPDATE tb_lead_origem_arquivo o
+SET created_at = COALESCE((SELECT c.created_at FROM tb_cliente_arquivo c WHERE c.id_cliente = o.id_cliente), CURRENT_TIMESTAMP)
+WHERE o.created_at IS NULL;
+
+ALTER TABLE tb_cliente ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE tb_cliente_arquivo ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE tb_cliente_interesse ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE tb_cliente_interesse_arquivo ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE tb_lead_origem ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE tb_lead_origem_arquivo ALTER COLUMN created_at SET NOT NULL;
@@ -0,0 +1,16 @@
+-- =================================================
+-- BLOCOS DE IDS NOS INSERTS NATIVOS DE INTERAÇÕES
+-- =================================================
+-- Com INCREMENT BY 50 (V11), o DEFAULT nextval de tb_interacao_cliente (V12)
+-- consome um bloco inteiro de 50 IDs por linha. Os INSERTs nativos da aplicação
+-- (notas da alteração de status em lote) passam a informar o ID: um nextval por
+-- bloco de 50 linhas, usando os IDs de (valor - 49) a valor, como o otimizador
+-- pooled do Hibernate. O DEFAULT continua valendo para cargas manuais, com o
+-- mesmo consumo de um bloco por linha.
+--
+-- Em uma base nova a sequência ainda não foi chamada e o primeiro nextval
+-- retorna 1, cujo bloco teria IDs negativos. A sequência é adiantada para o
+-- fim do primeiro bloco; em bases com interações o valor atual é mantido.
+
+SELECT setval('tb_interacao_cliente_id_interacao_seq', GREATEST(last_value, 50))
+FROM tb_interacao_cliente_id_interacao_seq;
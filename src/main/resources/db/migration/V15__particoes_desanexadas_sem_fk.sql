@@ -0,0 +1,63 @@
+-- =================================================
+-- PARTIÇÕES DESANEXADAS SEM CHAVES ESTRANGEIRAS
+-- =================================================
+-- Ao desanexar uma partição (V12, retenção DESANEXAR), a tabela avulsa mantém as
+-- chaves estrangeiras herdadas da tabela particionada. Com fk_interacao_cliente
+-- (ON DELETE CASCADE), remover um cliente depois (arquivamento, mesclagem de
+-- duplicados) apagava também o histórico guardado na tabela desanexada, e
+-- fk_interacao_usuario (ON DELETE SET NULL) reescrevia o responsável.
+--
+-- remover_particoes_interacao passa a remover as chaves estrangeiras de cada
+-- partição logo após desanexá-la; as tabelas desanexadas antes desta migração
+-- também perdem as suas. O histórico guardado fica congelado como foi desanexado.
+
+-- Remove as chaves estrangeiras de uma partição desanexada.
+CREATE OR REPLACE FUNCTION remover_fks_particao_desanexada(p_nome TEXT) RETURNS VOID AS $$
+DECLARE
+    v_constraint TEXT;
+BEGIN
+    FOR v_constraint IN
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = p_nome::REGCLASS AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', p_nome, v_constraint);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION remover_particoes_interacao(p_corte DATE, p_remover BOOLEAN) RETURNS SETOF TEXT AS $$
+DECLARE
+    v_nome TEXT;
+BEGIN
+    -- DETACH bloqueia a tabela pai: desiste em vez de enfileirar as consultas atrás dele
+    PERFORM set_config('lock_timeout', '5s', true);
+    FOR v_nome IN
+        SELECT c.relname
+        FROM pg_inherits h
+        JOIN pg_class c ON c.oid = h.inhrelid
+        WHERE h.inhparent = 'tb_interacao_cliente'::REGCLASS
+          AND c.relname ~ '^tb_interacao_cliente_p[0-9]{6}$'
+          AND to_date(right(c.relname, 6), 'YYYYMM') + INTERVAL '1 month' <= p_corte
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE tb_interacao_cliente DETACH PARTITION %I', v_nome);
+        IF p_remover THEN
+            EXECUTE format('DROP TABLE %I', v_nome);
+        ELSE
+            PERFORM remover_fks_particao_desanexada(v_nome);
+        END IF;
+        RETURN NEXT v_nome;
+    END LOOP;
+    IF p_remover THEN
+        DELETE FROM tb_interacao_cliente_padrao WHERE created_at < p_corte;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partições desanexadas antes desta migração
+SELECT remover_fks_particao_desanexada(c.relname)
+FROM pg_class c
+WHERE c.relkind = 'r'
+  AND c.relnamespace = (SELECT n.oid FROM pg_namespace n WHERE n.nspname = current_schema())
+  AND c.relname ~ '^tb_interacao_cliente_p[0-9]{6}$'
+  AND NOT EXISTS (SELECT 1 FROM pg_inherits h WHERE h.inhrelid = c.oid);
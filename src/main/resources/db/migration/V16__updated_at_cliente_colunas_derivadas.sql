@@ -0,0 +1,26 @@
+-- =================================================
+-- UPDATED_AT DE TB_CLIENTE: COLUNAS DERIVADAS
+-- =================================================
+-- A lista de colunas derivadas da V8 não incluía documento_busca (V6). Por ser uma
+-- coluna gerada, ela é NULL em NEW dentro do gatilho BEFORE, então NEW sempre diferia
+-- de OLD e todo UPDATE atualizava updated_at, inclusive o recálculo diário do score.
+-- Com isso os leads perdidos nunca ficavam sem atividade e não eram arquivados (V10).
+--
+-- data_ultima_interacao também passa a ser derivada: é atualizada a cada interação
+-- (ClienteRepository.avancarUltimaInteracao) e o arquivamento já a considera ao lado
+-- de updated_at. Os valores de updated_at atualizados indevidamente não são recuperáveis.
+
+CREATE OR REPLACE FUNCTION update_cliente_updated_at_column()
+RETURNS TRIGGER AS $$
+DECLARE
+    derivadas TEXT[] := ARRAY['updated_at', 'documento_busca', 'data_ultima_interacao',
+                              'score_lead', 'score_engajamento', 'score_interesse',
+                              'score_calculado_em', 'id_usuario_responsavel',
+                              'dedup_telefone', 'dedup_email', 'dedup_nome', 'dedup_versao'];
+BEGIN
+    IF (to_jsonb(NEW) - derivadas) IS DISTINCT FROM (to_jsonb(OLD) - derivadas) THEN
+        NEW.updated_at = CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
@@ -0,0 +1,71 @@
+-- =================================================
+-- ROLLUP DIÁRIO PARA SÉRIES TEMPORAIS DO DASHBOARD
+-- =================================================
+-- Uma linha por (dia, métrica, status, origem, tipo de interação).
+-- Dimensões que não se aplicam à métrica ficam como '' (string vazia),
+-- para que a chave primária funcione como alvo do UPSERT.
+--
+-- Métricas:
+--   LEAD_CRIADO    - leads cadastrados no dia (por origem)
+--   ENTRADA_STATUS - leads que entraram em um status no dia (cadastro ou mudança)
+--   INTERACAO      - interações registradas no dia (por tipo e origem do lead)
+
+CREATE TABLE IF NOT EXISTS tb_rollup_diario (
+    data DATE NOT NULL,
+    metrica VARCHAR(30) NOT NULL CHECK (metrica IN ('LEAD_CRIADO', 'ENTRADA_STATUS', 'INTERACAO')),
+    status_lead VARCHAR(30) NOT NULL DEFAULT '',
+    origem_lead VARCHAR(30) NOT NULL DEFAULT '',
+    tipo_interacao VARCHAR(30) NOT NULL DEFAULT '',
+    total BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_rollup_diario PRIMARY KEY (data, metrica, status_lead, origem_lead, tipo_interacao)
+);
+
+-- =================================================
+-- BACKFILL A PARTIR DOS DADOS EXISTENTES
+-- =================================================
+
+INSERT INTO tb_rollup_diario (data, metrica, status_lead, origem_lead, tipo_interacao, total)
+SELECT CAST(c.created_at AS DATE), 'LEAD_CRIADO', '', c.origem_lead, '', COUNT(*)
+FROM tb_cliente c
+WHERE c.created_at IS NOT NULL
+GROUP BY CAST(c.created_at AS DATE), c.origem_lead
+ON CONFLICT (data, metrica, status_lead, origem_lead, tipo_interacao)
+DO UPDATE SET total = EXCLUDED.total;
+
+-- Status inicial: o status anterior da primeira mudança registrada ou, se não houve mudança, o atual
+INSERT INTO tb_rollup_diario (data, metrica, status_lead, origem_lead, tipo_interacao, total)
+SELECT CAST(c.created_at AS DATE), 'ENTRADA_STATUS', COALESCE(primeira.status_anterior, c.status_lead, 'NOVO'), c.origem_lead, '', COUNT(*)
+FROM tb_cliente c
+LEFT JOIN LATERAL (
+    SELECT i.dados_extras ->> 'statusAnterior' AS status_anterior
+    FROM tb_interacao_cliente i
+    WHERE i.id_cliente = c.id_cliente
+      AND i.dados_extras ->> 'statusAnterior' IS NOT NULL
+    ORDER BY i.created_at
+    LIMIT 1
+) primeira ON true
+WHERE c.created_at IS NOT NULL
+GROUP BY CAST(c.created_at AS DATE), COALESCE(primeira.status_anterior, c.status_lead, 'NOVO'), c.origem_lead
+ON CONFLICT (data, metrica, status_lead, origem_lead, tipo_interacao)
+DO UPDATE SET total = tb_rollup_diario.total + EXCLUDED.total;
+
+-- Mudanças de status registradas automaticamente como NOTA_INTERNA
+INSERT INTO tb_rollup_diario (data, metrica, status_lead, origem_lead, tipo_interacao, total)
+SELECT CAST(i.created_at AS DATE), 'ENTRADA_STATUS', i.dados_extras ->> 'novoStatus', c.origem_lead, '', COUNT(*)
+FROM tb_interacao_cliente i
+JOIN tb_cliente c ON c.id_cliente = i.id_cliente
+WHERE i.tipo_interacao = 'NOTA_INTERNA'
+  AND i.dados_extras ->> 'novoStatus' IS NOT NULL
+  AND i.created_at IS NOT NULL
+GROUP BY CAST(i.created_at AS DATE), i.dados_extras ->> 'novoStatus', c.origem_lead
+ON CONFLICT (data, metrica, status_lead, origem_lead, tipo_interacao)
+DO UPDATE SET total = tb_rollup_diario.total + EXCLUDED.total;
+
+INSERT INTO tb_rollup_diario (data, metrica, status_lead, origem_lead, tipo_interacao, total)
+SELECT CAST(i.created_at AS DATE), 'INTERACAO', '', c.origem_lead, i.tipo_interacao, COUNT(*)
+FROM tb_interacao_cliente i
+JOIN tb_cliente c ON c.id_cliente = i.id_cliente
+WHERE i.created_at IS NOT NULL
+GROUP BY CAST(i.created_at AS DATE), c.origem_lead, i.tipo_interacao
+ON CONFLICT (data, metrica, status_lead, origem_lead, tipo_interacao)
+DO UPDATE SET total = EXCLUDED.total;
@@ -0,0 +1,22 @@
+-- =================================================
+-- DATA AGENDADA DAS INTERAÇÕES (PRÓXIMAS INTERAÇÕES)
+-- =================================================
+-- Promove dados_extras->>'dataAgendada' para uma coluna indexada,
+-- mantida pela aplicação a cada gravação da interação.
+
+ALTER TABLE tb_interacao_cliente ADD COLUMN IF NOT EXISTS data_agendada TIMESTAMP;
+
+-- Backfill: apenas valores no formato ISO (yyyy-MM-ddTHH:mm[:ss[.fff]]); os demais ficam sem agendamento
+UPDATE tb_interacao_cliente
+SET data_agendada = CAST(dados_extras ->> 'dataAgendada' AS TIMESTAMP)
+WHERE dados_extras ->> 'dataAgendada' ~ '^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}(:[0-9]{2}(\.[0-9]+)?)?$';
+
+-- Próximas interações do dashboard: range scan em data_agendada com LIMIT
+CREATE INDEX IF NOT EXISTS idx_interacao_data_agendada
+    ON tb_interacao_cliente(data_agendada)
+    WHERE data_agendada IS NOT NULL;
+
+-- Agenda por vendedor: range scan em (id_usuario, data_agendada) com LIMIT
+CREATE INDEX IF NOT EXISTS idx_interacao_usuario_data_agendada
+    ON tb_interacao_cliente(id_usuario, data_agendada)
+    WHERE data_agendada IS NOT NULL;
@@ -0,0 +1,18 @@
+-- =================================================
+-- ÍNDICES PARA O FILTRO DINÂMICO DE CLIENTES
+-- =================================================
+-- O filtro combina status, origem, período de cadastro e categoria de interesse,
+-- ordenando por created_at. Os índices compostos atendem filtro + ordenação;
+-- combinações de status e origem usam BitmapAnd entre eles.
+
+-- Os índices simples de status e origem passam a ser prefixo dos compostos
+DROP INDEX IF EXISTS idx_cliente_status_lead;
+DROP INDEX IF EXISTS idx_cliente_origem_lead;
+
+CREATE INDEX IF NOT EXISTS idx_cliente_status_created ON tb_cliente(status_lead, created_at DESC, id_cliente DESC);
+CREATE INDEX IF NOT EXISTS idx_cliente_origem_created ON tb_cliente(origem_lead, created_at DESC, id_cliente DESC);
+CREATE INDEX IF NOT EXISTS idx_cliente_created ON tb_cliente(created_at DESC, id_cliente DESC);
+
+-- Categoria de interesse: produtos por categoria -> interesses por produto
+CREATE INDEX IF NOT EXISTS idx_produto_categoria ON tb_produto(categoria);
+CREATE INDEX IF NOT EXISTS idx_cliente_interesse_produto ON tb_cliente_interesse(id_produto, id_cliente);
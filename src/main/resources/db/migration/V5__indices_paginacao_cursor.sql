@@ -0,0 +1,15 @@
+-- =================================================
+-- ÍNDICES PARA PAGINAÇÃO POR CURSOR (KEYSET)
+-- =================================================
+-- As listagens por cursor ordenam por (created_at DESC, id DESC) e partem
+-- do último registro lido. Cada índice termina nesse par para que a página
+-- seja um range scan de tamanho fixo, independente da profundidade.
+-- tb_cliente já possui os índices equivalentes (V4).
+
+CREATE INDEX IF NOT EXISTS idx_interacao_created ON tb_interacao_cliente(created_at DESC, id_interacao DESC);
+CREATE INDEX IF NOT EXISTS idx_interacao_tipo_created ON tb_interacao_cliente(tipo_interacao, created_at DESC, id_interacao DESC);
+CREATE INDEX IF NOT EXISTS idx_interacao_usuario_created ON tb_interacao_cliente(id_usuario, created_at DESC, id_interacao DESC);
+
+CREATE INDEX IF NOT EXISTS idx_cliente_interesse_created ON tb_cliente_interesse(created_at DESC, id_interesse DESC);
+
+CREATE INDEX IF NOT EXISTS idx_lead_origem_created ON tb_lead_origem(created_at DESC, id_lead_origem DESC);
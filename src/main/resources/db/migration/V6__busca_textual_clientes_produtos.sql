@@ -0,0 +1,39 @@
+-- =================================================
+-- BUSCA TEXTUAL DE CLIENTES E PRODUTOS
+-- =================================================
+-- ILIKE '%termo%' sobre colunas sem índice faz varredura completa da tabela.
+-- A busca passa a usar:
+--   * pg_trgm: índices GIN de trigramas para substring (LIKE) e similaridade (%)
+--   * tsvector: documento de palavras para busca por termos com ranking
+--   * unaccent: "joao" encontra "João"
+-- unaccent() é STABLE e não pode ser usada em índices; f_unaccent fixa o
+-- dicionário e é declarada IMMUTABLE para permitir índices de expressão.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE OR REPLACE FUNCTION f_unaccent(texto TEXT)
+RETURNS TEXT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, texto) $$;
+
+-- Documento de busca do cliente, mantido pelo próprio banco
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS documento_busca TSVECTOR
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', f_unaccent(lower(coalesce(nome, '')))), 'A') ||
+        setweight(to_tsvector('simple', f_unaccent(lower(coalesce(empresa, '')))), 'B') ||
+        setweight(to_tsvector('simple', lower(coalesce(email, ''))), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_cliente_documento_busca ON tb_cliente USING GIN (documento_busca);
+
+-- Substring e similaridade sem acento
+CREATE INDEX IF NOT EXISTS idx_cliente_nome_trgm ON tb_cliente USING GIN (f_unaccent(lower(nome)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_cliente_empresa_trgm ON tb_cliente USING GIN (f_unaccent(lower(empresa)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_cliente_email_trgm ON tb_cliente USING GIN (lower(email) gin_trgm_ops);
+
+-- Telefone comparado apenas pelos dígitos: "(11) 9999-0000" encontra "119999"
+CREATE INDEX IF NOT EXISTS idx_cliente_telefone_trgm ON tb_cliente
+    USING GIN (regexp_replace(telefone, '\D', '', 'g') gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_produto_nome_trgm ON tb_produto USING GIN (f_unaccent(lower(nome)) gin_trgm_ops);
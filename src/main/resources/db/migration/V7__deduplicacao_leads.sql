@@ -0,0 +1,45 @@
+-- =================================================
+-- DETECÇÃO DE LEADS DUPLICADOS
+-- =================================================
+-- Comparar todos os pares de leads é O(n²). Cada lead recebe chaves de
+-- blocagem (telefone, parte local do email, código fonético de nome e empresa)
+-- e só leads que compartilham uma chave são comparados.
+--
+-- As chaves são calculadas pela aplicação (ChavesDeduplicacao); dedup_versao
+-- registra a versão das regras. Linhas sem chave ou com versão antiga são
+-- preenchidas pela varredura noturna.
+
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS dedup_telefone VARCHAR(20);
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS dedup_email VARCHAR(255);
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS dedup_nome VARCHAR(30);
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS dedup_versao SMALLINT;
+
+-- Blocos: GROUP BY ordenado pelo índice e busca dos candidatos de um novo lead
+CREATE INDEX IF NOT EXISTS idx_cliente_dedup_telefone ON tb_cliente(dedup_telefone) WHERE dedup_telefone IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_cliente_dedup_email ON tb_cliente(dedup_email) WHERE dedup_email IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_cliente_dedup_nome ON tb_cliente(dedup_nome) WHERE dedup_nome IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_cliente_dedup_versao ON tb_cliente(dedup_versao, id_cliente);
+
+-- =================================================
+-- PARES CANDIDATOS
+-- =================================================
+-- Um par por (menor ID, maior ID). grupo é o menor ID do conjunto de leads
+-- ligados entre si por pares pendentes; pares descartados por um usuário
+-- não voltam a ser sugeridos.
+
+CREATE TABLE IF NOT EXISTS tb_cliente_duplicata (
+    id_cliente_a BIGINT NOT NULL,
+    id_cliente_b BIGINT NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    motivo VARCHAR(20) NOT NULL CHECK (motivo IN ('TELEFONE', 'EMAIL', 'NOME_EMPRESA')),
+    grupo BIGINT NOT NULL,
+    descartada BOOLEAN NOT NULL DEFAULT false,
+    detectado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_cliente_duplicata PRIMARY KEY (id_cliente_a, id_cliente_b),
+    CONSTRAINT ck_cliente_duplicata_ordem CHECK (id_cliente_a < id_cliente_b),
+    CONSTRAINT fk_duplicata_cliente_a FOREIGN KEY (id_cliente_a) REFERENCES tb_cliente(id_cliente) ON DELETE CASCADE,
+    CONSTRAINT fk_duplicata_cliente_b FOREIGN KEY (id_cliente_b) REFERENCES tb_cliente(id_cliente) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_duplicata_cliente_b ON tb_cliente_duplicata(id_cliente_b);
+CREATE INDEX IF NOT EXISTS idx_duplicata_grupo_pendente ON tb_cliente_duplicata(grupo) WHERE NOT descartada;
@@ -0,0 +1,62 @@
+-- =================================================
+-- LEAD SCORE
+-- =================================================
+-- Pontuação de 0 a 100 mantida pela aplicação (LeadScoreService):
+--   score_engajamento - soma das interações ponderada por tipo, com decaimento
+--                       exponencial, válida no instante score_calculado_em
+--   score_interesse   - soma dos interesses ponderada por nível e preço do produto
+--   score_lead        - pontuação final (engajamento + interesse + status)
+-- id_usuario_responsavel é o último usuário que registrou interação com o lead.
+
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS score_lead DOUBLE PRECISION NOT NULL DEFAULT 0;
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS score_engajamento DOUBLE PRECISION NOT NULL DEFAULT 0;
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS score_interesse DOUBLE PRECISION NOT NULL DEFAULT 0;
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS score_calculado_em TIMESTAMP;
+ALTER TABLE tb_cliente ADD COLUMN IF NOT EXISTS id_usuario_responsavel BIGINT;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_cliente_usuario_responsavel') THEN
+        ALTER TABLE tb_cliente ADD CONSTRAINT fk_cliente_usuario_responsavel
+            FOREIGN KEY (id_usuario_responsavel) REFERENCES tb_usuario(id_usuario) ON DELETE SET NULL;
+    END IF;
+END $$;
+
+UPDATE tb_cliente c SET id_usuario_responsavel = ultima.id_usuario
+FROM (
+    SELECT DISTINCT ON (i.id_cliente) i.id_cliente, i.id_usuario
+    FROM tb_interacao_cliente i
+    WHERE i.id_usuario IS NOT NULL
+    ORDER BY i.id_cliente, i.created_at DESC
+) ultima
+WHERE ultima.id_cliente = c.id_cliente;
+
+-- Ranking geral e por responsável, apenas leads em aberto
+CREATE INDEX IF NOT EXISTS idx_cliente_score_ativos ON tb_cliente(score_lead DESC, id_cliente DESC)
+    WHERE status_lead IN ('NOVO', 'CONTATADO', 'QUALIFICADO', 'OPORTUNIDADE');
+CREATE INDEX IF NOT EXISTS idx_cliente_responsavel_score ON tb_cliente(id_usuario_responsavel, score_lead DESC, id_cliente DESC)
+    WHERE status_lead IN ('NOVO', 'CONTATADO', 'QUALIFICADO', 'OPORTUNIDADE');
+
+-- =================================================
+-- UPDATED_AT DE TB_CLIENTE
+-- =================================================
+-- Colunas derivadas (score, responsável e chaves de deduplicação) são recalculadas
+-- com frequência e não representam alteração do cadastro; não atualizam updated_at.
+
+CREATE OR REPLACE FUNCTION update_cliente_updated_at_column()
+RETURNS TRIGGER AS $$
+DECLARE
+    derivadas TEXT[] := ARRAY['updated_at', 'score_lead', 'score_engajamento', 'score_interesse',
+                              'score_calculado_em', 'id_usuario_responsavel',
+                              'dedup_telefone', 'dedup_email', 'dedup_nome', 'dedup_versao'];
+BEGIN
+    IF (to_jsonb(NEW) - derivadas) IS DISTINCT FROM (to_jsonb(OLD) - derivadas) THEN
+        NEW.updated_at = CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS update_tb_cliente_updated_at ON tb_cliente;
+CREATE TRIGGER update_tb_cliente_updated_at BEFORE UPDATE ON tb_cliente
+    FOR EACH ROW EXECUTE FUNCTION update_cliente_updated_at_column();
@@ -0,0 +1,10 @@
+-- =================================================
+-- ÍNDICE DAS FILAS DE ACOMPANHAMENTO DE LEADS
+-- =================================================
+-- Follow-up e leads quentes do dia filtram por status e por período da última
+-- interação, paginando por (data_ultima_interacao, id_cliente) dentro de cada status.
+-- Cada status é lido como um range contínuo do índice, sem sort; NULLS LAST (padrão)
+-- mantém os leads sem interação no fim de cada status, lidos por IS NULL.
+
+CREATE INDEX IF NOT EXISTS idx_cliente_status_ultima_interacao
+    ON tb_cliente(status_lead, data_ultima_interacao, id_cliente);
@@ -0,0 +1,162 @@
+package com.nakacorp.backend.controller;
+
+import com.nakacorp.backend.support.ComandosSql;
+import com.nakacorp.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Quantidade exata de comandos SQL de cada endpoint de listagem e detalhe.
+ * <p>
+ * Cada endpoint é chamado, a base ganha mais registros em todas as listagens e o
+ * endpoint é chamado de novo: as duas contagens devem ser iguais à esperada. Um N+1
+ * (associação carregada por linha) muda a contagem com o volume e falha o teste.
+ * Listagens paginadas contam a consulta e o COUNT; as demais, uma consulta.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConsultasPorEndpointIT extends PostgresIntegrationTest {
+
+    private static final int TAMANHO_PAGINA = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long usuarioId;
+    private Long clienteId;
+    private Long produtoId;
+    private Long interacaoId;
+    private Long interesseId;
+    private int rodadas;
+
+    @BeforeAll
+    void popularBase() {
+        usuarioId = jdbcTemplate.queryForObject("INSERT INTO tb_usuario (nome, email, senha_hash, tipo_usuario) " +
+                "VALUES ('Vendedor contagem', 'contagem@teste.com', 'x', 'VENDEDOR') RETURNING id_usuario", Long.class);
+        clienteId = jdbcTemplate.queryForObject("INSERT INTO tb_cliente (nome, email, origem_lead, status_lead) " +
+                "VALUES ('Cliente contagem', 'contagem-cliente@teste.com', 'MANUAL', 'NOVO') RETURNING id_cliente", Long.class);
+        produtoId = jdbcTemplate.queryForObject("INSERT INTO tb_produto (nome, categoria, preco) " +
+                "VALUES ('Produto contagem', 'Contagem', 10) RETURNING id_produto", Long.class);
+        ampliar(10);
+        interacaoId = jdbcTemplate.queryForObject("SELECT MIN(id_interacao) FROM tb_interacao_cliente " +
+                "WHERE id_cliente = ?", Long.class, clienteId);
+        interesseId = jdbcTemplate.queryForObject("SELECT MIN(id_interesse) FROM tb_cliente_interesse " +
+                "WHERE id_cliente = ?", Long.class, clienteId);
+    }
+
+    /**
+     * Endpoint (com marcadores de ID) e quantidade esperada de comandos.
+     */
+    static Stream<Arguments> endpoints() {
+        String periodo = "inicio=" + LocalDateTime.now().minusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                + "&fim=" + LocalDateTime.now().plusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        return Stream.of(
+                Arguments.of("/clientes?size=" + TAMANHO_PAGINA, 2),
+                Arguments.of("/clientes/scroll?size=" + TAMANHO_PAGINA, 1),
+                Arguments.of("/clientes/scroll?incluirTotal=true&size=" + TAMANHO_PAGINA, 2),
+                Arguments.of("/clientes/status/NOVO?size=" + TAMANHO_PAGINA, 1),
+                Arguments.of("/clientes/{cliente}", 1),
+                Arguments.of("/interacoes?size=" + TAMANHO_PAGINA, 2),
+                Arguments.of("/interacoes/scroll?size=" + TAMANHO_PAGINA, 1),
+                Arguments.of("/interacoes/usuario/{usuario}?size=" + TAMANHO_PAGINA, 1),
+                Arguments.of("/interacoes/tipo/NOTA_INTERNA?size=" + TAMANHO_PAGINA, 1),
+                Arguments.of("/interacoes/periodo?size=" + TAMANHO_PAGINA + "&" + periodo, 1),
+                Arguments.of("/interacoes/cliente/{cliente}/timeline", 1),
+                Arguments.of("/interacoes/usuario/{usuario}/agenda?limite=100", 1),
+                Arguments.of("/interacoes/{interacao}", 1),
+                Arguments.of("/cliente-interesses?size=" + TAMANHO_PAGINA, 2),
+                Arguments.of("/cliente-interesses/scroll?size=" + TAMANHO_PAGINA, 1),
+                Arguments.of("/cliente-interesses/cliente/{cliente}", 1),
+                Arguments.of("/cliente-interesses/produto/{produto}", 1),
+                Arguments.of("/cliente-interesses/nivel/ALTO", 1),
+                Arguments.of("/cliente-interesses/interesse-alto", 1),
+                Arguments.of("/cliente-interesses/cliente/{cliente}/produto/{produto}", 1),
+                Arguments.of("/cliente-interesses/{interesse}", 1),
+                Arguments.of("/csv/export/interacoes", 1));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void quantidadeDeComandosNaoDependeDoVolume(String endpoint, int esperado) {
+        String url = resolver(endpoint);
+
+        List<ComandosSql.Comando> antes = chamar(url);
+        ampliar(20);
+        List<ComandosSql.Comando> depois = chamar(url);
+
+        assertThat(antes).as("comandos de %s", url).hasSize(esperado);
+        assertThat(depois).as("comandos de %s com mais registros", url).hasSize(esperado);
+    }
+
+    private List<ComandosSql.Comando> chamar(String url) {
+        return ComandosSql.capturar(() -> {
+            try {
+                mockMvc.perform(get(url)).andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException("Falha ao chamar " + url, e);
+            }
+        });
+    }
+
+    private String resolver(String endpoint) {
+        String url = endpoint;
+        for (Map.Entry<String, Long> id : Map.of("{usuario}", usuarioId, "{cliente}", clienteId,
+                "{produto}", produtoId, "{interacao}", interacaoId, "{interesse}", interesseId).entrySet()) {
+            url = url.replace(id.getKey(), id.getValue().toString());
+        }
+        return url;
+    }
+
+    /**
+     * Acrescenta registros a todas as listagens testadas: clientes novos com interesse
+     * no produto base e uma interação cada, e produtos novos com interesse e interações
+     * do cliente base, todos atribuídos ao usuário base e agendados para o futuro.
+     */
+    private void ampliar(int quantidade) {
+        String marca = "contagem" + (++rodadas) + "-";
+        jdbcTemplate.update("INSERT INTO tb_produto (nome, categoria, preco) " +
+                "SELECT ? || g, 'Contagem', 10 FROM generate_series(1, ?) g", marca, quantidade);
+        jdbcTemplate.update("INSERT INTO tb_cliente (nome, email, origem_lead, status_lead) " +
+                "SELECT 'Cliente ' || ? || g, ? || g || '@teste.com', 'MANUAL', 'NOVO' " +
+                "FROM generate_series(1, ?) g", marca, marca, quantidade);
+        jdbcTemplate.update("INSERT INTO tb_cliente_interesse (id_cliente, id_produto, nivel_interesse) " +
+                "SELECT id_cliente, ?, 'ALTO' FROM tb_cliente WHERE email LIKE ? || '%'", produtoId, marca);
+        jdbcTemplate.update("INSERT INTO tb_cliente_interesse (id_cliente, id_produto, nivel_interesse) " +
+                "SELECT ?, id_produto, 'ALTO' FROM tb_produto WHERE nome LIKE ? || '%'", clienteId, marca);
+        jdbcTemplate.update("INSERT INTO tb_interacao_cliente " +
+                "(id_cliente, id_usuario, tipo_interacao, descricao, created_at, data_agendada) " +
+                "SELECT id_cliente, ?, 'NOTA_INTERNA', 'Contagem', CURRENT_TIMESTAMP - INTERVAL '1 minute', " +
+                "CURRENT_TIMESTAMP + INTERVAL '1 day' FROM tb_cliente WHERE email LIKE ? || '%' " +
+                "UNION ALL " +
+                "SELECT ?, ?, 'NOTA_INTERNA', 'Contagem', CURRENT_TIMESTAMP - g * INTERVAL '1 minute', " +
+                "CURRENT_TIMESTAMP + g * INTERVAL '1 hour' FROM generate_series(1, ?) g",
+                usuarioId, marca, clienteId, usuarioId, quantidade);
+    }
+}
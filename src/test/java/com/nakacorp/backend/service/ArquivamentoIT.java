@@ -0,0 +1,88 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.support.PostgresIntegrationTest;
+import com.nakacorp.backend.support.RecalculoLeadScore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arquivamento de leads perdidos junto com os jobs que escrevem em {@code tb_cliente}.
+ * <p>
+ * O recálculo diário da pontuação roda antes do arquivamento, como em produção; as
+ * colunas derivadas não podem contar como atividade do lead. O lead restaurado conta
+ * como atividade e não volta ao arquivo na execução seguinte.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+class ArquivamentoIT extends PostgresIntegrationTest {
+
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    @Autowired
+    private LeadScoreService leadScoreService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void perdidoSemAtividadeEArquivadoAposORecalculoDaPontuacao() {
+        Long clienteId = inserirPerdidoAntigo("recalculo");
+
+        RecalculoLeadScore.recalcularTodos(leadScoreService, jdbcTemplate, List.of(clienteId));
+        arquivamentoService.arquivarPerdidos();
+
+        assertThat(arquivado(clienteId)).isTrue();
+        assertThat(ativo(clienteId)).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_interacao_cliente_arquivo " +
+                "WHERE id_cliente = ?", Long.class, clienteId)).isEqualTo(1L);
+    }
+
+    @Test
+    void leadRestauradoNaoVoltaAoArquivoNoProximoArquivamento() {
+        Long clienteId = inserirPerdidoAntigo("restauracao");
+        arquivamentoService.arquivarPerdidos();
+        assertThat(arquivado(clienteId)).isTrue();
+
+        arquivamentoService.restaurar(clienteId);
+        arquivamentoService.arquivarPerdidos();
+
+        assertThat(ativo(clienteId)).isTrue();
+        assertThat(arquivado(clienteId)).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT updated_at FROM tb_cliente WHERE id_cliente = ?",
+                LocalDateTime.class, clienteId)).isAfter(LocalDateTime.now().minusDays(1));
+    }
+
+    /**
+     * Lead perdido com cadastro e última interação de um ano atrás.
+     */
+    private Long inserirPerdidoAntigo(String marca) {
+        LocalDateTime umAnoAtras = LocalDateTime.now().minusYears(1);
+        Long clienteId = jdbcTemplate.queryForObject("INSERT INTO tb_cliente (nome, email, origem_lead, status_lead, " +
+                "data_ultima_interacao, created_at, updated_at) VALUES (?, ?, 'MANUAL', 'PERDIDO', ?, ?, ?) " +
+                "RETURNING id_cliente", Long.class,
+                "Cliente " + marca, marca + "-arquivamento@teste.com", umAnoAtras, umAnoAtras, umAnoAtras);
+        jdbcTemplate.update("INSERT INTO tb_interacao_cliente (id_cliente, tipo_interacao, descricao, created_at) " +
+                "VALUES (?, 'TELEFONE', 'Última ligação', ?)", clienteId, umAnoAtras);
+        return clienteId;
+    }
+
+    private boolean arquivado(Long clienteId) {
+        return jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM tb_cliente_arquivo WHERE id_cliente = ?)",
+                Boolean.class, clienteId);
+    }
+
+    private boolean ativo(Long clienteId) {
+        return jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM tb_cliente WHERE id_cliente = ?)",
+                Boolean.class, clienteId);
+    }
+}
@@ -0,0 +1,192 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.dto.res.AutocompleteSugestaoDto;
+import com.nakacorp.backend.model.Cliente;
+import com.nakacorp.backend.repository.ClienteRepository;
+import com.nakacorp.backend.repository.projection.ClienteNomeEmpresa;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Índice de autocomplete em memória: prefixos normalizados, alterações aplicadas após
+ * o commit, compactação das pendências e limite de clientes indexados.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+class ClienteAutocompleteIndexTest {
+
+    private static final int LIMITE = 10;
+
+    private ClienteRepository clienteRepository;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void criarDependencias() {
+        clienteRepository = mock(ClienteRepository.class);
+        // Compactações rodam na própria thread do teste
+        executor = mock(ExecutorService.class);
+        doAnswer(invocacao -> {
+            invocacao.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @AfterEach
+    void limparTransacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void buscaPorPrefixoDeQualquerPalavraIgnorandoMaiusculasEAcentos() {
+        ClienteAutocompleteIndex indice = indice(100, 100,
+                linha(1L, "João Silva", "Padaria Pão Quente"),
+                linha(2L, "Maria Souza", null));
+
+        assertThat(ids(indice.buscar("JOAO", LIMITE))).containsExactly(1L);
+        assertThat(ids(indice.buscar("sil", LIMITE))).containsExactly(1L);
+        assertThat(ids(indice.buscar("pão q", LIMITE))).containsExactly(1L);
+        assertThat(ids(indice.buscar("  souza ", LIMITE))).containsExactly(2L);
+        assertThat(indice.buscar("ilva", LIMITE)).isEmpty();
+        assertThat(indice.buscar("", LIMITE)).isEmpty();
+    }
+
+    @Test
+    void inclusaoAparecePrimeiroNasSugestoes() {
+        ClienteAutocompleteIndex indice = indice(100, 100, linha(1L, "Carlos Lima", "Acme"));
+
+        indice.registrar(cliente(2L, "Carla Dias", "Beta"));
+
+        assertThat(indice.buscar("car", LIMITE))
+                .containsExactly(new AutocompleteSugestaoDto(2L, "Carla Dias", "Beta"),
+                        new AutocompleteSugestaoDto(1L, "Carlos Lima", "Acme"));
+    }
+
+    @Test
+    void alteracaoSoEAplicadaAposOCommit() {
+        ClienteAutocompleteIndex indice = indice(100, 100, linha(1L, "Carlos Lima", "Acme"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        indice.registrar(cliente(2L, "Carla Dias", "Beta"));
+        assertThat(ids(indice.buscar("carla", LIMITE))).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(ids(indice.buscar("carla", LIMITE))).containsExactly(2L);
+    }
+
+    @Test
+    void renomeacaoSubstituiONomeAnterior() {
+        ClienteAutocompleteIndex indice = indice(100, 100, linha(1L, "Carlos Lima", "Acme"));
+
+        indice.registrar(cliente(1L, "Roberto Lima", "Acme"));
+
+        assertThat(indice.buscar("carlos", LIMITE)).isEmpty();
+        assertThat(indice.buscar("rob", LIMITE))
+                .containsExactly(new AutocompleteSugestaoDto(1L, "Roberto Lima", "Acme"));
+        assertThat(ids(indice.buscar("lima", LIMITE))).containsExactly(1L);
+    }
+
+    @Test
+    void remocaoRetiraOClienteDasSugestoes() {
+        ClienteAutocompleteIndex indice = indice(100, 100,
+                linha(1L, "Carlos Lima", "Acme"),
+                linha(2L, "Carla Dias", "Acme"));
+
+        indice.remover(1L);
+
+        assertThat(ids(indice.buscar("car", LIMITE))).containsExactly(2L);
+        assertThat(ids(indice.buscar("acme", LIMITE))).containsExactly(2L);
+    }
+
+    @Test
+    void compactacaoIncorporaAsPendenciasAoSnapshot() {
+        ClienteAutocompleteIndex indice = indice(100, 0,
+                linha(1L, "Carlos Lima", "Acme"),
+                linha(2L, "Carla Dias", "Acme"));
+
+        indice.registrar(cliente(3L, "Caio Nunes", null));
+        indice.registrar(cliente(1L, "Roberto Lima", "Acme"));
+        indice.remover(2L);
+
+        assertThat(indice.estatisticas().alteracoesPendentes()).isZero();
+        assertThat(indice.estatisticas().clientes()).isEqualTo(2);
+        assertThat(ids(indice.buscar("ca", LIMITE))).containsExactly(3L);
+        assertThat(ids(indice.buscar("rob", LIMITE))).containsExactly(1L);
+    }
+
+    @Test
+    void carregaNoMaximoMaxClientes() {
+        ClienteAutocompleteIndex indice = indice(2, 100,
+                linha(1L, "Ana Alves", null),
+                linha(2L, "Ana Borges", null),
+                linha(3L, "Ana Castro", null));
+
+        assertThat(indice.estatisticas().clientes()).isEqualTo(2);
+        assertThat(indice.estatisticas().limiteAtingido()).isTrue();
+        assertThat(ids(indice.buscar("ana", LIMITE))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void limiteDaBuscaCortaAsSugestoes() {
+        ClienteAutocompleteIndex indice = indice(100, 100,
+                linha(1L, "Ana Alves", null),
+                linha(2L, "Ana Borges", null),
+                linha(3L, "Ana Castro", null));
+
+        assertThat(ids(indice.buscar("ana", 2))).containsExactly(1L, 2L);
+    }
+
+    private ClienteAutocompleteIndex indice(int maxClientes, int maxPendentes, ClienteNomeEmpresa... linhas) {
+        // Um único lote, menor que o tamanho de lote da recarga
+        when(clienteRepository.findNomesAposId(anyLong(), any(Limit.class))).thenReturn(List.of(linhas));
+        ClienteAutocompleteIndex indice = new ClienteAutocompleteIndex(clienteRepository, executor,
+                maxClientes, maxPendentes);
+        indice.recarregar();
+        assertThat(indice.pronto()).isTrue();
+        return indice;
+    }
+
+    private static List<Long> ids(List<AutocompleteSugestaoDto> sugestoes) {
+        return sugestoes.stream().map(AutocompleteSugestaoDto::id).toList();
+    }
+
+    private static Cliente cliente(Long id, String nome, String empresa) {
+        return Cliente.builder().id(id).nome(nome).empresa(empresa).build();
+    }
+
+    private static ClienteNomeEmpresa linha(Long id, String nome, String empresa) {
+        return new ClienteNomeEmpresa() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getNome() {
+                return nome;
+            }
+
+            @Override
+            public String getEmpresa() {
+                return empresa;
+            }
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.dto.res.FilterRequestDto;
+import com.nakacorp.backend.support.ComandosSql;
+import com.nakacorp.backend.support.PlanosExecucao;
+import com.nakacorp.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prova, com {@code EXPLAIN}, que cada combinação de filtros de
+ * {@link ClienteService#findWithFilters} é atendida pelos índices das migrações V4 e V6.
+ * <p>
+ * Os comandos planejados são os gerados pela própria consulta (capturados com os
+ * parâmetros vinculados). O plano de cada comando que lê {@code tb_cliente} não pode
+ * ter Seq Scan na tabela e deve usar ao menos um índice dos filtros informados.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClienteFiltroIndicesIT extends PostgresIntegrationTest {
+
+    private static final int TERMO = 1;
+    private static final int STATUS = 1 << 1;
+    private static final int ORIGEM = 1 << 2;
+    private static final int CATEGORIA = 1 << 3;
+    private static final int DATA_INICIO = 1 << 4;
+    private static final int DATA_FIM = 1 << 5;
+
+    // Índice de ordenação por created_at (V4): atende os filtros de período e a ordem padrão
+    private static final String INDICE_CRIACAO = "idx_cliente_created";
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PlanosExecucao planos;
+
+    @BeforeAll
+    void popularClientes() {
+        planos = new PlanosExecucao(jdbcTemplate, new TransactionTemplate(transactionManager));
+
+        jdbcTemplate.update("INSERT INTO tb_produto (nome, categoria, preco) " +
+                "SELECT 'Produto filtro ' || g, CASE WHEN g % 10 = 0 THEN 'CRM' ELSE 'Categoria ' || (g % 10) END, 100 " +
+                "FROM generate_series(1, 50) g");
+        jdbcTemplate.update("INSERT INTO tb_cliente (nome, email, empresa, origem_lead, status_lead, created_at) " +
+                "SELECT CASE WHEN g % 500 = 0 THEN 'Ana Silvestre ' || g ELSE 'Cliente ' || g END, " +
+                "'filtro' || g || '@teste.com', 'Empresa ' || (g % 300), " +
+                "(ARRAY['GOOGLE_FORMS', 'LANDING_PAGE', 'MANUAL'])[1 + g % 3], " +
+                "(ARRAY['NOVO', 'CONTATADO', 'QUALIFICADO', 'OPORTUNIDADE', 'CLIENTE', 'PERDIDO'])[1 + g % 6], " +
+                "CURRENT_TIMESTAMP - (g % 730) * INTERVAL '1 day' " +
+                "FROM generate_series(1, 20000) g");
+        jdbcTemplate.update("INSERT INTO tb_cliente_interesse (id_cliente, id_produto) " +
+                "SELECT c.id_cliente, p.id_produto FROM tb_cliente c " +
+                "JOIN tb_produto p ON p.nome = 'Produto filtro ' || (1 + c.id_cliente % 50) " +
+                "WHERE c.email LIKE 'filtro%'");
+        jdbcTemplate.execute("ANALYZE tb_cliente");
+        jdbcTemplate.execute("ANALYZE tb_cliente_interesse");
+        jdbcTemplate.execute("ANALYZE tb_produto");
+    }
+
+    /**
+     * Todas as combinações não vazias dos seis filtros.
+     */
+    static Stream<Integer> combinacoes() {
+        return IntStream.range(1, 1 << 6).boxed();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("combinacoes")
+    void filtrosUsamIndices(int combinacao) {
+        LocalDateTime agora = LocalDateTime.now();
+        FilterRequestDto filtro = new FilterRequestDto(
+                tem(combinacao, TERMO) ? "silvestre" : null,
+                tem(combinacao, STATUS) ? List.of("QUALIFICADO") : null,
+                tem(combinacao, ORIGEM) ? List.of("LANDING_PAGE") : null,
+                tem(combinacao, CATEGORIA) ? List.of("CRM") : null,
+                tem(combinacao, DATA_INICIO) ? agora.minusDays(30) : null,
+                tem(combinacao, DATA_FIM) ? agora.minusDays(20) : null,
+                0, 20, null, null);
+
+        List<ComandosSql.Comando> comandos = ComandosSql.capturar(() -> clienteService.findWithFilters(filtro));
+        List<ComandosSql.Comando> consultas = comandos.stream()
+                .filter(comando -> comando.le("tb_cliente"))
+                .toList();
+        assertThat(consultas).as("consultas de %s", descrever(combinacao)).isNotEmpty();
+
+        Set<String> esperados = indicesEsperados(combinacao);
+        for (ComandosSql.Comando consulta : consultas) {
+            String plano = planos.explicarSemSeqScan(consulta);
+            assertThat(plano)
+                    .as("plano de %s:%n%s", descrever(combinacao), plano)
+                    .doesNotContainPattern("Seq Scan on tb_cliente\\b");
+            assertThat(esperados)
+                    .as("índices de %s no plano:%n%s", descrever(combinacao), plano)
+                    .anyMatch(plano::contains);
+        }
+    }
+
+    private static Set<String> indicesEsperados(int combinacao) {
+        Set<String> indices = new LinkedHashSet<>();
+        if (tem(combinacao, TERMO)) {
+            indices.addAll(List.of("idx_cliente_nome_trgm", "idx_cliente_email_trgm", "idx_cliente_empresa_trgm"));
+        }
+        if (tem(combinacao, STATUS)) {
+            indices.add("idx_cliente_status_created");
+        }
+        if (tem(combinacao, ORIGEM)) {
+            indices.add("idx_cliente_origem_created");
+        }
+        if (tem(combinacao, CATEGORIA)) {
+            indices.addAll(List.of("idx_cliente_interesse_produto", "idx_produto_categoria"));
+        }
+        indices.add(INDICE_CRIACAO);
+        return indices;
+    }
+
+    private static String descrever(int combinacao) {
+        List<String> filtros = new ArrayList<>();
+        if (tem(combinacao, TERMO)) filtros.add("searchTerm");
+        if (tem(combinacao, STATUS)) filtros.add("status");
+        if (tem(combinacao, ORIGEM)) filtros.add("origens");
+        if (tem(combinacao, CATEGORIA)) filtros.add("categorias");
+        if (tem(combinacao, DATA_INICIO)) filtros.add("dataInicio");
+        if (tem(combinacao, DATA_FIM)) filtros.add("dataFim");
+        return String.join(" + ", filtros);
+    }
+
+    private static boolean tem(int combinacao, int filtro) {
+        return (combinacao & filtro) != 0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.repository.ClienteRepository;
+import com.nakacorp.backend.support.PostgresIntegrationTest;
+import com.nakacorp.backend.support.RecalculoLeadScore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code updated_at} de {@code tb_cliente} (gatilho da V16): muda com o cadastro e não
+ * muda com as colunas derivadas recalculadas pela aplicação.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+class DataAtualizacaoClienteIT extends PostgresIntegrationTest {
+
+    private static final LocalDateTime ATUALIZADO_EM = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LeadScoreService leadScoreService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void recalculoDaPontuacaoNaoAlteraUpdatedAt() {
+        Long clienteId = inserirCliente("score");
+        jdbcTemplate.update("INSERT INTO tb_interacao_cliente (id_cliente, tipo_interacao, descricao) " +
+                "VALUES (?, 'TELEFONE', 'Engajamento')", clienteId);
+
+        RecalculoLeadScore.recalcularTodos(leadScoreService, jdbcTemplate, List.of(clienteId));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT score_engajamento FROM tb_cliente WHERE id_cliente = ?",
+                Double.class, clienteId)).isPositive();
+        assertThat(updatedAt(clienteId)).isEqualTo(ATUALIZADO_EM);
+    }
+
+    @Test
+    void avancoDaUltimaInteracaoNaoAlteraUpdatedAt() {
+        Long clienteId = inserirCliente("ultima-interacao");
+        LocalDateTime interacao = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+        int atualizados = new TransactionTemplate(transactionManager).execute(status ->
+                clienteRepository.avancarUltimaInteracao(clienteId, interacao));
+
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT data_ultima_interacao FROM tb_cliente WHERE id_cliente = ?",
+                LocalDateTime.class, clienteId)).isEqualTo(interacao);
+        assertThat(updatedAt(clienteId)).isEqualTo(ATUALIZADO_EM);
+    }
+
+    @Test
+    void alteracaoDoCadastroAlteraUpdatedAt() {
+        Long clienteId = inserirCliente("cadastro");
+
+        jdbcTemplate.update("UPDATE tb_cliente SET empresa = 'Empresa nova' WHERE id_cliente = ?", clienteId);
+
+        assertThat(updatedAt(clienteId)).isAfter(ATUALIZADO_EM);
+    }
+
+    private Long inserirCliente(String marca) {
+        return jdbcTemplate.queryForObject("INSERT INTO tb_cliente (nome, email, origem_lead, status_lead, " +
+                "created_at, updated_at) VALUES (?, ?, 'MANUAL', 'QUALIFICADO', ?, ?) RETURNING id_cliente", Long.class,
+                "Cliente " + marca, marca + "-atualizacao@teste.com", ATUALIZADO_EM, ATUALIZADO_EM);
+    }
+
+    private LocalDateTime updatedAt(Long clienteId) {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM tb_cliente WHERE id_cliente = ?",
+                LocalDateTime.class, clienteId);
+    }
+}
@@ -0,0 +1,111 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.support.ComandosSql;
+import com.nakacorp.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vazão da importação de 100 mil produtos por CSV ({@link CsvImportService#importarProdutos}).
+ * <p>
+ * Cada subclasse roda com uma configuração de INSERTs, registra as linhas por segundo e
+ * confere a quantidade de INSERTs em {@code tb_produto} enviados ao driver (um batch JDBC
+ * conta um). A segunda a terminar registra a comparação entre as duas e confere que a
+ * importação em lotes fez ao menos dez vezes menos comandos SQL. Uma importação menor
+ * é feita antes da medida para aquecer a JVM e o pool. Os benchmarks só rodam com
+ * {@code -Dbenchmark=true}:
+ * </p>
+ * <pre>
+ * mvn verify -Dbenchmark=true -Dit.test='ImportacaoProdutos*BenchmarkIT'
+ * </pre>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+abstract class ImportacaoProdutosBenchmark extends PostgresIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoProdutosBenchmark.class);
+
+    private static final int LINHAS = 100_000;
+    private static final int LINHAS_AQUECIMENTO = 5_000;
+
+    private static final Map<String, Double> VAZOES = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> COMANDOS = new ConcurrentHashMap<>();
+
+    @Autowired
+    private CsvImportService csvImportService;
+
+    /**
+     * Nome da configuração medida, usado nos nomes dos produtos e no relatório.
+     */
+    protected abstract String configuracao();
+
+    /**
+     * Confere a quantidade de INSERTs em {@code tb_produto} da importação medida.
+     *
+     * @param inserts INSERTs enviados ao driver
+     * @param linhas  produtos importados
+     */
+    protected abstract void conferirInserts(long inserts, int linhas);
+
+    @Test
+    void importarCemMilProdutos() {
+        importar("aquecimento-" + configuracao(), LINHAS_AQUECIMENTO);
+
+        int[] importados = new int[1];
+        long inicio = System.nanoTime();
+        List<ComandosSql.Comando> comandos = ComandosSql.capturar(() -> importados[0] = importar(configuracao(), LINHAS));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        assertThat(importados[0]).isEqualTo(LINHAS);
+        conferirInserts(comandos.stream()
+                .filter(comando -> comando.sql().trim().toLowerCase().startsWith("insert into tb_produto"))
+                .count(), LINHAS);
+
+        double vazao = LINHAS / segundos;
+        VAZOES.put(configuracao(), vazao);
+        COMANDOS.put(configuracao(), comandos.size());
+        logger.info("Importação de {} produtos ({}): {} s, {} linhas/s, {} comandos SQL",
+                LINHAS, configuracao(), String.format("%.1f", segundos), String.format("%.0f", vazao), comandos.size());
+        if (VAZOES.size() == 2) {
+            logger.info("Importação de {} produtos: {}", LINHAS, VAZOES.entrySet().stream()
+                    .map(v -> v.getKey() + " = " + String.format("%.0f", v.getValue()) + " linhas/s, "
+                            + COMANDOS.get(v.getKey()) + " comandos")
+                    .toList());
+            assertThat(COMANDOS.get(ImportacaoProdutosEmLotesBenchmarkIT.CONFIGURACAO) * 10)
+                    .isLessThan(COMANDOS.get(ImportacaoProdutosLinhaALinhaBenchmarkIT.CONFIGURACAO));
+        }
+    }
+
+    private int importar(String prefixo, int linhas) {
+        try {
+            return importarCsv(prefixo, linhas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int importarCsv(String prefixo, int linhas) throws IOException {
+        StringBuilder csv = new StringBuilder("Nome,Descricao,Categoria,Preco,Tipo Cobranca,Tipo Pagamento,Ativo\n");
+        for (int i = 1; i <= linhas; i++) {
+            csv.append("Produto ").append(prefixo).append(' ').append(i)
+                    .append(",Produto de benchmark,Benchmark,").append(10 + i % 90).append(".90,MENSAL,PIX,true\n");
+        }
+        MockMultipartFile arquivo = new MockMultipartFile("file", "produtos.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+        return csvImportService.importarProdutos(arquivo).getSucessos();
+    }
+}
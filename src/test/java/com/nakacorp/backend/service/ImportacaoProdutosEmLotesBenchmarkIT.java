@@ -0,0 +1,32 @@
+package com.nakacorp.backend.service;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importação com a configuração da aplicação: IDs em blocos da sequência,
+ * batches JDBC de {@code hibernate.jdbc.batch_size} e INSERTs reescritos pelo driver.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ImportacaoProdutosEmLotesBenchmarkIT extends ImportacaoProdutosBenchmark {
+
+    static final String CONFIGURACAO = "em lotes";
+
+    // hibernate.jdbc.batch_size padrão da aplicação
+    private static final int TAMANHO_BATCH = 50;
+
+    @Override
+    protected String configuracao() {
+        return CONFIGURACAO;
+    }
+
+    @Override
+    protected void conferirInserts(long inserts, int linhas) {
+        assertThat(inserts).isPositive().isLessThanOrEqualTo(Math.ceilDiv(linhas, TAMANHO_BATCH));
+    }
+}
@@ -0,0 +1,40 @@
+package com.nakacorp.backend.service;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importação como antes das sequências em blocos: {@code Produto} volta a gerar IDs pela
+ * coluna (IDENTITY, {@code META-INF/orm-produto-identity.xml}), o que obriga o Hibernate
+ * a executar cada INSERT na hora para ler o ID, e a configuração JDBC é a anterior (sem
+ * batches, ordenação ou reescrita pelo driver). A leitura dos nomes já cadastrados
+ * continua em lotes, então a diferença medida é a dos INSERTs.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "spring.jpa.mapping-resources=META-INF/orm-produto-identity.xml",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=1",
+        "spring.jpa.properties.hibernate.order_inserts=false",
+        "spring.jpa.properties.hibernate.order_updates=false",
+        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=false"
+})
+class ImportacaoProdutosLinhaALinhaBenchmarkIT extends ImportacaoProdutosBenchmark {
+
+    static final String CONFIGURACAO = "linha a linha";
+
+    @Override
+    protected String configuracao() {
+        return CONFIGURACAO;
+    }
+
+    @Override
+    protected void conferirInserts(long inserts, int linhas) {
+        assertThat(inserts).isEqualTo(linhas);
+    }
+}
@@ -0,0 +1,203 @@
+package com.nakacorp.backend.service;
+
+import com.nakacorp.backend.repository.InteracaoClienteRepository;
+import com.nakacorp.backend.repository.ParticaoInteracaoRepository;
+import com.nakacorp.backend.support.ComandosSql;
+import com.nakacorp.backend.support.PlanosExecucao;
+import com.nakacorp.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Manutenção das partições mensais de {@code tb_interacao_cliente} no PostgreSQL.
+ * <p>
+ * A poda de partições é conferida nos comandos gerados pelos próprios repositórios
+ * (capturados com os parâmetros vinculados): cada partição mensal no plano deve
+ * pertencer ao período consultado. A partição padrão pode aparecer em qualquer plano.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParticionamentoInteracaoIT extends PostgresIntegrationTest {
+
+    private static final YearMonth MES_ATUAL = YearMonth.now();
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTICAO_MENSAL = Pattern.compile("\\bon tb_interacao_cliente_p(\\d{6})\\b");
+
+    @Autowired
+    private ParticaoInteracaoRepository particaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InteracaoClienteRepository interacaoRepository;
+
+    @Autowired
+    private InteracaoClienteService interacaoService;
+
+    @Autowired
+    private RollupDiarioService rollupService;
+
+    private Long clienteId;
+    private PlanosExecucao planos;
+
+    /**
+     * Cria as partições dos doze meses anteriores e um cliente com interações em cada mês.
+     */
+    @BeforeAll
+    void prepararMesesAnteriores() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        planos = new PlanosExecucao(jdbcTemplate, transaction);
+        transaction.executeWithoutResult(status ->
+                particaoRepository.criarParticoes(MES_ATUAL.minusMonths(12).atDay(1), MES_ATUAL.atDay(1)));
+        clienteId = jdbcTemplate.queryForObject("INSERT INTO tb_cliente (nome, email, origem_lead) " +
+                "VALUES ('Cliente poda', 'poda@teste.com', 'MANUAL') RETURNING id_cliente", Long.class);
+        jdbcTemplate.update("INSERT INTO tb_interacao_cliente (id_cliente, tipo_interacao, descricao, created_at) " +
+                "SELECT ?, 'NOTA_INTERNA', 'Poda', date_trunc('month', CURRENT_DATE) - g * INTERVAL '1 month' " +
+                "+ INTERVAL '14 days' FROM generate_series(0, 12) g", clienteId);
+        jdbcTemplate.execute("ANALYZE tb_interacao_cliente");
+    }
+
+    @Test
+    void consultaDoClientePorPeriodoLeSoOsMesesDoPeriodo() {
+        LocalDateTime inicio = MES_ATUAL.minusMonths(3).atDay(10).atStartOfDay();
+        LocalDateTime fim = MES_ATUAL.minusMonths(2).atDay(10).atStartOfDay();
+
+        List<ComandosSql.Comando> comandos = ComandosSql.capturar(() ->
+                interacaoRepository.findByClienteIdAndCreatedAtBetween(clienteId, inicio, fim));
+
+        assertPodado(comandos, inicio, fim);
+    }
+
+    @Test
+    void listagemPorPeriodoLeSoOsMesesDoPeriodo() {
+        LocalDateTime inicio = MES_ATUAL.minusMonths(3).atDay(10).atStartOfDay();
+        LocalDateTime fim = MES_ATUAL.minusMonths(2).atDay(10).atStartOfDay();
+
+        List<ComandosSql.Comando> comandos = ComandosSql.capturar(() ->
+                interacaoService.findByPeriodo(inicio, fim, null, 20, true));
+
+        assertPodado(comandos, inicio, fim);
+    }
+
+    @Test
+    void engajamentoDoLeadScoreLeSoOsMesesAPartirDoCorte() {
+        LocalDateTime corte = MES_ATUAL.minusMonths(2).atDay(1).atStartOfDay();
+
+        List<ComandosSql.Comando> comandos = ComandosSql.capturar(() ->
+                interacaoRepository.somarEngajamentoDecaido(List.of(clienteId), LocalDateTime.now(), corte, 86_400.0));
+
+        assertPodado(comandos, corte, null);
+    }
+
+    @Test
+    void reconstrucaoDoRollupLeSoOMesDoDia() {
+        LocalDate dia = MES_ATUAL.minusMonths(5).atDay(15);
+
+        // O status inicial busca a primeira mudança de cada cliente em qualquer data (LATERAL por cliente)
+        List<ComandosSql.Comando> comandos = ComandosSql.capturar(() -> rollupService.reconstruir(dia, dia)).stream()
+                .filter(comando -> !comando.sql().contains("LATERAL"))
+                .toList();
+
+        assertPodado(comandos, dia.atStartOfDay(), dia.atTime(LocalTime.MAX));
+    }
+
+    @Test
+    void atualizacaoERemocaoDaEntidadeLeemSoAParticaoDaLinha() {
+        YearMonth mes = MES_ATUAL.minusMonths(4);
+        Long interacaoId = jdbcTemplate.queryForObject("SELECT id_interacao FROM tb_interacao_cliente " +
+                "WHERE id_cliente = ? AND created_at >= ? AND created_at < ?", Long.class,
+                clienteId, mes.atDay(1).atStartOfDay(), mes.plusMonths(1).atDay(1).atStartOfDay());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<ComandosSql.Comando> atualizacao = ComandosSql.capturar(() -> transaction.executeWithoutResult(status ->
+                interacaoRepository.findDetalheById(interacaoId).orElseThrow().setDescricao("Poda atualizada")));
+        List<ComandosSql.Comando> remocao = ComandosSql.capturar(() -> transaction.executeWithoutResult(status ->
+                interacaoRepository.delete(interacaoRepository.findDetalheById(interacaoId).orElseThrow())));
+
+        assertThat(mesesLidos(comandoQueComeca(atualizacao, "update"))).containsExactly(mes);
+        assertThat(mesesLidos(comandoQueComeca(remocao, "delete"))).containsExactly(mes);
+
+        // Custo medido da busca só pelo ID: um acesso ao índice da chave primária por partição mensal
+        long mensais = particaoRepository.listarParticoes().stream()
+                .filter(nome -> nome.matches("tb_interacao_cliente_p\\d{6}"))
+                .count();
+        assertThat(mesesLidos(comandoQueComeca(atualizacao, "select"))).hasSize((int) mensais);
+    }
+
+    @Test
+    void particaoDesanexadaMantemHistoricoDeClienteRemovido() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status ->
+                particaoRepository.criarParticoes(LocalDate.of(2001, 1, 1), LocalDate.of(2001, 2, 1)));
+        Long removido = jdbcTemplate.queryForObject("INSERT INTO tb_cliente (nome, email, origem_lead) " +
+                "VALUES ('Cliente retenção', 'retencao@teste.com', 'MANUAL') RETURNING id_cliente", Long.class);
+        jdbcTemplate.update("INSERT INTO tb_interacao_cliente (id_cliente, tipo_interacao, descricao, created_at) " +
+                "VALUES (?, 'NOTA_INTERNA', 'Histórico', TIMESTAMP '2001-01-15 10:00:00')", removido);
+
+        List<String> desanexadas = transaction.execute(status ->
+                particaoRepository.removerParticoes(LocalDate.of(2001, 2, 1), false));
+        jdbcTemplate.update("DELETE FROM tb_cliente WHERE id_cliente = ?", removido);
+
+        assertThat(desanexadas).containsExactly("tb_interacao_cliente_p200101");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint " +
+                "WHERE conrelid = 'tb_interacao_cliente_p200101'::REGCLASS AND contype = 'f'", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_interacao_cliente_p200101 " +
+                "WHERE id_cliente = ?", Long.class, removido))
+                .isEqualTo(1L);
+    }
+
+    private static ComandosSql.Comando comandoQueComeca(List<ComandosSql.Comando> comandos, String inicio) {
+        return comandos.stream()
+                .filter(comando -> comando.sql().trim().toLowerCase().startsWith(inicio))
+                .filter(comando -> comando.le("tb_interacao_cliente"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Sem comando " + inicio + " em " + comandos));
+    }
+
+    private List<YearMonth> mesesLidos(ComandosSql.Comando comando) {
+        return PARTICAO_MENSAL.matcher(planos.explicar(comando)).results()
+                .map(resultado -> YearMonth.parse(resultado.group(1), FORMATO_MES))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Confere que os comandos que leem interações só planejam partições mensais do período.
+     */
+    private void assertPodado(List<ComandosSql.Comando> comandos, LocalDateTime inicio, LocalDateTime fim) {
+        List<ComandosSql.Comando> consultas = comandos.stream()
+                .filter(comando -> comando.le("tb_interacao_cliente") || comando.le("vw_interacao_historico"))
+                .toList();
+        assertThat(consultas).isNotEmpty();
+        for (ComandosSql.Comando consulta : consultas) {
+            assertThat(mesesLidos(consulta))
+                    .as("partições de %s", consulta.sql())
+                    .allMatch(mes -> mes.plusMonths(1).atDay(1).atStartOfDay().isAfter(inicio)
+                            && (fim == null || !mes.atDay(1).atStartOfDay().isAfter(fim)));
+        }
+    }
+}
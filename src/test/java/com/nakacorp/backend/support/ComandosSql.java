@@ -0,0 +1,179 @@
+package com.nakacorp.backend.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Captura os comandos SQL executados pela thread do teste, com os parâmetros vinculados.
+ * <p>
+ * O {@link DataSource} da aplicação é envolvido por proxies JDBC ({@link Configuracao});
+ * somente a thread dentro de {@link #capturar(Runnable)} registra comandos, então as
+ * threads de segundo plano (jobs agendados, gravação de notas, cargas de inicialização)
+ * não interferem nas contagens. Cada execução conta um comando; um batch JDBC conta um.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ComandosSql {
+
+    private static final ThreadLocal<List<Comando>> CAPTURA = new ThreadLocal<>();
+
+    private static final Set<String> EXECUCOES = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    /**
+     * Comando executado.
+     *
+     * @param sql        SQL enviado ao driver
+     * @param parametros valores vinculados, na ordem dos {@code ?}
+     */
+    public record Comando(String sql, List<Object> parametros) {
+
+        public boolean le(String tabela) {
+            return sql.toLowerCase().matches("(?s).*\\b" + tabela + "\\b.*");
+        }
+    }
+
+    private ComandosSql() {}
+
+    /**
+     * Executa a ação registrando os comandos SQL da thread corrente.
+     *
+     * @param acao ação a executar
+     * @return comandos executados, na ordem de execução
+     */
+    public static List<Comando> capturar(Runnable acao) {
+        List<Comando> comandos = new ArrayList<>();
+        CAPTURA.set(comandos);
+        try {
+            acao.run();
+        } finally {
+            CAPTURA.remove();
+        }
+        return comandos;
+    }
+
+    /**
+     * Envolve o {@link DataSource} da aplicação nos proxies de captura.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Configuracao {
+
+        @Bean
+        static BeanPostProcessor comandosSqlDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? envolver(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static DataSource envolver(DataSource dataSource) {
+        return proxy(dataSource, new Class<?>[]{DataSource.class, Closeable.class}, (metodo, args) -> {
+            if (metodo.getDeclaringClass() == Closeable.class && !(dataSource instanceof Closeable)) {
+                return null;
+            }
+            Object resultado = invocar(dataSource, metodo, args);
+            return resultado instanceof Connection conexao ? envolver(conexao) : resultado;
+        });
+    }
+
+    private static Connection envolver(Connection conexao) {
+        return proxy(conexao, new Class<?>[]{Connection.class}, (metodo, args) -> {
+            Object resultado = invocar(conexao, metodo, args);
+            if (resultado instanceof CallableStatement || !(resultado instanceof Statement)) {
+                return resultado;
+            }
+            if (resultado instanceof PreparedStatement preparado) {
+                return envolver(preparado, (String) args[0]);
+            }
+            return envolver((Statement) resultado);
+        });
+    }
+
+    private static PreparedStatement envolver(PreparedStatement preparado, String sql) {
+        Map<Integer, Object> parametros = new TreeMap<>();
+        return proxy(preparado, new Class<?>[]{PreparedStatement.class}, (metodo, args) -> {
+            String nome = metodo.getName();
+            if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                parametros.put(indice, nome.equals("setNull") ? null : args[1]);
+            } else if (nome.equals("clearParameters")) {
+                parametros.clear();
+            } else if (EXECUCOES.contains(nome) && (args == null || args.length == 0)) {
+                registrar(sql, new ArrayList<>(parametros.values()));
+            }
+            return invocar(preparado, metodo, args);
+        });
+    }
+
+    private static Statement envolver(Statement comando) {
+        List<String> lote = new ArrayList<>();
+        return proxy(comando, new Class<?>[]{Statement.class}, (metodo, args) -> {
+            String nome = metodo.getName();
+            if (nome.equals("addBatch")) {
+                lote.add((String) args[0]);
+            } else if (EXECUCOES.contains(nome)) {
+                registrar(args != null && args.length > 0 ? (String) args[0] : String.join(";\n", lote), List.of());
+                lote.clear();
+            }
+            return invocar(comando, metodo, args);
+        });
+    }
+
+    private static void registrar(String sql, List<Object> parametros) {
+        List<Comando> comandos = CAPTURA.get();
+        if (comandos != null) {
+            comandos.add(new Comando(sql, parametros));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Interceptador {
+        Object interceptar(Method metodo, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T alvo, Class<?>[] interfaces, Interceptador interceptador) {
+        return (T) Proxy.newProxyInstance(ComandosSql.class.getClassLoader(), interfaces, (p, metodo, args) -> {
+            if (metodo.getName().equals("unwrap") || metodo.getName().equals("isWrapperFor")) {
+                return invocar(alvo, metodo, args);
+            }
+            if (metodo.getDeclaringClass() == Object.class) {
+                return switch (metodo.getName()) {
+                    case "equals" -> p == args[0];
+                    case "hashCode" -> System.identityHashCode(p);
+                    default -> invocar(alvo, metodo, args);
+                };
+            }
+            return interceptador.interceptar(metodo, args);
+        });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
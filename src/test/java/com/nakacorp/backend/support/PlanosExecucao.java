@@ -0,0 +1,62 @@
+package com.nakacorp.backend.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Planos de execução ({@code EXPLAIN}) dos comandos capturados por {@link ComandosSql},
+ * com os mesmos parâmetros vinculados na execução original.
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PlanosExecucao {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public PlanosExecucao(JdbcTemplate jdbcTemplate, TransactionTemplate transaction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = transaction;
+    }
+
+    /**
+     * Plano escolhido pelo planejador para o comando.
+     *
+     * @param comando comando capturado
+     * @return linhas do plano, unidas por quebra de linha
+     */
+    public String explicar(ComandosSql.Comando comando) {
+        return explicar(comando, false);
+    }
+
+    /**
+     * Plano do comando com varreduras sequenciais desestimuladas ({@code enable_seqscan = off}):
+     * o planejador só usa Seq Scan em uma tabela quando nenhum índice atende a consulta,
+     * então o plano prova se existe caminho por índice independentemente do volume de dados.
+     *
+     * @param comando comando capturado
+     * @return linhas do plano, unidas por quebra de linha
+     */
+    public String explicarSemSeqScan(ComandosSql.Comando comando) {
+        return explicar(comando, true);
+    }
+
+    private String explicar(ComandosSql.Comando comando, boolean semSeqScan) {
+        return transaction.execute(status -> {
+            if (semSeqScan) {
+                jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            }
+            List<String> linhas = jdbcTemplate.query("EXPLAIN " + comando.sql(), ps -> {
+                List<Object> parametros = comando.parametros();
+                for (int i = 0; i < parametros.size(); i++) {
+                    ps.setObject(i + 1, parametros.get(i));
+                }
+            }, (rs, linha) -> rs.getString(1));
+            return String.join("\n", linhas);
+        });
+    }
+}
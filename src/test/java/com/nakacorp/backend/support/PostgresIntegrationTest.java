@@ -0,0 +1,43 @@
+package com.nakacorp.backend.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base dos testes de integração com PostgreSQL real (Testcontainers).
+ * <p>
+ * Um único container é iniciado na primeira classe e compartilhado por todas, junto
+ * com o contexto Spring em cache; as migrações Flyway rodam na inicialização do
+ * contexto. Os testes devem criar os próprios dados sem depender de uma base vazia.
+ * Sem Docker disponível as classes são ignoradas.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import(ComandosSql.Configuracao.class)
+public abstract class PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("crm_test");
+
+    @DynamicPropertySource
+    static void propriedadesBanco(DynamicPropertyRegistry registry) {
+        if (!POSTGRES.isRunning()) {
+            POSTGRES.start();
+        }
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("google.oauth2.client-id", () -> "teste");
+        registry.add("logging.level.org.hibernate.SQL", () -> "INFO");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "INFO");
+    }
+}
@@ -0,0 +1,52 @@
+package com.nakacorp.backend.support;
+
+import com.nakacorp.backend.service.LeadScoreService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Executa o recálculo completo da pontuação de leads ({@link LeadScoreService#recalcularTodos()})
+ * até que os leads informados tenham sido pontuados.
+ * <p>
+ * O recálculo da inicialização roda em segundo plano e pode estar em andamento quando o
+ * teste chama o job; nesse caso a chamada retorna sem recalcular e é repetida.
+ * </p>
+ *
+ * @author Klleriston Andrade
+ * @version 1.0
+ * @since 1.0
+ */
+public final class RecalculoLeadScore {
+
+    private static final int TENTATIVAS = 100;
+    private static final long ESPERA_MS = 100L;
+
+    private RecalculoLeadScore() {}
+
+    /**
+     * Recalcula todos os leads e aguarda a pontuação dos leads informados.
+     *
+     * @param leadScoreService serviço de pontuação
+     * @param jdbcTemplate     acesso à base
+     * @param clienteIds       leads que devem ser pontuados pelo recálculo
+     */
+    public static void recalcularTodos(LeadScoreService leadScoreService, JdbcTemplate jdbcTemplate,
+                                       List<Long> clienteIds) {
+        for (int tentativa = 0; tentativa < TENTATIVAS; tentativa++) {
+            leadScoreService.recalcularTodos();
+            boolean pontuados = clienteIds.stream().allMatch(id -> jdbcTemplate.queryForObject(
+                    "SELECT score_calculado_em IS NOT NULL FROM tb_cliente WHERE id_cliente = ?", Boolean.class, id));
+            if (pontuados) {
+                return;
+            }
+            try {
+                Thread.sleep(ESPERA_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrompido aguardando o recálculo de pontuação", e);
+            }
+        }
+        throw new AssertionError("Leads não pontuados pelo recálculo: " + clienteIds);
+    }
+}